@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.core;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.*;
+import org.openrewrite.config.CompositeRecipe;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.text.PlainText;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the collision checks made while generating source files into a large source set.
+ */
+@Fork(1)
+@Measurement(iterations = 3, time = 5)
+@Warmup(iterations = 3, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class GenerateSourcesBenchmark {
+
+    @Param({"50000"})
+    int sourceFiles;
+
+    @Param({"100", "1000"})
+    int generatedFiles;
+
+    List<SourceFile> sources;
+
+    Recipe recipe;
+
+    @Setup
+    public void setup() {
+        sources = new ArrayList<>(sourceFiles);
+        for (int i = 0; i < sourceFiles; i++) {
+            sources.add(PlainText.builder()
+                    .sourcePath(Paths.get("src/main/resources/" + i + ".txt"))
+                    .text(Integer.toString(i))
+                    .build());
+        }
+
+        // two generating recipes, so the second one also checks against what the first one generated
+        recipe = new CompositeRecipe(Arrays.asList(
+                new Generate("generated/a/", generatedFiles),
+                new Generate("generated/b/", generatedFiles)));
+    }
+
+    @Benchmark
+    public void generate(Blackhole bh) {
+        bh.consume(recipe.run(new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext())
+                .getChangeset().size());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(GenerateSourcesBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    static class Generate extends ScanningRecipe<Integer> {
+        private final String prefix;
+        private final int count;
+
+        Generate(String prefix, int count) {
+            this.prefix = prefix;
+            this.count = count;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Generate files";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Generates a fixed number of plain text files.";
+        }
+
+        @Override
+        public Integer getInitialValue(ExecutionContext ctx) {
+            return 0;
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getScanner(Integer acc) {
+            return TreeVisitor.noop();
+        }
+
+        @Override
+        public Collection<? extends SourceFile> generate(Integer acc, ExecutionContext ctx) {
+            List<SourceFile> generated = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Path sourcePath = Paths.get(prefix + i + ".txt");
+                generated.add(PlainText.builder().sourcePath(sourcePath).text("").build());
+            }
+            return generated;
+        }
+    }
+}
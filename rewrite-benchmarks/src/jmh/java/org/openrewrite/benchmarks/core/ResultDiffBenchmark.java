@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.core;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.Result;
+import org.openrewrite.text.PlainText;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Measures the diff of a large source file in which a single line changed.
+ */
+@Fork(1)
+@Measurement(iterations = 3, time = 5)
+@Warmup(iterations = 3, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ResultDiffBenchmark {
+
+    @Param({"1000", "10000"})
+    int lines;
+
+    Result result;
+
+    @Setup
+    public void setup() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            text.append("import org.openrewrite.generated.Type").append(i).append(";\n");
+        }
+        PlainText before = PlainText.builder()
+                .sourcePath(Paths.get("src/main/java/Generated.java"))
+                .text(text.toString())
+                .build();
+        PlainText after = before.withText(text.toString().replace(
+                "Type" + (lines / 2) + ";", "Renamed" + (lines / 2) + ";"));
+        result = new Result(before, after, emptyList());
+    }
+
+    @Benchmark
+    public String diff() {
+        return result.diff();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ResultDiffBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -22,8 +22,10 @@
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.MethodMatcherSet;
 import org.openrewrite.java.tree.JavaType;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
@@ -239,6 +241,58 @@ public void deepSubpackagePatternMatch(SubpackagePattern state, Blackhole bh) {
         }
     }
 
+    // Many patterns matched against the same invocations, as a large composite recipe does
+    @State(Scope.Benchmark)
+    public static class ManyPatterns {
+        @Param({"1", "100", "1000"})
+        int patternCount;
+
+        List<MethodMatcher> matchers;
+        MethodMatcherSet matcherSet;
+
+        JavaType.Method[] methods = new JavaType.Method[]{
+                newMethodType("com.example.Service0", "method0", "java.lang.String"),
+                newMethodType("com.example.Service7", "method3", "java.lang.String", "int"),
+                newMethodType("com.example.data.Repository", "findById", "long"),
+                newMethodType("java.util.List", "add", "java.lang.Object"),
+                newMethodType("java.lang.String", "format", "java.lang.String", "java.lang.Object"),
+                newMethodType("org.junit.Assert", "assertEquals", "java.lang.Object", "java.lang.Object")
+        };
+
+        @Setup
+        public void setup() {
+            matchers = new ArrayList<>(patternCount);
+            for (int i = 0; i < patternCount; i++) {
+                if (i % 100 == 99) {
+                    matchers.add(new MethodMatcher("com.example" + i + "..* find*(..)"));
+                } else if (i % 10 == 9) {
+                    matchers.add(new MethodMatcher("com.example.Service" + (i % 50) + " find*(..)"));
+                } else {
+                    matchers.add(new MethodMatcher("com.example.Service" + (i % 50) + " method" + (i / 50) + "(java.lang.String)"));
+                }
+            }
+            matcherSet = new MethodMatcherSet(matchers);
+        }
+    }
+
+    @Benchmark
+    public void manyPatternsOneAtATime(ManyPatterns state, Blackhole bh) {
+        for (JavaType.Method method : state.methods) {
+            for (MethodMatcher matcher : state.matchers) {
+                if (matcher.matches(method)) {
+                    bh.consume(matcher);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void manyPatternsMatcherSet(ManyPatterns state, Blackhole bh) {
+        for (JavaType.Method method : state.methods) {
+            bh.consume(state.matcherSet.matching(method));
+        }
+    }
+
     // Helper method to create JavaType.Method instances
     private static JavaType.Method newMethodType(String type, String method, String... parameterTypes) {
         List<JavaType> parameterTypeList = Stream.of(parameterTypes)
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import io.moderne.jsonrpc.JsonRpc;
+import io.moderne.jsonrpc.handler.HeaderDelimitedMessageHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.config.Environment;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.marketplace.RecipeMarketplace;
+import org.openrewrite.rpc.RewriteRpc;
+import org.openrewrite.rpc.RpcMessageFormatter;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static org.openrewrite.marketplace.RecipeBundle.runtimeClasspath;
+
+/**
+ * Round trips a large compilation unit through {@code GetObject} between two in-process
+ * peers, with messages written as JSON or as Smile.
+ */
+@Fork(1)
+@Measurement(iterations = 3, time = 5)
+@Warmup(iterations = 3, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RpcMessageFormatBenchmark {
+    private static final String JAVA_PRINTER = "rewrite-java/src/main/java/org/openrewrite/java/JavaPrinter.java";
+
+    @Param({"JSON", "SMILE"})
+    RpcMessageFormatter.Format format;
+
+    @Param({"1000"})
+    int batchSize;
+
+    RewriteRpc client;
+    RewriteRpc server;
+
+    J.CompilationUnit cu;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, URISyntaxException {
+        Path javaPrinter = Paths.get(RpcMessageFormatBenchmark.class.getResource("./").toURI());
+        while (!Files.exists(javaPrinter.resolve(JAVA_PRINTER))) {
+            javaPrinter = javaPrinter.getParent();
+        }
+        cu = (J.CompilationUnit) JavaParser.fromJavaVersion()
+                .classpath(JavaParser.runtimeClasspath())
+                .build()
+                .parse(new InMemoryExecutionContext(), new String(Files.readAllBytes(javaPrinter.resolve(JAVA_PRINTER))))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Expected a compilation unit"));
+
+        PipedOutputStream serverOut = new PipedOutputStream();
+        PipedOutputStream clientOut = new PipedOutputStream();
+        PipedInputStream serverIn = new PipedInputStream(clientOut, 1 << 16);
+        PipedInputStream clientIn = new PipedInputStream(serverOut, 1 << 16);
+
+        RecipeMarketplace marketplace = Environment.builder().build().toMarketplace(runtimeClasspath());
+        RpcMessageFormatter clientFormatter = new RpcMessageFormatter(new ParameterNamesModule());
+        RpcMessageFormatter serverFormatter = new RpcMessageFormatter(new ParameterNamesModule());
+        clientFormatter.setFormat(format);
+        serverFormatter.setFormat(format);
+
+        client = new RewriteRpc(new JsonRpc(new HeaderDelimitedMessageHandler(clientFormatter, clientIn, clientOut)), marketplace)
+                .messageFormatter(clientFormatter)
+                .batchSize(batchSize);
+        server = new RewriteRpc(new JsonRpc(new HeaderDelimitedMessageHandler(serverFormatter, serverIn, serverOut)), marketplace)
+                .messageFormatter(serverFormatter)
+                .batchSize(batchSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.shutdown();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public void getObject(Blackhole bh) {
+        // forget what each peer knows of the other, so that the whole tree is sent every time
+        server.reset();
+
+        // the client fetches the tree with GetObject before visiting it, and since the
+        // visitor makes no change, nothing is sent back
+        bh.consume(server.visit(cu, JavaIsoVisitor.class.getName(), 0));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RpcMessageFormatBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -93,6 +93,29 @@ public static Checksum fromUri(HttpSender httpSender, URI uri, String algorithm)
         }
     }
 
+    public static Checksum sha256(byte[] content) {
+        try {
+            return new Checksum("SHA-256", MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * @param sourceFile A source file to print.
+     * @param algorithm  A message digest algorithm, like SHA-256.
+     * @return The checksum of the source file as it prints, in its charset, without printing it into a string.
+     */
+    public static Checksum of(SourceFile sourceFile, String algorithm) {
+        try {
+            MessageDigest md = MessageDigest.getInstance(algorithm);
+            sourceFile.printTo(PrintOutputSink.of(md, sourceFile.getCharset() == null ? StandardCharsets.UTF_8 : sourceFile.getCharset()));
+            return new Checksum(algorithm, md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     public static SourceFile md5(SourceFile sourceFile, ExecutionContext ctx) {
         return checksum(sourceFile, "MD5", ctx);
     }
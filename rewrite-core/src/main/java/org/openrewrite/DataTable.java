@@ -22,7 +22,6 @@
 import org.jspecify.annotations.Nullable;
 
 import java.lang.reflect.ParameterizedType;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -74,8 +73,11 @@ public void insertRow(ExecutionContext ctx, Row row) {
         }
         ctx.computeMessage(ExecutionContext.DATA_TABLES, row, ConcurrentHashMap::new, (extract, allDataTables) -> {
             //noinspection unchecked
-            List<Row> dataTablesOfType = (List<Row>) allDataTables.computeIfAbsent(this, c -> new ArrayList<>());
-            dataTablesOfType.add(row);
+            List<Row> dataTablesOfType = (List<Row>) allDataTables.computeIfAbsent(this, c -> DataTableStore.createRows(ctx, this));
+            // rows may be inserted by recipes visiting different source files concurrently
+            synchronized (dataTablesOfType) {
+                dataTablesOfType.add(row);
+            }
             return allDataTables;
         });
     }
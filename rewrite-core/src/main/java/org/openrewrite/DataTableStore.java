@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decides where the rows inserted into a {@link DataTable} are kept during a recipe run. Without a
+ * store, rows are kept on the heap until the run ends. A tool that runs search recipes over large
+ * repositories sets a store on the execution context with {@link #setStore(ExecutionContext, DataTableStore)}
+ * before running recipes, e.g. a {@link LocalDataTableStore} that spills rows to disk.
+ * <p>
+ * The rows of each data table are still handed to {@link RecipeRun#getDataTables()} as a {@link List},
+ * so the store has to be kept open until the rows have been read or exported.
+ */
+public interface DataTableStore {
+    String DATA_TABLE_STORE = "org.openrewrite.dataTableStore";
+
+    /**
+     * Called once per data table and run, when the first row is inserted into it. Rows are added
+     * to the returned list by one thread at a time.
+     *
+     * @param dataTable The data table rows will be inserted into.
+     * @param <Row>     The model type for a single row of the data table.
+     * @return The list that rows inserted into the data table will be added to.
+     */
+    <Row> List<Row> createRows(DataTable<Row> dataTable);
+
+    static void setStore(ExecutionContext ctx, DataTableStore store) {
+        ctx.putMessage(DATA_TABLE_STORE, store);
+    }
+
+    static @Nullable DataTableStore getStore(ExecutionContext ctx) {
+        return ctx.getMessage(DATA_TABLE_STORE);
+    }
+
+    static <Row> List<Row> createRows(ExecutionContext ctx, DataTable<Row> dataTable) {
+        DataTableStore store = getStore(ctx);
+        return store == null ? new ArrayList<>() : store.createRows(dataTable);
+    }
+}
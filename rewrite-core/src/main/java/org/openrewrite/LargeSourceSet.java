@@ -63,7 +63,9 @@ default void beforeCycle(boolean definitelyLastCycle) {
     void setRecipe(List<Recipe> recipeStack);
 
     /**
-     * Execute a transformation on all items.
+     * Execute a transformation on all items. Implementations may apply the transformation to
+     * several source files concurrently, unless it is a {@link SequentialEdit}. Either way, the
+     * order of source files in the resulting source set is the same.
      *
      * @param map A transformation on T
      * @return A new source set if the map function results in any changes, otherwise this source set is returned.
@@ -100,6 +102,17 @@ default void afterCycle(boolean lastCycle) {
     @Nullable
     SourceFile getBefore(Path sourcePath);
 
+    /**
+     * Determine whether a source file with the given path was present in the initial state,
+     * without requiring that the source file itself be materialized.
+     *
+     * @param sourcePath The path of the source file to look up.
+     * @return {@code true} if the initial state contains a source file with this path.
+     */
+    default boolean hasBefore(Path sourcePath) {
+        return getBefore(sourcePath) != null;
+    }
+
     /**
      * Called when a recipe's {@code generate()} produces a file whose path collides with
      * an existing source file or with another generated file. The generated file is silently
@@ -112,4 +125,15 @@ default void afterCycle(boolean lastCycle) {
      */
     default void onGenerateCollision(Path sourcePath, boolean existingFile) {
     }
+
+    /**
+     * A transformation that must be applied to one source file at a time and in order, even by
+     * implementations that otherwise {@link #edit(UnaryOperator) edit} source files concurrently.
+     */
+    @FunctionalInterface
+    interface SequentialEdit extends UnaryOperator<@Nullable SourceFile> {
+        static SequentialEdit of(UnaryOperator<@Nullable SourceFile> map) {
+            return map::apply;
+        }
+    }
 }
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.internal.ObjectMappers;
+
+import java.io.*;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link DataTableStore} that keeps a page of the most recently inserted rows of each data table
+ * on the heap, and writes each full page to a segment file in a directory on the local file system.
+ * Rows are written with the same encoding as values sent over Rewrite RPC, and read back one page at
+ * a time when the rows are iterated over, e.g. by {@link RecipeRun#exportDatatablesToCsv(Path, ExecutionContext)}.
+ * <pre>
+ * try (LocalDataTableStore store = new LocalDataTableStore(dir, 10_000, 1_000_000, Overflow.DROP)) {
+ *     DataTableStore.setStore(ctx, store);
+ *     recipe.run(sourceSet, ctx).exportDatatablesToCsv(csvDir, ctx);
+ * }
+ * </pre>
+ * Each data table may also be given a row budget. Once a data table holds that many rows, further rows
+ * are either dropped and counted, see {@link #getDroppedRows(DataTable)}, or fail the insertion,
+ * depending on the {@link Overflow} policy.
+ * <p>
+ * Random access to the rows of a data table reads the segment that holds the row, and keeps the
+ * last segment it read on the heap, so consumers that read rows in order should still iterate
+ * over them rather than jump between segments.
+ * <p>
+ * Closing the store deletes its segment files. The rows of a data table whose list is still
+ * referenced, e.g. by a {@link RecipeRun}, are first read back onto the heap, so that the list
+ * keeps working once the store is closed.
+ */
+public class LocalDataTableStore implements DataTableStore, Closeable {
+    private static final ObjectMapper MAPPER = ObjectMappers.rpcSmileMapper();
+
+    public enum Overflow {
+        /**
+         * Rows inserted into a data table that is over its budget are dropped.
+         */
+        DROP,
+
+        /**
+         * Inserting a row into a data table that is over its budget throws an {@link IllegalStateException}.
+         */
+        FAIL
+    }
+
+    private final Path directory;
+    private final int rowsInMemory;
+    private final long maxRowsPerTable;
+    private final Overflow overflow;
+
+    private final AtomicInteger segmentPrefixes = new AtomicInteger();
+    private final Queue<Table> tables = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a store without a row budget.
+     *
+     * @param directory    The directory to write segment files to.
+     * @param rowsInMemory The number of rows of each data table to keep on the heap before writing them to a segment.
+     */
+    public LocalDataTableStore(Path directory, int rowsInMemory) {
+        this(directory, rowsInMemory, Long.MAX_VALUE, Overflow.FAIL);
+    }
+
+    /**
+     * @param directory       The directory to write segment files to.
+     * @param rowsInMemory    The number of rows of each data table to keep on the heap before writing them to a segment.
+     * @param maxRowsPerTable The number of rows each data table may hold.
+     * @param overflow        What to do with rows inserted into a data table that already holds {@code maxRowsPerTable} rows.
+     */
+    public LocalDataTableStore(Path directory, int rowsInMemory, long maxRowsPerTable, Overflow overflow) {
+        if (rowsInMemory < 1) {
+            throw new IllegalArgumentException("rowsInMemory must be positive");
+        }
+        this.directory = directory;
+        this.rowsInMemory = rowsInMemory;
+        this.maxRowsPerTable = maxRowsPerTable;
+        this.overflow = overflow;
+    }
+
+    @Override
+    public <Row> List<Row> createRows(DataTable<Row> dataTable) {
+        Table table = new Table(dataTable.getName());
+        SpillingRows<Row> rows = new SpillingRows<>(table,
+                segmentPrefixes.incrementAndGet() + "-" + dataTable.getName());
+        table.rows = new WeakReference<>(rows);
+        tables.add(table);
+        return rows;
+    }
+
+    /**
+     * @return The number of rows that were dropped because the data table was over its budget.
+     */
+    public long getDroppedRows(DataTable<?> dataTable) {
+        long dropped = 0;
+        for (Table table : tables) {
+            if (table.dataTableName.equals(dataTable.getName())) {
+                dropped += table.dropped;
+            }
+        }
+        return dropped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Table table : tables) {
+            List<Path> segments = new ArrayList<>(table.segments);
+            SpillingRows<?> rows = table.rows.get();
+            if (rows != null) {
+                rows.readBack();
+            }
+            for (Path segment : segments) {
+                Files.deleteIfExists(segment);
+            }
+        }
+        tables.clear();
+    }
+
+    /**
+     * What the store needs to know about a data table's rows, which outlives the list of rows
+     * once nothing else refers to that list.
+     */
+    private static class Table {
+        final String dataTableName;
+        final List<Path> segments = new ArrayList<>();
+
+        @SuppressWarnings("NotNullFieldNotInitialized")
+        WeakReference<SpillingRows<?>> rows;
+
+        volatile long dropped;
+
+        Table(String dataTableName) {
+            this.dataTableName = dataTableName;
+        }
+    }
+
+    private class SpillingRows<Row> extends AbstractList<Row> {
+        private final Table table;
+        private final String dataTableName;
+        private final String segmentPrefix;
+        private final List<Path> segments;
+        private List<Row> page = new ArrayList<>();
+        private @Nullable Class<?> rowType;
+        private long size;
+
+        /**
+         * Once the store is closed, rows are no longer written to segments.
+         */
+        private boolean closed;
+
+        private int lastSegment = -1;
+        private List<Row> lastSegmentRows = Collections.emptyList();
+
+        SpillingRows(Table table, String segmentPrefix) {
+            this.table = table;
+            this.dataTableName = table.dataTableName;
+            this.segmentPrefix = segmentPrefix;
+            this.segments = table.segments;
+        }
+
+        @Override
+        public boolean add(Row row) {
+            if (size >= maxRowsPerTable) {
+                if (overflow == Overflow.DROP) {
+                    table.dropped++;
+                    return false;
+                }
+                throw new IllegalStateException("Data table " + dataTableName + " exceeded its budget of " +
+                                                maxRowsPerTable + " rows");
+            }
+            page.add(row);
+            size++;
+            if (page.size() >= rowsInMemory && !closed) {
+                spill();
+            }
+            return true;
+        }
+
+        /**
+         * Read the rows of every segment back onto the heap, before the segments are deleted.
+         */
+        void readBack() {
+            List<Row> all = new ArrayList<>((int) Math.min(size, Integer.MAX_VALUE));
+            for (Path segment : segments) {
+                all.addAll(readSegment(segment));
+            }
+            all.addAll(page);
+            page = all;
+            segments.clear();
+            closed = true;
+            lastSegment = -1;
+            lastSegmentRows = Collections.emptyList();
+        }
+
+        private void spill() {
+            if (rowType == null) {
+                rowType = page.get(0).getClass();
+            }
+            Path segment = directory.resolve(segmentPrefix + "-" + segments.size() + ".smile");
+            try {
+                Files.createDirectories(directory);
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(segment));
+                     SequenceWriter writer = MAPPER.writerFor(rowType).writeValues(out)) {
+                    writer.writeAll(page);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            segments.add(segment);
+            page = new ArrayList<>();
+        }
+
+        private List<Row> readSegment(Path segment) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(segment))) {
+                return MAPPER.readerFor(rowType).<Row>readValues(in).readAll();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Iterator<Row> iterator() {
+            return new Iterator<Row>() {
+                // the segments are followed by the page of rows that hasn't been written yet
+                int nextPage;
+                Iterator<Row> rows = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!rows.hasNext() && nextPage <= segments.size()) {
+                        rows = nextPage < segments.size() ?
+                                readSegment(segments.get(nextPage)).iterator() :
+                                page.iterator();
+                        nextPage++;
+                    }
+                    return rows.hasNext();
+                }
+
+                @Override
+                public Row next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return rows.next();
+                }
+            };
+        }
+
+        @Override
+        public Row get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            // every segment holds a full page of rows
+            int segment = index / rowsInMemory;
+            if (segment < segments.size()) {
+                if (segment != lastSegment) {
+                    lastSegmentRows = readSegment(segments.get(segment));
+                    lastSegment = segment;
+                }
+                return lastSegmentRows.get(index % rowsInMemory);
+            }
+            return page.get(index - segments.size() * rowsInMemory);
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(size, Integer.MAX_VALUE);
+        }
+    }
+}
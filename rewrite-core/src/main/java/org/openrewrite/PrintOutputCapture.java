@@ -23,18 +23,40 @@
 import java.util.function.UnaryOperator;
 
 public class PrintOutputCapture<P> implements Cloneable {
+    /**
+     * How much output a capture with a sink buffers before it writes it to the sink.
+     */
+    private static final int SINK_CHUNK_SIZE = 8192;
+
     private final P p;
     private final MarkerPrinter markerPrinter;
+
+    /**
+     * The printed output, or when printing to a {@link PrintOutputSink}, the output that hasn't been written
+     * to the sink yet.
+     */
     public final StringBuilder out = new StringBuilder();
 
+    private final @Nullable PrintOutputSink sink;
+
     public PrintOutputCapture(P p) {
-        this.p = p;
-        this.markerPrinter = MarkerPrinter.DEFAULT;
+        this(p, MarkerPrinter.DEFAULT);
     }
 
     public PrintOutputCapture(P p, MarkerPrinter markerPrinter) {
         this.p = p;
         this.markerPrinter = markerPrinter;
+        this.sink = null;
+    }
+
+    /**
+     * A capture that writes its output to a sink in chunks rather than keeping all of it.
+     * Printers that inspect what they have already printed through {@link #out} can't be used with a sink.
+     */
+    public PrintOutputCapture(P p, MarkerPrinter markerPrinter, PrintOutputSink sink) {
+        this.p = p;
+        this.markerPrinter = markerPrinter;
+        this.sink = sink;
     }
 
     public P getContext() {
@@ -54,14 +76,30 @@ public PrintOutputCapture<P> append(@Nullable String text) {
             return this;
         }
         out.append(text);
+        if (sink != null && out.length() >= SINK_CHUNK_SIZE) {
+            flush();
+        }
         return this;
     }
 
     public PrintOutputCapture<P> append(char c) {
         out.append(c);
+        if (sink != null && out.length() >= SINK_CHUNK_SIZE) {
+            flush();
+        }
         return this;
     }
 
+    /**
+     * Write any buffered output to the sink, if this capture has one.
+     */
+    public void flush() {
+        if (sink != null && out.length() > 0) {
+            sink.write(out);
+            out.setLength(0);
+        }
+    }
+
     @SuppressWarnings("MethodDoesntCallSuperMethod")
     @Override
     public PrintOutputCapture<P> clone() {
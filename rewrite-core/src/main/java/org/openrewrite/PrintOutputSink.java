@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.openrewrite.internal.EncodingPrintOutputSink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+
+/**
+ * Receives printed output in chunks as a {@link PrintOutputCapture} fills up, so that a source file can be
+ * written, hashed or compared while it is printed rather than after it has been printed into a string.
+ *
+ * @see SourceFile#printTo(PrintOutputSink)
+ */
+public interface PrintOutputSink {
+
+    /**
+     * @param chars The next chunk of printed output, which is only valid for the duration of the call.
+     *              A chunk may end between the two halves of a surrogate pair.
+     */
+    void write(CharSequence chars);
+
+    /**
+     * Called once the whole source file has been written.
+     */
+    default void flush() {
+    }
+
+    /**
+     * @param channel A channel to write the printed output to, which is neither flushed nor closed by the sink.
+     * @param charset The charset to encode the printed output with.
+     */
+    static PrintOutputSink of(WritableByteChannel channel, Charset charset) {
+        return new EncodingPrintOutputSink(charset) {
+            @Override
+            protected void write(ByteBuffer bytes) {
+                try {
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * @param digest A digest to update with the printed output.
+     * @param charset The charset to encode the printed output with.
+     */
+    static PrintOutputSink of(MessageDigest digest, Charset charset) {
+        return new EncodingPrintOutputSink(charset) {
+            @Override
+            protected void write(ByteBuffer bytes) {
+                digest.update(bytes);
+            }
+        };
+    }
+}
@@ -369,6 +369,18 @@ public boolean causesAnotherCycle() {
         return false;
     }
 
+    /**
+     * @return {@code true} if what this recipe's visitor does to a source file only depends on the content
+     * of that source file and on this recipe's options, so that a {@link org.openrewrite.scheduling.RecipeResultMemo}
+     * may skip running the visitor on a source file it previously left unchanged. A source file is compared
+     * by its path, its printed content and the type and content of its markers, like {@code JavaVersion},
+     * {@code JavaSourceSet} or {@code BuildTool}. Type attribution is not printed, so recipes whose visitors
+     * depend on it, on a scanning recipe's accumulator or on state shared between source files must not opt in.
+     */
+    public boolean isEditLocal() {
+        return false;
+    }
+
     /**
      * At the end of a recipe run, a {@link RecipeScheduler} will call this method to allow the
      * recipe to perform any cleanup or finalization tasks. This method is guaranteed to be called
@@ -15,6 +15,8 @@
  */
 package org.openrewrite;
 
+import org.openrewrite.internal.ParallelLargeSourceSet;
+import org.openrewrite.scheduling.RecipeProfiler;
 import org.openrewrite.scheduling.RecipeRunCycle;
 import org.openrewrite.scheduling.WatchableExecutionContext;
 import org.openrewrite.table.RecipeRunStats;
@@ -25,6 +27,7 @@
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyMap;
@@ -54,6 +57,8 @@ public RecipeRun scheduleRun(Recipe recipe,
 
     private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet, ExecutionContext ctx, int maxCycles, int minCycles) {
         WatchableExecutionContext ctxWithWatch = new WatchableExecutionContext(ctx);
+        // create the data table map up front so that concurrently inserted rows all land in the same map
+        ctx.computeMessageIfAbsent(ExecutionContext.DATA_TABLES, k -> new ConcurrentHashMap<>());
 
         RecipeRunStats recipeRunStats = new RecipeRunStats(Recipe.noop());
         SourcesFileErrors errorsTable = new SourcesFileErrors(Recipe.noop());
@@ -70,8 +75,11 @@ private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet,
 
                 // this root cursor is shared by all `TreeVisitor` instances used created from `getVisitor` and
                 // single source applicable tests so that data can be shared at the root (especially for caching
-                // use cases like sharing a `JavaTypeCache` between `JavaTemplate` parsers).
-                Cursor rootCursor = new Cursor(null, Cursor.ROOT_VALUE);
+                // use cases like sharing a `JavaTypeCache` between `JavaTemplate` parsers). A parallel source set
+                // visits source files concurrently, so then its messages are kept in a concurrent map.
+                Cursor rootCursor = after instanceof ParallelLargeSourceSet ?
+                        new Cursor(null, Cursor.ROOT_VALUE, new ConcurrentHashMap<>()) :
+                        new Cursor(null, Cursor.ROOT_VALUE);
                 try {
                     RecipeRunCycle<LargeSourceSet> cycle = createRecipeRunCycle(recipe, i, rootCursor, ctxWithWatch, recipeRunStats, searchResults, sourceFileResults, errorsTable);
                     ctxWithWatch.putCycle(cycle);
@@ -98,7 +106,6 @@ private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet,
                     }
 
                     after.afterCycle(i == maxCycles);
-                    ctxWithWatch.resetHasNewMessages();
                 } finally {
                     // Clear any messages that were added to the root cursor during the cycle. This is important
                     // to avoid leaking memory in the case when a recipe defines a static TreeVisitor. That
@@ -111,6 +118,10 @@ private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet,
             }
         } finally {
             recipeRunStats.flush(ctx);
+            RecipeProfiler profiler = RecipeProfiler.getProfiler(ctx);
+            if (profiler != null) {
+                profiler.flush(ctx);
+            }
             recursiveOnComplete(recipe, ctxWithWatch);
         }
         return after;
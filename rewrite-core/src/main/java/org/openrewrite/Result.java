@@ -19,6 +19,7 @@
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.config.RecipeDescriptor;
 import org.openrewrite.internal.InMemoryDiffEntry;
+import org.openrewrite.internal.JfrEventType;
 import org.openrewrite.jgit.lib.FileMode;
 import org.openrewrite.marker.DeserializationError;
 import org.openrewrite.marker.RecipesThatMadeChanges;
@@ -38,6 +39,11 @@
 import static org.openrewrite.Tree.randomId;
 
 public class Result {
+    private static final JfrEventType PRINT = JfrEventType.builder("org.openrewrite.Print", "Print")
+            .description("Printing the source files before and after a change to produce a diff.")
+            .field("sourcePath", String.class, "Source path")
+            .build();
+
     /**
      * Possible {@code null} if a new file is being created.
      */
@@ -231,6 +237,7 @@ public String diff(@Nullable Path relativeTo, PrintOutputCapture.@Nullable Marke
             }
         }
 
+        JfrEventType.Event event = PRINT.begin();
         try (InMemoryDiffEntry diffEntry = new InMemoryDiffEntry(
                 before,
                 after,
@@ -240,6 +247,11 @@ public String diff(@Nullable Path relativeTo, PrintOutputCapture.@Nullable Marke
                 binaryPatch
         )) {
             return diffEntry.getDiff(ignoreAllWhitespace);
+        } finally {
+            if (event != null) {
+                SourceFile sourceFile = after == null ? before : after;
+                event.set(0, sourceFile == null ? "" : sourceFile.getSourcePath().toString()).commit();
+            }
         }
     }
 
@@ -95,8 +95,30 @@ public TreeVisitor<?, ExecutionContext> getVisitor(T acc) {
         return TreeVisitor.noop();
     }
 
+    /**
+     * Opt in to concurrent access to the accumulator. When every scanning recipe in a run opts in, a
+     * {@link LargeSourceSet} that supports it may call the scanner returned by {@link #getScanner(Object)}
+     * and the visitor returned by {@link #getVisitor(Object)} from several threads at once, each on a
+     * different source file.
+     *
+     * @return {@code true} if the accumulator tolerates concurrent scanning and editing.
+     */
+    public boolean isAccumulatorThreadSafe() {
+        return false;
+    }
+
     public T getAccumulator(Cursor cursor, ExecutionContext ctx) {
-        return cursor.getRoot().computeMessageIfAbsent(getRecipeAccMessage(), m -> getInitialValue(ctx));
+        Cursor root = cursor.getRoot();
+        // the root cursor is shared by every source file being visited, possibly concurrently
+        synchronized (root) {
+            // not computeMessageIfAbsent, as the initial value may itself look up other accumulators on the root
+            T acc = root.getMessage(getRecipeAccMessage());
+            if (acc == null) {
+                acc = getInitialValue(ctx);
+                root.putMessage(getRecipeAccMessage(), acc);
+            }
+            return acc;
+        }
     }
 
     @Override
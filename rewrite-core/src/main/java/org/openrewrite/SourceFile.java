@@ -21,6 +21,8 @@
 import org.openrewrite.quark.Quark;
 import org.openrewrite.style.Style;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -108,7 +110,10 @@ default <S extends Style> S getStyle(Class<S> styleClass, S defaultStyle) {
     }
 
     default <P> byte[] printAllAsBytes(P p) {
-        return printAll(p).getBytes(getCharset() == null ? StandardCharsets.UTF_8 : getCharset());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        printTo(PrintOutputSink.of(Channels.newChannel(bytes), getCharset() == null ? StandardCharsets.UTF_8 : getCharset()),
+                p, PrintOutputCapture.MarkerPrinter.DEFAULT);
+        return bytes.toByteArray();
     }
 
     default byte[] printAllAsBytes() {
@@ -127,6 +132,50 @@ default String printAll() {
         return printAll(0);
     }
 
+    /**
+     * Print this source file into a sink in chunks, without holding all of it in memory as a string.
+     * The output is the same as that of {@link #printAll()}.
+     */
+    default void printTo(PrintOutputSink sink) {
+        printTo(sink, 0, PrintOutputCapture.MarkerPrinter.DEFAULT);
+    }
+
+    default <P> void printTo(PrintOutputSink sink, P p, PrintOutputCapture.MarkerPrinter markerPrinter) {
+        PrintOutputSink restoringBom = sink;
+        // should be in sync with the BOM restore logic in Tree.print()
+        try {
+            if (!(this instanceof Quark) && !(this instanceof Binary) && isCharsetBomMarked()) {
+                restoringBom = new PrintOutputSink() {
+                    boolean first = true;
+
+                    @Override
+                    public void write(CharSequence chars) {
+                        if (first && chars.length() > 0) {
+                            first = false;
+                            if (chars.charAt(0) != '\uFEFF') {
+                                sink.write("\uFEFF");
+                            }
+                        }
+                        sink.write(chars);
+                    }
+
+                    @Override
+                    public void flush() {
+                        sink.flush();
+                    }
+                };
+            }
+        } catch (UnsupportedOperationException e) {
+            // Defensive fallback for any other SourceFile implementations that don't support charset operations
+        }
+
+        PrintOutputCapture<P> out = new PrintOutputCapture<>(p, markerPrinter, restoringBom);
+        Cursor cursor = new Cursor(null, "root");
+        this.<P>printer(cursor).visit(this, out, cursor);
+        out.flush();
+        restoringBom.flush();
+    }
+
     default <P> String printAllTrimmed(P p) {
         return printTrimmed(p, new Cursor(null, "root"));
     }
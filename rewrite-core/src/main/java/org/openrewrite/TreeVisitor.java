@@ -22,6 +22,7 @@
 import org.openrewrite.internal.TreeVisitorAdapter;
 import org.openrewrite.marker.Marker;
 import org.openrewrite.marker.Markers;
+import org.openrewrite.scheduling.VisitProfile;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -233,6 +234,8 @@ public P reduce(Tree tree, P p, Cursor parent) {
         // Do you visitor take tree and do you tree take visitor?
         boolean isAcceptable = tree.isAcceptable(this, p) && (!(tree instanceof SourceFile) || isAcceptable((SourceFile) tree, p));
 
+        VisitProfile profile = VisitProfile.current();
+        long profileStartNs = profile == null ? 0 : profile.enter();
         try {
             if (isAcceptable) {
                 //noinspection unchecked
@@ -276,6 +279,10 @@ public P reduce(Tree tree, P p, Cursor parent) {
             }
 
             throw new RecipeRunException(e, getCursor());
+        } finally {
+            if (profile != null) {
+                profile.exit(tree, profileStartNs);
+            }
         }
 
         //noinspection unchecked
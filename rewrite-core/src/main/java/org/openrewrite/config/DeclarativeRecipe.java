@@ -375,6 +375,11 @@ public T getInitialValue(ExecutionContext ctx) {
             return delegate.getInitialValue(ctx);
         }
 
+        @Override
+        public boolean isAccumulatorThreadSafe() {
+            return delegate.isAccumulatorThreadSafe();
+        }
+
         @Override
         public TreeVisitor<?, ExecutionContext> getScanner(T acc) {
             return delegate.getScanner(acc);
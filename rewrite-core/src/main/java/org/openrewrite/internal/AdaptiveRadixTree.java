@@ -20,6 +20,7 @@
 
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.function.BiConsumer;
 
 @Incubating(since = "8.38.0")
 public class AdaptiveRadixTree<V> {
@@ -52,9 +53,22 @@ protected Node(int keyOffset, int keyLength) {
 
         abstract Node<V> copy(); // New abstract method
 
+        abstract void forEach(byte[] prefix, KeyTable keyTable, BiConsumer<byte[], V> action);
+
         protected boolean matchesPartialKey(byte[] key, int depth, KeyTable keyTable) {
             return keyTable.matches(key, depth, keyOffset, keyLength);
         }
+
+        protected byte[] appendPartialKey(byte[] prefix, KeyTable keyTable) {
+            if (keyLength <= 0) {
+                return prefix;
+            }
+            byte[] key = Arrays.copyOf(prefix, prefix.length + keyLength);
+            for (int i = 0; i < keyLength; i++) {
+                key[prefix.length + i] = keyTable.get(keyOffset + i);
+            }
+            return key;
+        }
     }
 
     private static class LeafNode<V> extends Node<V> {
@@ -150,6 +164,11 @@ Node<V> insert(byte[] key, int depth, V value, KeyTable keyTable) {
         Node<V> copy() {
             return new LeafNode<>(keyOffset, keyLength, value);
         }
+
+        @Override
+        void forEach(byte[] prefix, KeyTable keyTable, BiConsumer<byte[], V> action) {
+            action.accept(appendPartialKey(prefix, keyTable), value);
+        }
     }
 
     // Base class for all internal nodes
@@ -250,6 +269,22 @@ Node<V> insert(byte[] key, int depth, V value, KeyTable keyTable) {
             return this;
         }
 
+        @Override
+        void forEach(byte[] prefix, KeyTable keyTable, BiConsumer<byte[], V> action) {
+            byte[] key = appendPartialKey(prefix, keyTable);
+            if (value != null) {
+                action.accept(key, value);
+            }
+            for (int b = 0; b < 256; b++) {
+                Node<V> child = getChild((byte) b);
+                if (child != null) {
+                    byte[] childPrefix = Arrays.copyOf(key, key.length + 1);
+                    childPrefix[key.length] = (byte) b;
+                    child.forEach(childPrefix, keyTable, action);
+                }
+            }
+        }
+
         private Node4<V> split(int commonPrefix, KeyTable keyTable) {
             Node4<V> newParent = new Node4<>(keyOffset, commonPrefix);
             newParent.value = commonPrefix == keyLength ? this.value : null;
@@ -770,6 +805,17 @@ public void insert(byte[] keyBytes, V value) {
         return root.search(bytes, 0, keyTable);
     }
 
+    /**
+     * Visit every key and value in the tree, in unsigned byte order of the keys.
+     *
+     * @param action Receives a copy of each key's bytes along with its value.
+     */
+    public void forEach(BiConsumer<byte[], V> action) {
+        if (root != null) {
+            root.forEach(new byte[0], keyTable, action);
+        }
+    }
+
     public AdaptiveRadixTree<V> copy() {
         AdaptiveRadixTree<V> newTree = new AdaptiveRadixTree<>(keyTable.copy());
         if (root != null) {
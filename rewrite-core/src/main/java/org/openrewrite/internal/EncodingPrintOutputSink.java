@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.openrewrite.PrintOutputSink;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Encodes printed output into a reusable byte buffer, handing each full buffer to {@link #write(ByteBuffer)}.
+ * Unmappable characters are replaced like {@link String#getBytes(Charset)} does, so that the bytes written are
+ * the same as those of the printed string.
+ */
+public abstract class EncodingPrintOutputSink implements PrintOutputSink {
+    private final CharsetEncoder encoder;
+    private final ByteBuffer bytes = ByteBuffer.allocate(8192);
+
+    /**
+     * A high surrogate at the end of one chunk whose low surrogate starts the next.
+     */
+    private final CharBuffer pending = CharBuffer.allocate(2);
+
+    protected EncodingPrintOutputSink(Charset charset) {
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * @param bytes Encoded output, between the buffer's position and limit.
+     */
+    protected abstract void write(ByteBuffer bytes);
+
+    @Override
+    public void write(CharSequence chars) {
+        CharBuffer in = CharBuffer.wrap(chars);
+        if (pending.position() > 0 && in.hasRemaining()) {
+            pending.put(in.get());
+            pending.flip();
+            encode(pending, false);
+            pending.clear();
+        }
+        encode(in, false);
+        if (in.hasRemaining()) {
+            pending.put(in);
+        }
+    }
+
+    @Override
+    public void flush() {
+        pending.flip();
+        encode(pending, true);
+        pending.clear();
+        while (encoder.flush(bytes).isOverflow()) {
+            drain();
+        }
+        drain();
+        encoder.reset();
+    }
+
+    private void encode(CharBuffer in, boolean endOfInput) {
+        while (true) {
+            CoderResult result = encoder.encode(in, bytes, endOfInput);
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                break;
+            }
+        }
+        if (bytes.position() == bytes.capacity()) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        bytes.flip();
+        if (bytes.hasRemaining()) {
+            write(bytes);
+        }
+        bytes.clear();
+    }
+}
@@ -21,12 +21,11 @@
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.Incubating;
 import org.openrewrite.PrintOutputCapture;
+import org.openrewrite.PrintOutputSink;
 import org.openrewrite.Recipe;
 import org.openrewrite.SourceFile;
 import org.openrewrite.jgit.attributes.AttributesNodeProvider;
-import org.openrewrite.jgit.diff.DiffEntry;
-import org.openrewrite.jgit.diff.DiffFormatter;
-import org.openrewrite.jgit.diff.RawTextComparator;
+import org.openrewrite.jgit.diff.*;
 import org.openrewrite.jgit.internal.storage.dfs.*;
 import org.openrewrite.jgit.lib.*;
 import org.openrewrite.marker.GitTreeEntry;
@@ -35,6 +34,7 @@
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -55,6 +55,13 @@ public class InMemoryDiffEntry extends DiffEntry implements AutoCloseable {
 
     private final Charset diffCharset;
 
+    /**
+     * When set, the blobs in the repository only hold the lines around the changes rather than
+     * the whole source file.
+     */
+    @NonFinal
+    private @Nullable ChangedLines changedLines;
+
     public InMemoryDiffEntry(@Nullable Path originalFilePath, @Nullable Path filePath, @Nullable Path relativeTo, String oldSource,
                              String newSource, Set<Recipe> recipesThatMadeChanges) {
         this(originalFilePath, filePath, relativeTo, oldSource, newSource, recipesThatMadeChanges, FileMode.REGULAR_FILE, FileMode.REGULAR_FILE);
@@ -90,37 +97,60 @@ public InMemoryDiffEntry(@Nullable SourceFile before, @Nullable SourceFile after
             this.repo = new VirtualInMemoryRepository(new InMemoryRepository.Builder()
                     .setRepositoryDescription(new DfsRepositoryDescription()));
 
-            try (VirtualObjectDatabase database = repo.getObjectDatabase()) {
-                try (ObjectInserter inserter = repo.getObjectDatabase().newInserter()) {
-                    if (before == null) {
-                        this.oldId = A_ZERO;
-                        this.oldMode = FileMode.MISSING;
-                        this.oldPath = DEV_NULL;
-                    } else {
-                        Optional<GitTreeEntry> maybeGitTreeEntry = before.getMarkers().findFirst(GitTreeEntry.class);
-                        if (maybeGitTreeEntry.isPresent()) {
-                            GitTreeEntry entry = maybeGitTreeEntry.get();
-                            this.oldId = database.insertVirtual(ObjectId.fromString(entry.getObjectId()), printAllAsBytes(before, markerPrinter)).abbreviate(40);
-                            this.oldMode = FileMode.fromBits(entry.getFileMode());
-                        } else {
-                            this.oldId = inserter.insert(Constants.OBJ_BLOB, printAllAsBytes(before, markerPrinter)).abbreviate(40);
-                            this.oldMode = before.getFileAttributes() != null && before.getFileAttributes().isExecutable() ? FileMode.EXECUTABLE_FILE : FileMode.REGULAR_FILE;
-                        }
-                        this.oldPath = (relativeTo == null ? before.getSourcePath() : relativeTo.relativize(before.getSourcePath())).toString().replace("\\", "/");
-                    }
-
-                    if (after == null) {
-                        this.newId = A_ZERO;
-                        this.newMode = FileMode.MISSING;
-                        this.newPath = DEV_NULL;
-                    } else {
-                        this.newId = inserter.insert(Constants.OBJ_BLOB, printAllAsBytes(after, markerPrinter)).abbreviate(40);
-                        this.newMode = after.getMarkers().findFirst(GitTreeEntry.class)
-                                .map(entry -> FileMode.fromBits(entry.getFileMode()))
-                                .orElseGet(() -> after.getFileAttributes() != null && after.getFileAttributes().isExecutable() ? FileMode.EXECUTABLE_FILE : FileMode.REGULAR_FILE);
-                        this.newPath = (relativeTo == null ? after.getSourcePath() : relativeTo.relativize(after.getSourcePath())).toString().replace("\\", "/");
-                    }
-                    inserter.flush();
+            // Blobs are only ever read back by the diff formatter, so they are kept as they are rather than
+            // compressed into the in-memory repository. Their IDs are those of the whole printed source file,
+            // as they appear in the patch's index line.
+            VirtualObjectDatabase database = repo.getObjectDatabase();
+            ObjectInserter.Formatter ids = new ObjectInserter.Formatter();
+            byte[] oldSource = null;
+            ObjectId oldObjectId = null;
+            if (before == null) {
+                this.oldId = A_ZERO;
+                this.oldMode = FileMode.MISSING;
+                this.oldPath = DEV_NULL;
+            } else {
+                oldSource = printAllAsBytes(before, markerPrinter);
+                Optional<GitTreeEntry> maybeGitTreeEntry = before.getMarkers().findFirst(GitTreeEntry.class);
+                if (maybeGitTreeEntry.isPresent()) {
+                    GitTreeEntry entry = maybeGitTreeEntry.get();
+                    oldObjectId = ObjectId.fromString(entry.getObjectId());
+                    this.oldMode = FileMode.fromBits(entry.getFileMode());
+                } else {
+                    oldObjectId = ids.idFor(Constants.OBJ_BLOB, oldSource);
+                    this.oldMode = before.getFileAttributes() != null && before.getFileAttributes().isExecutable() ? FileMode.EXECUTABLE_FILE : FileMode.REGULAR_FILE;
+                }
+                this.oldId = oldObjectId.abbreviate(40);
+                this.oldPath = (relativeTo == null ? before.getSourcePath() : relativeTo.relativize(before.getSourcePath())).toString().replace("\\", "/");
+            }
+
+            byte[] newSource = null;
+            ObjectId newObjectId = null;
+            if (after == null) {
+                this.newId = A_ZERO;
+                this.newMode = FileMode.MISSING;
+                this.newPath = DEV_NULL;
+            } else {
+                newSource = printAllAsBytes(after, markerPrinter);
+                newObjectId = ids.idFor(Constants.OBJ_BLOB, newSource);
+                this.newId = newObjectId.abbreviate(40);
+                this.newMode = after.getMarkers().findFirst(GitTreeEntry.class)
+                        .map(entry -> FileMode.fromBits(entry.getFileMode()))
+                        .orElseGet(() -> after.getFileAttributes() != null && after.getFileAttributes().isExecutable() ? FileMode.EXECUTABLE_FILE : FileMode.REGULAR_FILE);
+                this.newPath = (relativeTo == null ? after.getSourcePath() : relativeTo.relativize(after.getSourcePath())).toString().replace("\\", "/");
+            }
+
+            if (oldSource != null && newSource != null && !binaryPatch && !oldObjectId.equals(newObjectId)) {
+                this.changedLines = ChangedLines.find(oldObjectId, oldSource, newObjectId, newSource);
+            }
+            if (changedLines != null) {
+                database.insertVirtual(oldObjectId, changedLines.oldWindow);
+                database.insertVirtual(newObjectId, changedLines.newWindow);
+            } else {
+                if (oldSource != null) {
+                    database.insertVirtual(oldObjectId, oldSource);
+                }
+                if (newSource != null) {
+                    database.insertVirtual(newObjectId, newSource);
                 }
             }
         } catch (IOException e) {
@@ -209,9 +239,23 @@ public String getDiff(@Nullable Boolean ignoreAllWhitespace) {
             return "";
         }
 
+        RawTextComparator comparator = ignoreAllWhitespace ? RawTextComparator.WS_IGNORE_ALL : RawTextComparator.DEFAULT;
+        ChangedLines window = changedLines;
+        if (window != null && !window.isDiffContained(comparator)) {
+            repo.getObjectDatabase().insertVirtual(window.oldId, window.oldSource);
+            repo.getObjectDatabase().insertVirtual(window.newId, window.newSource);
+            changedLines = window = null;
+        }
+        int lineOffset = window == null ? 0 : window.lineOffset;
+
         ByteArrayOutputStream patch = new ByteArrayOutputStream();
-        try (DiffFormatter formatter = new DiffFormatter(patch)) {
-            formatter.setDiffComparator(ignoreAllWhitespace ? RawTextComparator.WS_IGNORE_ALL : RawTextComparator.DEFAULT);
+        try (DiffFormatter formatter = new DiffFormatter(patch) {
+            @Override
+            protected void writeHunkHeader(int aStartLine, int aEndLine, int bStartLine, int bEndLine) throws IOException {
+                super.writeHunkHeader(aStartLine + lineOffset, aEndLine + lineOffset, bStartLine + lineOffset, bEndLine + lineOffset);
+            }
+        }) {
+            formatter.setDiffComparator(comparator);
             formatter.setRepository(repo);
             formatter.setBinary(binaryPatch);
             formatter.format(this);
@@ -255,12 +299,144 @@ private static byte[] printAllAsBytes(@Nullable SourceFile sourceFile, PrintOutp
             return new byte[0];
         }
 
-        PrintOutputCapture<Integer> out = markerPrinter == null ?
-                new PrintOutputCapture<>(0) :
-                new PrintOutputCapture<>(0, markerPrinter);
-
         Charset charset = sourceFile.getCharset() == null ? StandardCharsets.UTF_8 : sourceFile.getCharset();
-        return sourceFile.printAll(out).getBytes(charset);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sourceFile.printTo(PrintOutputSink.of(Channels.newChannel(bytes), charset), 0,
+                markerPrinter == null ? PrintOutputCapture.MarkerPrinter.DEFAULT : markerPrinter);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * The lines of two versions of a source file from a few lines before their common prefix ends to a few
+     * lines after their common suffix begins. A change made by a recipe is usually confined to a small part
+     * of a source file, so diffing only these lines yields the same hunks as diffing the whole source file,
+     * once their line numbers are offset by the lines before the window.
+     */
+    private static class ChangedLines {
+        /**
+         * The number of context lines the diff formatter prints around each change.
+         */
+        private static final int CONTEXT = 3;
+
+        final ObjectId oldId;
+        final byte[] oldSource;
+        final byte[] oldWindow;
+        final ObjectId newId;
+        final byte[] newSource;
+        final byte[] newWindow;
+
+        /**
+         * The number of lines before the window, which is the same in both versions.
+         */
+        final int lineOffset;
+
+        /**
+         * Whether the window ends before the end of the source file.
+         */
+        final boolean truncatedEnd;
+
+        private ChangedLines(ObjectId oldId, byte[] oldSource, byte[] oldWindow, ObjectId newId, byte[] newSource,
+                             byte[] newWindow, int lineOffset, boolean truncatedEnd) {
+            this.oldId = oldId;
+            this.oldSource = oldSource;
+            this.oldWindow = oldWindow;
+            this.newId = newId;
+            this.newSource = newSource;
+            this.newWindow = newWindow;
+            this.lineOffset = lineOffset;
+            this.truncatedEnd = truncatedEnd;
+        }
+
+        /**
+         * @return The changed lines, or {@code null} if they are too large a part of the source file to be worth
+         * diffing on their own, or the source file is binary.
+         */
+        static @Nullable ChangedLines find(ObjectId oldId, byte[] a, ObjectId newId, byte[] b) {
+            if (RawText.isBinary(a) || RawText.isBinary(b)) {
+                return null;
+            }
+
+            int shorter = Math.min(a.length, b.length);
+            int prefix = 0;
+            while (prefix < shorter && a[prefix] == b[prefix]) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < shorter - prefix && a[a.length - 1 - suffix] == b[b.length - 1 - suffix]) {
+                suffix++;
+            }
+
+            // the window starts CONTEXT lines before the line in which the versions first differ
+            int start = lineStart(a, prefix);
+            for (int i = 0; i < CONTEXT && start > 0; i++) {
+                start = lineStart(a, start - 1);
+            }
+
+            // and ends CONTEXT lines after the first line that is entirely in the common suffix
+            int endA = a.length - suffix;
+            while (endA < a.length && (endA == a.length - suffix || a[endA - 1] != '\n')) {
+                endA++;
+            }
+            for (int i = 0; i < CONTEXT && endA < a.length; i++) {
+                endA = nextLineStart(a, endA);
+            }
+            int endB = b.length - (a.length - endA);
+
+            if ((endA - start) + (endB - start) > (a.length + b.length) / 2) {
+                return null;
+            }
+
+            byte[] oldWindow = Arrays.copyOfRange(a, start, endA);
+            byte[] newWindow = Arrays.copyOfRange(b, start, endB);
+            if (RawText.isBinary(oldWindow) || RawText.isBinary(newWindow)) {
+                return null;
+            }
+
+            int lineOffset = 0;
+            for (int i = 0; i < start; i++) {
+                if (a[i] == '\n') {
+                    lineOffset++;
+                }
+            }
+            return new ChangedLines(oldId, a, oldWindow, newId, b, newWindow, lineOffset, endA < a.length);
+        }
+
+        /**
+         * The diff algorithm may shift an insertion or deletion of repeated lines towards the end of the
+         * source file, beyond the lines that differ. When it would shift it into the last few lines of the
+         * window, the diff of the whole source file could differ from that of the window.
+         *
+         * @return {@code true} if diffing the window yields the same hunks as diffing the whole source file.
+         */
+        boolean isDiffContained(RawTextComparator comparator) {
+            if (!truncatedEnd) {
+                return true;
+            }
+            RawText a = new RawText(oldWindow);
+            RawText b = new RawText(newWindow);
+            EditList edits = DiffAlgorithm.getAlgorithm(DiffAlgorithm.SupportedAlgorithm.HISTOGRAM).diff(comparator, a, b);
+            if (edits.isEmpty()) {
+                return true;
+            }
+            Edit last = edits.get(edits.size() - 1);
+            return a.size() - last.getEndA() >= CONTEXT && b.size() - last.getEndB() >= CONTEXT;
+        }
+
+        private static int lineStart(byte[] source, int position) {
+            int start = position;
+            while (start > 0 && source[start - 1] != '\n') {
+                start--;
+            }
+            return start;
+        }
+
+        private static int nextLineStart(byte[] source, int position) {
+            int next = position;
+            while (next < source.length && source[next++] != '\n') {
+                // advance past the end of the line
+            }
+            return next;
+        }
     }
 
     @Value
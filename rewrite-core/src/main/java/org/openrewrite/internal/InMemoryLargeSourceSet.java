@@ -46,6 +46,12 @@ public class InMemoryLargeSourceSet implements LargeSourceSet {
     @Nullable
     private ClassLoader recipeClassLoader;
 
+    /**
+     * Built lazily on the initial state by the first call to {@link #getBefore(Path)}.
+     */
+    @Nullable
+    private volatile Map<Path, SourceFile> sourceFilesByPath;
+
     public InMemoryLargeSourceSet(List<SourceFile> ls) {
         this(null, null, ls, null);
     }
@@ -73,6 +79,14 @@ public void setRecipe(List<Recipe> recipeStack) {
         this.currentRecipeStack = recipeStack;
     }
 
+    /**
+     * @return The recipe stack most recently passed to {@link #setRecipe(List)}, which is
+     * credited with any source file deletion made by the current edit.
+     */
+    protected List<Recipe> getCurrentRecipeStack() {
+        return currentRecipeStack;
+    }
+
     @Override
     public LargeSourceSet edit(UnaryOperator<SourceFile> map) {
         ClassLoader originalTCCL = null;
@@ -82,16 +96,7 @@ public LargeSourceSet edit(UnaryOperator<SourceFile> map) {
                 originalTCCL = Thread.currentThread().getContextClassLoader();
                 Thread.currentThread().setContextClassLoader(recipeClassLoader);
             }
-            List<SourceFile> mapped = ListUtils.map(ls, before -> {
-                SourceFile after = map.apply(before);
-                if (after == null) {
-                    if (deletions == null) {
-                        deletions = new LinkedHashMap<>();
-                    }
-                    deletions.put(before, currentRecipeStack);
-                }
-                return after;
-            });
+            List<SourceFile> mapped = mapSourceFiles(ls, map);
             return mapped != ls ? withChanges(deletions, mapped) : this;
         } finally {
             if (originalTCCL != null) {
@@ -102,6 +107,30 @@ public LargeSourceSet edit(UnaryOperator<SourceFile> map) {
 
     }
 
+    /**
+     * Apply a transformation to each source file, recording any deletions with {@link #recordDeletion(SourceFile, List)}.
+     *
+     * @param ls  The source files to transform.
+     * @param map A transformation on each source file.
+     * @return {@code ls} if no source file was changed, otherwise a new list in the same order.
+     */
+    protected List<SourceFile> mapSourceFiles(List<SourceFile> ls, UnaryOperator<SourceFile> map) {
+        return ListUtils.map(ls, before -> {
+            SourceFile after = map.apply(before);
+            if (after == null) {
+                recordDeletion(before, getCurrentRecipeStack());
+            }
+            return after;
+        });
+    }
+
+    protected void recordDeletion(SourceFile before, List<Recipe> recipeStack) {
+        if (deletions == null) {
+            deletions = new LinkedHashMap<>();
+        }
+        deletions.put(before, recipeStack);
+    }
+
     @Override
     public LargeSourceSet generate(@Nullable Collection<? extends SourceFile> t) {
         if (t == null || t.isEmpty()) {
@@ -157,13 +186,25 @@ public Changeset getChangeset() {
 
     @Override
     public @Nullable SourceFile getBefore(Path sourcePath) {
-        List<SourceFile> sourceFiles = getInitialState().ls;
-        for (SourceFile s : sourceFiles) {
-            if (s.getSourcePath().equals(sourcePath)) {
-                return s;
+        return getInitialState().getSourceFilesByPath().get(sourcePath);
+    }
+
+    @Override
+    public boolean hasBefore(Path sourcePath) {
+        return getInitialState().getSourceFilesByPath().containsKey(sourcePath);
+    }
+
+    private Map<Path, SourceFile> getSourceFilesByPath() {
+        Map<Path, SourceFile> index = sourceFilesByPath;
+        if (index == null) {
+            index = new HashMap<>((int) (ls.size() / 0.75f) + 1);
+            for (SourceFile s : ls) {
+                // the first source file with a given path wins, as with a linear search
+                index.putIfAbsent(s.getSourcePath(), s);
             }
+            sourceFilesByPath = index;
         }
-        return null;
+        return index;
     }
 
     @RequiredArgsConstructor
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.jspecify.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A JDK Flight Recorder event type, defined at runtime through {@code jdk.jfr.EventFactory} because
+ * rewrite is compiled for Java 8. On a JVM without the {@code jdk.jfr} module, or while no recording
+ * has enabled the event type, {@link #begin()} returns {@code null} and nothing else is done, so that
+ * events can be emitted unconditionally from hot paths.
+ * <pre>{@code
+ * JfrEventType.Event event = PARSE.begin();
+ * // ... the work being measured
+ * if (event != null) {
+ *     event.set(0, sourcePath).commit();
+ * }
+ * }</pre>
+ */
+public final class JfrEventType {
+    private static final @Nullable Jfr JFR = Jfr.load();
+
+    private final String name;
+    private final @Nullable Object factory;
+    private final @Nullable Object prototype;
+
+    private JfrEventType(String name, @Nullable Object factory) {
+        this.name = name;
+        this.factory = factory;
+        this.prototype = factory == null || JFR == null ? null : JFR.newEvent(factory);
+    }
+
+    public static Builder builder(String name, String label) {
+        return new Builder(name, label);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return {@code true} if a recording has enabled this event type.
+     */
+    public boolean isEnabled() {
+        return prototype != null && JFR != null && JFR.isEnabled(prototype);
+    }
+
+    /**
+     * @return An event whose duration starts now, or {@code null} if no recording has enabled this event type.
+     */
+    public @Nullable Event begin() {
+        if (!isEnabled()) {
+            return null;
+        }
+        assert factory != null && JFR != null;
+        Object event = JFR.newEvent(factory);
+        JFR.begin(event);
+        return new Event(event);
+    }
+
+    /**
+     * A single event, which is not thread-safe, but may be committed by a different thread than the one that began it.
+     */
+    public static final class Event {
+        private final Object event;
+
+        private Event(Object event) {
+            this.event = event;
+        }
+
+        /**
+         * @param index The position of the field in the order it was added to the {@link Builder}.
+         * @param value A value of the field's type.
+         */
+        public Event set(int index, @Nullable Object value) {
+            assert JFR != null;
+            JFR.set(event, index, value);
+            return this;
+        }
+
+        /**
+         * End the event's duration and write it to the recordings that enabled it.
+         */
+        public void commit() {
+            assert JFR != null;
+            JFR.commit(event);
+        }
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final String label;
+        private final List<String> category = new ArrayList<>();
+        private @Nullable String description;
+        private final List<String> fieldNames = new ArrayList<>();
+        private final List<Class<?>> fieldTypes = new ArrayList<>();
+        private final List<String> fieldLabels = new ArrayList<>();
+
+        private Builder(String name, String label) {
+            this.name = name;
+            this.label = label;
+            this.category.add("OpenRewrite");
+        }
+
+        public Builder category(String... subcategories) {
+            category.addAll(Arrays.asList(subcategories));
+            return this;
+        }
+
+        public Builder description(String description) {
+            this.description = description;
+            return this;
+        }
+
+        /**
+         * @param type One of {@code String}, {@code long}, {@code int} or {@code boolean}.
+         */
+        public Builder field(String name, Class<?> type, String label) {
+            fieldNames.add(name);
+            fieldTypes.add(type);
+            fieldLabels.add(label);
+            return this;
+        }
+
+        public JfrEventType build() {
+            Object factory = null;
+            if (JFR != null) {
+                try {
+                    factory = JFR.createFactory(this);
+                } catch (Throwable ignored) {
+                    // events of this type are not recorded
+                }
+            }
+            return new JfrEventType(name, factory);
+        }
+    }
+
+    /**
+     * Reflective access to the parts of the {@code jdk.jfr} API needed to define and emit events.
+     */
+    private static class Jfr {
+        private final Class<? extends java.lang.annotation.Annotation> nameAnnotation;
+        private final Class<? extends java.lang.annotation.Annotation> labelAnnotation;
+        private final Class<? extends java.lang.annotation.Annotation> descriptionAnnotation;
+        private final Class<? extends java.lang.annotation.Annotation> categoryAnnotation;
+        private final Constructor<?> annotationElementWithValue;
+        private final Constructor<?> valueDescriptor;
+        private final Method create;
+
+        private final MethodHandle newEvent;
+        private final MethodHandle isEnabled;
+        private final MethodHandle begin;
+        private final MethodHandle set;
+        private final MethodHandle commit;
+
+        @SuppressWarnings("unchecked")
+        private Jfr() throws ReflectiveOperationException {
+            ClassLoader loader = ClassLoader.getSystemClassLoader();
+            nameAnnotation = (Class<? extends java.lang.annotation.Annotation>) Class.forName("jdk.jfr.Name", true, loader);
+            labelAnnotation = (Class<? extends java.lang.annotation.Annotation>) Class.forName("jdk.jfr.Label", true, loader);
+            descriptionAnnotation = (Class<? extends java.lang.annotation.Annotation>) Class.forName("jdk.jfr.Description", true, loader);
+            categoryAnnotation = (Class<? extends java.lang.annotation.Annotation>) Class.forName("jdk.jfr.Category", true, loader);
+            Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement", true, loader);
+            annotationElementWithValue = annotationElementClass.getConstructor(Class.class, Object.class);
+            Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor", true, loader);
+            valueDescriptor = valueDescriptorClass.getConstructor(Class.class, String.class, List.class);
+            Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory", true, loader);
+            create = eventFactory.getMethod("create", List.class, List.class);
+
+            Class<?> event = Class.forName("jdk.jfr.Event", true, loader);
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            newEvent = lookup.findVirtual(eventFactory, "newEvent", MethodType.methodType(event))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            isEnabled = lookup.findVirtual(event, "isEnabled", MethodType.methodType(boolean.class))
+                    .asType(MethodType.methodType(boolean.class, Object.class));
+            begin = lookup.findVirtual(event, "begin", MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(void.class, Object.class));
+            set = lookup.findVirtual(event, "set", MethodType.methodType(void.class, int.class, Object.class))
+                    .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+            commit = lookup.findVirtual(event, "commit", MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(void.class, Object.class));
+        }
+
+        static @Nullable Jfr load() {
+            try {
+                return new Jfr();
+            } catch (Throwable ignored) {
+                // Java 8, or a runtime image without the jdk.jfr module
+                return null;
+            }
+        }
+
+        Object createFactory(Builder builder) throws ReflectiveOperationException {
+            List<Object> annotations = new ArrayList<>();
+            annotations.add(annotationElementWithValue.newInstance(nameAnnotation, builder.name));
+            annotations.add(annotationElementWithValue.newInstance(labelAnnotation, builder.label));
+            annotations.add(annotationElementWithValue.newInstance(categoryAnnotation, builder.category.toArray(new String[0])));
+            if (builder.description != null) {
+                annotations.add(annotationElementWithValue.newInstance(descriptionAnnotation, builder.description));
+            }
+
+            List<Object> fields = new ArrayList<>(builder.fieldNames.size());
+            for (int i = 0; i < builder.fieldNames.size(); i++) {
+                List<Object> fieldAnnotations = new ArrayList<>(1);
+                fieldAnnotations.add(annotationElementWithValue.newInstance(labelAnnotation, builder.fieldLabels.get(i)));
+                fields.add(valueDescriptor.newInstance(builder.fieldTypes.get(i), builder.fieldNames.get(i), fieldAnnotations));
+            }
+            return create.invoke(null, annotations, fields);
+        }
+
+        Object newEvent(Object factory) {
+            try {
+                return (Object) newEvent.invokeExact(factory);
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        boolean isEnabled(Object event) {
+            try {
+                return (boolean) isEnabled.invokeExact(event);
+            } catch (Throwable t) {
+                return false;
+            }
+        }
+
+        void begin(Object event) {
+            try {
+                begin.invokeExact(event);
+            } catch (Throwable ignored) {
+            }
+        }
+
+        void set(Object event, int index, @Nullable Object value) {
+            try {
+                set.invokeExact(event, index, value);
+            } catch (Throwable ignored) {
+            }
+        }
+
+        void commit(Object event) {
+            try {
+                commit.invokeExact(event);
+            } catch (Throwable ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * A store of byte records held in memory-mapped segment files, so that the records occupy
+ * the operating system's page cache rather than the Java heap. A record is never rewritten in place
+ * while it is live, but once it is {@link #release(Record) released}, later writes reuse its bytes.
+ * The segment files are deleted on {@link #close()}.
+ */
+public class MappedSegmentStore implements AutoCloseable {
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean deleteDirectory;
+    private final List<Segment> segments = new ArrayList<>();
+    private long used;
+
+    public MappedSegmentStore(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, false);
+    }
+
+    public MappedSegmentStore(Path directory, int segmentSize) {
+        this(directory, segmentSize, false);
+    }
+
+    private MappedSegmentStore(Path directory, int segmentSize, boolean deleteDirectory) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.deleteDirectory = deleteDirectory;
+    }
+
+    /**
+     * @return A store in a new temporary directory that is deleted along with the segments on {@link #close()}.
+     */
+    public static MappedSegmentStore temporary() {
+        try {
+            return new MappedSegmentStore(Files.createTempDirectory("rewrite-segments"), DEFAULT_SEGMENT_SIZE, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized Record write(byte[] bytes) {
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            Integer offset = segment.allocateFree(bytes.length);
+            if (offset != null) {
+                return write(i, segment, offset, bytes);
+            }
+        }
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.remaining() < bytes.length) {
+            segment = newSegment(Math.max(segmentSize, bytes.length));
+        }
+        int offset = segment.position;
+        segment.position += bytes.length;
+        return write(segments.size() - 1, segment, offset, bytes);
+    }
+
+    private Record write(int segmentIndex, Segment segment, int offset, byte[] bytes) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(offset);
+        buffer.put(bytes);
+        used += bytes.length;
+        return new Record(segmentIndex, offset, bytes.length);
+    }
+
+    /**
+     * Return the bytes of a record to the store to be reused by later writes. The record must not be
+     * read or released again afterward.
+     */
+    public synchronized void release(Record record) {
+        if (record.getSegment() >= segments.size()) {
+            // the store has been closed
+            return;
+        }
+        segments.get(record.getSegment()).free(record.getOffset(), record.getLength());
+        used -= record.getLength();
+    }
+
+    public byte[] read(Record record) {
+        Segment segment;
+        synchronized (this) {
+            segment = segments.get(record.getSegment());
+        }
+        byte[] bytes = new byte[record.getLength()];
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(record.getOffset());
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * @return The number of bytes held by records that haven't been released.
+     */
+    public synchronized long size() {
+        return used;
+    }
+
+    private Segment newSegment(int size) {
+        Path file = directory.resolve("segment-" + segments.size() + ".bin");
+        try (FileChannel channel = FileChannel.open(file, CREATE_NEW, READ, WRITE)) {
+            // the mapping remains valid after the channel is closed
+            Segment segment = new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            try {
+                Files.deleteIfExists(segment.file);
+            } catch (IOException ignored) {
+                // a mapped file can't be deleted on some platforms until the mapping is garbage collected
+                segment.file.toFile().deleteOnExit();
+            }
+        }
+        segments.clear();
+        used = 0;
+        if (deleteDirectory) {
+            try {
+                Files.deleteIfExists(directory);
+            } catch (IOException ignored) {
+                directory.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * The location of a record in the store.
+     */
+    @Value
+    public static class Record {
+        int segment;
+        int offset;
+        int length;
+    }
+
+    private static class Segment {
+        final Path file;
+        final MappedByteBuffer buffer;
+        int position;
+
+        /**
+         * Released byte ranges below {@link #position} by offset, with adjacent ranges merged.
+         */
+        final NavigableMap<Integer, Integer> free = new TreeMap<>();
+
+        Segment(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        @Nullable
+        Integer allocateFree(int length) {
+            for (Map.Entry<Integer, Integer> range : free.entrySet()) {
+                if (range.getValue() >= length) {
+                    int offset = range.getKey();
+                    free.remove(offset);
+                    if (range.getValue() > length) {
+                        free.put(offset + length, range.getValue() - length);
+                    }
+                    return offset;
+                }
+            }
+            return null;
+        }
+
+        void free(int offset, int length) {
+            if (length == 0) {
+                return;
+            }
+            Map.Entry<Integer, Integer> before = free.floorEntry(offset);
+            if (before != null && before.getKey() + before.getValue() == offset) {
+                offset = before.getKey();
+                length += before.getValue();
+                free.remove(offset);
+            }
+            Integer after = free.remove(offset + length);
+            if (after != null) {
+                length += after;
+            }
+            if (offset + length == position) {
+                // the range is at the end of the segment, so it is appended to again
+                position = offset;
+            } else {
+                free.put(offset, length);
+            }
+        }
+    }
+}
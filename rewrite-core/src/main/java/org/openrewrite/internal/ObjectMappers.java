@@ -15,15 +15,26 @@
  */
 package org.openrewrite.internal;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.MapperFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import org.jspecify.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+
 import static org.openrewrite.RecipeSerializer.maybeAddKotlinModule;
 
 public class ObjectMappers {
@@ -45,4 +56,40 @@ public static ObjectMapper propertyBasedMapper(@Nullable ClassLoader classLoader
         maybeAddKotlinModule(m);
         return m;
     }
+
+    /**
+     * A binary mapper for {@link org.openrewrite.rpc.RpcObjectData} that this process writes and reads back
+     * itself, such as trees that are spilled to disk. It leaves out null members and reads fields rather
+     * than getters, so JSON-RPC messages are written by {@link org.openrewrite.rpc.RpcMessageFormatter}
+     * with a mapper of their own.
+     */
+    public static ObjectMapper rpcSmileMapper() {
+        ObjectMapper m = SmileMapper.builder()
+                .constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+                .build()
+                .registerModules(new ParameterNamesModule(), new JavaTimeModule(), new SimpleModule()
+                        .addSerializer(Path.class, new JsonSerializer<Path>() {
+                            @Override
+                            public void serialize(Path path, JsonGenerator g, SerializerProvider serializerProvider) throws IOException {
+                                g.writeString(path.toString());
+                            }
+                        })
+                        .addDeserializer(Path.class, new JsonDeserializer<Path>() {
+                            @Override
+                            public Path deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                                return Paths.get(p.getValueAsString());
+                            }
+                        }))
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        m.setVisibility(m.getSerializationConfig().getDefaultVisibilityChecker()
+                .withCreatorVisibility(JsonAutoDetect.Visibility.PUBLIC_ONLY)
+                .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withIsGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withFieldVisibility(JsonAutoDetect.Visibility.ANY));
+        // Smile would otherwise write UUIDs as binary, but the codecs expect the same string form they receive over JSON-RPC
+        m.configOverride(UUID.class).setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.STRING));
+        return m;
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.LargeSourceSet;
+import org.openrewrite.Recipe;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.SourceFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * An in-memory source set that edits source files concurrently on an {@link ExecutorService}, such as a
+ * bounded {@link ForkJoinPool} or a virtual thread per task executor. Edited source files and deletions are
+ * collected in source set order, so the resulting source set and its changeset are the same as those of
+ * an {@link InMemoryLargeSourceSet}.
+ * <p>
+ * The recipe run only edits concurrently when every {@link ScanningRecipe} taking part in it has opted in
+ * with {@link ScanningRecipe#isAccumulatorThreadSafe()}. Otherwise, it asks for a
+ * {@link LargeSourceSet.SequentialEdit} and this source set edits one source file at a time.
+ * <p>
+ * Visitors share a root cursor whose messages are kept in a {@link ConcurrentHashMap} when the source set
+ * is parallel, so messages put on the root cursor can't be {@code null}, and the mapping function of
+ * {@link org.openrewrite.Cursor#computeMessageIfAbsent} must not put other messages on the root cursor.
+ */
+public class ParallelLargeSourceSet extends InMemoryLargeSourceSet {
+    private final ExecutorService executor;
+
+    @Nullable
+    private final ClassLoader recipeClassLoader;
+
+    private final ThreadLocal<List<Recipe>> currentRecipeStack = new ThreadLocal<>();
+
+    /**
+     * @param ls       The source files.
+     * @param executor The executor that edits are submitted to. The caller owns it and is responsible for
+     *                 shutting it down.
+     */
+    public ParallelLargeSourceSet(List<SourceFile> ls, ExecutorService executor) {
+        this(null, null, ls, null, executor);
+    }
+
+    public ParallelLargeSourceSet(List<SourceFile> ls, @Nullable ClassLoader classLoader, ExecutorService executor) {
+        this(null, null, ls, classLoader, executor);
+    }
+
+    protected ParallelLargeSourceSet(@Nullable InMemoryLargeSourceSet initialState,
+                                     @Nullable Map<SourceFile, List<Recipe>> deletions,
+                                     List<SourceFile> ls,
+                                     @Nullable ClassLoader classLoader,
+                                     ExecutorService executor) {
+        super(initialState, deletions, ls, classLoader);
+        this.recipeClassLoader = classLoader;
+        this.executor = executor;
+    }
+
+    @Override
+    protected InMemoryLargeSourceSet withChanges(@Nullable Map<SourceFile, List<Recipe>> deletions, List<SourceFile> mapped) {
+        return new ParallelLargeSourceSet(getInitialState(), deletions, mapped, recipeClassLoader, executor);
+    }
+
+    @Override
+    public void setRecipe(List<Recipe> recipeStack) {
+        // each worker thread is at its own position in the recipe list
+        currentRecipeStack.set(recipeStack);
+    }
+
+    @Override
+    protected List<Recipe> getCurrentRecipeStack() {
+        return currentRecipeStack.get();
+    }
+
+    @Override
+    protected List<SourceFile> mapSourceFiles(List<SourceFile> ls, UnaryOperator<SourceFile> map) {
+        if (map instanceof LargeSourceSet.SequentialEdit || ls.size() < 2) {
+            return super.mapSourceFiles(ls, map);
+        }
+
+        // workers need the same context class loader the calling thread has been given for this edit
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        SourceFile[] mapped = new SourceFile[ls.size()];
+        //noinspection unchecked
+        List<Recipe>[] deletedBy = new List[ls.size()];
+
+        List<Callable<Void>> edits = new ArrayList<>(ls.size());
+        for (int i = 0; i < ls.size(); i++) {
+            int index = i;
+            edits.add(() -> {
+                Thread worker = Thread.currentThread();
+                ClassLoader originalTCCL = worker.getContextClassLoader();
+                worker.setContextClassLoader(contextClassLoader);
+                try {
+                    SourceFile after = map.apply(ls.get(index));
+                    mapped[index] = after;
+                    if (after == null) {
+                        deletedBy[index] = getCurrentRecipeStack();
+                    }
+                } finally {
+                    currentRecipeStack.remove();
+                    worker.setContextClassLoader(originalTCCL);
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> edit : executor.invokeAll(edits)) {
+                edit.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+
+        boolean changed = false;
+        List<SourceFile> after = new ArrayList<>(ls.size());
+        for (int i = 0; i < mapped.length; i++) {
+            SourceFile before = ls.get(i);
+            if (mapped[i] != before) {
+                changed = true;
+            }
+            if (mapped[i] == null) {
+                recordDeletion(before, deletedBy[i]);
+            } else {
+                after.add(mapped[i]);
+            }
+        }
+        return changed ? after : ls;
+    }
+}
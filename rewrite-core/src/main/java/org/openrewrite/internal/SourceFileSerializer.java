@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openrewrite.SourceFile;
+import org.openrewrite.rpc.RpcObjectData;
+import org.openrewrite.rpc.RpcReceiveQueue;
+import org.openrewrite.rpc.RpcSendQueue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Serializes a {@link SourceFile} to a self-contained binary form using the same codecs that
+ * transfer trees over Rewrite RPC, so that every language with RPC support can be serialized.
+ * <p>
+ * Objects that are sent by reference (e.g. types) are shared by every source file that this serializer
+ * serializes and deserializes. The first source file to refer to such an object carries all of it, later
+ * ones carry only its reference, and every deserialized source file refers to the instance that was
+ * serialized rather than to a copy of it. The serializer retains those instances for as long as it is in use.
+ */
+public class SourceFileSerializer {
+    private static final ObjectMapper MAPPER = ObjectMappers.rpcSmileMapper();
+
+    private static final TypeReference<List<RpcObjectData>> RPC_OBJECT_DATA_LIST = new TypeReference<List<RpcObjectData>>() {
+    };
+
+    private final Map<Integer, Object> receivedRefs = new HashMap<>();
+
+    @SuppressWarnings("serial")
+    private final IdentityHashMap<Object, Integer> sentRefs = new IdentityHashMap<Object, Integer>() {
+        @Override
+        public Integer put(Object key, Integer value) {
+            // a serialized reference resolves to the instance that was serialized
+            receivedRefs.put(value, key);
+            return super.put(key, value);
+        }
+    };
+
+    public synchronized byte[] serialize(SourceFile sourceFile) {
+        List<RpcObjectData> data = new ArrayList<>();
+        RpcSendQueue q = new RpcSendQueue(1000, data::addAll, sentRefs,
+                sourceFile.getClass().getName(), false);
+        q.send(sourceFile, null, null);
+        q.flush();
+        try {
+            return MAPPER.writeValueAsBytes(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param bytes          The output of {@link #serialize(SourceFile)} on this serializer.
+     * @param sourceFileType The class name of the serialized source file, which selects the RPC codecs to use.
+     * @return The deserialized source file.
+     */
+    public synchronized SourceFile deserialize(byte[] bytes, String sourceFileType) {
+        List<RpcObjectData> data;
+        try {
+            data = MAPPER.readValue(bytes, RPC_OBJECT_DATA_LIST);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<List<RpcObjectData>> batches = new ArrayList<>(1);
+        batches.add(data);
+        RpcReceiveQueue q = new RpcReceiveQueue(receivedRefs,
+                () -> batches.isEmpty() ? emptyList() : batches.remove(0),
+                sourceFileType, null);
+        return q.receive(null, null);
+    }
+}
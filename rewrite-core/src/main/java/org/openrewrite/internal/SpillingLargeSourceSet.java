@@ -0,0 +1,393 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.marker.DeserializationError;
+import org.openrewrite.marker.Generated;
+import org.openrewrite.marker.RecipesThatMadeChanges;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
+
+/**
+ * A source set that keeps serialized source files in a {@link MappedSegmentStore} rather than on the heap.
+ * Only identity and checksum metadata for each source file is retained, along with strong references to a
+ * small, bounded number of the most recently used trees, so that a source file that is visited by several
+ * phases in a row isn't deserialized again every time. Every other tree is unreachable from this source set.
+ * <p>
+ * Each {@link #edit(UnaryOperator)} pages source files in one at a time and writes only the ones that changed
+ * back to the store, so the initial state of every source file remains available to {@link #getChangeset()}.
+ * Pages of the changeset are deserialized on demand.
+ * <p>
+ * Objects that source files share by reference, such as types, are held on the heap once and shared by
+ * every tree that is read back from the store. The record of a source file is released back to the store
+ * once no source set or changeset refers to that version of the source file anymore.
+ * <p>
+ * The store must stay open for as long as this source set or its changeset is in use.
+ */
+public class SpillingLargeSourceSet implements LargeSourceSet {
+    public static final int DEFAULT_RESIDENT_TREES = 8;
+
+    private final MappedSegmentStore store;
+
+    /**
+     * Shared by this source set, its initial state, and every source set derived from them.
+     */
+    private final ResidentTrees residentTrees;
+
+    /**
+     * Shared by this source set, its initial state, and every source set derived from them.
+     */
+    private final Records records;
+
+    /**
+     * If null, then the initial state is this instance.
+     */
+    @Nullable
+    private final SpillingLargeSourceSet initialState;
+
+    private final List<Entry> entries;
+
+    @Nullable
+    private Map<Entry, List<Recipe>> deletions;
+
+    private List<Recipe> currentRecipeStack;
+
+    @Nullable
+    private final ClassLoader recipeClassLoader;
+
+    /**
+     * Built lazily on the initial state by the first call to {@link #getBefore(Path)}.
+     */
+    @Nullable
+    private volatile Map<Path, Entry> entriesByPath;
+
+    public SpillingLargeSourceSet(Stream<? extends SourceFile> sourceFiles, MappedSegmentStore store) {
+        this(sourceFiles, store, null);
+    }
+
+    public SpillingLargeSourceSet(Stream<? extends SourceFile> sourceFiles, MappedSegmentStore store,
+                                  @Nullable ClassLoader classLoader) {
+        this(sourceFiles, store, classLoader, DEFAULT_RESIDENT_TREES);
+    }
+
+    /**
+     * @param residentTrees The number of most recently used trees kept on the heap.
+     */
+    public SpillingLargeSourceSet(Stream<? extends SourceFile> sourceFiles, MappedSegmentStore store,
+                                  @Nullable ClassLoader classLoader, int residentTrees) {
+        this.store = store;
+        this.residentTrees = new ResidentTrees(residentTrees);
+        this.records = new Records(store);
+        this.initialState = null;
+        this.recipeClassLoader = classLoader;
+        List<Entry> entries = new ArrayList<>();
+        sourceFiles.forEach(sourceFile -> entries.add(write(sourceFile)));
+        this.entries = entries;
+    }
+
+    private SpillingLargeSourceSet(SpillingLargeSourceSet initialState,
+                                   @Nullable Map<Entry, List<Recipe>> deletions,
+                                   List<Entry> entries) {
+        this.store = initialState.store;
+        this.residentTrees = initialState.residentTrees;
+        this.records = initialState.records;
+        this.initialState = initialState;
+        this.deletions = deletions;
+        this.entries = entries;
+        this.recipeClassLoader = initialState.recipeClassLoader;
+    }
+
+    @Override
+    public void setRecipe(List<Recipe> recipeStack) {
+        this.currentRecipeStack = recipeStack;
+    }
+
+    @Override
+    public LargeSourceSet edit(UnaryOperator<@Nullable SourceFile> map) {
+        ClassLoader originalTCCL = null;
+        try {
+            if (recipeClassLoader != null) {
+                // set TCCL to the recipe's classloader and store the original value, needed by SPI to load providers from recipe artifacts
+                originalTCCL = Thread.currentThread().getContextClassLoader();
+                Thread.currentThread().setContextClassLoader(recipeClassLoader);
+            }
+            List<Entry> mapped = ListUtils.map(entries, entry -> {
+                SourceFile before = read(entry);
+                SourceFile after = map.apply(before);
+                if (after == null) {
+                    if (deletions == null) {
+                        deletions = new LinkedHashMap<>();
+                    }
+                    deletions.put(entry, currentRecipeStack);
+                    return null;
+                }
+                return after == before ? entry : write(after);
+            });
+            return mapped != entries ? new SpillingLargeSourceSet(getInitialState(), deletions, mapped) : this;
+        } finally {
+            if (originalTCCL != null) {
+                // reset TCCL value to the original one to no infer with other tooling
+                Thread.currentThread().setContextClassLoader(originalTCCL);
+            }
+        }
+    }
+
+    @Override
+    public LargeSourceSet generate(@Nullable Collection<? extends SourceFile> t) {
+        if (t == null || t.isEmpty()) {
+            return this;
+        }
+        List<Entry> newEntries = new ArrayList<>(entries.size() + t.size());
+        newEntries.addAll(entries);
+        for (SourceFile sourceFile : t) {
+            newEntries.add(write(sourceFile));
+        }
+        return new SpillingLargeSourceSet(getInitialState(), deletions, newEntries);
+    }
+
+    @Override
+    public Changeset getChangeset() {
+        SpillingLargeSourceSet initial = getInitialState();
+        Map<UUID, Entry> initialEntries = new HashMap<>();
+        for (Entry entry : initial.entries) {
+            initialEntries.put(entry.id, entry);
+        }
+
+        List<PendingResult> changes = new ArrayList<>();
+
+        // added or changed files
+        for (Entry entry : entries) {
+            Entry original = initialEntries.get(entry.id);
+            if (original == null) {
+                changes.add(new PendingResult(null, entry, null));
+            } else if (original != entry && original.checksum != entry.checksum) {
+                if (original.generated || entry.deserializationError) {
+                    continue;
+                }
+                changes.add(new PendingResult(original, entry, null));
+            }
+        }
+
+        if (deletions != null) {
+            for (Map.Entry<Entry, List<Recipe>> deletion : deletions.entrySet()) {
+                changes.add(new PendingResult(deletion.getKey(), null, deletion.getValue()));
+            }
+        }
+
+        return new SpillingChangeset(changes);
+    }
+
+    @Override
+    public @Nullable SourceFile getBefore(Path sourcePath) {
+        Entry entry = getInitialState().getEntriesByPath().get(sourcePath);
+        return entry == null ? null : read(entry);
+    }
+
+    @Override
+    public boolean hasBefore(Path sourcePath) {
+        return getInitialState().getEntriesByPath().containsKey(sourcePath);
+    }
+
+    private Map<Path, Entry> getEntriesByPath() {
+        Map<Path, Entry> index = entriesByPath;
+        if (index == null) {
+            index = new HashMap<>((int) (entries.size() / 0.75f) + 1);
+            for (Entry entry : entries) {
+                index.putIfAbsent(entry.sourcePath, entry);
+            }
+            entriesByPath = index;
+        }
+        return index;
+    }
+
+    private SpillingLargeSourceSet getInitialState() {
+        return initialState == null ? this : initialState;
+    }
+
+    private Entry write(SourceFile sourceFile) {
+        Entry entry = records.write(sourceFile);
+        residentTrees.put(entry, sourceFile);
+        return entry;
+    }
+
+    private SourceFile read(Entry entry) {
+        SourceFile sourceFile = residentTrees.get(entry);
+        if (sourceFile == null) {
+            sourceFile = records.read(entry);
+            residentTrees.put(entry, sourceFile);
+        }
+        return sourceFile;
+    }
+
+    /**
+     * Writes and reads the records of source files, sharing the objects they refer to by reference, and
+     * releases the record of every {@link Entry} that has become unreachable.
+     */
+    private static class Records {
+        private final MappedSegmentStore store;
+        private final SourceFileSerializer serializer = new SourceFileSerializer();
+        private final ReferenceQueue<Entry> unreachable = new ReferenceQueue<>();
+
+        /**
+         * Keeps the phantom references themselves reachable until they are enqueued.
+         */
+        private final Set<EntryReference> references = ConcurrentHashMap.newKeySet();
+
+        Records(MappedSegmentStore store) {
+            this.store = store;
+        }
+
+        Entry write(SourceFile sourceFile) {
+            releaseUnreachable();
+            byte[] bytes = serializer.serialize(sourceFile);
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            Entry entry = new Entry(sourceFile, store.write(bytes), crc.getValue());
+            references.add(new EntryReference(entry, unreachable));
+            return entry;
+        }
+
+        SourceFile read(Entry entry) {
+            return serializer.deserialize(store.read(entry.record), entry.sourceFileType);
+        }
+
+        private void releaseUnreachable() {
+            Reference<? extends Entry> ref;
+            while ((ref = unreachable.poll()) != null) {
+                EntryReference entryRef = (EntryReference) ref;
+                if (references.remove(entryRef)) {
+                    store.release(entryRef.record);
+                }
+            }
+        }
+    }
+
+    private static class EntryReference extends PhantomReference<Entry> {
+        final MappedSegmentStore.Record record;
+
+        EntryReference(Entry entry, ReferenceQueue<Entry> queue) {
+            super(entry, queue);
+            this.record = entry.record;
+        }
+    }
+
+    /**
+     * A least recently used set of deserialized trees, strongly referenced so that the heap they occupy is
+     * bounded and predictable rather than left to the garbage collector's discretion.
+     */
+    private static class ResidentTrees {
+        private final Map<Entry, SourceFile> trees;
+
+        ResidentTrees(int capacity) {
+            this.trees = new LinkedHashMap<Entry, SourceFile>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Entry, SourceFile> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized @Nullable SourceFile get(Entry entry) {
+            return trees.get(entry);
+        }
+
+        synchronized void put(Entry entry, SourceFile sourceFile) {
+            trees.put(entry, sourceFile);
+        }
+    }
+
+    private static class Entry {
+        final UUID id;
+        final Path sourcePath;
+        final String sourceFileType;
+        final MappedSegmentStore.Record record;
+        final long checksum;
+        final boolean generated;
+        final boolean deserializationError;
+
+        Entry(SourceFile sourceFile, MappedSegmentStore.Record record, long checksum) {
+            this.id = sourceFile.getId();
+            this.sourcePath = sourceFile.getSourcePath();
+            this.sourceFileType = sourceFile.getClass().getName();
+            this.record = record;
+            this.checksum = checksum;
+            this.generated = sourceFile.getMarkers().findFirst(Generated.class).isPresent();
+            this.deserializationError = sourceFile.getMarkers().findFirst(DeserializationError.class).isPresent();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class PendingResult {
+        @Nullable
+        final Entry before;
+
+        @Nullable
+        final Entry after;
+
+        @Nullable
+        final List<Recipe> deletedBy;
+    }
+
+    @RequiredArgsConstructor
+    private class SpillingChangeset implements Changeset {
+        final List<PendingResult> changes;
+
+        @Override
+        public int size() {
+            return changes.size();
+        }
+
+        @Override
+        public List<Result> getPage(int start, int count) {
+            List<Result> page = new ArrayList<>(Math.min(count, Math.max(0, changes.size() - start)));
+            for (PendingResult change : changes.subList(start, Math.min(changes.size(), start + count))) {
+                page.add(toResult(change));
+            }
+            return page;
+        }
+
+        @Override
+        public List<Result> getAllResults() {
+            return getPage(0, changes.size());
+        }
+
+        private Result toResult(PendingResult change) {
+            SourceFile before = change.before == null ? null : read(change.before);
+            SourceFile after = change.after == null ? null : read(change.after);
+            if (after == null) {
+                return new Result(before, null, change.deletedBy == null ? emptyList() : singleton(change.deletedBy));
+            } else if (before == null) {
+                Collection<List<Recipe>> recipes = after.getMarkers().findFirst(RecipesThatMadeChanges.class).map(RecipesThatMadeChanges::getRecipes).orElse(emptyList());
+                return new Result(null, after, recipes);
+            }
+            return new Result(before, after);
+        }
+    }
+}
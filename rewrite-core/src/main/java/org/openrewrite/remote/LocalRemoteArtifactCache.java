@@ -19,59 +19,241 @@
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+/**
+ * Caches artifacts in a directory, named by the hash of their URI.
+ * <p>
+ * Concurrent requests to {@link #compute(URI, Callable, Consumer)} the same URI are coalesced into a
+ * single download, while downloads of different URIs proceed in parallel. Artifacts are written to a
+ * temporary file and moved into place, so a reader, even in another process, never sees a partially
+ * written artifact.
+ * <p>
+ * When given a byte budget, the least recently used artifacts are deleted whenever the artifacts this
+ * cache knows of exceed it. Artifacts are used when they are put or got. Each cache keeps its own
+ * account of the artifacts, which starts from the artifacts in the directory when it is created, in
+ * the order of their last modified time, and which is updated as it uses artifacts. Uses are recorded
+ * in the last modified time too, so that a cache created later, e.g. after a restart, starts from the
+ * same order, but artifacts that other processes put after this cache was created only count toward
+ * its budget once it uses them. Artifacts that are being {@link #open(URI, Callable, Consumer, Opener) opened}
+ * are never deleted.
+ */
 public class LocalRemoteArtifactCache implements RemoteArtifactCache {
     private final Path cacheDir;
+    private final long maxBytes;
+
+    private final Map<String, CompletableFuture<@Nullable Path>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Artifact name to size, in least recently used order. Guarded by itself.
+     */
+    private final LinkedHashMap<String, Long> artifactSizes = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * Artifact name to the number of threads opening it. Guarded by {@link #artifactSizes}.
+     */
+    private final Map<String, Integer> pinned = new HashMap<>();
 
     public LocalRemoteArtifactCache(Path cacheDir) {
+        this(cacheDir, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param cacheDir The directory to cache artifacts in.
+     * @param maxBytes The total size of artifacts in bytes beyond which the least recently used are deleted.
+     */
+    public LocalRemoteArtifactCache(Path cacheDir, long maxBytes) {
         if (!cacheDir.toFile().exists() && !cacheDir.toFile().mkdirs()) {
             throw new IllegalStateException("Unable to find or create remote archive cache at " + cacheDir);
         }
         this.cacheDir = cacheDir;
+        this.maxBytes = maxBytes;
+        if (maxBytes != Long.MAX_VALUE) {
+            loadArtifactSizes();
+        }
     }
 
     @Override
     public @Nullable Path get(URI uri) {
         Path resolved = cacheDir.resolve(hashUri(uri));
-        return Files.exists(resolved) ? resolved : null;
+        if (Files.exists(resolved)) {
+            used(resolved);
+            return resolved;
+        }
+        return null;
     }
 
     @Override
     public @Nullable Path put(URI uri, InputStream artifactInputStream, Consumer<Throwable> onError) {
-        synchronized (this) {
-            Path artifact = cacheDir.resolve(UUID.randomUUID() + ".tmp");
-            try (InputStream is = artifactInputStream) {
-                Files.copy(is, artifact, StandardCopyOption.REPLACE_EXISTING);
-                Path cachedArtifact = cacheDir.resolve(hashUri(uri));
-                if (!Files.exists(cachedArtifact)) {
-                    Files.move(artifact, cachedArtifact, StandardCopyOption.ATOMIC_MOVE,
-                            StandardCopyOption.REPLACE_EXISTING);
+        Path artifact = cacheDir.resolve(UUID.randomUUID() + ".tmp");
+        try (InputStream is = artifactInputStream) {
+            Files.copy(is, artifact, StandardCopyOption.REPLACE_EXISTING);
+            Path cachedArtifact = cacheDir.resolve(hashUri(uri));
+            if (!Files.exists(cachedArtifact)) {
+                try {
+                    Files.move(artifact, cachedArtifact, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException ignored) {
+                    // another process put the same artifact first
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(artifact, cachedArtifact, StandardCopyOption.REPLACE_EXISTING);
                 }
-                return cachedArtifact;
-            } catch (Exception e) {
+            }
+            used(cachedArtifact);
+            evict(cachedArtifact);
+            return cachedArtifact;
+        } catch (Exception e) {
+            onError.accept(e);
+            return null;
+        } finally {
+            if (Files.exists(artifact)) {
+                try {
+                    Files.delete(artifact);
+                } catch (IOException ignored) {
+                    // Suppress
+                }
+            }
+        }
+    }
+
+    @Override
+    public @Nullable Path compute(URI uri, Callable<@Nullable InputStream> artifactStream, Consumer<Throwable> onError) {
+        Path artifact = get(uri);
+        if (artifact != null) {
+            return artifact;
+        }
+
+        CompletableFuture<@Nullable Path> download = new CompletableFuture<>();
+        CompletableFuture<@Nullable Path> existing = inFlight.putIfAbsent(uri.toString(), download);
+        if (existing != null) {
+            try {
+                return existing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 onError.accept(e);
                 return null;
-            } finally {
-                if (Files.exists(artifact)) {
+            } catch (ExecutionException e) {
+                onError.accept(e.getCause());
+                return null;
+            }
+        }
+
+        try {
+            // it may have been put while this thread was checking for a download in flight
+            artifact = get(uri);
+            if (artifact == null) {
+                InputStream is = artifactStream.call();
+                if (is != null) {
+                    artifact = put(uri, is, onError);
+                }
+            }
+        } catch (Exception e) {
+            onError.accept(e);
+        } finally {
+            inFlight.remove(uri.toString());
+            download.complete(artifact);
+        }
+        return artifact;
+    }
+
+    @Override
+    public <T> @Nullable T open(URI uri, Callable<@Nullable InputStream> artifactStream, Consumer<Throwable> onError,
+                                Opener<T> opener) throws IOException {
+        String name = hashUri(uri);
+        synchronized (artifactSizes) {
+            pinned.merge(name, 1, Integer::sum);
+        }
+        try {
+            Path artifact = compute(uri, artifactStream, onError);
+            return artifact == null ? null : opener.open(artifact);
+        } finally {
+            synchronized (artifactSizes) {
+                pinned.computeIfPresent(name, (n, count) -> count == 1 ? null : count - 1);
+            }
+        }
+    }
+
+    private void used(Path artifact) {
+        if (maxBytes == Long.MAX_VALUE) {
+            return;
+        }
+        try {
+            long size = Files.size(artifact);
+            Files.setLastModifiedTime(artifact, FileTime.fromMillis(System.currentTimeMillis()));
+            synchronized (artifactSizes) {
+                Long previous = artifactSizes.put(artifact.getFileName().toString(), size);
+                totalBytes += size - (previous == null ? 0 : previous);
+            }
+        } catch (IOException ignored) {
+            // evicted by another process since
+        }
+    }
+
+    private void evict(Path keep) {
+        if (maxBytes == Long.MAX_VALUE) {
+            return;
+        }
+        // artifacts are deleted while holding the lock, so that one is either pinned before it
+        // is chosen, or gone by the time it is looked up
+        synchronized (artifactSizes) {
+            Iterator<Map.Entry<String, Long>> lru = artifactSizes.entrySet().iterator();
+            while (totalBytes > maxBytes && lru.hasNext()) {
+                Map.Entry<String, Long> artifact = lru.next();
+                if (!artifact.getKey().equals(keep.getFileName().toString()) && !pinned.containsKey(artifact.getKey())) {
+                    totalBytes -= artifact.getValue();
+                    lru.remove();
                     try {
-                        Files.delete(artifact);
+                        Files.deleteIfExists(cacheDir.resolve(artifact.getKey()));
                     } catch (IOException ignored) {
-                        // Suppress
+                        // an artifact still open elsewhere may not be deletable on some file systems
                     }
                 }
             }
         }
     }
 
+    private void loadArtifactSizes() {
+        List<Map.Entry<String, BasicFileAttributes>> artifacts = new ArrayList<>();
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(".tmp")) {
+                    try {
+                        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                        if (attributes.isRegularFile()) {
+                            artifacts.add(new AbstractMap.SimpleEntry<>(name, attributes));
+                        }
+                    } catch (IOException ignored) {
+                        // deleted since it was listed
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        artifacts.sort(Comparator.comparing(a -> a.getValue().lastModifiedTime()));
+        synchronized (artifactSizes) {
+            for (Map.Entry<String, BasicFileAttributes> artifact : artifacts) {
+                artifactSizes.put(artifact.getKey(), artifact.getValue().size());
+                totalBytes += artifact.getValue().size();
+            }
+        }
+    }
+
     public static String hashUri(URI uri) {
         // hash the string using SHA-256
         try {
@@ -27,6 +27,7 @@
 import org.openrewrite.ipc.http.HttpSender;
 import org.openrewrite.marker.Markers;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
@@ -35,10 +36,12 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.UUID;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 /**
@@ -92,7 +95,7 @@ public InputStream getInputStream(ExecutionContext ctx) {
         HttpSender httpSender = HttpSenderExecutionContextView.view(ctx).getLargeFileHttpSender();
         RemoteArtifactCache cache = RemoteExecutionContextView.view(ctx).getArtifactCache();
         try {
-            Path localArchive = cache.compute(uri, () -> {
+            InputStream inner = cache.open(uri, () -> {
                 if ("file".equals(uri.getScheme())) {
                     return Files.newInputStream(Paths.get(uri));
                 }
@@ -140,16 +143,16 @@ public int read(byte[] b, int off, int len) throws IOException {
                 } else {
                     throw new IllegalStateException("Failed to download " + uri + " to artifact cache got an " + response.getCode());
                 }
-            }, ctx.getOnError());
-
-            if (localArchive == null) {
-                throw new IllegalStateException("Failed to download " + uri + " to artifact cache");
-            }
+            }, ctx.getOnError(), localArchive -> {
+                InputStream entry = readIntoArchive(localArchive);
+                if (entry == null) {
+                    throw new IllegalArgumentException("Unable to find path " + paths + " in zip file " + uri);
+                }
+                return entry;
+            });
 
-            InputStream body = Files.newInputStream(localArchive);
-            InputStream inner = readIntoArchive(body, paths, 0);
             if (inner == null) {
-                throw new IllegalArgumentException("Unable to find path " + paths + " in zip file " + uri);
+                throw new IllegalStateException("Failed to download " + uri + " to artifact cache");
             }
             return inner;
         } catch (IOException e) {
@@ -157,6 +160,43 @@ public int read(byte[] b, int off, int len) throws IOException {
         }
     }
 
+    /**
+     * The outermost archive is opened by its central directory, so that its matching entries are read directly
+     * rather than by inflating every entry that precedes them, as a distribution archive would otherwise require.
+     */
+    private @Nullable InputStream readIntoArchive(Path localArchive) throws IOException {
+        ZipFile zip = new ZipFile(localArchive.toFile());
+        Pattern pattern = Pattern.compile(paths.get(0));
+        try {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (pattern.matcher(entry.getName()).matches()) {
+                    InputStream entryStream = zip.getInputStream(entry);
+                    InputStream inner = paths.size() == 1 ? entryStream : readIntoArchive(entryStream, paths, 1);
+                    if (inner != null) {
+                        return new FilterInputStream(inner) {
+                            @Override
+                            public void close() throws IOException {
+                                try {
+                                    super.close();
+                                } finally {
+                                    zip.close();
+                                }
+                            }
+                        };
+                    }
+                    entryStream.close();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            zip.close();
+            throw e;
+        }
+        zip.close();
+        return null;
+    }
+
     private @Nullable InputStream readIntoArchive(InputStream body, List<String> paths, int index) {
         ZipInputStream zis = new ZipInputStream(body);
         Pattern pattern = Pattern.compile(paths.get(index));
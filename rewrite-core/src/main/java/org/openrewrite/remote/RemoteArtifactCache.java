@@ -17,6 +17,7 @@
 
 import org.jspecify.annotations.Nullable;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Path;
@@ -45,4 +46,21 @@ public interface RemoteArtifactCache {
         }
         return artifact;
     }
+
+    /**
+     * Like {@link #compute(URI, Callable, Consumer)}, but also opens the artifact before a cache that evicts
+     * artifacts may delete it.
+     *
+     * @return What the opener opened, or {@code null} if the artifact could not be computed.
+     */
+    default <T> @Nullable T open(URI uri, Callable<@Nullable InputStream> artifactStream, Consumer<Throwable> onError,
+                                 Opener<T> opener) throws IOException {
+        Path artifact = compute(uri, artifactStream, onError);
+        return artifact == null ? null : opener.open(artifact);
+    }
+
+    @FunctionalInterface
+    interface Opener<T> {
+        T open(Path artifact) throws IOException;
+    }
 }
@@ -67,7 +67,7 @@ public InputStream getInputStream(ExecutionContext ctx) {
         HttpSender httpSender = HttpSenderExecutionContextView.view(ctx).getLargeFileHttpSender();
         RemoteArtifactCache cache = RemoteExecutionContextView.view(ctx).getArtifactCache();
         try {
-            Path localFile = cache.compute(uri, () -> {
+            InputStream localFile = cache.open(uri, () -> {
                 //noinspection resource
                 HttpSender.Response response = httpSender.get(uri.toString()).send();
                 if (response.isSuccessful()) {
@@ -75,13 +75,13 @@ public InputStream getInputStream(ExecutionContext ctx) {
                 } else {
                     throw new IllegalStateException("Failed to download " + uri + " to artifact cache got an " + response.getCode());
                 }
-            }, ctx.getOnError());
+            }, ctx.getOnError(), Files::newInputStream);
 
             if (localFile == null) {
                 throw new IllegalStateException("Failed to download " + uri + " to artifact cache");
             }
 
-            return Files.newInputStream(localFile);
+            return localFile;
         } catch (IOException e) {
             throw new UncheckedIOException("Unable to download " + uri + " to temporary file", e);
         }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses how many objects to ask the remote for in each {@code GetObject} batch.
+ * <p>
+ * Every batch costs a round trip. The next batch is requested while the current one is
+ * being received, so as long as receiving a batch takes longer than fetching the next one,
+ * that round trip is hidden. When the receiver instead spends most of an object's transfer
+ * waiting on the remote, the batch size is doubled so that fewer round trips are made. When
+ * batches grow larger than {@link #MAX_BATCH_BYTES}, the batch size is halved to bound the
+ * memory that each side holds for a batch and the pause to encode and decode it. Batch size
+ * in bytes is counted on the wire when the peer has an {@link RpcMessageFormatter}, and
+ * otherwise estimated from the decoded batch with {@link #estimateBytes(List)}.
+ */
+class AdaptiveBatchSize {
+    static final int MIN_BATCH_SIZE = 100;
+    static final int MAX_BATCH_SIZE = 10_000;
+    static final long MAX_BATCH_BYTES = 4 * 1024 * 1024;
+
+    private final AtomicInteger size;
+
+    AdaptiveBatchSize(int initial) {
+        this.size = new AtomicInteger(Math.max(MIN_BATCH_SIZE, Math.min(MAX_BATCH_SIZE, initial)));
+    }
+
+    int get() {
+        return size.get();
+    }
+
+    /**
+     * @param batches     The number of batches the object was received in.
+     * @param bytes       The size of those batches, or -1 if it is not known.
+     * @param waitNanos   The time the receiver spent waiting for batches to arrive.
+     * @param totalNanos  The time taken to receive the whole object.
+     */
+    void observe(int batches, long bytes, long waitNanos, long totalNanos) {
+        if (batches == 0) {
+            return;
+        }
+        if (bytes >= 0 && bytes / batches > MAX_BATCH_BYTES) {
+            size.updateAndGet(s -> Math.max(MIN_BATCH_SIZE, s / 2));
+        } else if (batches > 1 && waitNanos > totalNanos / 2) {
+            size.updateAndGet(s -> Math.min(MAX_BATCH_SIZE, s * 2));
+        }
+    }
+
+    /**
+     * @param batch A batch of object data as it was decoded.
+     * @return Roughly the number of bytes the batch takes up when written as JSON, which is
+     * an upper bound on its size when written as Smile.
+     */
+    static long estimateBytes(List<RpcObjectData> batch) {
+        long bytes = 0;
+        for (RpcObjectData data : batch) {
+            // the braces, property names and state of each element
+            bytes += 32;
+            if (data.getValueType() != null) {
+                bytes += data.getValueType().length();
+            }
+            bytes += estimateBytes(data.rawValue());
+        }
+        return bytes;
+    }
+
+    private static long estimateBytes(@Nullable Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof CharSequence) {
+            return ((CharSequence) value).length() + 2;
+        } else if (value instanceof Map) {
+            long bytes = 2;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                bytes += String.valueOf(entry.getKey()).length() + 4 + estimateBytes(entry.getValue());
+            }
+            return bytes;
+        } else if (value instanceof Collection) {
+            long bytes = 2;
+            for (Object element : (Collection<?>) value) {
+                bytes += estimateBytes(element) + 1;
+            }
+            return bytes;
+        }
+        return 8;
+    }
+}
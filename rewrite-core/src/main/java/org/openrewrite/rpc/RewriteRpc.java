@@ -25,6 +25,7 @@
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.config.OptionDescriptor;
+import org.openrewrite.internal.JfrEventType;
 import org.openrewrite.internal.RecipeLoader;
 import org.openrewrite.marketplace.RecipeBundle;
 import org.openrewrite.marketplace.RecipeBundleResolver;
@@ -63,8 +64,21 @@
  */
 @SuppressWarnings("UnusedReturnValue")
 public class RewriteRpc {
+    private static final JfrEventType REQUEST = JfrEventType.builder("org.openrewrite.rpc.Request", "Rewrite RPC request")
+            .category("RPC")
+            .description("A request sent to the remote peer, lasting until its response has been received.")
+            .field("method", String.class, "Method")
+            .field("successful", boolean.class, "Successful")
+            .build();
+
     private final JsonRpc jsonRpc;
     private final AtomicInteger batchSize = new AtomicInteger(1000);
+
+    /**
+     * The batch size to ask the remote for, unless a fixed batch size has been configured.
+     */
+    @VisibleForTesting
+    volatile @Nullable AdaptiveBatchSize receiveBatchSize = new AdaptiveBatchSize(1000);
     private Duration timeout = Duration.ofSeconds(30);
     private Supplier<? extends @Nullable RuntimeException> livenessCheck = () -> null;
     private final AtomicReference<@Nullable PrintStream> log = new AtomicReference<>();
@@ -95,6 +109,8 @@ public class RewriteRpc {
 
     private @Nullable List<String> remoteLanguages;
 
+    private @Nullable RpcMessageFormatter messageFormatter;
+
     /**
      * Creates a new RPC interface that can be used to communicate with a remote.
      *
@@ -137,6 +153,7 @@ protected Boolean handle(TraceGetObject request) {
                 return true;
             }
         });
+        jsonRpc.rpc("NegotiateMessageFormat", new NegotiateMessageFormat.Handler(() -> messageFormatter));
         jsonRpc.rpc("GetLanguages", new JsonRpcMethod<Void>() {
             @Override
             protected Object handle(Void noParams) {
@@ -193,8 +210,13 @@ public RewriteRpc timeout(Duration timeout) {
         return this;
     }
 
+    /**
+     * @param batchSize A fixed number of objects to send in each batch. Unless this is called, this peer
+     *                  asks the remote for batches whose size adapts to how long it waits for them.
+     */
     public RewriteRpc batchSize(int batchSize) {
         this.batchSize.set(batchSize);
+        this.receiveBatchSize = null;
         return this;
     }
 
@@ -203,6 +225,41 @@ public RewriteRpc log(@Nullable PrintStream logFile) {
         return this;
     }
 
+    /**
+     * @param messageFormatter The formatter that the {@link JsonRpc} this peer was created with
+     *                         reads and writes messages with, which allows this peer to switch
+     *                         to a binary format when asked to by the remote or when
+     *                         {@link #negotiateMessageFormat()} is called.
+     */
+    public RewriteRpc messageFormatter(RpcMessageFormatter messageFormatter) {
+        this.messageFormatter = messageFormatter;
+        return this;
+    }
+
+    /**
+     * Ask the remote to exchange messages in the most compact format both peers understand.
+     * A remote that does not support negotiation keeps exchanging JSON.
+     *
+     * @return The format that this peer now writes messages in.
+     */
+    public RpcMessageFormatter.Format negotiateMessageFormat() {
+        RpcMessageFormatter formatter = messageFormatter;
+        if (formatter == null) {
+            return RpcMessageFormatter.Format.JSON;
+        }
+        RpcMessageFormatter.Format format;
+        try {
+            format = send("NegotiateMessageFormat", new NegotiateMessageFormat(Arrays.asList(
+                    RpcMessageFormatter.Format.SMILE, RpcMessageFormatter.Format.JSON)), RpcMessageFormatter.Format.class);
+        } catch (RuntimeException e) {
+            // The remote is alive, but does not know how to negotiate
+            checkLiveness();
+            format = RpcMessageFormatter.Format.JSON;
+        }
+        formatter.setFormat(format);
+        return format;
+    }
+
     public void shutdown() {
         PrintStream logOut = log.get();
         if (logOut != null) {
@@ -480,9 +537,10 @@ public <T> T getObject(String id, @Nullable String sourceFileType) {
         // (e.g., via a Java-side recipe) since the remote doesn't know about those changes.
         Object before = remoteObjects.get(id);
 
+        GetObjectBatches batches = new GetObjectBatches(id, sourceFileType);
         RpcReceiveQueue q = new RpcReceiveQueue(
                 remoteRefs,
-                () -> send("GetObject", new GetObject(id, sourceFileType), GetObjectResponse.class),
+                batches,
                 sourceFileType,
                 log.get()
         );
@@ -499,6 +557,7 @@ public <T> T getObject(String id, @Nullable String sourceFileType) {
         if (endMarker.getState() != END_OF_OBJECT) {
             throw new IllegalStateException("Expected END_OF_OBJECT but got: " + endMarker);
         }
+        batches.received();
 
         //noinspection ConstantValue
         if (remoteObject != null) {
@@ -512,12 +571,31 @@ public <T> T getObject(String id, @Nullable String sourceFileType) {
     }
 
     protected <P> P send(String method, @Nullable RpcRequest body, Class<P> responseType) {
+        return await(sendAsync(method, body), responseType);
+    }
+
+    private CompletableFuture<JsonRpcSuccess> sendAsync(String method, @Nullable RpcRequest body) {
+        return sendAsync(method, JsonRpcRequest.newRequest(method, body));
+    }
+
+    private CompletableFuture<JsonRpcSuccess> sendAsync(String method, JsonRpcRequest request) {
         checkLiveness();
+        JfrEventType.Event event = REQUEST.begin();
         try {
+            CompletableFuture<JsonRpcSuccess> response = jsonRpc.send(request);
+            if (event != null) {
+                event.set(0, method);
+                response.whenComplete((success, t) -> event.set(1, t == null).commit());
+            }
+            return response;
+        } catch (RuntimeException e) {
+            checkLiveness();
+            throw e;
+        }
+    }
 
-            // Send the request and get the future
-            CompletableFuture<JsonRpcSuccess> future = jsonRpc.send(JsonRpcRequest.newRequest(method, body));
-
+    private <P> P await(CompletableFuture<JsonRpcSuccess> future, Class<P> responseType) {
+        try {
             // Poll for completion while checking if process is alive
             long totalTimeoutMs = timeout.toMillis();
             long checkIntervalMs = 500; // Check every 500ms
@@ -547,6 +625,92 @@ protected <P> P send(String method, @Nullable RpcRequest body, Class<P> response
         }
     }
 
+    /**
+     * Fetches the batches of one object, requesting each batch as soon as the one before it
+     * has arrived so that the remote prepares it while the one before it is being received.
+     */
+    private class GetObjectBatches implements Supplier<List<RpcObjectData>> {
+        private final String id;
+        private final @Nullable String sourceFileType;
+        private final @Nullable AdaptiveBatchSize adaptiveBatchSize = receiveBatchSize;
+        private final @Nullable RpcMessageFormatter formatter = messageFormatter;
+
+        private final long start = System.nanoTime();
+        private long waitNanos;
+        private int batches;
+        private long objects;
+        private long bytes;
+
+        private @Nullable CompletableFuture<JsonRpcSuccess> next;
+        private @Nullable Object nextId;
+
+        GetObjectBatches(String id, @Nullable String sourceFileType) {
+            this.id = id;
+            this.sourceFileType = sourceFileType;
+        }
+
+        @Override
+        public List<RpcObjectData> get() {
+            if (next == null) {
+                request();
+            }
+            CompletableFuture<JsonRpcSuccess> pending = requireNonNull(next);
+            Object pendingId = requireNonNull(nextId);
+            next = null;
+            nextId = null;
+
+            long waitStart = System.nanoTime();
+            List<RpcObjectData> batch;
+            try {
+                batch = await(pending, GetObjectResponse.class);
+            } finally {
+                if (formatter != null) {
+                    bytes += Math.max(0, formatter.takeResponseBytes(pendingId));
+                }
+            }
+            waitNanos += System.nanoTime() - waitStart;
+            batches++;
+            objects += batch.size();
+            if (formatter == null) {
+                bytes += AdaptiveBatchSize.estimateBytes(batch);
+            }
+
+            if (!batch.isEmpty() && batch.get(batch.size() - 1).getState() != END_OF_OBJECT) {
+                request();
+            }
+            return batch;
+        }
+
+        private void request() {
+            JsonRpcRequest request = JsonRpcRequest.newRequest("GetObject", new GetObject(id, sourceFileType,
+                    adaptiveBatchSize == null ? null : adaptiveBatchSize.get()));
+            if (formatter != null) {
+                // Only the responses to this object's requests are counted, whatever else is received meanwhile
+                formatter.measureResponse(request.getId());
+            }
+            try {
+                next = sendAsync("GetObject", request);
+                nextId = request.getId();
+            } catch (RuntimeException e) {
+                if (formatter != null) {
+                    formatter.takeResponseBytes(request.getId());
+                }
+                throw e;
+            }
+        }
+
+        void received() {
+            long totalNanos = System.nanoTime() - start;
+            if (adaptiveBatchSize != null) {
+                adaptiveBatchSize.observe(batches, bytes, waitNanos, totalNanos);
+            }
+            if (traceGetObject.get().isReceive()) {
+                Trace.traceGetObject(id, batches, objects, bytes, waitNanos, totalNanos,
+                        adaptiveBatchSize == null ? batchSize.get() : adaptiveBatchSize.get(), log.get());
+            }
+        }
+    }
+
     private void checkLiveness() {
         RuntimeException livenessProblem = livenessCheck.get();
         if (livenessProblem != null) {
@@ -23,7 +23,6 @@
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import io.moderne.jsonrpc.JsonRpc;
-import io.moderne.jsonrpc.formatter.JsonMessageFormatter;
 import io.moderne.jsonrpc.handler.HeaderDelimitedMessageHandler;
 import io.moderne.jsonrpc.handler.MessageHandler;
 import io.moderne.jsonrpc.handler.TraceMessageHandler;
@@ -61,6 +60,14 @@ public class RewriteRpcProcess extends Thread {
     @Getter
     private JsonRpc rpcClient;
 
+    /**
+     * The formatter of {@link #getRpcClient()}, which writes JSON until a more compact format
+     * is negotiated with {@link RewriteRpc#negotiateMessageFormat()}.
+     */
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    @Getter
+    private RpcMessageFormatter messageFormatter;
+
     private final Map<String, String> environment = new LinkedHashMap<>();
 
     private final StringBuffer accumulatedStderr = new StringBuffer();
@@ -162,8 +169,8 @@ public synchronized void start() {
         SimpleModule module = new SimpleModule();
         module.addSerializer(Path.class, new PathSerializer());
         module.addDeserializer(Path.class, new PathDeserializer());
-        JsonMessageFormatter formatter = new JsonMessageFormatter(module);
-        MessageHandler handler = new HeaderDelimitedMessageHandler(formatter,
+        this.messageFormatter = new RpcMessageFormatter(module);
+        MessageHandler handler = new HeaderDelimitedMessageHandler(messageFormatter,
                 process.getInputStream(), process.getOutputStream());
         if (trace) {
             handler = new TraceMessageHandler("client", handler);
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.moderne.jsonrpc.JsonRpcMessage;
+import io.moderne.jsonrpc.JsonRpcSuccess;
+import io.moderne.jsonrpc.formatter.JsonMessageFormatter;
+import io.moderne.jsonrpc.formatter.MessageFormatter;
+import lombok.Getter;
+import lombok.Setter;
+import org.openrewrite.internal.ObjectMappers;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.lang.reflect.Type;
+import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A message formatter that reads both JSON and the binary
+ * <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> encoding of JSON,
+ * and writes whichever of the two has been negotiated with the remote.
+ * <p>
+ * Smile encodes numbers as variable length integers and refers back to property names and
+ * short string values that it has already written, rather than repeating them, which makes
+ * the large batches of {@link RpcObjectData} sent by {@code GetObject} much cheaper to encode
+ * and decode. Every message starts out as JSON, so that a remote that only understands JSON
+ * can still be talked to, until {@link RewriteRpc#negotiateMessageFormat()} finds that both
+ * sides understand Smile.
+ */
+public class RpcMessageFormatter implements MessageFormatter {
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+    private final MessageFormatter json;
+    private final MessageFormatter smile;
+
+    /**
+     * The format of messages that are sent. Messages that are received are read in
+     * whichever format they were written in.
+     */
+    @Getter
+    @Setter
+    private volatile Format format = Format.JSON;
+
+    /**
+     * The size of the responses that are being measured, by the id of their request.
+     */
+    private final Map<String, Long> responseBytes = new ConcurrentHashMap<>();
+
+    public RpcMessageFormatter(Module... modules) {
+        this.json = new JsonMessageFormatter(modules);
+
+        this.smile = new JsonMessageFormatter(smileMapper(modules));
+    }
+
+    /**
+     * Unlike {@link ObjectMappers#rpcSmileMapper()}, which leaves out null members and reads fields
+     * rather than getters, this mapper writes messages with the same members as {@link JsonMessageFormatter}
+     * does, so that, for example, a response whose {@code "result"} is null is still read as a success.
+     */
+    private static ObjectMapper smileMapper(Module... modules) {
+        ObjectMapper m = SmileMapper.builder()
+                .constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+                .build()
+                .registerModules(modules)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        // Smile would otherwise write UUIDs as binary, which an untyped value would be read back as
+        m.configOverride(UUID.class).setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.STRING));
+        ((SmileFactory) m.getFactory()).enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+        return m;
+    }
+
+    @Override
+    public JsonRpcMessage deserialize(InputStream inputStream) throws IOException {
+        // The message handler hands over a stream that ends with the message, so only as many bytes
+        // as the Smile header are read ahead, and given back, to tell the two formats apart
+        CountingInputStream counted = new CountingInputStream(inputStream);
+        PushbackInputStream in = new PushbackInputStream(counted, SMILE_HEADER.length);
+        byte[] header = new byte[SMILE_HEADER.length];
+        int headerLength = 0;
+        boolean isSmile = true;
+        while (headerLength < header.length) {
+            int b = in.read();
+            if (b == -1) {
+                isSmile = false;
+                break;
+            }
+            header[headerLength++] = (byte) b;
+            if (b != SMILE_HEADER[headerLength - 1]) {
+                isSmile = false;
+                break;
+            }
+        }
+        in.unread(header, 0, headerLength);
+
+        JsonRpcMessage message = (isSmile ? smile : json).deserialize(in);
+        if (!responseBytes.isEmpty() && message instanceof JsonRpcSuccess) {
+            responseBytes.computeIfPresent(String.valueOf(((JsonRpcSuccess) message).getId()),
+                    (id, bytes) -> counted.count);
+        }
+        return message;
+    }
+
+    @Override
+    public void serialize(JsonRpcMessage message, OutputStream out) throws IOException {
+        (format == Format.SMILE ? smile : json).serialize(message, out);
+    }
+
+    /**
+     * Start measuring the size of the response to a request, which is then available from
+     * {@link #takeResponseBytes(Object)} once the response has been received.
+     *
+     * @param requestId The id of a request that is about to be sent.
+     */
+    public void measureResponse(Object requestId) {
+        responseBytes.put(String.valueOf(requestId), -1L);
+    }
+
+    /**
+     * @param requestId The id of a request passed to {@link #measureResponse(Object)}.
+     * @return The number of bytes of the response to the request, excluding the headers that
+     * delimit it, or -1 if no successful response has been received.
+     */
+    public long takeResponseBytes(Object requestId) {
+        Long bytes = responseBytes.remove(String.valueOf(requestId));
+        return bytes == null ? -1 : bytes;
+    }
+
+    @Override
+    public <T> T convertValue(Object value, Type type) {
+        return json.convertValue(value, type);
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+
+    public enum Format {
+        JSON,
+        SMILE
+    }
+}
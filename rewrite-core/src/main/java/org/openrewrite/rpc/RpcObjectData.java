@@ -120,6 +120,14 @@ public RpcObjectData withoutTrace() {
         return (V) value;
     }
 
+    /**
+     * @return The value as it was decoded, without converting it to {@link #getValueType()}.
+     */
+    @Nullable
+    Object rawValue() {
+        return value;
+    }
+
     @JsonFormat(shape = JsonFormat.Shape.STRING)
     public enum State {
         NO_CHANGE,
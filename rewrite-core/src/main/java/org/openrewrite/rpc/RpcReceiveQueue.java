@@ -98,6 +98,7 @@ public <T> T receive(@Nullable T before, @Nullable UnaryOperator<T> onChange) {
         RpcObjectData message = take();
         Trace.traceReceiver(message, log);
         Integer ref = null;
+        Object held = null;
         switch (message.getState()) {
             case NO_CHANGE:
                 return before;
@@ -119,10 +120,16 @@ public <T> T receive(@Nullable T before, @Nullable UnaryOperator<T> onChange) {
                             message.getValue() :
                             newObj(message.getValueType());
                     if (ref != null) {
-                        // For an object like JavaType that we will mutate in place rather than using
-                        // immutable updates because of its cyclic nature, the before instance will ultimately
-                        // be the same as the after instance below.
-                        refs.put(ref, before);
+                        // A ref that is already held, as when the refs are shared by several
+                        // self-contained payloads, keeps its instance. The value is still received
+                        // below so that the queue advances past it.
+                        held = refs.get(ref);
+                        if (held == null) {
+                            // For an object like JavaType that we will mutate in place rather than using
+                            // immutable updates because of its cyclic nature, the before instance will ultimately
+                            // be the same as the after instance below.
+                            refs.put(ref, before);
+                        }
                     }
                 }
                 // Intentional fall-through...
@@ -141,7 +148,10 @@ public <T> T receive(@Nullable T before, @Nullable UnaryOperator<T> onChange) {
                 } else {
                     after = before;
                 }
-                if (ref != null) {
+                if (held != null) {
+                    //noinspection unchecked
+                    return (T) held;
+                } else if (ref != null) {
                     refs.put(ref, after);
                 }
                 return after;
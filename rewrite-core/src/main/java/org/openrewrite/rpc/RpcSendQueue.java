@@ -15,6 +15,7 @@
  */
 package org.openrewrite.rpc;
 
+import lombok.Setter;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.internal.ThrowingConsumer;
 
@@ -27,7 +28,11 @@
 import static org.openrewrite.rpc.RpcObjectData.State.*;
 
 public class RpcSendQueue {
-    private final int batchSize;
+    /**
+     * The number of objects to send in each batch, which takes effect from the next batch.
+     */
+    @Setter
+    private volatile int batchSize;
     private final List<RpcObjectData> batch;
     private final Consumer<List<RpcObjectData>> drain;
     private final IdentityHashMap<Object, Integer> refs;
@@ -48,7 +53,7 @@ public RpcSendQueue(int batchSize, ThrowingConsumer<List<RpcObjectData>> drain,
 
     public void put(RpcObjectData rpcObjectData) {
         batch.add(rpcObjectData);
-        if (batch.size() == batchSize) {
+        if (batch.size() >= batchSize) {
             flush();
         }
     }
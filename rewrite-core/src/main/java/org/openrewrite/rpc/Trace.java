@@ -27,6 +27,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 public class Trace {
@@ -41,6 +42,28 @@ public static void traceReceiver(RpcObjectData message, @Nullable PrintStream lo
         }
     }
 
+    /**
+     * Log how an object was received with {@code GetObject}.
+     *
+     * @param id         The ID of the object.
+     * @param batches    The number of batches it was received in.
+     * @param objects    The number of {@link RpcObjectData} in those batches.
+     * @param bytes      The size of those batches on the wire, or -1 if it is not known.
+     * @param waitNanos  The time spent waiting for batches to arrive.
+     * @param totalNanos The time taken to receive the whole object.
+     * @param batchSize  The batch size that will be asked for next.
+     */
+    public static void traceGetObject(String id, int batches, long objects, long bytes,
+                                      long waitNanos, long totalNanos, int batchSize,
+                                      @Nullable PrintStream logFile) {
+        if (logFile != null) {
+            logFile.printf("GetObject %s: %,d objects in %,d batches%s, %,d ms of which %,d ms waiting, next batch size %,d%n",
+                    id, objects, batches, bytes < 0 ? "" : String.format(" (%,d bytes)", bytes),
+                    TimeUnit.NANOSECONDS.toMillis(totalNanos), TimeUnit.NANOSECONDS.toMillis(waitNanos), batchSize);
+            logFile.flush();
+        }
+    }
+
     public static String traceSender() {
         return trace("Sender");
     }
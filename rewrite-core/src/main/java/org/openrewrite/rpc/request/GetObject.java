@@ -42,6 +42,13 @@ public class GetObject implements RpcRequest {
     @Nullable
     String sourceFileType;
 
+    /**
+     * The number of objects the requester would like in each batch, or {@code null}
+     * to leave it to the sender.
+     */
+    @Nullable
+    Integer batchSize;
+
     @RequiredArgsConstructor
     public static class Handler extends JsonRpcMethod<GetObject> {
         private static final ExecutorService forkJoin = ForkJoinPool.commonPool();
@@ -60,6 +67,7 @@ public static class Handler extends JsonRpcMethod<GetObject> {
         private final Supplier<Boolean> traceGetObject;
 
         private final Map<String, BlockingQueue<List<RpcObjectData>>> inProgressGetRpcObjects = new ConcurrentHashMap<>();
+        private final Map<String, RpcSendQueue> inProgressSendQueues = new ConcurrentHashMap<>();
 
         @Override
         protected List<RpcObjectData> handle(GetObject request) throws Exception {
@@ -76,7 +84,9 @@ protected List<RpcObjectData> handle(GetObject request) throws Exception {
                 BlockingQueue<List<RpcObjectData>> batch = new ArrayBlockingQueue<>(1);
                 Object before = remoteObjects.get(id);
 
-                RpcSendQueue sendQueue = new RpcSendQueue(batchSize.get(), batch::put, localRefs, request.getSourceFileType(), traceGetObject.get());
+                int size = request.getBatchSize() == null ? batchSize.get() : request.getBatchSize();
+                RpcSendQueue sendQueue = new RpcSendQueue(size, batch::put, localRefs, request.getSourceFileType(), traceGetObject.get());
+                inProgressSendQueues.put(id, sendQueue);
                 forkJoin.submit(() -> {
                     try {
                         sendQueue.send(after, before, null);
@@ -104,9 +114,16 @@ protected List<RpcObjectData> handle(GetObject request) throws Exception {
                 return batch;
             });
 
+            RpcSendQueue sendQueue = inProgressSendQueues.get(request.getId());
+            if (sendQueue != null && request.getBatchSize() != null) {
+                // the batch that is already waiting keeps its size
+                sendQueue.setBatchSize(request.getBatchSize());
+            }
+
             List<RpcObjectData> batch = q.take();
             if (batch.get(batch.size() - 1).getState() == END_OF_OBJECT) {
                 inProgressGetRpcObjects.remove(request.getId());
+                inProgressSendQueues.remove(request.getId());
             }
 
             return batch;
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc.request;
+
+import io.moderne.jsonrpc.JsonRpcMethod;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.rpc.RpcMessageFormatter;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+@Value
+public class NegotiateMessageFormat implements RpcRequest {
+    /**
+     * The formats the requester can write, most preferred first.
+     */
+    List<RpcMessageFormatter.Format> formats;
+
+    @RequiredArgsConstructor
+    public static class Handler extends JsonRpcMethod<NegotiateMessageFormat> {
+        private final Supplier<@Nullable RpcMessageFormatter> formatter;
+
+        @Override
+        protected RpcMessageFormatter.Format handle(NegotiateMessageFormat request) {
+            RpcMessageFormatter f = formatter.get();
+            if (f == null || request.getFormats().isEmpty()) {
+                return RpcMessageFormatter.Format.JSON;
+            }
+
+            // An RpcMessageFormatter can write every format, so the requester's first choice wins.
+            // This response is already written in that format, which the requester reads regardless.
+            RpcMessageFormatter.Format format = request.getFormats().get(0);
+            f.setFormat(format);
+            return format;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.openrewrite.Checksum;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link RecipeResultMemo} kept in memory and persisted to a file on the local file system between
+ * runs. The keys in the file are read when the memo is created, and the keys recorded since are
+ * appended to it when the memo is closed.
+ * <pre>
+ * try (LocalRecipeResultMemo memo = new LocalRecipeResultMemo(memoFile)) {
+ *     RecipeResultMemo.setMemo(ctx, memo);
+ *     recipe.run(sourceSet, ctx);
+ * }
+ * </pre>
+ */
+public class LocalRecipeResultMemo implements RecipeResultMemo, Closeable {
+    private static final int KEY_LENGTH = 32;
+
+    private final Path file;
+    private final Set<Key> unchanged = ConcurrentHashMap.newKeySet();
+    private final Set<Key> recorded = ConcurrentHashMap.newKeySet();
+
+    public LocalRecipeResultMemo(Path file) {
+        this.file = file;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            byte[] key = new byte[KEY_LENGTH];
+            while (true) {
+                in.readFully(key);
+                unchanged.add(new Key(key.clone()));
+            }
+        } catch (NoSuchFileException | EOFException ignored) {
+            // a missing file is an empty memo, and a key that was only partially appended is ignored
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean isUnchanged(Checksum key) {
+        return unchanged.contains(new Key(key.getValue()));
+    }
+
+    @Override
+    public void recordUnchanged(Checksum key) {
+        Key k = new Key(key.getValue());
+        if (unchanged.add(k)) {
+            recorded.add(k);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        List<Key> toWrite = new ArrayList<>(recorded);
+        recorded.removeAll(toWrite);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                for (Key key : toWrite) {
+                    out.write(key.bytes);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class Key {
+        final byte[] bytes;
+        final int hashCode;
+
+        Key(byte[] bytes) {
+            this.bytes = bytes;
+            this.hashCode = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(bytes, ((Key) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.table.RecipeAllocations;
+import org.openrewrite.table.RecipeVisitHotSpots;
+import org.openrewrite.table.SlowSourceFiles;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures where a recipe run spends its time: per recipe and type of tree visited, how much memory
+ * each recipe allocates, and which source files a recipe was slow to scan or edit. Profiling is
+ * opt-in: a tool sets a profiler on the execution context with {@link #setProfiler(ExecutionContext, RecipeProfiler)}
+ * before running recipes, and the measurements are inserted into the {@link RecipeVisitHotSpots},
+ * {@link RecipeAllocations} and {@link SlowSourceFiles} data tables when the run ends.
+ * <p>
+ * Every visit is timed while profiling, so the absolute times are inflated by the cost of reading the
+ * clock. They are meant to be compared with each other. Tools that want a continuous event stream,
+ * e.g. to emit JFR events, override {@link #sourceFileProfiled(String, Phase, Path, long, long)}.
+ */
+public class RecipeProfiler {
+    public static final String RECIPE_PROFILER = "org.openrewrite.scheduling.recipeProfiler";
+
+    private static final @Nullable ThreadMXBean ALLOCATIONS = allocationMeasuringBean();
+
+    public enum Phase {
+        SCAN,
+        EDIT
+    }
+
+    private final long slowSourceFileNs;
+    private final Map<String, RecipeProfile> recipeProfiles = new ConcurrentHashMap<>();
+    private final Queue<SlowSourceFiles.Row> slowSourceFiles = new ConcurrentLinkedQueue<>();
+
+    public RecipeProfiler() {
+        this(Duration.ofSeconds(1));
+    }
+
+    /**
+     * @param slowSourceFileThreshold A source file that a recipe takes at least this long to scan or
+     *                                edit is recorded in {@link SlowSourceFiles}.
+     */
+    public RecipeProfiler(Duration slowSourceFileThreshold) {
+        this.slowSourceFileNs = slowSourceFileThreshold.toNanos();
+    }
+
+    public static void setProfiler(ExecutionContext ctx, RecipeProfiler profiler) {
+        ctx.putMessage(RECIPE_PROFILER, profiler);
+    }
+
+    public static @Nullable RecipeProfiler getProfiler(ExecutionContext ctx) {
+        return ctx.getMessage(RECIPE_PROFILER);
+    }
+
+    /**
+     * Start profiling the visits made by the current thread. Must be followed by
+     * {@link #stop(VisitProfile, Recipe, Phase, SourceFile, int)} on the same thread.
+     */
+    VisitProfile start() {
+        return VisitProfile.begin(allocatedBytes());
+    }
+
+    void stop(VisitProfile profile, Recipe recipe, Phase phase, SourceFile sourceFile, int cycle) {
+        long elapsedNs = System.nanoTime() - profile.startNs;
+        long allocatedBytes = profile.startAllocatedBytes < 0 ? -1 : allocatedBytes() - profile.startAllocatedBytes;
+        profile.end();
+
+        RecipeProfile recipeProfile = recipeProfiles.computeIfAbsent(recipe.getName(), k -> new RecipeProfile());
+        recipeProfile.record(phase, profile, allocatedBytes);
+
+        if (elapsedNs >= slowSourceFileNs) {
+            slowSourceFiles.add(new SlowSourceFiles.Row(
+                    sourceFile.getSourcePath().toString(),
+                    recipe.getName(),
+                    phase.name(),
+                    cycle,
+                    elapsedNs,
+                    allocatedBytes
+            ));
+        }
+        sourceFileProfiled(recipe.getName(), phase, sourceFile.getSourcePath(), elapsedNs, allocatedBytes);
+    }
+
+    /**
+     * Called every time a recipe has finished scanning or editing a source file.
+     *
+     * @param recipe         The name of the recipe.
+     * @param phase          Whether the source file was scanned or edited.
+     * @param sourcePath     The path of the source file.
+     * @param elapsedNs      The time the recipe spent on the source file.
+     * @param allocatedBytes The memory allocated in the meantime, or -1 if the JVM can't measure it.
+     */
+    protected void sourceFileProfiled(String recipe, Phase phase, Path sourcePath, long elapsedNs, long allocatedBytes) {
+    }
+
+    /**
+     * Insert the measurements taken so far into data tables and start over.
+     */
+    public void flush(ExecutionContext ctx) {
+        RecipeVisitHotSpots hotSpots = new RecipeVisitHotSpots(Recipe.noop());
+        RecipeAllocations allocations = new RecipeAllocations(Recipe.noop());
+        for (String recipe : recipeProfiles.keySet()) {
+            RecipeProfile recipeProfile = recipeProfiles.remove(recipe);
+            if (recipeProfile == null) {
+                continue;
+            }
+            for (Phase phase : Phase.values()) {
+                for (Map.Entry<Class<?>, HotSpot> hotSpot : recipeProfile.hotSpots[phase.ordinal()].entrySet()) {
+                    hotSpots.insertRow(ctx, new RecipeVisitHotSpots.Row(
+                            recipe,
+                            phase.name(),
+                            "visit" + hotSpot.getKey().getSimpleName(),
+                            hotSpot.getValue().invocations.sum(),
+                            hotSpot.getValue().selfTimeNs.sum()
+                    ));
+                }
+            }
+            allocations.insertRow(ctx, new RecipeAllocations.Row(
+                    recipe,
+                    ALLOCATIONS == null ? -1 : recipeProfile.allocatedBytes[Phase.SCAN.ordinal()].sum(),
+                    ALLOCATIONS == null ? -1 : recipeProfile.allocatedBytes[Phase.EDIT.ordinal()].sum()
+            ));
+        }
+
+        SlowSourceFiles slow = new SlowSourceFiles(Recipe.noop());
+        for (SlowSourceFiles.Row row = slowSourceFiles.poll(); row != null; row = slowSourceFiles.poll()) {
+            slow.insertRow(ctx, row);
+        }
+    }
+
+    private static class RecipeProfile {
+        @SuppressWarnings("unchecked")
+        final Map<Class<?>, HotSpot>[] hotSpots = new Map[]{new ConcurrentHashMap<>(), new ConcurrentHashMap<>()};
+        final LongAdder[] allocatedBytes = {new LongAdder(), new LongAdder()};
+
+        void record(Phase phase, VisitProfile profile, long allocated) {
+            Map<Class<?>, HotSpot> phaseHotSpots = hotSpots[phase.ordinal()];
+            for (Map.Entry<Class<?>, long[]> selfTime : profile.selfTimes.entrySet()) {
+                HotSpot hotSpot = phaseHotSpots.computeIfAbsent(selfTime.getKey(), k -> new HotSpot());
+                hotSpot.invocations.add(selfTime.getValue()[0]);
+                hotSpot.selfTimeNs.add(selfTime.getValue()[1]);
+            }
+            if (allocated > 0) {
+                allocatedBytes[phase.ordinal()].add(allocated);
+            }
+        }
+    }
+
+    private static class HotSpot {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder selfTimeNs = new LongAdder();
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATIONS == null ? -1 : ((com.sun.management.ThreadMXBean) ALLOCATIONS)
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static @Nullable ThreadMXBean allocationMeasuringBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported() &&
+                ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        } catch (Throwable ignored) {
+            // e.g. the com.sun.management API is not available on this JVM
+        }
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.config.OptionDescriptor;
+import org.openrewrite.marker.Marker;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Remembers which recipes left which source files unchanged, so that a later run of the same recipes
+ * over mostly the same source files can skip the visitor of a recipe on a source file it already knows
+ * the outcome for. Memoization is opt-in: a tool sets a memo on the execution context with
+ * {@link #setMemo(ExecutionContext, RecipeResultMemo)} before running recipes.
+ * <p>
+ * A result is keyed by the recipe's name and options, and by the path, printed content and markers
+ * of the source file. Markers are compared by their type and content, e.g. the language level of a
+ * {@code JavaVersion}, the classpath of a {@code JavaSourceSet} or the version of a {@code BuildTool},
+ * so a change of classpath or build configuration invalidates the results for the source files it
+ * applies to, and so does a marker that changes with every commit, like {@code GitProvenance}.
+ * Only recipes that declare their edits {@link Recipe#isEditLocal() local} are memoized, and only
+ * when their visitor neither changed the source file nor put any execution context messages, such
+ * as data table rows, while visiting it in the first cycle of a run.
+ */
+public interface RecipeResultMemo {
+    String RECIPE_RESULT_MEMO = "org.openrewrite.scheduling.recipeResultMemo";
+
+    UUID MARKER_ID = new UUID(0, 0);
+
+    /**
+     * @param key A key made by {@link #key(String, String)}.
+     * @return {@code true} if the recipe is known to leave the source file unchanged.
+     */
+    boolean isUnchanged(Checksum key);
+
+    /**
+     * @param key A key made by {@link #key(String, String)}.
+     */
+    void recordUnchanged(Checksum key);
+
+    static void setMemo(ExecutionContext ctx, RecipeResultMemo memo) {
+        ctx.putMessage(RECIPE_RESULT_MEMO, memo);
+    }
+
+    static @Nullable RecipeResultMemo getMemo(ExecutionContext ctx) {
+        return ctx.getMessage(RECIPE_RESULT_MEMO);
+    }
+
+    static Checksum key(String recipeFingerprint, String sourceFingerprint) {
+        return Checksum.sha256((recipeFingerprint + '\n' + sourceFingerprint).getBytes(UTF_8));
+    }
+
+    /**
+     * @return The name of the recipe followed by the name and value of each of its options.
+     */
+    static String recipeFingerprint(Recipe recipe) {
+        StringBuilder fingerprint = new StringBuilder(recipe.getName()).append('\n').append(recipe.getInstanceName());
+        for (OptionDescriptor option : recipe.getDescriptor().getOptions()) {
+            fingerprint.append('\n').append(option.getName()).append('=').append(option.getValue());
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * @return A checksum of the source file's path, its printed content and the type and content of
+     * each of its markers.
+     */
+    static String sourceFingerprint(SourceFile sourceFile) {
+        return sourceFingerprint(sourceFile, RecipeResultMemo::markerFingerprint);
+    }
+
+    /**
+     * @param markerFingerprint Makes a fingerprint of a marker, e.g. {@link #markerFingerprint(Marker)}
+     *                          remembering the fingerprints of markers shared by many source files.
+     */
+    static String sourceFingerprint(SourceFile sourceFile, Function<Marker, String> markerFingerprint) {
+        StringBuilder fingerprint = new StringBuilder(sourceFile.getClass().getName())
+                .append('\n').append(sourceFile.getSourcePath());
+        for (Marker marker : sourceFile.getMarkers().getMarkers()) {
+            fingerprint.append('\n').append(markerFingerprint.apply(marker));
+        }
+        fingerprint.append('\n').append(Checksum.of(sourceFile, "SHA-256").getHexValue());
+        return Checksum.sha256(fingerprint.toString().getBytes(UTF_8)).getHexValue();
+    }
+
+    /**
+     * @return The type of the marker and a checksum of its content, without its ID, which is different
+     * every time a source file is parsed. A marker whose {@code toString()} does not show its content
+     * gets a different fingerprint every time, so results are never memoized for source files with it.
+     */
+    static String markerFingerprint(Marker marker) {
+        return marker.getClass().getName() + ':' +
+               Checksum.sha256(marker.withId(MARKER_ID).toString().getBytes(UTF_8)).getHexValue();
+    }
+}
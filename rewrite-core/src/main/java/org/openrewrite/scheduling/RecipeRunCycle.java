@@ -25,6 +25,7 @@
 import org.openrewrite.config.DeclarativeRecipe;
 import org.openrewrite.internal.ExceptionUtils;
 import org.openrewrite.internal.FindRecipeRunException;
+import org.openrewrite.internal.JfrEventType;
 import org.openrewrite.internal.RecipeRunException;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.marker.*;
@@ -49,6 +50,13 @@
 @RequiredArgsConstructor
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class RecipeRunCycle<LSS extends LargeSourceSet> {
+    private static final JfrEventType RECIPE_PHASE = JfrEventType.builder("org.openrewrite.RecipePhase", "Recipe phase")
+            .description("A recipe scanning or editing a single source file, or generating source files.")
+            .field("recipe", String.class, "Recipe")
+            .field("phase", String.class, "Phase")
+            .field("sourcePath", String.class, "Source path")
+            .field("cycle", int.class, "Cycle")
+            .build();
 
     /**
      * The root recipe that is running, which may contain a recipe list which will
@@ -70,21 +78,32 @@
     SourcesFileErrors errorsTable;
     BiFunction<LSS, UnaryOperator<@Nullable SourceFile>, LSS> sourceSetEditor;
 
-    RecipeStack allRecipeStack = new RecipeStack();
+    /**
+     * Source files may be visited concurrently, and every thread walks the recipe list independently.
+     */
+    ThreadLocal<RecipeStack> allRecipeStack = ThreadLocal.withInitial(RecipeStack::new);
     long cycleStartTime = System.nanoTime();
     AtomicBoolean thrownErrorOnTimeout = new AtomicBoolean();
 
     @Getter
-    Set<Recipe> madeChangesInThisCycle = newSetFromMap(new IdentityHashMap<>());
+    Set<Recipe> madeChangesInThisCycle = synchronizedSet(newSetFromMap(new IdentityHashMap<>()));
+
+    Map<Recipe, String> recipeFingerprints = synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Markers like {@code JavaSourceSet} are shared by many source files and costly to fingerprint.
+     */
+    Map<Marker, String> markerFingerprints = synchronizedMap(new IdentityHashMap<>());
 
     public int getRecipePosition() {
-        return allRecipeStack.getRecipePosition();
+        return allRecipeStack.get().getRecipePosition();
     }
 
     public LSS scanSources(LSS sourceSet) {
         if (isScanningRequired()) {
-            return sourceSetEditor.apply(sourceSet, sourceFile ->
-                    allRecipeStack.reduce(sourceSet, recipe, ctx, (source, recipeStack) -> {
+            RecipeProfiler profiler = RecipeProfiler.getProfiler(ctx);
+            return sourceSetEditor.apply(sourceSet, concurrentIfSupported(sourceFile ->
+                    allRecipeStack.get().reduce(sourceSet, recipe, ctx, (source, recipeStack) -> {
                         Recipe recipe = recipeStack.peek();
                         if (source == null) {
                             return null;
@@ -97,18 +116,27 @@ public LSS scanSources(LSS sourceSet) {
                                 //noinspection unchecked
                                 ScanningRecipe<Object> scanningRecipe = (ScanningRecipe<Object>) recipe;
                                 Object acc = scanningRecipe.getAccumulator(rootCursor, ctx);
-                                recipeRunStats.recordScan(recipe, () -> {
-                                    TreeVisitor<?, ExecutionContext> scanner = scanningRecipe.getScanner(acc);
-                                    if (scanner.isAcceptable(source, ctx)) {
-                                        Tree maybeMutated = scanner.visit(source, ctx, rootCursor);
-                                        assert maybeMutated == source || !ctx.getMessage(SCANNING_MUTATION_VALIDATION, false) :
-                                                "Edits made from within ScanningRecipe.getScanner() are discarded. " +
-                                                        "The purpose of a scanner is to aggregate information for use in subsequent phases. " +
-                                                        "Use ScanningRecipe.getVisitor() for making edits. " +
-                                                        "To disable this warning set TypeValidation.immutableScanning to false in your tests.";
+                                JfrEventType.Event event = RECIPE_PHASE.begin();
+                                VisitProfile profile = profiler == null ? null : profiler.start();
+                                try {
+                                    recipeRunStats.recordScan(recipe, () -> {
+                                        TreeVisitor<?, ExecutionContext> scanner = scanningRecipe.getScanner(acc);
+                                        if (scanner.isAcceptable(source, ctx)) {
+                                            Tree maybeMutated = scanner.visit(source, ctx, rootCursor);
+                                            assert maybeMutated == source || !ctx.getMessage(SCANNING_MUTATION_VALIDATION, false) :
+                                                    "Edits made from within ScanningRecipe.getScanner() are discarded. " +
+                                                            "The purpose of a scanner is to aggregate information for use in subsequent phases. " +
+                                                            "Use ScanningRecipe.getVisitor() for making edits. " +
+                                                            "To disable this warning set TypeValidation.immutableScanning to false in your tests.";
+                                        }
+                                        return source;
+                                    });
+                                } finally {
+                                    if (profile != null) {
+                                        profiler.stop(profile, recipe, RecipeProfiler.Phase.SCAN, source, cycle);
                                     }
-                                    return source;
-                                });
+                                    commit(event, recipe, "scan", source);
+                                }
                             } catch (Throwable t) {
                                 after = handleError(recipe, source, after, t);
                                 // We don't normally consider anything the scanning phase does to be a change
@@ -119,14 +147,15 @@ public LSS scanSources(LSS sourceSet) {
                         }
                         return after;
                     }, sourceFile)
-            );
+            ));
         }
         return sourceSet;
     }
 
     public LSS generateSources(LSS sourceSet) {
         if (isScanningRequired()) {
-            List<SourceFile> generatedInThisCycle = allRecipeStack.reduce(sourceSet, recipe, ctx, (acc, recipeStack) -> {
+            Set<Path> generatedPaths = new HashSet<>();
+            List<SourceFile> generatedInThisCycle = allRecipeStack.get().reduce(sourceSet, recipe, ctx, (acc, recipeStack) -> {
                 Recipe recipe = recipeStack.peek();
                 if (recipe instanceof ScanningRecipe) {
                     assert acc != null;
@@ -149,23 +178,18 @@ public LSS generateSources(LSS sourceSet) {
                             }
                         }
                     }
+                    JfrEventType.Event event = RECIPE_PHASE.begin();
                     try {
                         List<SourceFile> generated = new ArrayList<>(scanningRecipe.generate(scanningRecipe.getAccumulator(rootCursor, ctx), unmodifiableList(acc), ctx));
                         generated.replaceAll(source -> addRecipesThatMadeChanges(recipeStack, source));
-                        Set<Path> seenInThisBatch = new HashSet<>();
                         generated.removeIf(source -> {
                             Path sourcePath = source.getSourcePath();
-                            if (sourceSet.getBefore(sourcePath) != null) {
+                            if (sourceSet.hasBefore(sourcePath)) {
                                 sourceSet.onGenerateCollision(sourcePath, true);
                                 return true;
                             }
-                            for (SourceFile existing : acc) {
-                                if (existing.getSourcePath().equals(sourcePath)) {
-                                    sourceSet.onGenerateCollision(sourcePath, false);
-                                    return true;
-                                }
-                            }
-                            if (!seenInThisBatch.add(sourcePath)) {
+                            // covers both files generated by prior recipes and earlier files in this batch
+                            if (!generatedPaths.add(sourcePath)) {
                                 sourceSet.onGenerateCollision(sourcePath, false);
                                 return true;
                             }
@@ -178,6 +202,8 @@ public LSS generateSources(LSS sourceSet) {
                         }
                     } catch (Throwable t) {
                         handleError(recipe, new Quark(Tree.randomId(), Paths.get("error during generation"), Markers.EMPTY, null, null), null, t);
+                    } finally {
+                        commit(event, recipe, "generate", null);
                     }
                 }
                 return acc;
@@ -191,13 +217,26 @@ public LSS generateSources(LSS sourceSet) {
 
     public LSS editSources(LSS sourceSet) {
         //noinspection DataFlowIssue
-        return sourceSetEditor.apply(sourceSet, sourceFile -> editSource(sourceSet, sourceFile)
-        );
+        return sourceSetEditor.apply(sourceSet, concurrentIfSupported(sourceFile -> editSource(sourceSet, sourceFile)));
+    }
+
+    /**
+     * Source files can only be visited concurrently when every scanning recipe has opted in to
+     * concurrent access to its accumulator.
+     */
+    private UnaryOperator<@Nullable SourceFile> concurrentIfSupported(UnaryOperator<@Nullable SourceFile> map) {
+        if (isConcurrencySupported == null) {
+            isConcurrencySupported = isConcurrencySupported(recipe);
+        }
+        return isConcurrencySupported ? map : LargeSourceSet.SequentialEdit.of(map);
     }
 
     protected @Nullable SourceFile editSource(LSS sourceSet, SourceFile sourceFile) {
         recipeRunStats.recordSourceVisited(sourceFile);
-        return allRecipeStack.reduce(sourceSet, recipe, ctx, (source, recipeStack) -> {
+        RecipeResultMemo memo = RecipeResultMemo.getMemo(ctx);
+        RecipeProfiler profiler = RecipeProfiler.getProfiler(ctx);
+        SourceFingerprint sourceFingerprint = new SourceFingerprint();
+        return allRecipeStack.get().reduce(sourceSet, recipe, ctx, (source, recipeStack) -> {
             Recipe recipe = recipeStack.peek();
             if (source == null) {
                 return null;
@@ -220,18 +259,38 @@ public LSS editSources(LSS sourceSet) {
                     return source;
                 }
 
+                Checksum memoKey = null;
+                if (memo != null && recipe.isEditLocal()) {
+                    memoKey = RecipeResultMemo.key(
+                            recipeFingerprints.computeIfAbsent(recipe, RecipeResultMemo::recipeFingerprint),
+                            sourceFingerprint.of(source));
+                    if (memo.isUnchanged(memoKey)) {
+                        return source;
+                    }
+                }
+                long messagesPut = ctx.getMessagesPutByCurrentThread();
+
                 TreeVisitor<?, ExecutionContext> visitor = recipe.getVisitor();
                 // set root cursor as it is required by the `ScanningRecipe#isAcceptable()`
                 visitor.setCursor(rootCursor);
 
-                after = recipeRunStats.recordEdit(recipe, () -> {
-                    if (visitor.isAcceptable(source, ctx)) {
-                        // propagate shared root cursor
-                        //noinspection DataFlowIssue
-                        return (SourceFile) visitor.visit(source, ctx, rootCursor);
+                JfrEventType.Event event = RECIPE_PHASE.begin();
+                VisitProfile profile = profiler == null ? null : profiler.start();
+                try {
+                    after = recipeRunStats.recordEdit(recipe, () -> {
+                        if (visitor.isAcceptable(source, ctx)) {
+                            // propagate shared root cursor
+                            //noinspection DataFlowIssue
+                            return (SourceFile) visitor.visit(source, ctx, rootCursor);
+                        }
+                        return source;
+                    });
+                } finally {
+                    if (profile != null) {
+                        profiler.stop(profile, recipe, RecipeProfiler.Phase.EDIT, source, cycle);
                     }
-                    return source;
-                });
+                    commit(event, recipe, "edit", source);
+                }
 
                 if (after != source) {
                     madeChangesInThisCycle.add(recipe);
@@ -242,10 +301,16 @@ public LSS editSources(LSS sourceSet) {
                         return source;
                     }
                     recipeRunStats.recordSourceFileChanged(source, after);
-                } else if (ctx.hasNewMessages()) {
-                    // consider any recipes adding new messages as a changing recipe (which can request another cycle)
+                } else if (ctx.getMessagesPutByCurrentThread() != messagesPut) {
+                    // consider any recipes adding new messages as a changing recipe (which can request another cycle).
+                    // Other threads may be putting messages concurrently, so only count this thread's.
                     madeChangesInThisCycle.add(recipe);
-                    ctx.resetHasNewMessages();
+                }
+
+                // data table rows are only inserted in the first cycle, so a later cycle can't tell
+                // whether the recipe would have inserted any
+                if (memoKey != null && cycle == 1 && after == source && ctx.getMessagesPutByCurrentThread() == messagesPut) {
+                    memo.recordUnchanged(memoKey);
                 }
             } catch (Throwable t) {
                 after = handleError(recipe, source, after, t);
@@ -330,6 +395,16 @@ private void recordSourceFileResult(@Nullable String beforePath, @Nullable Strin
         return after;
     }
 
+    private void commit(JfrEventType.@Nullable Event event, Recipe recipe, String phase, @Nullable SourceFile sourceFile) {
+        if (event != null) {
+            event.set(0, recipe.getName())
+                    .set(1, phase)
+                    .set(2, sourceFile == null ? "" : sourceFile.getSourcePath().toString())
+                    .set(3, cycle)
+                    .commit();
+        }
+    }
+
     private static <S extends SourceFile> S addRecipesThatMadeChanges(List<Recipe> recipeStack, S afterFile) {
         return afterFile.withMarkers(afterFile.getMarkers().computeByType(
                 RecipesThatMadeChanges.create(recipeStack),
@@ -344,6 +419,10 @@ private static <S extends SourceFile> S addRecipesThatMadeChanges(List<Recipe> r
     @Nullable
     transient Boolean isScanningRecipe;
 
+    @NonFinal
+    @Nullable
+    transient Boolean isConcurrencySupported;
+
     private boolean isScanningRequired() {
         if (isScanningRecipe == null) {
             isScanningRecipe = isScanningRequired(recipe);
@@ -373,6 +452,45 @@ private static boolean isScanningRequired(Recipe recipe) {
         return false;
     }
 
+    private static boolean isConcurrencySupported(Recipe recipe) {
+        if (recipe instanceof DeclarativeRecipe) {
+            // the accumulators of scanning preconditions are only visible to the thread that created them
+            for (Recipe precondition : ((DeclarativeRecipe) recipe).getPreconditions()) {
+                if (isScanningRequired(precondition)) {
+                    return false;
+                }
+            }
+        } else if (recipe instanceof ScanningRecipe && !((ScanningRecipe<?>) recipe).isAccumulatorThreadSafe()) {
+            return false;
+        }
+        for (Recipe r : recipe.getRecipeList()) {
+            if (!isConcurrencySupported(r)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Printing a source file to fingerprint it is only worth doing again once a recipe has changed it.
+     */
+    private class SourceFingerprint {
+        @Nullable
+        SourceFile source;
+
+        @Nullable
+        String fingerprint;
+
+        String of(SourceFile sourceFile) {
+            if (sourceFile != source || fingerprint == null) {
+                source = sourceFile;
+                fingerprint = RecipeResultMemo.sourceFingerprint(sourceFile,
+                        marker -> markerFingerprints.computeIfAbsent(marker, RecipeResultMemo::markerFingerprint));
+            }
+            return fingerprint;
+        }
+    }
+
     private List<SearchResults.Row> collectSearchResults(@Nullable SourceFile before, @Nullable SourceFile after, String recipeName) {
         if (after == null) {
             return emptyList();
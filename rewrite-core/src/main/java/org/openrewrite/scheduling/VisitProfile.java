@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Tree;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Attributes the time a thread spends in {@link org.openrewrite.TreeVisitor#visit(Tree, Object)}
+ * to the type of tree being visited, excluding the time spent visiting its children. A profile is
+ * only in progress while a {@link RecipeProfiler} measures a recipe visiting a source file, and every
+ * visitor running on that thread in the meantime contributes to it, including the visitors of
+ * preconditions and the visitors a recipe's visitor delegates to.
+ */
+public final class VisitProfile {
+    private static final ThreadLocal<VisitProfile> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Visitors skip looking up the thread's profile unless some thread is profiling.
+     */
+    private static final AtomicInteger IN_PROGRESS = new AtomicInteger();
+
+    private final @Nullable VisitProfile previous;
+
+    final long startNs;
+    final long startAllocatedBytes;
+
+    /**
+     * Invocation count and total self time in nanoseconds, by type of tree.
+     */
+    final Map<Class<?>, long[]> selfTimes = new HashMap<>();
+
+    private long[] childNs = new long[32];
+    private int depth;
+
+    private VisitProfile(@Nullable VisitProfile previous, long startAllocatedBytes) {
+        this.previous = previous;
+        this.startAllocatedBytes = startAllocatedBytes;
+        this.startNs = System.nanoTime();
+    }
+
+    public static @Nullable VisitProfile current() {
+        return IN_PROGRESS.get() == 0 ? null : CURRENT.get();
+    }
+
+    static VisitProfile begin(long allocatedBytes) {
+        VisitProfile profile = new VisitProfile(CURRENT.get(), allocatedBytes);
+        CURRENT.set(profile);
+        IN_PROGRESS.incrementAndGet();
+        return profile;
+    }
+
+    void end() {
+        IN_PROGRESS.decrementAndGet();
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * @return The time at which the visit started, to be passed to {@link #exit(Tree, long)}.
+     */
+    public long enter() {
+        if (depth == childNs.length) {
+            childNs = Arrays.copyOf(childNs, depth * 2);
+        }
+        childNs[depth++] = 0;
+        return System.nanoTime();
+    }
+
+    public void exit(Tree tree, long startNs) {
+        long elapsedNs = System.nanoTime() - startNs;
+        long selfNs = elapsedNs - childNs[--depth];
+        if (depth > 0) {
+            childNs[depth - 1] += elapsedNs;
+        }
+        long[] stats = selfTimes.computeIfAbsent(tree.getClass(), k -> new long[2]);
+        stats[0]++;
+        stats[1] += selfNs;
+    }
+}
@@ -24,24 +24,27 @@ public WatchableExecutionContext(ExecutionContext delegate) {
         super(delegate);
     }
 
-    private boolean hasNewMessages;
-
-    public boolean hasNewMessages() {
-        return hasNewMessages;
-    }
-
-    public void resetHasNewMessages() {
-        this.hasNewMessages = false;
-    }
+    /**
+     * Source files may be visited concurrently, and a visitor puts its messages on the thread that visits.
+     */
+    private final ThreadLocal<long[]> messagesPutByThread = ThreadLocal.withInitial(() -> new long[1]);
 
     @Override
     public void putMessage(String key, @Nullable Object value) {
         if (value != null) {
-            hasNewMessages = true;
+            messagesPutByThread.get()[0]++;
             super.putMessage(key, value);
         }
     }
 
+    /**
+     * @return The number of messages put by the current thread so far, to tell whether a visitor put
+     * any while it ran on this thread.
+     */
+    long getMessagesPutByCurrentThread() {
+        return messagesPutByThread.get()[0];
+    }
+
     public void putCycle(RecipeRunCycle<?> cycle) {
         super.putMessage(CURRENT_CYCLE, cycle);
     }
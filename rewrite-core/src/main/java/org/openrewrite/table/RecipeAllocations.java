@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.table;
+
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+
+public class RecipeAllocations extends DataTable<RecipeAllocations.Row> {
+
+    public RecipeAllocations(Recipe recipe) {
+        super(recipe, "Recipe allocations",
+                "The memory each recipe allocated while visiting source files, as measured by a `RecipeProfiler`.");
+    }
+
+    @Override
+    protected boolean allowWritingInThisCycle(ExecutionContext ctx) {
+        // rows are accumulated over all cycles and inserted once the run ends
+        return true;
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "The recipe",
+                description = "The recipe whose allocations were measured.")
+        String recipe;
+
+        @Column(displayName = "Scanning allocations (bytes)",
+                description = "The memory allocated by the thread scanning source files, or -1 if the JVM can't measure it.")
+        Long scanAllocatedBytes;
+
+        @Column(displayName = "Edit allocations (bytes)",
+                description = "The memory allocated by the thread editing source files, or -1 if the JVM can't measure it.")
+        Long editAllocatedBytes;
+    }
+}
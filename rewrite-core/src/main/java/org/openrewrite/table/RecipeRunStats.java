@@ -15,7 +15,6 @@
  */
 package org.openrewrite.table;
 
-import lombok.Getter;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
@@ -24,11 +23,13 @@
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class RecipeRunStats extends DataTable<RecipeRunStats.Row> {
     private final Map<String, RecipeTimers> recipeTimers = new ConcurrentHashMap<>();
-    private final Set<Path> sourceFileVisited = new HashSet<>();
-    private final Set<Path> sourceFileChanged = new HashSet<>();
+    private final Set<Path> sourceFileVisited = ConcurrentHashMap.newKeySet();
+    private final Set<Path> sourceFileChanged = ConcurrentHashMap.newKeySet();
 
     public RecipeRunStats(Recipe recipe) {
         super(recipe,
@@ -80,7 +81,7 @@ private void addRowToDataTable(ExecutionContext ctx, Row row) {
         //noinspection DuplicatedCode
         ctx.computeMessage(ExecutionContext.DATA_TABLES, row, ConcurrentHashMap::new, (extract, allDataTables) -> {
             //noinspection unchecked
-            List<Row> dataTablesOfType = (List<Row>) allDataTables.computeIfAbsent(this, c -> new ArrayList<>());
+            List<Row> dataTablesOfType = (List<Row>) allDataTables.computeIfAbsent(this, c -> DataTableStore.createRows(ctx, this));
             dataTablesOfType.add(row);
             return allDataTables;
         });
@@ -131,10 +132,9 @@ SourceFile recordEdit(Callable<SourceFile> editCallable) throws Exception {
         }
     }
 
-    @Getter
     private static class PhaseTimer {
-        private long totalNs = 0;
-        private long maxNs = 0;
+        private final LongAdder totalNs = new LongAdder();
+        private final AtomicLong maxNs = new AtomicLong();
 
         <T> T recordTimed(Callable<T> callable) throws Exception {
             long startNs = System.nanoTime();
@@ -147,8 +147,16 @@ <T> T recordTimed(Callable<T> callable) throws Exception {
         }
 
         private void record(long elapsedNs) {
-            totalNs += elapsedNs;
-            maxNs = Math.max(maxNs, elapsedNs);
+            totalNs.add(elapsedNs);
+            maxNs.accumulateAndGet(elapsedNs, Math::max);
+        }
+
+        long getTotalNs() {
+            return totalNs.sum();
+        }
+
+        long getMaxNs() {
+            return maxNs.get();
         }
     }
 }
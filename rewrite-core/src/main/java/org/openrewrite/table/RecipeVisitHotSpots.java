@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.table;
+
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+
+public class RecipeVisitHotSpots extends DataTable<RecipeVisitHotSpots.Row> {
+
+    public RecipeVisitHotSpots(Recipe recipe) {
+        super(recipe, "Recipe visit hot spots",
+                "The time each recipe spent visiting each type of tree, as measured by a `RecipeProfiler`.");
+    }
+
+    @Override
+    protected boolean allowWritingInThisCycle(ExecutionContext ctx) {
+        // rows are accumulated over all cycles and inserted once the run ends
+        return true;
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "The recipe",
+                description = "The recipe whose visitors were profiled.")
+        String recipe;
+
+        @Column(displayName = "Phase",
+                description = "Either `SCAN` or `EDIT`.")
+        String phase;
+
+        @Column(displayName = "Visit method",
+                description = "The visit method named after the type of tree visited, e.g. `visitMethodInvocation`.")
+        String visitMethod;
+
+        @Column(displayName = "Invocations",
+                description = "The number of trees of this type visited.")
+        Long invocations;
+
+        @Column(displayName = "Self time (ns)",
+                description = "The time spent visiting trees of this type, excluding the time spent visiting their children.")
+        Long selfTimeNs;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.table;
+
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+
+public class SlowSourceFiles extends DataTable<SlowSourceFiles.Row> {
+
+    public SlowSourceFiles(Recipe recipe) {
+        super(recipe, "Slow source files",
+                "Source files that a single recipe took longer than a `RecipeProfiler`'s threshold to scan or edit.");
+    }
+
+    @Override
+    protected boolean allowWritingInThisCycle(ExecutionContext ctx) {
+        // rows are accumulated over all cycles and inserted once the run ends
+        return true;
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The source file that was slow to process.")
+        String sourcePath;
+
+        @Column(displayName = "The recipe",
+                description = "The recipe that was slow to process the source file.")
+        String recipe;
+
+        @Column(displayName = "Phase",
+                description = "Either `SCAN` or `EDIT`.")
+        String phase;
+
+        @Column(displayName = "Cycle",
+                description = "The recipe cycle in which the source file was processed.")
+        Integer cycle;
+
+        @Column(displayName = "Time (ns)",
+                description = "The time the recipe spent on the source file.")
+        Long timeNs;
+
+        @Column(displayName = "Allocations (bytes)",
+                description = "The memory allocated while the recipe processed the source file, or -1 if the JVM can't measure it.")
+        Long allocatedBytes;
+    }
+}
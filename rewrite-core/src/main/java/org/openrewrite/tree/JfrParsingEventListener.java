@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.tree;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.FileAttributes;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.JfrEventType;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Emits a JFR event for each input a parser reports through {@link ParsingEventListener}, lasting from
+ * {@link #startedParsing(Parser.Input)} to {@link #parsed(Parser.Input, SourceFile)}.
+ */
+class JfrParsingEventListener implements ParsingEventListener {
+    static final JfrEventType PARSE = JfrEventType.builder("org.openrewrite.Parse", "Parse")
+            .description("Parsing a single input into a source file.")
+            .field("sourcePath", String.class, "Source path")
+            .field("size", long.class, "Input size in bytes, or -1 if unknown")
+            .field("sourceFileType", String.class, "Source file type")
+            .field("storeHit", boolean.class, "Loaded from an LST store")
+            .build();
+
+    private final ParsingEventListener delegate;
+
+    /**
+     * Parsers may start parsing several inputs before they report any of them as parsed.
+     */
+    private final Map<Parser.Input, JfrEventType.Event> inProgress = new IdentityHashMap<>();
+
+    JfrParsingEventListener(ParsingEventListener delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void intermediateMessage(String stateMessage) {
+        delegate.intermediateMessage(stateMessage);
+    }
+
+    @Override
+    public void startedParsing(Parser.Input input) {
+        JfrEventType.Event event = PARSE.begin();
+        if (event != null) {
+            FileAttributes fileAttributes = input.getFileAttributes();
+            event.set(0, input.getPath().toString())
+                    .set(1, fileAttributes == null ? -1L : fileAttributes.getSize())
+                    .set(3, false);
+            synchronized (inProgress) {
+                inProgress.put(input, event);
+            }
+        }
+        delegate.startedParsing(input);
+    }
+
+    @Override
+    public void parsed(Parser.Input input, SourceFile sourceFile) {
+        delegate.parsed(input, sourceFile);
+        JfrEventType.Event event;
+        synchronized (inProgress) {
+            event = inProgress.remove(input);
+        }
+        if (event != null) {
+            event.set(2, sourceFile.getClass().getName()).commit();
+        }
+    }
+
+    @Override
+    public void storeHit(Parser.Input input, SourceFile sourceFile) {
+        JfrEventType.Event event;
+        synchronized (inProgress) {
+            event = inProgress.get(input);
+        }
+        if (event != null) {
+            event.set(3, true);
+        }
+        delegate.storeHit(input, sourceFile);
+    }
+
+    @Override
+    public void storeMiss(Parser.Input input) {
+        delegate.storeMiss(input);
+    }
+}
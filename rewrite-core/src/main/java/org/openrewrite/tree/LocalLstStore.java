@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.tree;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.ObjectMappers;
+import org.openrewrite.rpc.RpcObjectData;
+import org.openrewrite.rpc.RpcReceiveQueue;
+import org.openrewrite.rpc.RpcSendQueue;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * An {@link LstStore} in a directory on the local file system, which may be shared by
+ * several processes. Each source file is written to its own file, named by the checksum of
+ * its {@link LstStore.Key}, with the same codecs that send source files over Rewrite RPC.
+ * <p>
+ * Entries are written to a temporary file and moved into place, so a reader never sees a
+ * partially written entry. Since their names only depend on their keys, an external process
+ * may delete entries at any time.
+ * <p>
+ * When given a byte budget, the least recently used entries are deleted whenever the entries
+ * this store knows of exceed it. Entries are used when they are put or got, and that use is
+ * recorded in their last modified time. Each store accounts for the entries that were in the
+ * directory when it was created and those it has used since, so entries that other processes
+ * put in the meantime only count toward its budget once it uses them.
+ */
+public class LocalLstStore implements LstStore {
+    private static final int MAGIC = 0x52574c53; // "RWLS"
+    private static final int VERSION = 1;
+
+    private static final ObjectMapper MAPPER = ObjectMappers.rpcSmileMapper();
+
+    private static final TypeReference<List<RpcObjectData>> RPC_OBJECT_DATA_LIST = new TypeReference<List<RpcObjectData>>() {
+    };
+
+    private final Path root;
+    private final long maxBytes;
+
+    /**
+     * Entry name, relative to the root, to size, in least recently used order. Guarded by itself.
+     */
+    private final LinkedHashMap<String, Long> entrySizes = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public LocalLstStore(Path root) {
+        this(root, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param root     The directory to store entries in.
+     * @param maxBytes The total size of entries in bytes beyond which the least recently used are deleted.
+     */
+    public LocalLstStore(Path root, long maxBytes) {
+        this.root = root;
+        this.maxBytes = maxBytes;
+        if (maxBytes != Long.MAX_VALUE) {
+            loadEntrySizes();
+        }
+    }
+
+    @Override
+    public @Nullable SourceFile get(Key key) {
+        Path file = path(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            String sourceFileType = in.readUTF();
+            List<RpcObjectData> data = MAPPER.readValue((InputStream) in, RPC_OBJECT_DATA_LIST);
+
+            List<List<RpcObjectData>> batches = new ArrayList<>(1);
+            batches.add(data);
+            RpcReceiveQueue q = new RpcReceiveQueue(new HashMap<>(),
+                    () -> batches.isEmpty() ? emptyList() : batches.remove(0),
+                    sourceFileType, null);
+            SourceFile sourceFile = q.receive(null, null);
+            used(file);
+            return sourceFile;
+        } catch (NoSuchFileException | EOFException e) {
+            // a truncated entry is as good as none
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void put(Key key, SourceFile sourceFile) {
+        String sourceFileType = sourceFile.getClass().getName();
+        List<RpcObjectData> data = new ArrayList<>();
+        RpcSendQueue q = new RpcSendQueue(1000, data::addAll, new IdentityHashMap<>(), sourceFileType, false);
+        q.send(sourceFile, null, null);
+        q.flush();
+
+        Path file = path(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeUTF(sourceFileType);
+                    out.write(MAPPER.writeValueAsBytes(data));
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        used(file);
+        evict(file);
+    }
+
+    private void used(Path entry) {
+        if (maxBytes == Long.MAX_VALUE) {
+            return;
+        }
+        try {
+            long size = Files.size(entry);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            synchronized (entrySizes) {
+                Long previous = entrySizes.put(name(entry), size);
+                totalBytes += size - (previous == null ? 0 : previous);
+            }
+        } catch (IOException ignored) {
+            // evicted by another process since
+        }
+    }
+
+    private void evict(Path keep) {
+        if (maxBytes == Long.MAX_VALUE) {
+            return;
+        }
+        List<String> evicted = new ArrayList<>();
+        synchronized (entrySizes) {
+            Iterator<Map.Entry<String, Long>> lru = entrySizes.entrySet().iterator();
+            while (totalBytes > maxBytes && lru.hasNext()) {
+                Map.Entry<String, Long> entry = lru.next();
+                if (!entry.getKey().equals(name(keep))) {
+                    totalBytes -= entry.getValue();
+                    evicted.add(entry.getKey());
+                    lru.remove();
+                }
+            }
+        }
+        for (String entry : evicted) {
+            try {
+                Files.deleteIfExists(root.resolve(entry));
+            } catch (IOException ignored) {
+                // an entry still being read elsewhere may not be deletable on some file systems
+            }
+        }
+    }
+
+    private void loadEntrySizes() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        List<Map.Entry<String, BasicFileAttributes>> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            files.forEach(file -> {
+                if (!file.getFileName().toString().endsWith(".tmp")) {
+                    try {
+                        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                        if (attributes.isRegularFile()) {
+                            entries.add(new AbstractMap.SimpleEntry<>(name(file), attributes));
+                        }
+                    } catch (IOException ignored) {
+                        // deleted since it was listed
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        entries.sort(Comparator.comparing(e -> e.getValue().lastModifiedTime()));
+        synchronized (entrySizes) {
+            for (Map.Entry<String, BasicFileAttributes> entry : entries) {
+                entrySizes.put(entry.getKey(), entry.getValue().size());
+                totalBytes += entry.getValue().size();
+            }
+        }
+    }
+
+    private String name(Path entry) {
+        return root.relativize(entry).toString();
+    }
+
+    private Path path(Key key) {
+        String hex = key.getChecksum().getHexValue();
+        // spread entries over 256 directories so that no one directory grows too large
+        return root.resolve(hex.substring(0, 2)).resolve(hex.substring(2));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.tree;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Checksum;
+import org.openrewrite.SourceFile;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A content-addressed store of parsed source files, so that a source file whose content has not
+ * changed since it was last parsed, with the same parser, parser options, classpath and other
+ * sources, can be loaded rather than parsed again. See {@link LstStoreParser}.
+ */
+public interface LstStore {
+
+    /**
+     * @param key The parser and source the source file was parsed with and from.
+     * @return The source file, or {@code null} if the store doesn't have one for this key.
+     */
+    @Nullable
+    SourceFile get(Key key);
+
+    void put(Key key, SourceFile sourceFile);
+
+    @Value
+    class Key {
+        /**
+         * The kind of parser, typically the name of its class.
+         */
+        String parser;
+
+        /**
+         * Any parser options that change the source files it produces, e.g. the language level or
+         * the styles it detects, in whatever form the parser's owner chooses.
+         */
+        String parserOptions;
+
+        /**
+         * A fingerprint of the classpath that types were attributed from, or an empty string
+         * for parsers that do not attribute types.
+         */
+        String classpath;
+
+        /**
+         * A fingerprint of the bytes of every source that was parsed together with this one,
+         * including itself, since types in one source can be attributed from the others, or
+         * {@code null} for parsers that do not attribute types.
+         */
+        @Nullable
+        Checksum compilation;
+
+        /**
+         * The SHA-256 checksum of the source's bytes.
+         */
+        Checksum source;
+
+        /**
+         * @return A checksum of every part of this key, which is what the store is addressed by.
+         */
+        public Checksum getChecksum() {
+            return Checksum.sha256((parser + '\n' + parserOptions + '\n' + classpath + '\n' +
+                                    (compilation == null ? "" : compilation.getAlgorithm() + ':' + compilation.getHexValue()) + '\n' +
+                                    source.getAlgorithm() + ':' + source.getHexValue()).getBytes(UTF_8));
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.tree;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A parser that loads source files whose content it has parsed before from an {@link LstStore},
+ * and only hands the others to the parser it wraps, storing what that parser produces.
+ * <pre>
+ * Parser parser = new LstStoreParser(JavaParser.fromJavaVersion().classpath(classpath).build(),
+ *         new LocalLstStore(storeDir), "java17", JavaTypeCacheSnapshot.classpathKey(classpath));
+ * </pre>
+ * Source files are looked up by the SHA-256 of their bytes, together with the kind of parser,
+ * the parser options and the classpath fingerprint given here. It is up to the caller to make
+ * the parser options and classpath fingerprint change whenever the parser would produce a
+ * different source file from the same bytes. Loaded source files get the path and file
+ * attributes of the input they were loaded for, and a new ID.
+ * <p>
+ * A parser that attributes types, like the Java parser, attributes the types in one source
+ * from the others that it is given together with it. For such a parser, which is given a
+ * classpath fingerprint, source files are also looked up by a fingerprint of every other
+ * source parsed in the same call, and are only loaded when all of them are in the store.
+ * Otherwise they are all handed to the parser this wraps. For a parser without a classpath
+ * fingerprint, like the YAML or XML parsers, each source file is looked up on its own, and
+ * only the ones that are not in the store are parsed. Either way, source files are returned
+ * in the order of their inputs.
+ * <p>
+ * Source files that fail to parse are never stored. Failures to read from or write to the
+ * store are reported to {@link ExecutionContext#getOnError()}, and the source is parsed as if
+ * it had not been stored.
+ */
+public class LstStoreParser implements Parser {
+    private final Parser delegate;
+    private final LstStore store;
+    private final String parserOptions;
+    private final @Nullable String classpath;
+
+    /**
+     * @param delegate      The parser to parse the sources that are not in the store with.
+     * @param store         The store to load source files from and store them in.
+     * @param parserOptions Any options of the delegate that change the source files it produces.
+     * @param classpath     A fingerprint of the classpath that the delegate attributes types from, or
+     *                      {@code null} if it does not attribute types, so that its source files do not
+     *                      depend on any other source parsed together with them.
+     */
+    public LstStoreParser(Parser delegate, LstStore store, String parserOptions, @Nullable String classpath) {
+        this.delegate = delegate;
+        this.store = store;
+        this.parserOptions = parserOptions;
+        this.classpath = classpath;
+    }
+
+    @Override
+    public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path relativeTo, ExecutionContext ctx) {
+        ParsingEventListener listener = ParsingExecutionContextView.view(ctx).getParsingListener();
+        String parser = delegate.getClass().getName();
+
+        List<Input> inputs = new ArrayList<>();
+        List<@Nullable Checksum> checksums = new ArrayList<>();
+        Map<Input, byte[]> contents = new IdentityHashMap<>();
+        for (Input input : sources) {
+            inputs.add(input);
+            if (delegate.accept(input)) {
+                byte[] bytes = readAllBytes(input, ctx);
+                contents.put(input, bytes);
+                checksums.add(Checksum.sha256(bytes));
+            } else {
+                checksums.add(null);
+            }
+        }
+        @Nullable Checksum compilation = classpath == null ? null : compilation(checksums);
+
+        Map<Input, LstStore.Key> keys = new IdentityHashMap<>();
+        Map<Input, SourceFile> loaded = new IdentityHashMap<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            Checksum checksum = checksums.get(i);
+            if (checksum != null) {
+                LstStore.Key key = new LstStore.Key(parser, parserOptions, classpath == null ? "" : classpath,
+                        compilation, checksum);
+                keys.put(inputs.get(i), key);
+                // once one source is missing, none of the sources that attribute types from each other are loaded
+                if (compilation == null || loaded.size() == keys.size() - 1) {
+                    SourceFile sourceFile = get(key, ctx);
+                    if (sourceFile != null) {
+                        loaded.put(inputs.get(i), sourceFile);
+                    }
+                }
+            }
+        }
+        if (compilation != null && loaded.size() < keys.size()) {
+            // the sources may refer to each other, so parse them all together
+            loaded.clear();
+        }
+
+        List<Input> others = new ArrayList<>();
+        for (Input input : inputs) {
+            if (!loaded.containsKey(input)) {
+                others.add(input);
+            }
+        }
+        Iterator<SourceFile> parsed = others.isEmpty() ? Collections.emptyIterator() :
+                parse(others, contents, keys, relativeTo, listener, ctx).iterator();
+        return Stream.concat(
+                inputs.stream()
+                        .map(input -> {
+                            SourceFile sourceFile = loaded.get(input);
+                            if (sourceFile == null) {
+                                // the delegate returns a source file for each input it is given, in order
+                                return parsed.hasNext() ? parsed.next() : null;
+                            }
+                            listener.startedParsing(input);
+                            sourceFile = sourceFile
+                                    .<SourceFile>withId(Tree.randomId())
+                                    .<SourceFile>withSourcePath(input.getRelativePath(relativeTo))
+                                    .withFileAttributes(input.getFileAttributes());
+                            listener.storeHit(input, sourceFile);
+                            listener.parsed(input, sourceFile);
+                            return sourceFile;
+                        })
+                        .filter(Objects::nonNull),
+                StreamSupport.stream(Spliterators.spliteratorUnknownSize(parsed, Spliterator.ORDERED), false));
+    }
+
+    private Stream<SourceFile> parse(List<Input> inputs, Map<Input, byte[]> contents, Map<Input, LstStore.Key> keys,
+                                     @Nullable Path relativeTo, ParsingEventListener listener, ExecutionContext ctx) {
+        List<Input> toParse = new ArrayList<>(inputs.size());
+        Map<Path, LstStore.Key> keysByPath = new HashMap<>();
+        for (Input input : inputs) {
+            byte[] bytes = contents.get(input);
+            if (bytes == null) {
+                toParse.add(input);
+                continue;
+            }
+            listener.storeMiss(input);
+            keysByPath.put(input.getRelativePath(relativeTo), keys.get(input));
+            // the delegate reads the source again, so hand it the bytes that are already in memory
+            toParse.add(new Input(input.getPath(), input.getFileAttributes(),
+                    () -> new ByteArrayInputStream(bytes), input.isSynthetic()));
+        }
+        return delegate.parseInputs(toParse, relativeTo, ctx).map(sourceFile -> {
+            LstStore.Key key = keysByPath.get(sourceFile.getSourcePath());
+            if (key != null && !(sourceFile instanceof ParseError) &&
+                !sourceFile.getMarkers().findFirst(ParseExceptionResult.class).isPresent()) {
+                put(key, sourceFile, ctx);
+            }
+            return sourceFile;
+        });
+    }
+
+    /**
+     * @return A fingerprint of the content of every source parsed together, regardless of their
+     * order or paths, since a parser that attributes types sees the types that each one declares.
+     */
+    private static Checksum compilation(List<@Nullable Checksum> checksums) {
+        List<String> hexValues = new ArrayList<>(checksums.size());
+        for (Checksum checksum : checksums) {
+            if (checksum != null) {
+                hexValues.add(checksum.getHexValue());
+            }
+        }
+        Collections.sort(hexValues);
+        return Checksum.sha256(String.join("\n", hexValues).getBytes(UTF_8));
+    }
+
+    private @Nullable SourceFile get(LstStore.Key key, ExecutionContext ctx) {
+        try {
+            return store.get(key);
+        } catch (Exception e) {
+            ctx.getOnError().accept(e);
+            return null;
+        }
+    }
+
+    private void put(LstStore.Key key, SourceFile sourceFile, ExecutionContext ctx) {
+        try {
+            store.put(key, sourceFile);
+        } catch (Exception e) {
+            ctx.getOnError().accept(e);
+        }
+    }
+
+    private static byte[] readAllBytes(Input input, ExecutionContext ctx) {
+        try (InputStream is = input.getSource(ctx)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int n; (n = is.read(buffer)) != -1; ) {
+                bytes.write(buffer, 0, n);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean accept(Path path) {
+        return delegate.accept(path);
+    }
+
+    @Override
+    public boolean accept(Input input) {
+        return delegate.accept(input);
+    }
+
+    @Override
+    public Parser reset() {
+        delegate.reset();
+        return this;
+    }
+
+    @Override
+    public Path sourcePathFromSourceText(Path prefix, String sourceCode) {
+        return delegate.sourcePathFromSourceText(prefix, sourceCode);
+    }
+}
@@ -35,4 +35,17 @@ default void startedParsing(Parser.Input input) {
 
     default void parsed(Parser.Input input, SourceFile sourceFile) {
     }
+
+    /**
+     * Called after {@link #startedParsing(Parser.Input)} when a source file is loaded from an
+     * {@link LstStore} rather than parsed, and followed by {@link #parsed(Parser.Input, SourceFile)}.
+     */
+    default void storeHit(Parser.Input input, SourceFile sourceFile) {
+    }
+
+    /**
+     * Called when a source file is not found in an {@link LstStore}, before it is parsed.
+     */
+    default void storeMiss(Parser.Input input) {
+    }
 }
@@ -43,7 +43,8 @@ public ParsingExecutionContextView setParsingListener(ParsingEventListener liste
     }
 
     public ParsingEventListener getParsingListener() {
-        return getMessage(PARSING_LISTENER, ParsingEventListener.NOOP);
+        ParsingEventListener listener = getMessage(PARSING_LISTENER, ParsingEventListener.NOOP);
+        return JfrParsingEventListener.PARSE.isEnabled() ? new JfrParsingEventListener(listener) : listener;
     }
 
     public ParsingExecutionContextView setCharset(@Nullable Charset charset) {
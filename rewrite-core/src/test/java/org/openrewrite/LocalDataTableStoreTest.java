@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextVisitor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class LocalDataTableStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void spillsRowsToSegments() throws IOException {
+        try (LocalDataTableStore store = new LocalDataTableStore(dir, 2)) {
+            RecipeRun run = runWithStore(store, "a b c d e");
+
+            assertThat(segments()).hasSize(2);
+            assertThat(run.<WordTable.Row>getDataTableRows(WordTable.class.getName()))
+              .extracting(WordTable.Row::getText)
+              .containsExactly("a", "b", "c", "d", "e");
+
+            Path csv = dir.resolve("csv");
+            run.exportDatatablesToCsv(csv, new InMemoryExecutionContext());
+            assertThat(Files.readAllLines(csv.resolve(WordTable.class.getName() + ".csv")))
+              .endsWith("0,a", "1,b", "2,c", "3,d", "4,e");
+        }
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    void readsRowsByIndex() throws IOException {
+        try (LocalDataTableStore store = new LocalDataTableStore(dir, 2)) {
+            List<WordTable.Row> rows = store.createRows(new WordTable(Recipe.noop()));
+            for (int i = 0; i < 5; i++) {
+                rows.add(new WordTable.Row(i, "word" + i));
+            }
+            assertThat(rows.get(3).getText()).isEqualTo("word3");
+            assertThat(rows.get(0).getText()).isEqualTo("word0");
+            assertThat(rows.get(4).getText()).isEqualTo("word4");
+        }
+    }
+
+    @Test
+    void rowsOutliveTheStore() throws IOException {
+        RecipeRun run;
+        try (LocalDataTableStore store = new LocalDataTableStore(dir, 2)) {
+            run = runWithStore(store, "a b c d e");
+            assertThat(segments()).hasSize(2);
+        }
+        assertThat(segments()).isEmpty();
+
+        List<WordTable.Row> rows = run.getDataTableRows(WordTable.class.getName());
+        assertThat(rows)
+          .extracting(WordTable.Row::getText)
+          .containsExactly("a", "b", "c", "d", "e");
+        assertThat(rows.get(3).getText()).isEqualTo("d");
+    }
+
+    @Test
+    void dropsRowsOverBudget() throws IOException {
+        try (LocalDataTableStore store = new LocalDataTableStore(dir, 2, 3, LocalDataTableStore.Overflow.DROP)) {
+            WordTable wordTable = new WordTable(Recipe.noop());
+            RecipeRun run = runWithStore(store, "a b c d e");
+
+            assertThat(run.<WordTable.Row>getDataTableRows(WordTable.class.getName()))
+              .extracting(WordTable.Row::getText)
+              .containsExactly("a", "b", "c");
+            assertThat(store.getDroppedRows(wordTable)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void failsInsertionOverBudget() throws IOException {
+        try (LocalDataTableStore store = new LocalDataTableStore(dir, 2, 3, LocalDataTableStore.Overflow.FAIL)) {
+            List<WordTable.Row> rows = store.createRows(new WordTable(Recipe.noop()));
+            for (int i = 0; i < 3; i++) {
+                rows.add(new WordTable.Row(i, "word"));
+            }
+            assertThatThrownBy(() -> rows.add(new WordTable.Row(3, "word")))
+              .isInstanceOf(IllegalStateException.class);
+            assertThat(rows).hasSize(3);
+            assertThat(rows.get(2).getPosition()).isEqualTo(2);
+        }
+    }
+
+    private RecipeRun runWithStore(DataTableStore store, String text) {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        DataTableStore.setStore(ctx, store);
+        Recipe recipe = toRecipe(r -> new PlainTextVisitor<>() {
+            final WordTable wordTable = new WordTable(r);
+
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                int i = 0;
+                for (String s : text.getText().split(" ")) {
+                    wordTable.insertRow(ctx, new WordTable.Row(i++, s));
+                }
+                return text;
+            }
+        });
+        return recipe.run(new InMemoryLargeSourceSet(List.of(PlainText.builder().sourcePath(Path.of("words.txt")).text(text).build())), ctx);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.toString().endsWith(".smile")).toList();
+        }
+    }
+
+    @JsonIgnoreType
+    static class WordTable extends DataTable<WordTable.Row> {
+        public WordTable(Recipe recipe) {
+            super(recipe, "Words", "Each word in the text.");
+        }
+
+        @Value
+        static class Row {
+            @Column(displayName = "Position", description = "The index position of the word in the text.")
+            int position;
+
+            @Column(displayName = "Text", description = "The text of the word.")
+            String text;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.text.PlainText;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrintOutputSinkTest {
+    // long enough to be written in several chunks, some of which end between the halves of a surrogate pair
+    String text = "héllo wörld 😀\n".repeat(2000);
+
+    @Test
+    void writesInChunks() {
+        List<Integer> chunks = new ArrayList<>();
+        StringBuilder printed = new StringBuilder();
+        plainText(UTF_8, false).printTo(chars -> {
+            chunks.add(chars.length());
+            printed.append(chars);
+        });
+        assertThat(chunks).hasSizeGreaterThan(1);
+        assertThat(printed.toString()).isEqualTo(text);
+    }
+
+    @Test
+    void sameBytesAsPrintAll() {
+        for (Charset charset : new Charset[]{UTF_8, UTF_16, ISO_8859_1}) {
+            for (boolean bom : new boolean[]{false, true}) {
+                PlainText plainText = plainText(charset, bom);
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                plainText.printTo(PrintOutputSink.of(Channels.newChannel(bytes), charset));
+                assertThat(bytes.toByteArray()).isEqualTo(plainText.printAll().getBytes(charset));
+                assertThat(plainText.printAllAsBytes()).isEqualTo(plainText.printAll().getBytes(charset));
+            }
+        }
+    }
+
+    @Test
+    void checksum() {
+        PlainText plainText = plainText(UTF_8, true);
+        assertThat(Checksum.of(plainText, "SHA-256"))
+          .isEqualTo(Checksum.sha256(plainText.printAll().getBytes(UTF_8)));
+    }
+
+    private PlainText plainText(Charset charset, boolean bom) {
+        return PlainText.builder()
+          .sourcePath(Path.of("hello.txt"))
+          .text(text)
+          .charsetName(charset.name())
+          .charsetBomMarked(bom)
+          .build();
+    }
+}
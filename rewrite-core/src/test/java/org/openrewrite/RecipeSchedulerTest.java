@@ -22,6 +22,7 @@
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.config.CompositeRecipe;
 import org.openrewrite.config.DeclarativeRecipe;
 import org.openrewrite.internal.InMemoryLargeSourceSet;
 import org.openrewrite.internal.RecipeRunException;
@@ -298,6 +299,37 @@ protected void recordSourceFileResultAndSearchResults(
 
         assertThat(generatedPaths).containsExactly("generated.txt");
     }
+
+    @Test
+    void dropsGeneratedSourceFilesThatCollide() {
+        List<String> collisions = new java.util.ArrayList<>();
+        List<SourceFile> sources = List.of(PlainText.builder().text("existing").sourcePath(Path.of("existing.txt")).build());
+        LargeSourceSet sourceSet = new InMemoryLargeSourceSet(sources) {
+            @Override
+            public void onGenerateCollision(Path sourcePath, boolean existingFile) {
+                collisions.add(sourcePath + (existingFile ? " (existing)" : " (generated)"));
+            }
+        };
+        assertThat(sourceSet.hasBefore(Path.of("existing.txt"))).isTrue();
+        assertThat(sourceSet.hasBefore(Path.of("generated.txt"))).isFalse();
+
+        Recipe recipe = new CompositeRecipe(List.of(new GeneratingRecipe(), new GeneratingRecipe() {
+            @Override
+            public Collection<? extends SourceFile> generate(AtomicInteger acc, ExecutionContext ctx) {
+                return List.of(
+                  PlainText.builder().text("").sourcePath(Path.of("existing.txt")).build(),
+                  PlainText.builder().text("").sourcePath(Path.of("generated.txt")).build(),
+                  PlainText.builder().text("").sourcePath(Path.of("other.txt")).build(),
+                  PlainText.builder().text("").sourcePath(Path.of("other.txt")).build());
+            }
+        }));
+        RecipeRun run = recipe.run(sourceSet, new InMemoryExecutionContext());
+
+        assertThat(run.getChangeset().getAllResults())
+          .extracting(r -> r.getAfter().getSourcePath().toString())
+          .containsExactly("generated.txt", "other.txt");
+        assertThat(collisions).containsExactly("existing.txt (existing)", "generated.txt (generated)", "other.txt (generated)");
+    }
 }
 
 @AllArgsConstructor
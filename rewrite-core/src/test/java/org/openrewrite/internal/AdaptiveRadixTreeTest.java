@@ -17,6 +17,10 @@
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -393,4 +397,23 @@ public void insertAndSearch_ControlCharacters() {
         assertThat(tree.search("line1")).isNull();
         assertThat(tree.search("tab")).isNull();
     }
+
+    @Test
+    public void forEach() {
+        AdaptiveRadixTree<Integer> tree = new AdaptiveRadixTree<>();
+        Map<String, Integer> expected = new TreeMap<>();
+        expected.put("", 0);
+        expected.put("c", 1);
+        expected.put("cat", 2);
+        expected.put("cats", 3);
+        // enough children under a single node to grow it to a Node256
+        for (int i = 0; i < 300; i++) {
+            expected.put("c" + (char) ('!' + i % 200) + i, i + 4);
+        }
+        expected.forEach(tree::insert);
+
+        Map<String, Integer> actual = new TreeMap<>();
+        tree.forEach((key, value) -> actual.put(new String(key, StandardCharsets.UTF_8), value));
+        assertThat(actual).isEqualTo(expected);
+    }
 }
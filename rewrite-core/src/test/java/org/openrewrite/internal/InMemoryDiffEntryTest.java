@@ -39,8 +39,7 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.*;
 
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
@@ -599,4 +598,68 @@ void fencedSearchResultPreservesLineCount() {
             assertThat(diff).contains("@@ -1,3 +1,3 @@");
         }
     }
+
+    @Test
+    void diffOfChangedLinesMatchesDiffOfWholeFile() {
+        Random random = new Random(42);
+        String[] lineKinds = {"a", "b", "}", "", "  x", "a"};
+        for (int i = 0; i < 500; i++) {
+            List<String> before = new ArrayList<>();
+            for (int j = 0; j < 40 + random.nextInt(80); j++) {
+                before.add(lineKinds[random.nextInt(lineKinds.length)]);
+            }
+            List<String> after = new ArrayList<>(before);
+            int at = random.nextInt(after.size());
+            for (int edit = 0; edit < 1 + random.nextInt(3); edit++) {
+                int line = Math.min(after.size() - 1, at + random.nextInt(6));
+                switch (random.nextInt(4)) {
+                    case 0 -> after.add(line, lineKinds[random.nextInt(lineKinds.length)]);
+                    case 1 -> after.remove(line);
+                    case 2 -> after.set(line, after.get(line) + " ");
+                    default -> after.set(line, lineKinds[random.nextInt(lineKinds.length)]);
+                }
+            }
+            String beforeText = String.join("\n", before) + (random.nextBoolean() ? "\n" : "");
+            String afterText = String.join("\n", after) + (random.nextBoolean() ? "\n" : "");
+
+            for (boolean ignoreAllWhitespace : new boolean[]{false, true}) {
+                try (var wholeFile = new InMemoryDiffEntry(filePath, filePath, null,
+                  beforeText.getBytes(StandardCharsets.UTF_8), afterText.getBytes(StandardCharsets.UTF_8),
+                  emptySet(), FileMode.REGULAR_FILE, FileMode.REGULAR_FILE, false);
+                     var changedLines = new InMemoryDiffEntry(plainText(beforeText), plainText(afterText),
+                       null, null, emptySet(), false)) {
+                    assertThat(changedLines.getDiff(ignoreAllWhitespace))
+                      .describedAs("before:\n%s\nafter:\n%s", beforeText, afterText)
+                      .isEqualTo(wholeFile.getDiff(ignoreAllWhitespace));
+                }
+            }
+        }
+    }
+
+    @Test
+    void largeFileWithOneChangedLine() {
+        StringBuilder before = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            before.append("line ").append(i).append('\n');
+        }
+        String after = before.toString().replace("line 5000\n", "line five thousand\n");
+        try (var diff = new InMemoryDiffEntry(plainText(before.toString()), plainText(after), null, null, emptySet(), false)) {
+            assertThat(diff.getDiff()).contains("@@ -4998,7 +4998,7 @@").endsWith(
+              """
+                 line 4997
+                 line 4998
+                 line 4999
+                -line 5000
+                +line five thousand
+                 line 5001
+                 line 5002
+                 line 5003
+                """
+            );
+        }
+    }
+
+    private PlainText plainText(String text) {
+        return PlainText.builder().sourcePath(filePath).text(text).build();
+    }
 }
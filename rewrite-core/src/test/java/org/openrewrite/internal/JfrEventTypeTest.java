@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrEventTypeTest {
+    static final JfrEventType TEST_EVENT = JfrEventType.builder("org.openrewrite.Test", "Test")
+      .field("sourcePath", String.class, "Source path")
+      .field("size", long.class, "Size")
+      .build();
+
+    @Test
+    void disabledWhenNotRecording() {
+        assertThat(TEST_EVENT.begin()).isNull();
+    }
+
+    @Test
+    void recordsEvents(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TEST_EVENT.getName());
+            recording.start();
+
+            JfrEventType.Event event = TEST_EVENT.begin();
+            assertThat(event).isNotNull();
+            event.set(0, "a.txt").set(1, 42L).commit();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events)
+          .filteredOn(e -> e.getEventType().getName().equals(TEST_EVENT.getName()))
+          .singleElement()
+          .satisfies(e -> {
+              assertThat(e.getString("sourcePath")).isEqualTo("a.txt");
+              assertThat(e.getLong("size")).isEqualTo(42L);
+          });
+    }
+}
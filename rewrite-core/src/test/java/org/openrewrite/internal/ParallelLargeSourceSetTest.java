@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.*;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextVisitor;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class ParallelLargeSourceSetTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void editsConcurrentlyInOrder() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        Recipe recipe = toRecipe(() -> new PlainTextVisitor<>() {
+            @Override
+            public @Nullable PlainText visitText(PlainText text, ExecutionContext ctx) {
+                threads.add(Thread.currentThread());
+                if (text.getText().endsWith("7")) {
+                    return null;
+                }
+                return text.withText(text.getText() + "!");
+            }
+        });
+
+        RecipeRun run = recipe.run(new ParallelLargeSourceSet(sources(200), pool), new InMemoryExecutionContext());
+
+        List<Result> results = run.getChangeset().getAllResults();
+        assertThat(results).hasSize(200);
+        assertThat(results.stream().filter(r -> r.getAfter() != null).map(r -> ((PlainText) r.getAfter()).getText()))
+          .containsExactlyElementsOf(IntStream.range(0, 200)
+            .filter(i -> i % 10 != 7)
+            .mapToObj(i -> i + "!")
+            .collect(toList()));
+        assertThat(results.stream().filter(r -> r.getAfter() == null).map(r -> r.getBefore().getSourcePath().toString()))
+          .containsExactlyElementsOf(IntStream.range(0, 200)
+            .filter(i -> i % 10 == 7)
+            .mapToObj(i -> i + ".txt")
+            .collect(toList()));
+        assertThat(threads).allMatch(t -> t.getName().startsWith("ForkJoinPool"));
+    }
+
+    @Test
+    void scansSequentiallyWithoutOptIn() {
+        RecordingScanner recipe = new RecordingScanner(false);
+        recipe.run(new ParallelLargeSourceSet(sources(100), pool), new InMemoryExecutionContext());
+        assertThat(recipe.scanned).containsExactlyElementsOf(IntStream.range(0, 100)
+          .mapToObj(String::valueOf)
+          .collect(toList()));
+        assertThat(recipe.scannedOn).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    void scansConcurrentlyWithOptIn() {
+        RecordingScanner recipe = new RecordingScanner(true);
+        recipe.run(new ParallelLargeSourceSet(sources(100), pool), new InMemoryExecutionContext());
+        assertThat(recipe.scanned).hasSize(100);
+        assertThat(recipe.scannedOn).doesNotContain(Thread.currentThread());
+    }
+
+    private static List<SourceFile> sources(int count) {
+        List<SourceFile> sources = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sources.add(PlainText.builder().text(String.valueOf(i)).sourcePath(Path.of(i + ".txt")).build());
+        }
+        return sources;
+    }
+
+    static class RecordingScanner extends ScanningRecipe<List<String>> {
+        final boolean threadSafe;
+        final List<String> scanned = new ArrayList<>();
+        final Set<Thread> scannedOn = ConcurrentHashMap.newKeySet();
+
+        RecordingScanner(boolean threadSafe) {
+            this.threadSafe = threadSafe;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Record scanned files";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Records the text of every scanned file.";
+        }
+
+        @Override
+        public boolean isAccumulatorThreadSafe() {
+            return threadSafe;
+        }
+
+        @Override
+        public List<String> getInitialValue(ExecutionContext ctx) {
+            return scanned;
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getScanner(List<String> acc) {
+            return new PlainTextVisitor<>() {
+                @Override
+                public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                    scannedOn.add(Thread.currentThread());
+                    synchronized (acc) {
+                        acc.add(text.getText());
+                    }
+                    return text;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.*;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextVisitor;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class SpillingLargeSourceSetTest {
+
+    private final MappedSegmentStore store = MappedSegmentStore.temporary();
+
+    @AfterEach
+    void close() {
+        store.close();
+    }
+
+    @Test
+    void roundTrip() {
+        PlainText text = PlainText.builder().text("hello").sourcePath(Path.of("hello.txt")).build();
+        SourceFileSerializer serializer = new SourceFileSerializer();
+        PlainText deserialized = (PlainText) serializer.deserialize(serializer.serialize(text), PlainText.class.getName());
+        assertThat(deserialized).isNotSameAs(text);
+        assertThat(deserialized.getId()).isEqualTo(text.getId());
+        assertThat(deserialized.getSourcePath()).isEqualTo(text.getSourcePath());
+        assertThat(deserialized.printAll()).isEqualTo("hello");
+    }
+
+    @Test
+    void releasedRecordsAreReused() {
+        MappedSegmentStore.Record a = store.write(new byte[]{1, 2, 3});
+        MappedSegmentStore.Record b = store.write(new byte[]{4, 5, 6});
+        MappedSegmentStore.Record c = store.write(new byte[]{7, 8, 9});
+        assertThat(store.size()).isEqualTo(9);
+
+        store.release(b);
+        assertThat(store.size()).isEqualTo(6);
+        MappedSegmentStore.Record reused = store.write(new byte[]{10, 11});
+        assertThat(reused.getOffset()).isEqualTo(b.getOffset());
+        assertThat(store.read(reused)).containsExactly(10, 11);
+        assertThat(store.read(a)).containsExactly(1, 2, 3);
+        assertThat(store.read(c)).containsExactly(7, 8, 9);
+
+        store.release(reused);
+        store.release(c);
+        assertThat(store.write(new byte[]{12, 13, 14, 15}).getOffset()).isEqualTo(b.getOffset());
+        assertThat(store.size()).isEqualTo(7);
+    }
+
+    @Test
+    void onlyMostRecentlyUsedTreesStayResident() {
+        List<SourceFile> sources = IntStream.range(0, 10)
+          .mapToObj(i -> (SourceFile) PlainText.builder().text(String.valueOf(i)).sourcePath(Path.of(i + ".txt")).build())
+          .collect(toList());
+        SpillingLargeSourceSet spilling = new SpillingLargeSourceSet(sources.stream(), store, null, 2);
+
+        assertThat(spilling.getBefore(Path.of("9.txt"))).isSameAs(sources.get(9));
+        assertThat(spilling.getBefore(Path.of("8.txt"))).isSameAs(sources.get(8));
+
+        SourceFile reloaded = spilling.getBefore(Path.of("0.txt"));
+        assertThat(reloaded).isNotSameAs(sources.get(0));
+        assertThat(spilling.getBefore(Path.of("0.txt"))).isSameAs(reloaded);
+        assertThat(spilling.getBefore(Path.of("9.txt"))).isNotSameAs(sources.get(9));
+    }
+
+    @Test
+    void sameChangesetAsInMemory() {
+        Recipe recipe = toRecipe(() -> new PlainTextVisitor<>() {
+            @Override
+            public @Nullable PlainText visitText(PlainText text, ExecutionContext ctx) {
+                if ("3".equals(text.getText())) {
+                    return null;
+                }
+                return text.getText().endsWith("0") ? text.withText(text.getText() + "!") : text;
+            }
+        });
+
+        List<SourceFile> sources = IntStream.range(0, 50)
+          .mapToObj(i -> (SourceFile) PlainText.builder().text(String.valueOf(i)).sourcePath(Path.of(i + ".txt")).build())
+          .collect(toList());
+
+        List<Result> inMemory = recipe.run(new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext())
+          .getChangeset().getAllResults();
+        SpillingLargeSourceSet spilling = new SpillingLargeSourceSet(sources.stream(), store);
+        Changeset changeset = recipe.run(spilling, new InMemoryExecutionContext()).getChangeset();
+
+        assertThat(store.size()).isGreaterThan(0);
+        assertThat(changeset.size()).isEqualTo(inMemory.size()).isEqualTo(6);
+        assertThat(changeset.getPage(0, 3)).hasSize(3);
+        assertThat(changeset.getAllResults().stream().map(Result::diff).collect(toList()))
+          .containsExactlyElementsOf(inMemory.stream().map(Result::diff).collect(toList()));
+        assertThat(spilling.getBefore(Path.of("10.txt")))
+          .isInstanceOfSatisfying(PlainText.class, t -> assertThat(t.getText()).isEqualTo("10"));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.remote;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRemoteArtifactCacheTest {
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    void concurrentRequestsForTheSameUriDownloadOnce() throws Exception {
+        LocalRemoteArtifactCache cache = new LocalRemoteArtifactCache(cacheDir);
+        URI uri = URI.create("https://example.com/artifact.zip");
+        AtomicInteger downloads = new AtomicInteger();
+        CountDownLatch downloading = new CountDownLatch(1);
+        CountDownLatch waiting = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Path>> artifacts = new ArrayList<>();
+            artifacts.add(executor.submit(() -> cache.compute(uri, () -> {
+                downloads.incrementAndGet();
+                downloading.countDown();
+                waiting.await();
+                return new ByteArrayInputStream(new byte[]{1, 2, 3});
+            }, Throwable::printStackTrace)));
+            downloading.await();
+            for (int i = 0; i < 3; i++) {
+                artifacts.add(executor.submit(() -> cache.compute(uri, () -> {
+                    downloads.incrementAndGet();
+                    return new ByteArrayInputStream(new byte[]{1, 2, 3});
+                }, Throwable::printStackTrace)));
+            }
+            waiting.countDown();
+
+            for (Future<Path> artifact : artifacts) {
+                assertThat(Files.readAllBytes(artifact.get(10, TimeUnit.SECONDS))).containsExactly(1, 2, 3);
+            }
+            assertThat(downloads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        LocalRemoteArtifactCache cache = new LocalRemoteArtifactCache(cacheDir, 25);
+        URI a = URI.create("https://example.com/a");
+        URI b = URI.create("https://example.com/b");
+        URI c = URI.create("https://example.com/c");
+
+        cache.put(a, new ByteArrayInputStream(new byte[10]), Throwable::printStackTrace);
+        cache.put(b, new ByteArrayInputStream(new byte[10]), Throwable::printStackTrace);
+        assertThat(cache.get(a)).isNotNull();
+        cache.put(c, new ByteArrayInputStream(new byte[10]), Throwable::printStackTrace);
+
+        assertThat(cache.get(a)).isNotNull();
+        assertThat(cache.get(b)).isNull();
+        assertThat(cache.get(c)).isNotNull();
+
+        // a new cache over the same directory picks up what is already there
+        LocalRemoteArtifactCache reopened = new LocalRemoteArtifactCache(cacheDir, 25);
+        reopened.put(b, new ByteArrayInputStream(new byte[10]), Throwable::printStackTrace);
+        assertThat(reopened.get(b)).isNotNull();
+        assertThat(cacheDir.toFile().list()).hasSize(2);
+    }
+
+    @Test
+    void doesNotEvictArtifactsBeingOpened() throws Exception {
+        LocalRemoteArtifactCache cache = new LocalRemoteArtifactCache(cacheDir, 15);
+        URI a = URI.create("https://example.com/a");
+        URI b = URI.create("https://example.com/b");
+
+        byte[] opened = cache.open(a, () -> new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}),
+          Throwable::printStackTrace, artifact -> {
+              // another thread puts an artifact that takes the cache over budget
+              cache.put(b, new ByteArrayInputStream(new byte[10]), Throwable::printStackTrace);
+              return Files.readAllBytes(artifact);
+          });
+
+        assertThat(opened).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(cache.get(b)).isNotNull();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.rpc.AdaptiveBatchSize.*;
+
+class AdaptiveBatchSizeTest {
+
+    @Test
+    void growsWhileMostlyWaiting() {
+        AdaptiveBatchSize size = new AdaptiveBatchSize(1000);
+        size.observe(4, 1024, 80, 100);
+        assertThat(size.get()).isEqualTo(2000);
+
+        for (int i = 0; i < 10; i++) {
+            size.observe(4, 1024, 80, 100);
+        }
+        assertThat(size.get()).isEqualTo(MAX_BATCH_SIZE);
+    }
+
+    @Test
+    void keepsSizeWhenWaitIsHidden() {
+        AdaptiveBatchSize size = new AdaptiveBatchSize(1000);
+        size.observe(4, 1024, 20, 100);
+        assertThat(size.get()).isEqualTo(1000);
+
+        // an object that fits in one batch says nothing about round trips
+        size.observe(1, 1024, 100, 100);
+        assertThat(size.get()).isEqualTo(1000);
+    }
+
+    @Test
+    void shrinksWhenBatchesAreTooLarge() {
+        AdaptiveBatchSize size = new AdaptiveBatchSize(1000);
+        size.observe(2, 4 * MAX_BATCH_BYTES, 80, 100);
+        assertThat(size.get()).isEqualTo(500);
+
+        for (int i = 0; i < 10; i++) {
+            size.observe(2, 4 * MAX_BATCH_BYTES, 80, 100);
+        }
+        assertThat(size.get()).isEqualTo(MIN_BATCH_SIZE);
+    }
+
+    @Test
+    void estimatesBytesFromDecodedBatch() {
+        String text = "a".repeat(1000);
+        long bytes = estimateBytes(List.of(
+          new RpcObjectData(RpcObjectData.State.CHANGE, null, text, null, false),
+          new RpcObjectData(RpcObjectData.State.ADD, "org.openrewrite.marker.Markers",
+            Map.of("id", "b".repeat(36), "markers", List.of()), null, false)
+        ));
+        assertThat(bytes).isBetween(1000L + 36, 2000L);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc;
+
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import io.moderne.jsonrpc.JsonRpc;
+import io.moderne.jsonrpc.handler.HeaderDelimitedMessageHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.marketplace.RecipeMarketplace;
+import org.openrewrite.text.PlainText;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Negotiates a message format the way the JavaScript, Python and C# clients do, with
+ * a {@link RewriteRpcProcess} talking to a server in a separate JVM over stdin/stdout.
+ */
+class RewriteRpcProcessTest {
+    RewriteRpcProcess process;
+    RewriteRpc client;
+
+    @BeforeEach
+    void before() {
+        process = new RewriteRpcProcess(
+          Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+          "-cp", System.getProperty("java.class.path"),
+          Server.class.getName()
+        );
+        process.start();
+        client = new RewriteRpc(process.getRpcClient(), new RecipeMarketplace())
+          .livenessCheck(process::getLivenessCheck)
+          .timeout(Duration.ofSeconds(30))
+          .messageFormatter(process.getMessageFormatter());
+    }
+
+    @AfterEach
+    void after() {
+        client.shutdown();
+        process.shutdown();
+    }
+
+    @Test
+    void negotiatesSmile() {
+        assertThat(client.negotiateMessageFormat()).isEqualTo(RpcMessageFormatter.Format.SMILE);
+        assertThat(process.getMessageFormatter().getFormat()).isEqualTo(RpcMessageFormatter.Format.SMILE);
+
+        assertThat(client.getLanguages()).contains(PlainText.class.getName());
+        PlainText text = PlainText.builder()
+          .sourcePath(Path.of("test.txt"))
+          .text("Hello")
+          .build();
+        assertThat(client.print(text)).isEqualTo("Hello");
+        assertThat(client.print(text.withText("Hello World"))).isEqualTo("Hello World");
+    }
+
+    @Test
+    void shrinksLargeBatches() {
+        client.negotiateMessageFormat();
+
+        int initial = requireNonNull(client.receiveBatchSize).get();
+        PlainText large = client.getObject(Server.LARGE_ID, PlainText.class.getName());
+        assertThat(large.getText()).hasSize(Server.LARGE_SIZE);
+        assertThat(requireNonNull(client.receiveBatchSize).get()).isEqualTo(initial / 2);
+    }
+
+    public static class Server {
+        static final String LARGE_ID = "large";
+        static final int LARGE_SIZE = (int) (2 * AdaptiveBatchSize.MAX_BATCH_BYTES);
+
+        public static void main(String[] args) throws InterruptedException {
+            RpcMessageFormatter formatter = new RpcMessageFormatter(new ParameterNamesModule());
+            RewriteRpc server = new RewriteRpc(new JsonRpc(new HeaderDelimitedMessageHandler(formatter, System.in, System.out)),
+              new RecipeMarketplace())
+              .messageFormatter(formatter);
+            server.localObjects.put(LARGE_ID, PlainText.builder()
+              .sourcePath(Path.of("large.txt"))
+              .text("a".repeat(LARGE_SIZE))
+              .build());
+            // the client destroys this process when it is done with it
+            Thread.currentThread().join();
+        }
+    }
+}
@@ -286,6 +286,23 @@ void runRecipeWithRecipeList() {
         );
     }
 
+    @Test
+    void shrinksLargeBatchesFromEstimatedSize() {
+        // Without an RpcMessageFormatter, the size of a batch is estimated from the decoded batch
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(1000);
+        client.receiveBatchSize = batchSize;
+
+        PlainText large = PlainText.builder()
+          .sourcePath(Path.of("large.txt"))
+          .text("a".repeat((int) (2 * AdaptiveBatchSize.MAX_BATCH_BYTES)))
+          .build();
+        String id = large.getId().toString();
+        server.localObjects.put(id, large);
+
+        assertThat(client.<PlainText>getObject(id, PlainText.class.getName()).getText()).isEqualTo(large.getText());
+        assertThat(batchSize.get()).isEqualTo(500);
+    }
+
     @Test
     void getCursor() {
         Cursor parent = new Cursor(null, Cursor.ROOT_VALUE);
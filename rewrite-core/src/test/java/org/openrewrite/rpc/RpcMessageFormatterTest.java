@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc;
+
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import io.moderne.jsonrpc.JsonRpc;
+import io.moderne.jsonrpc.JsonRpcMethod;
+import io.moderne.jsonrpc.JsonRpcRequest;
+import io.moderne.jsonrpc.JsonRpcSuccess;
+import io.moderne.jsonrpc.formatter.JsonMessageFormatter;
+import io.moderne.jsonrpc.formatter.MessageFormatter;
+import io.moderne.jsonrpc.handler.HeaderDelimitedMessageHandler;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.config.Environment;
+import org.openrewrite.marketplace.RecipeMarketplace;
+import org.openrewrite.text.PlainText;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.marketplace.RecipeBundle.runtimeClasspath;
+
+class RpcMessageFormatterTest {
+    RecipeMarketplace marketplace = Environment.builder().build().toMarketplace(runtimeClasspath());
+
+    JsonRpc clientJsonRpc;
+    JsonRpc serverJsonRpc;
+    RewriteRpc client;
+    RewriteRpc server;
+
+    @AfterEach
+    void after() {
+        client.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void negotiatesSmile() throws IOException {
+        RpcMessageFormatter clientFormatter = new RpcMessageFormatter(new ParameterNamesModule());
+        RpcMessageFormatter serverFormatter = new RpcMessageFormatter(new ParameterNamesModule());
+        connect(clientFormatter, serverFormatter);
+        client.messageFormatter(clientFormatter);
+        server.messageFormatter(serverFormatter);
+
+        assertThat(client.negotiateMessageFormat()).isEqualTo(RpcMessageFormatter.Format.SMILE);
+        assertThat(clientFormatter.getFormat()).isEqualTo(RpcMessageFormatter.Format.SMILE);
+        assertThat(serverFormatter.getFormat()).isEqualTo(RpcMessageFormatter.Format.SMILE);
+
+        assertRoundTrips();
+    }
+
+    @Test
+    void nullResultSurvivesSmile() throws Exception {
+        RpcMessageFormatter clientFormatter = new RpcMessageFormatter(new ParameterNamesModule());
+        RpcMessageFormatter serverFormatter = new RpcMessageFormatter(new ParameterNamesModule());
+        connect(clientFormatter, serverFormatter);
+        client.messageFormatter(clientFormatter);
+        server.messageFormatter(serverFormatter);
+        serverJsonRpc.rpc("Nothing", new JsonRpcMethod<Void>() {
+            @Override
+            protected @Nullable Object handle(Void noParams) {
+                return null;
+            }
+        });
+
+        assertThat(client.negotiateMessageFormat()).isEqualTo(RpcMessageFormatter.Format.SMILE);
+        JsonRpcSuccess response = clientJsonRpc.send(JsonRpcRequest.newRequest("Nothing", null))
+          .get(10, TimeUnit.SECONDS);
+        assertThat(response.getResult(Object.class)).isNull();
+    }
+
+    @Test
+    void remoteThatCannotNegotiateKeepsJson() throws IOException {
+        RpcMessageFormatter clientFormatter = new RpcMessageFormatter(new ParameterNamesModule());
+        connect(clientFormatter, new JsonMessageFormatter(new ParameterNamesModule()));
+        client.messageFormatter(clientFormatter);
+
+        assertThat(client.negotiateMessageFormat()).isEqualTo(RpcMessageFormatter.Format.JSON);
+        assertThat(clientFormatter.getFormat()).isEqualTo(RpcMessageFormatter.Format.JSON);
+
+        assertRoundTrips();
+    }
+
+    @Test
+    void shrinksLargeBatchesMeasuredOnTheWire() throws IOException {
+        RpcMessageFormatter clientFormatter = new RpcMessageFormatter(new ParameterNamesModule());
+        RpcMessageFormatter serverFormatter = new RpcMessageFormatter(new ParameterNamesModule());
+        connect(clientFormatter, serverFormatter);
+        client.messageFormatter(clientFormatter);
+        server.messageFormatter(serverFormatter);
+        client.negotiateMessageFormat();
+
+        PlainText large = PlainText.builder()
+          .sourcePath(Path.of("large.txt"))
+          .text("a".repeat((int) (2 * AdaptiveBatchSize.MAX_BATCH_BYTES)))
+          .build();
+        String id = large.getId().toString();
+        server.localObjects.put(id, large);
+
+        int initial = requireNonNull(client.receiveBatchSize).get();
+        assertThat(client.<PlainText>getObject(id, PlainText.class.getName()).getText()).isEqualTo(large.getText());
+        assertThat(requireNonNull(client.receiveBatchSize).get()).isEqualTo(initial / 2);
+    }
+
+    private void assertRoundTrips() {
+        PlainText original = PlainText.builder()
+          .sourcePath(Path.of("test.txt"))
+          .text("Hello")
+          .build();
+        String id = original.getId().toString();
+
+        server.localObjects.put(id, original);
+        PlainText received = client.getObject(id, PlainText.class.getName());
+        assertThat(received.getText()).isEqualTo("Hello");
+        assertThat(received.getSourcePath()).isEqualTo(original.getSourcePath());
+
+        server.localObjects.put(id, original.withText("Hello World"));
+        assertThat(client.<PlainText>getObject(id, PlainText.class.getName()).getText()).isEqualTo("Hello World");
+    }
+
+    private void connect(MessageFormatter clientFormatter,
+                         MessageFormatter serverFormatter) throws IOException {
+        PipedOutputStream serverOut = new PipedOutputStream();
+        PipedOutputStream clientOut = new PipedOutputStream();
+        PipedInputStream serverIn = new PipedInputStream(clientOut);
+        PipedInputStream clientIn = new PipedInputStream(serverOut);
+
+        clientJsonRpc = new JsonRpc(new HeaderDelimitedMessageHandler(clientFormatter, clientIn, clientOut));
+        serverJsonRpc = new JsonRpc(new HeaderDelimitedMessageHandler(serverFormatter, serverIn, serverOut));
+        client = new RewriteRpc(clientJsonRpc, marketplace);
+        server = new RewriteRpc(serverJsonRpc, marketplace);
+    }
+}
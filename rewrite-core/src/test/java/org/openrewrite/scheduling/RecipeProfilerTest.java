@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.*;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.table.RecipeAllocations;
+import org.openrewrite.table.RecipeVisitHotSpots;
+import org.openrewrite.table.SlowSourceFiles;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextVisitor;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class RecipeProfilerTest {
+
+    @Test
+    void attributesTimeToVisitMethods() {
+        List<Path> profiled = new ArrayList<>();
+        RecipeProfiler profiler = new RecipeProfiler(Duration.ZERO) {
+            @Override
+            protected void sourceFileProfiled(String recipe, Phase phase, Path sourcePath, long elapsedNs, long allocatedBytes) {
+                profiled.add(sourcePath);
+            }
+        };
+        Recipe recipe = toRecipe(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                return "change me".equals(text.getText()) ? text.withText("changed") : text;
+            }
+        });
+
+        RecipeRun run = run(recipe, profiler, List.of(text("a"), text("change me")));
+
+        assertThat(run.<RecipeVisitHotSpots.Row>getDataTableRows(RecipeVisitHotSpots.class.getName()))
+          .singleElement()
+          .satisfies(row -> {
+              assertThat(row.getPhase()).isEqualTo("EDIT");
+              assertThat(row.getVisitMethod()).isEqualTo("visitPlainText");
+              assertThat(row.getInvocations()).isGreaterThanOrEqualTo(2);
+              assertThat(row.getSelfTimeNs()).isPositive();
+          });
+        assertThat(run.<RecipeAllocations.Row>getDataTableRows(RecipeAllocations.class.getName())).hasSize(1);
+        assertThat(run.<SlowSourceFiles.Row>getDataTableRows(SlowSourceFiles.class.getName()))
+          .extracting(SlowSourceFiles.Row::getSourcePath)
+          .contains("a.txt", "change me.txt");
+        assertThat(profiled).contains(Path.of("a.txt"), Path.of("change me.txt"));
+    }
+
+    @Test
+    void onlyFlagsSourceFilesAboveThreshold() {
+        Recipe recipe = toRecipe(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                return text;
+            }
+        });
+
+        RecipeRun run = run(recipe, new RecipeProfiler(Duration.ofHours(1)), List.of(text("a")));
+
+        assertThat(run.<SlowSourceFiles.Row>getDataTableRows(SlowSourceFiles.class.getName())).isEmpty();
+    }
+
+    private static RecipeRun run(Recipe recipe, RecipeProfiler profiler, List<SourceFile> sources) {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        });
+        RecipeProfiler.setProfiler(ctx, profiler);
+        return recipe.run(new InMemoryLargeSourceSet(sources), ctx);
+    }
+
+    private static SourceFile text(String text) {
+        return PlainText.builder().text(text).sourcePath(Path.of(text + ".txt")).build();
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.*;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.marker.BuildTool;
+import org.openrewrite.marker.Markers;
+import org.openrewrite.table.TextMatches;
+import org.openrewrite.text.FindAndReplace;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextVisitor;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class RecipeResultMemoTest {
+    @TempDir
+    Path dir;
+
+    Set<String> visited = ConcurrentHashMap.newKeySet();
+
+    List<SourceFile> sources = List.of(text("a"), text("b"), text("change me"));
+
+    @Test
+    void skipsSourcesPreviouslyLeftUnchanged() {
+        Recipe recipe = new EditLocal(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                visited.add(text.getText());
+                return "change me".equals(text.getText()) ? text.withText("changed") : text;
+            }
+        });
+
+        try (LocalRecipeResultMemo memo = new LocalRecipeResultMemo(dir.resolve("memo"))) {
+            assertThat(run(recipe, memo)).isEqualTo(1);
+            assertThat(visited).contains("a", "b", "change me");
+        }
+
+        visited.clear();
+        try (LocalRecipeResultMemo memo = new LocalRecipeResultMemo(dir.resolve("memo"))) {
+            assertThat(run(recipe, memo)).isEqualTo(1);
+            assertThat(visited).contains("change me").doesNotContain("a", "b");
+        }
+    }
+
+    @Test
+    void doesNotSkipMovedSources() {
+        Recipe recipe = new EditLocal(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                visited.add(text.getSourcePath().toString());
+                return text;
+            }
+        });
+
+        LocalRecipeResultMemo memo = new LocalRecipeResultMemo(dir.resolve("memo"));
+        run(recipe, memo);
+        visited.clear();
+        sources = List.of(text("a"), sources.get(1).withSourcePath(Path.of("moved/b.txt")));
+        run(recipe, memo);
+        assertThat(visited).containsExactly(Path.of("moved/b.txt").toString());
+    }
+
+    @Test
+    void doesNotSkipSourcesWhoseMarkersChanged() {
+        Recipe recipe = new EditLocal(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                visited.add(text.getText());
+                return text;
+            }
+        });
+
+        sources = List.of(text("a").withMarkers(Markers.build(List.of(new BuildTool(Tree.randomId(), BuildTool.Type.Maven, "3.9.0")))));
+        LocalRecipeResultMemo memo = new LocalRecipeResultMemo(dir.resolve("memo"));
+        run(recipe, memo);
+
+        // the same marker content with a new ID, as when the source file is parsed again
+        visited.clear();
+        sources = List.of(text("a").withMarkers(Markers.build(List.of(new BuildTool(Tree.randomId(), BuildTool.Type.Maven, "3.9.0")))));
+        run(recipe, memo);
+        assertThat(visited).isEmpty();
+
+        sources = List.of(text("a").withMarkers(Markers.build(List.of(new BuildTool(Tree.randomId(), BuildTool.Type.Maven, "3.9.9")))));
+        run(recipe, memo);
+        assertThat(visited).containsExactly("a");
+    }
+
+    @Test
+    void memoizesEditLocalRecipes() {
+        AtomicInteger skipped = new AtomicInteger();
+        Set<Checksum> unchanged = ConcurrentHashMap.newKeySet();
+        RecipeResultMemo memo = new RecipeResultMemo() {
+            @Override
+            public boolean isUnchanged(Checksum key) {
+                if (unchanged.contains(key)) {
+                    skipped.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+
+            @Override
+            public void recordUnchanged(Checksum key) {
+                unchanged.add(key);
+            }
+        };
+        Recipe recipe = new FindAndReplace("change me", "changed", null, null, null, null, null, null);
+
+        assertThat(run(recipe, memo)).isEqualTo(1);
+        assertThat(skipped).hasValue(0);
+        assertThat(run(recipe, memo)).isEqualTo(1);
+        assertThat(skipped).hasValue(2);
+    }
+
+    @Test
+    void doesNotSkipRecipesThatPutMessages() {
+        Recipe recipe = new EditLocal(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                visited.add(text.getText());
+                ctx.putMessage("seen", true);
+                return text;
+            }
+        });
+
+        LocalRecipeResultMemo memo = new LocalRecipeResultMemo(dir.resolve("memo"));
+        run(recipe, memo);
+        visited.clear();
+        run(recipe, memo);
+        assertThat(visited).contains("a", "b", "change me");
+    }
+
+    @Test
+    void doesNotSkipRecipesThatAreNotEditLocal() {
+        Recipe recipe = toRecipe(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                visited.add(text.getText());
+                return text;
+            }
+        });
+
+        LocalRecipeResultMemo memo = new LocalRecipeResultMemo(dir.resolve("memo"));
+        run(recipe, memo);
+        visited.clear();
+        run(recipe, memo);
+        assertThat(visited).contains("a", "b", "change me");
+    }
+
+    @Test
+    void onlyRecordsResultsOfTheFirstCycle() {
+        Recipe matches = new EditLocal(() -> new PlainTextVisitor<>() {
+            final TextMatches textMatches = new TextMatches(toRecipe());
+
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                textMatches.insertRow(ctx, new TextMatches.Row(text.getSourcePath().toString(), text.getText()));
+                return text;
+            }
+        });
+        Recipe recipe = new Recipe() {
+            @Override
+            public String getDisplayName() {
+                return "Match and change";
+            }
+
+            @Override
+            public String getDescription() {
+                return "Inserts a data table row for every source file while another recipe causes a second cycle.";
+            }
+
+            @Override
+            public List<Recipe> getRecipeList() {
+                return List.of(matches, new Recipe() {
+                    @Override
+                    public String getDisplayName() {
+                        return "Change";
+                    }
+
+                    @Override
+                    public String getDescription() {
+                        return "Changes a source file and asks for another cycle.";
+                    }
+
+                    @Override
+                    public boolean causesAnotherCycle() {
+                        return true;
+                    }
+
+                    @Override
+                    public TreeVisitor<?, ExecutionContext> getVisitor() {
+                        return new PlainTextVisitor<>() {
+                            @Override
+                            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                                return "change me".equals(text.getText()) ? text.withText("changed") : text;
+                            }
+                        };
+                    }
+                });
+            }
+        };
+
+        LocalRecipeResultMemo memo = new LocalRecipeResultMemo(dir.resolve("memo"));
+        assertThat(runForRows(recipe, memo)).hasSize(3);
+        assertThat(runForRows(recipe, memo)).hasSize(3);
+    }
+
+    @Test
+    void persistsKeys() {
+        Checksum key = RecipeResultMemo.key("recipe", "source");
+        try (LocalRecipeResultMemo memo = new LocalRecipeResultMemo(dir.resolve("memo"))) {
+            assertThat(memo.isUnchanged(key)).isFalse();
+            memo.recordUnchanged(key);
+            assertThat(memo.isUnchanged(key)).isTrue();
+        }
+        try (LocalRecipeResultMemo memo = new LocalRecipeResultMemo(dir.resolve("memo"))) {
+            assertThat(memo.isUnchanged(key)).isTrue();
+            assertThat(memo.isUnchanged(RecipeResultMemo.key("recipe", "other source"))).isFalse();
+        }
+    }
+
+    private int run(Recipe recipe, RecipeResultMemo memo) {
+        return recipeRun(recipe, memo).getChangeset().getAllResults().size();
+    }
+
+    private List<TextMatches.Row> runForRows(Recipe recipe, RecipeResultMemo memo) {
+        return recipeRun(recipe, memo).getDataTableRows(TextMatches.class.getName());
+    }
+
+    private RecipeRun recipeRun(Recipe recipe, RecipeResultMemo memo) {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        });
+        RecipeResultMemo.setMemo(ctx, memo);
+        return recipe.run(new InMemoryLargeSourceSet(sources), ctx);
+    }
+
+    private static class EditLocal extends Recipe {
+        private final Supplier<TreeVisitor<?, ExecutionContext>> visitor;
+
+        EditLocal(Supplier<TreeVisitor<?, ExecutionContext>> visitor) {
+            this.visitor = visitor;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Edit local";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Runs a visitor whose edits only depend on the source file it visits.";
+        }
+
+        @Override
+        public boolean isEditLocal() {
+            return true;
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return visitor.get();
+        }
+    }
+
+    private static SourceFile text(String text) {
+        return PlainText.builder().text(text).sourcePath(Path.of(text + ".txt")).build();
+    }
+}
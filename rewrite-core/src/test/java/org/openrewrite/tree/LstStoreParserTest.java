@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.tree;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.Checksum;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LstStoreParserTest {
+    @TempDir
+    Path store;
+
+    AtomicInteger hits = new AtomicInteger();
+    AtomicInteger misses = new AtomicInteger();
+    List<String> events = new ArrayList<>();
+
+    @Test
+    void loadsUnchangedSourcesFromTheStore() {
+        SourceFile first = parse("a.txt", "hello").get(0);
+        assertThat(misses).hasValue(1);
+
+        SourceFile second = parse("b.txt", "hello").get(0);
+        assertThat(hits).hasValue(1);
+        assertThat(second).isInstanceOf(PlainText.class);
+        assertThat(second.printAll()).isEqualTo("hello");
+        assertThat(second.getSourcePath()).isEqualTo(Path.of("b.txt"));
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+    }
+
+    @Test
+    void parsesChangedSources() {
+        parse("a.txt", "hello");
+        List<SourceFile> sourceFiles = parse("a.txt", "goodbye");
+        assertThat(hits).hasValue(0);
+        assertThat(misses).hasValue(2);
+        assertThat(sourceFiles.get(0).printAll()).isEqualTo("goodbye");
+    }
+
+    @Test
+    void differentParserOptionsMiss() {
+        parse("a.txt", "hello");
+        ExecutionContext ctx = ctx();
+        new LstStoreParser(PlainTextParser.builder().build(), new LocalLstStore(store), "other", null)
+          .parseInputs(List.of(input("a.txt", "hello")), null, ctx)
+          .toList();
+        assertThat(hits).hasValue(0);
+        assertThat(misses).hasValue(2);
+    }
+
+    @Test
+    void parsesEverySourceWhenOneChangedAndTypesAreAttributed() {
+        parse("classpath", input("a.txt", "hello"), input("b.txt", "world"));
+        List<SourceFile> sourceFiles = parse("classpath", input("a.txt", "hello"), input("b.txt", "everyone"));
+        assertThat(hits).hasValue(0);
+        assertThat(misses).hasValue(4);
+        assertThat(sourceFiles).extracting(SourceFile::printAll).containsExactly("hello", "everyone");
+    }
+
+    @Test
+    void parsesOnlyChangedSourcesWhenTypesAreNotAttributed() {
+        parse(input("a.txt", "hello"), input("b.txt", "world"));
+        List<SourceFile> sourceFiles = parse(input("a.txt", "hello"), input("b.txt", "everyone"));
+        assertThat(hits).hasValue(1);
+        assertThat(misses).hasValue(3);
+        assertThat(sourceFiles).extracting(SourceFile::printAll).containsExactly("hello", "everyone");
+
+        parse(input("b.txt", "everyone"));
+        assertThat(hits).hasValue(2);
+    }
+
+    @Test
+    void loadsSourcesInInputOrder() {
+        parse(input("a.txt", "a"), input("b.txt", "b"), input("c.txt", "c"));
+        events.clear();
+
+        List<SourceFile> sourceFiles = parse(input("c.txt", "c"), input("a.txt", "a"), input("b.txt", "b"));
+        assertThat(hits).hasValue(3);
+        assertThat(sourceFiles).extracting(SourceFile::getSourcePath)
+          .containsExactly(Path.of("c.txt"), Path.of("a.txt"), Path.of("b.txt"));
+        assertThat(events).containsExactly(
+          "started c.txt", "hit c.txt", "parsed c.txt",
+          "started a.txt", "hit a.txt", "parsed a.txt",
+          "started b.txt", "hit b.txt", "parsed b.txt"
+        );
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntries() {
+        LocalLstStore lstStore = new LocalLstStore(store, 1);
+        LstStore.Key a = key("a");
+        LstStore.Key b = key("b");
+
+        lstStore.put(a, PlainText.builder().sourcePath(Path.of("a.txt")).text("a").build());
+        assertThat(lstStore.get(a)).isNotNull();
+
+        lstStore.put(b, PlainText.builder().sourcePath(Path.of("b.txt")).text("b").build());
+        assertThat(lstStore.get(a)).isNull();
+        assertThat(lstStore.get(b)).isNotNull();
+    }
+
+    private static LstStore.Key key(String text) {
+        return new LstStore.Key(PlainTextParser.class.getName(), "", "", null, Checksum.sha256(text.getBytes(UTF_8)));
+    }
+
+    private List<SourceFile> parse(String path, String text) {
+        return parse(input(path, text));
+    }
+
+    private List<SourceFile> parse(Parser.Input... inputs) {
+        return parse(null, inputs);
+    }
+
+    private List<SourceFile> parse(@Nullable String classpath, Parser.Input... inputs) {
+        return new LstStoreParser(PlainTextParser.builder().build(), new LocalLstStore(store), "", classpath)
+          .parseInputs(List.of(inputs), null, ctx())
+          .toList();
+    }
+
+    private ExecutionContext ctx() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        });
+        ParsingExecutionContextView.view(ctx).setParsingListener(new ParsingEventListener() {
+            @Override
+            public void startedParsing(Parser.Input input) {
+                events.add("started " + input.getPath());
+            }
+
+            @Override
+            public void parsed(Parser.Input input, SourceFile sourceFile) {
+                events.add("parsed " + input.getPath());
+            }
+
+            @Override
+            public void storeHit(Parser.Input input, SourceFile sourceFile) {
+                hits.incrementAndGet();
+                events.add("hit " + input.getPath());
+            }
+
+            @Override
+            public void storeMiss(Parser.Input input) {
+                misses.incrementAndGet();
+            }
+        });
+        return ctx;
+    }
+
+    private static Parser.Input input(String path, String text) {
+        return new Parser.Input(Path.of(path), null, () -> new ByteArrayInputStream(text.getBytes(UTF_8)), true);
+    }
+}
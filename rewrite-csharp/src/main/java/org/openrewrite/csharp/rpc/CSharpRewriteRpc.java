@@ -61,6 +61,7 @@ public class CSharpRewriteRpc extends RewriteRpc {
         this.command = command;
         this.commandEnv = commandEnv;
         this.process = process;
+        messageFormatter(process.getMessageFormatter());
     }
 
     public static @Nullable CSharpRewriteRpc get() {
@@ -337,11 +338,13 @@ private CSharpRewriteRpc startProcess(Stream<@Nullable String> cmd) {
             process.start();
 
             try {
-                return (CSharpRewriteRpc) new CSharpRewriteRpc(process, marketplace, resolvers,
+                CSharpRewriteRpc rpc = (CSharpRewriteRpc) new CSharpRewriteRpc(process, marketplace, resolvers,
                         String.join(" ", cmdArr), process.environment())
                         .livenessCheck(process::getLivenessCheck)
                         .timeout(timeout)
                         .log(log == null ? null : new PrintStream(Files.newOutputStream(log, StandardOpenOption.APPEND, StandardOpenOption.CREATE)));
+                rpc.negotiateMessageFormat();
+                return rpc;
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             }
@@ -24,15 +24,24 @@
 import org.openrewrite.groovy.GroovyParser;
 import org.openrewrite.groovy.tree.G;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.internal.JavaTypeCache;
 import org.openrewrite.kotlin.KotlinParser;
+import org.openrewrite.tree.ParseError;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 
 @RequiredArgsConstructor
 public class GradleParser implements Parser {
@@ -69,7 +78,7 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
             if (buildscriptClasspath == null) {
                 buildscriptClasspath = defaultClasspath(ctx);
             }
-            groovyBuildParser = GroovyParser.builder(base.groovyParser)
+            groovyBuildParser = groovyParser()
                     .classpath(buildscriptClasspath)
                     .compilerCustomizers(
                             new DefaultImportsCustomizer(),
@@ -95,7 +104,7 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
             if (settingsClasspath == null) {
                 settingsClasspath = defaultClasspath(ctx);
             }
-            groovySettingsParser = GroovyParser.builder(base.groovyParser)
+            groovySettingsParser = groovyParser()
                     .classpath(settingsClasspath)
                     .compilerCustomizers(
                             new DefaultImportsCustomizer(),
@@ -117,18 +126,68 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                     .build();
         }
 
-        return StreamSupport.stream(sources.spliterator(), false)
-                .flatMap(source -> {
-                    Path sourcePath = source.getPath();
-                    if (sourcePath.endsWith("settings.gradle.kts")) {
-                        return kotlinSettingsParser.parseInputs(singletonList(source), relativeTo, ctx);
-                    } else if (sourcePath.endsWith("settings.gradle")) {
-                        return groovySettingsParser.parseInputs(singletonList(source), relativeTo, ctx);
-                    } else if (sourcePath.toString().endsWith(".gradle.kts")) {
-                        return kotlinBuildParser.parseInputs(singletonList(source), relativeTo, ctx);
+        ExecutorService executor = base.executor;
+        if (executor == null) {
+            return StreamSupport.stream(sources.spliterator(), false)
+                    .flatMap(source -> parse(source, relativeTo, ctx));
+        }
+
+        // Groovy scripts are parsed on the executor, sharing the compilation environment of their Groovy parser.
+        // Kotlin scripts are parsed on this thread in the meantime.
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        List<Input> kotlinScripts = new ArrayList<>();
+        List<@Nullable CompletableFuture<List<SourceFile>>> parsed = new ArrayList<>();
+        for (Input source : sources) {
+            if (source.getPath().toString().endsWith(".gradle.kts")) {
+                kotlinScripts.add(source);
+                parsed.add(null);
+            } else {
+                parsed.add(CompletableFuture.supplyAsync(() -> {
+                    Thread worker = Thread.currentThread();
+                    ClassLoader originalContextClassLoader = worker.getContextClassLoader();
+                    worker.setContextClassLoader(contextClassLoader);
+                    try {
+                        return parse(source, relativeTo, ctx).collect(toList());
+                    } finally {
+                        worker.setContextClassLoader(originalContextClassLoader);
                     }
-                    return groovyBuildParser.parseInputs(singletonList(source), relativeTo, ctx);
-                });
+                }, executor).exceptionally(t -> {
+                    ctx.getOnError().accept(t);
+                    return singletonList(ParseError.build(this, source, relativeTo, ctx, t));
+                }));
+            }
+        }
+
+        Iterator<Input> kotlinScript = kotlinScripts.iterator();
+        List<SourceFile> sourceFiles = new ArrayList<>(parsed.size());
+        for (CompletableFuture<List<SourceFile>> groovyScript : parsed) {
+            if (groovyScript == null) {
+                parse(kotlinScript.next(), relativeTo, ctx).forEach(sourceFiles::add);
+            } else {
+                sourceFiles.addAll(groovyScript.join());
+            }
+        }
+        return sourceFiles.stream();
+    }
+
+    private Stream<SourceFile> parse(Input source, @Nullable Path relativeTo, ExecutionContext ctx) {
+        Path sourcePath = source.getPath();
+        if (sourcePath.endsWith("settings.gradle.kts")) {
+            return requireNonNull(kotlinSettingsParser).parseInputs(singletonList(source), relativeTo, ctx);
+        } else if (sourcePath.endsWith("settings.gradle")) {
+            return requireNonNull(groovySettingsParser).parseInputs(singletonList(source), relativeTo, ctx);
+        } else if (sourcePath.toString().endsWith(".gradle.kts")) {
+            return requireNonNull(kotlinBuildParser).parseInputs(singletonList(source), relativeTo, ctx);
+        }
+        return requireNonNull(groovyBuildParser).parseInputs(singletonList(source), relativeTo, ctx);
+    }
+
+    private GroovyParser.Builder groovyParser() {
+        GroovyParser.Builder groovyParser = GroovyParser.builder(base.groovyParser);
+        if (base.executor != null) {
+            groovyParser.typeCache(new PerThreadTypeCache());
+        }
+        return groovyParser;
     }
 
     @Override
@@ -155,6 +214,9 @@ public static class Builder extends Parser.Builder {
         @Nullable
         private Collection<Path> settingsClasspath;
 
+        @Nullable
+        private ExecutorService executor;
+
         public Builder() {
             super(G.CompilationUnit.class);
         }
@@ -199,6 +261,26 @@ public Builder settingsClasspathFromResources(ExecutionContext ctx, String... ar
             return this;
         }
 
+        /**
+         * Parse Groovy build scripts concurrently on an executor, e.g. a bounded {@link java.util.concurrent.ForkJoinPool}.
+         * The scripts share the classes each Groovy parser has resolved from the buildscript or settings classpath.
+         * Types are mapped into a separate type cache on each thread of the executor.
+         * <p>
+         * The Groovy parser reads and writes the {@link ExecutionContext} and calls its
+         * {@link org.openrewrite.tree.ParsingExecutionContextView#getParsingListener() parsing listener} and
+         * {@link ExecutionContext#getOnError() error handler} on the thread that parses each script,
+         * so with an executor these must be safe to call from several threads at once.
+         * {@link org.openrewrite.InMemoryExecutionContext} is, but a listener or error handler that
+         * collects into a plain list is not.
+         *
+         * @param executor The executor that Groovy build scripts are parsed on. The caller owns it and is
+         *                 responsible for shutting it down.
+         */
+        public Builder executor(@Nullable ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
         @Override
         public GradleParser build() {
             return new GradleParser(this);
@@ -210,6 +292,39 @@ public String getDslName() {
         }
     }
 
+    /**
+     * GroovyTypeMapping puts a type in its cache before it has finished mapping it, so a type cache
+     * can't be shared by scripts that are parsed concurrently. Each thread gets its own instead.
+     */
+    private static class PerThreadTypeCache extends JavaTypeCache {
+        private volatile ThreadLocal<JavaTypeCache> typeCaches = ThreadLocal.withInitial(JavaTypeCache::new);
+
+        @Override
+        public <T> @Nullable T get(String signature) {
+            return typeCaches.get().get(signature);
+        }
+
+        @Override
+        public void put(String signature, Object o) {
+            typeCaches.get().put(signature, o);
+        }
+
+        @Override
+        public void clear() {
+            typeCaches = ThreadLocal.withInitial(JavaTypeCache::new);
+        }
+
+        @Override
+        public void forEach(BiConsumer<String, Object> action) {
+            typeCaches.get().forEach(action);
+        }
+
+        @Override
+        public JavaTypeCache clone() {
+            return new PerThreadTypeCache();
+        }
+    }
+
     private List<Path> defaultClasspath(ExecutionContext ctx) {
         if (defaultClasspath == null) {
             defaultClasspath = JavaParser.dependenciesFromResources(ctx,
@@ -46,6 +46,7 @@
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -300,20 +301,17 @@ enum DependencyStyle {
 
     @SuppressWarnings("unchecked")
     private <J2 extends J> List<J2> cache(Cursor cursor, Object key, Supplier<List<? extends J>> ifAbsent) {
-        List<J2> js = null;
-
+        // the root cursor may be shared by source files visited concurrently
         Cursor root = cursor.getRoot();
-        Map<Object, List<J2>> cache = root.getMessage(TEMPLATE_CACHE_MESSAGE_KEY);
-        if (cache == null) {
-            cache = new HashMap<>();
-            root.putMessage(TEMPLATE_CACHE_MESSAGE_KEY, cache);
-        } else {
-            js = cache.get(key);
-        }
+        Map<Object, List<J2>> cache = root.computeMessageIfAbsent(TEMPLATE_CACHE_MESSAGE_KEY, k -> new ConcurrentHashMap<>());
+        List<J2> js = cache.get(key);
 
         if (js == null) {
             js = (List<J2>) ifAbsent.get();
-            cache.put(key, js);
+            List<J2> existing = cache.putIfAbsent(key, js);
+            if (existing != null) {
+                js = existing;
+            }
         }
 
         return ListUtils.map(js, j -> (J2) new RandomizeIdVisitor<Integer>().visit(j, 0));
@@ -27,8 +27,12 @@
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.tree.ParseError;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -558,6 +562,34 @@ void noTrailingCommaWithNamedParametersComplicated() {
         assertThat(sourceFile).isNotInstanceOf(ParseError.class);
     }
 
+    @Test
+    void parseBuildScriptsConcurrently() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            GradleParser gradleParser = GradleParser.builder().executor(executor).build();
+            List<Parser.Input> inputs = IntStream.range(0, 8)
+              .mapToObj(i -> Parser.Input.fromString(Path.of("module" + i, "build.gradle"), """
+                plugins {
+                    id 'java-library'
+                }
+
+                dependencies {
+                    implementation "org.openrewrite:rewrite-java:latest.release"
+                }
+                """))
+              .toList();
+
+            List<SourceFile> sourceFiles = gradleParser.parseInputs(inputs, null, new InMemoryExecutionContext()).toList();
+
+            assertThat(sourceFiles)
+              .extracting(SourceFile::getSourcePath)
+              .containsExactlyElementsOf(inputs.stream().map(Parser.Input::getPath).toList());
+            assertThat(sourceFiles).noneMatch(ParseError.class::isInstance);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @MethodSource("escapedBackslashesAndInterpolationInGStringParams")
     @ParameterizedTest
     void escapedBackslashesAndInterpolationInGString(@Language("groovy") String groovy) {
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.groovy;
+
+import groovy.lang.GroovyClassLoader;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.control.ClassNodeResolver;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.messages.WarningMessage;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The parts of a Groovy compilation that only depend on the classpath and compiler configuration,
+ * kept for the lifetime of a {@link GroovyParser} so that every input it parses, on any thread,
+ * shares one class loader and one cache of resolved classpath {@link ClassNode}s instead of
+ * resolving the same classes again for each input.
+ */
+class GroovyCompilationEnvironment implements AutoCloseable {
+    private final CompilerConfiguration configuration;
+    private final GroovyClassLoader classLoader;
+    private final ClassNodeResolver classNodeResolver = new ConcurrentClassNodeResolver();
+
+    GroovyCompilationEnvironment(@Nullable Collection<Path> classpath,
+                                 List<Consumer<CompilerConfiguration>> compilerCustomizers) {
+        configuration = new CompilerConfiguration();
+        configuration.setTolerance(Integer.MAX_VALUE);
+        configuration.setWarningLevel(WarningMessage.NONE);
+        List<String> classpathList = new ArrayList<>();
+        if (classpath != null) {
+            for (Path cp : classpath) {
+                try {
+                    classpathList.add(cp.toFile().toString());
+                } catch (UnsupportedOperationException e) {
+                    // can happen e.g. in the case of jdk.internal.jrtfs.JrtPath
+                }
+            }
+        }
+        configuration.setClasspathList(classpathList);
+        for (Consumer<CompilerConfiguration> compilerCustomizer : compilerCustomizers) {
+            compilerCustomizer.accept(configuration);
+        }
+        classLoader = new GroovyClassLoader(GroovyParser.class.getClassLoader(), configuration, true);
+    }
+
+    CompilerConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    GroovyClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * @return A compilation unit for a single input, which must only be used by one thread.
+     */
+    CompilationUnit newCompilationUnit() {
+        CompilationUnit compilationUnit = new LessAstTransformationsCompilationUnit(configuration, null, classLoader, classLoader);
+        compilationUnit.setClassNodeResolver(classNodeResolver);
+        return compilationUnit;
+    }
+
+    @Override
+    public void close() {
+        try {
+            classLoader.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Caches the classes found on the classpath, and the names that are not, for all compilation units.
+     * Classes compiled from the inputs themselves are resolved by each compilation unit before the resolver
+     * is consulted, and the resolver never caches classes it finds as Groovy sources, so every cached
+     * result only depends on the classpath.
+     */
+    private static class ConcurrentClassNodeResolver extends ClassNodeResolver {
+        private final Map<String, ClassNode> cachedClasses = new ConcurrentHashMap<>();
+
+        @Override
+        public void cacheClass(String name, ClassNode res) {
+            //noinspection ConstantValue
+            if (res != null) {
+                cachedClasses.put(name, res);
+            }
+        }
+
+        @Override
+        public ClassNode getFromClassCache(String name) {
+            return cachedClasses.get(name);
+        }
+    }
+}
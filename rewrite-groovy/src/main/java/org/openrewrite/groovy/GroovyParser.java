@@ -15,7 +15,6 @@
  */
 package org.openrewrite.groovy;
 
-import groovy.lang.GroovyClassLoader;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import org.codehaus.groovy.ast.ClassNode;
@@ -23,17 +22,18 @@
 import org.codehaus.groovy.ast.tools.GenericsUtils;
 import org.codehaus.groovy.control.*;
 import org.codehaus.groovy.control.io.InputStreamReaderSource;
-import org.codehaus.groovy.control.messages.WarningMessage;
 import org.codehaus.groovy.transform.stc.StaticTypeCheckingVisitor;
 import org.intellij.lang.annotations.Language;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.groovy.tree.G;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.internal.ConcurrentJavaTypeCache;
 import org.openrewrite.java.internal.JavaTypeCache;
 import org.openrewrite.marker.Markers;
 import org.openrewrite.style.NamedStyles;
 import org.openrewrite.tree.ParseError;
+import org.openrewrite.tree.ParsingEventListener;
 import org.openrewrite.tree.ParsingExecutionContextView;
 
 import java.io.IOException;
@@ -42,6 +42,7 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -51,7 +52,9 @@
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
+import static org.openrewrite.java.internal.ConcurrentJavaTypeCache.publishMappedTypes;
 
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class GroovyParser implements Parser {
@@ -62,6 +65,8 @@ public class GroovyParser implements Parser {
     private final JavaTypeCache typeCache;
     private final List<Consumer<CompilerConfiguration>> compilerCustomizers;
 
+    private final AtomicReference<@Nullable GroovyCompilationEnvironment> environment = new AtomicReference<>();
+
     @Override
     public Stream<SourceFile> parse(@Language("groovy") String... sources) {
         Pattern packagePattern = Pattern.compile("\\bpackage\\s+([.\\w]+)");
@@ -92,38 +97,23 @@ public Stream<SourceFile> parse(@Language("groovy") String... sources) {
 
     @Override
     public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path relativeTo, ExecutionContext ctx) {
-        CompilerConfiguration configuration = new CompilerConfiguration();
-        configuration.setTolerance(Integer.MAX_VALUE);
-        configuration.setWarningLevel(WarningMessage.NONE);
-        configuration.setClasspathList(classpath == null ? emptyList() : classpath.stream()
-                .flatMap(cp -> {
-                    try {
-                        return Stream.of(cp.toFile().toString());
-                    } catch (UnsupportedOperationException e) {
-                        // can happen e.g. in the case of jdk.internal.jrtfs.JrtPath
-                        return Stream.empty();
-                    }
-                })
-                .collect(toList()));
-        for (Consumer<CompilerConfiguration> compilerCustomizer : compilerCustomizers) {
-            compilerCustomizer.accept(configuration);
-        }
-
-        ParsingExecutionContextView pctx = ParsingExecutionContextView.view(ctx);
+        GroovyCompilationEnvironment env = compilationEnvironment();
+        ParsingEventListener parsingListener = ParsingExecutionContextView.view(ctx).getParsingListener();
         return StreamSupport.stream(sources.spliterator(), false)
                 .map(input -> {
-                    ParseWarningCollector errorCollector = new ParseWarningCollector(configuration, this);
-                    try (GroovyClassLoader classLoader = new GroovyClassLoader(getClass().getClassLoader(), configuration, true)) {
+                    ParseWarningCollector errorCollector = new ParseWarningCollector(env.getConfiguration(), this);
+                    JavaTypeCache parseTypeCache = null;
+                    try {
                         SourceUnit unit = new SourceUnit(
                                 "doesntmatter",
-                                new InputStreamReaderSource(input.getSource(ctx), configuration),
-                                configuration,
-                                classLoader,
+                                new InputStreamReaderSource(input.getSource(ctx), env.getConfiguration()),
+                                env.getConfiguration(),
+                                env.getClassLoader(),
                                 errorCollector
                         );
 
-                        pctx.getParsingListener().startedParsing(input);
-                        CompilationUnit compUnit = new LessAstTransformationsCompilationUnit(configuration, null, classLoader, classLoader);
+                        parsingListener.startedParsing(input);
+                        CompilationUnit compUnit = env.newCompilationUnit();
                         compUnit.addSource(unit);
                         compUnit.compile(Phases.CANONICALIZATION);
                         ModuleNode ast = unit.getAST();
@@ -139,14 +129,16 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
 
                         CompiledGroovySource compiled = new CompiledGroovySource(input, unit, ast);
                         List<ParseWarning> warnings = errorCollector.getWarningMarkers();
+                        parseTypeCache = ConcurrentJavaTypeCache.forParse(typeCache, classpath, declaredTypes(ast));
                         GroovyParserVisitor mappingVisitor = new GroovyParserVisitor(
                                 compiled.getInput().getRelativePath(relativeTo),
                                 compiled.getInput().getFileAttributes(),
                                 compiled.getInput().getSource(ctx),
-                                typeCache,
+                                parseTypeCache,
                                 ctx
                         );
                         G.CompilationUnit gcu = mappingVisitor.visit(compiled.getSourceUnit(), compiled.getModule());
+                        publishMappedTypes(parseTypeCache, true);
                         if (!warnings.isEmpty()) {
                             Markers m = gcu.getMarkers();
                             for (ParseWarning warning : warnings) {
@@ -154,9 +146,12 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                             }
                             gcu = gcu.withMarkers(m);
                         }
-                        pctx.getParsingListener().parsed(compiled.getInput(), gcu);
+                        parsingListener.parsed(compiled.getInput(), gcu);
                         return requirePrintEqualsInput(gcu, input, relativeTo, ctx);
                     } catch (Throwable t) {
+                        if (parseTypeCache != null) {
+                            publishMappedTypes(parseTypeCache, false);
+                        }
                         ctx.getOnError().accept(t);
                         return ParseError.build(this, input, relativeTo, ctx, t);
                     } finally {
@@ -173,6 +168,37 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                 });
     }
 
+    /**
+     * @return The names of the top-level classes that a source declares, including the class of a script.
+     */
+    private static Set<String> declaredTypes(ModuleNode ast) {
+        Set<String> declaredTypes = new HashSet<>();
+        for (ClassNode aClass : ast.getClasses()) {
+            if (aClass.getOuterClass() == null) {
+                declaredTypes.add(aClass.getName());
+            }
+        }
+        return declaredTypes;
+    }
+
+    /**
+     * The environment is created on first use and shared by every later call, including concurrent ones,
+     * until the parser is {@link #reset()}.
+     */
+    private GroovyCompilationEnvironment compilationEnvironment() {
+        GroovyCompilationEnvironment env = environment.get();
+        if (env == null) {
+            GroovyCompilationEnvironment created = new GroovyCompilationEnvironment(classpath, compilerCustomizers);
+            if (environment.compareAndSet(null, created)) {
+                env = created;
+            } else {
+                created.close();
+                env = requireNonNull(environment.get());
+            }
+        }
+        return env;
+    }
+
     @Override
     public boolean accept(Path path) {
         return path.toString().endsWith(".groovy") ||
@@ -181,6 +207,10 @@ public boolean accept(Path path) {
 
     @Override
     public GroovyParser reset() {
+        GroovyCompilationEnvironment env = environment.getAndSet(null);
+        if (env != null) {
+            env.close();
+        }
         typeCache.clear();
         GenericsUtils.clearParameterizedTypeCache();
         return this;
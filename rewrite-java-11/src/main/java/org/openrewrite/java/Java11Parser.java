@@ -83,13 +83,13 @@ public Java11Parser build() {
                 Class<?> parserImplementation = Class.forName("org.openrewrite.java.isolated.ReloadableJava11Parser", true, moduleClassLoader);
 
                 Constructor<?> parserConstructor = parserImplementation
-                        .getDeclaredConstructor(Boolean.TYPE, Collection.class, Collection.class, Collection.class, Charset.class,
-                                Collection.class, JavaTypeCache.class);
+                        .getDeclaredConstructor(Boolean.TYPE, Collection.class, Collection.class, Collection.class, Collection.class,
+                                Charset.class, Collection.class, JavaTypeCache.class);
 
                 parserConstructor.setAccessible(true);
 
                 JavaParser delegate = (JavaParser) parserConstructor
-                        .newInstance(logCompilationWarningsAndErrors, resolvedClasspath(), classBytesClasspath, dependsOn, charset, styles, javaTypeCache);
+                        .newInstance(logCompilationWarningsAndErrors, resolvedClasspath(), classBytesClasspath, typeTableClasspath, dependsOn, charset, styles, javaTypeCache);
 
                 return new Java11Parser(delegate);
             } catch (Exception e) {
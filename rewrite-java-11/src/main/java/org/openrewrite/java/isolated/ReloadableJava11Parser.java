@@ -37,7 +37,9 @@
 import org.openrewrite.internal.MetricsHelper;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaParsingException;
+import org.openrewrite.java.internal.ConcurrentJavaTypeCache;
 import org.openrewrite.java.internal.JavaTypeCache;
+import org.openrewrite.java.internal.parser.TypeTableClasspath;
 import org.openrewrite.java.lombok.LombokSupport;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Space;
@@ -60,6 +62,7 @@
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
+import static org.openrewrite.java.internal.ConcurrentJavaTypeCache.publishMappedTypes;
 
 /**
  * This parser is NOT thread-safe, as the OpenJDK parser maintains in-memory caches in static state.
@@ -85,6 +88,7 @@ private ReloadableJava11Parser(
             boolean logCompilationWarningsAndErrors,
             @Nullable Collection<Path> classpath,
             Collection<byte[]> classBytesClasspath,
+            Collection<TypeTableClasspath> typeTableClasspath,
             @Nullable Collection<Input> dependsOn,
             Charset charset,
             Collection<NamedStyles> styles,
@@ -96,7 +100,7 @@ private ReloadableJava11Parser(
 
         this.context = new Context();
         this.compilerLog = new ResettableLog(context);
-        this.pfm = new ByteArrayCapableJavacFileManager(context, true, charset, classBytesClasspath);
+        this.pfm = new ByteArrayCapableJavacFileManager(context, true, charset, classBytesClasspath, typeTableClasspath);
 
         // otherwise, consecutive string literals in binary expressions are concatenated by the parser, losing the original
         // structure of the expression!
@@ -175,6 +179,7 @@ public static Builder builder() {
     public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
         ParsingEventListener parsingListener = ParsingExecutionContextView.view(ctx).getParsingListener();
         LinkedHashMap<Input, JCTree.JCCompilationUnit> cus = parseInputsToCompilerAst(sourceFiles, ctx);
+        JavaTypeCache parseTypeCache = typeCacheForParse(cus.values());
         return cus.entrySet().stream().map(cuByPath -> {
             Input input = cuByPath.getKey();
             parsingListener.startedParsing(input);
@@ -184,22 +189,43 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
                         input.getFileAttributes(),
                         input.getSource(ctx),
                         styles,
-                        typeCache,
+                        parseTypeCache,
                         ctx,
                         context
                 );
 
                 J.CompilationUnit cu = (J.CompilationUnit) parser.scan(cuByPath.getValue(), Space.EMPTY);
+                publishMappedTypes(parseTypeCache, true);
                 cuByPath.setValue(null); // allow memory used by this JCCompilationUnit to be released
                 parsingListener.parsed(input, cu);
                 return requirePrintEqualsInput(cu, input, relativeTo, ctx);
             } catch (Throwable t) {
+                publishMappedTypes(parseTypeCache, false);
                 ctx.getOnError().accept(t);
                 return ParseError.build(this, input, relativeTo, ctx, t);
             }
         });
     }
 
+    /**
+     * A shared type cache is given a view for this parse, which publishes the types of each compilation unit once
+     * it is completely mapped, except for types that refer to the types declared by the parsed sources.
+     */
+    private JavaTypeCache typeCacheForParse(Collection<JCTree.JCCompilationUnit> cus) {
+        if (!(typeCache instanceof ConcurrentJavaTypeCache)) {
+            return typeCache;
+        }
+        Set<String> declaredTypes = new HashSet<>();
+        for (JCTree.JCCompilationUnit cu : cus) {
+            for (JCTree typeDecl : cu.getTypeDecls()) {
+                if (typeDecl instanceof JCTree.JCClassDecl && ((JCTree.JCClassDecl) typeDecl).sym != null) {
+                    declaredTypes.add(((JCTree.JCClassDecl) typeDecl).sym.flatname.toString());
+                }
+            }
+        }
+        return ((ConcurrentJavaTypeCache) typeCache).forParse(classpath, declaredTypes);
+    }
+
     LinkedHashMap<Input, JCTree.JCCompilationUnit> parseInputsToCompilerAst(Iterable<Input> sourceFiles, ExecutionContext ctx) {
         if (classpath != null) { // override classpath
             // Lombok is expected to replace the file manager with its own, so we need to check for that
@@ -374,21 +400,24 @@ public Env<AttrContext> remove() {
     public static class Builder extends JavaParser.Builder<ReloadableJava11Parser, Builder> {
         @Override
         public ReloadableJava11Parser build() {
-            return new ReloadableJava11Parser(logCompilationWarningsAndErrors, resolvedClasspath(), classBytesClasspath, dependsOn, charset, styles, javaTypeCache);
+            return new ReloadableJava11Parser(logCompilationWarningsAndErrors, resolvedClasspath(), classBytesClasspath, typeTableClasspath, dependsOn, charset, styles, javaTypeCache);
         }
     }
 
     private static class ByteArrayCapableJavacFileManager extends JavacFileManager {
         private final List<PackageAwareJavaFileObject> classByteClasspath;
+        private final Collection<TypeTableClasspath> typeTableClasspath;
 
         public ByteArrayCapableJavacFileManager(Context context,
                                                 boolean register,
                                                 Charset charset,
-                                                Collection<byte[]> classByteClasspath) {
+                                                Collection<byte[]> classByteClasspath,
+                                                Collection<TypeTableClasspath> typeTableClasspath) {
             super(context, register, charset);
             this.classByteClasspath = classByteClasspath.stream()
                     .map(PackageAwareJavaFileObject::new)
                     .collect(toList());
+            this.typeTableClasspath = typeTableClasspath;
         }
 
         @Override
@@ -396,6 +425,10 @@ public String inferBinaryName(Location location, JavaFileObject file) {
             if (file instanceof PackageAwareJavaFileObject) {
                 return ((PackageAwareJavaFileObject) file).getClassName();
             }
+            String typeTableBinaryName = TypeTableClasspath.inferBinaryName(file);
+            if (typeTableBinaryName != null) {
+                return typeTableBinaryName;
+            }
             return super.inferBinaryName(location, file);
         }
 
@@ -403,6 +436,15 @@ public String inferBinaryName(Location location, JavaFileObject file) {
         public Iterable<JavaFileObject> list(Location location, String packageName, Set<JavaFileObject.Kind> kinds, boolean recurse) throws IOException {
             if (StandardLocation.CLASS_PATH.equals(location)) {
                 Iterable<JavaFileObject> listed = super.list(location, packageName, kinds, recurse);
+                if (!typeTableClasspath.isEmpty()) {
+                    // resource artifacts come first, as they do on the classpath
+                    List<JavaFileObject> withTypeTables = new ArrayList<>();
+                    for (TypeTableClasspath classes : typeTableClasspath) {
+                        withTypeTables.addAll(classes.list(packageName, kinds, recurse));
+                    }
+                    listed.forEach(withTypeTables::add);
+                    listed = withTypeTables;
+                }
                 return Stream.concat(classByteClasspath.stream()
                                 .filter(jfo -> jfo.getPackage().equals(packageName)),
                         StreamSupport.stream(listed.spliterator(), false)
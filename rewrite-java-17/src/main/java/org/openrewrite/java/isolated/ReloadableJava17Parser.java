@@ -16,8 +16,10 @@
 package org.openrewrite.java.isolated;
 
 import com.sun.tools.javac.comp.Annotate;
+import com.sun.tools.javac.comp.AttrContext;
 import com.sun.tools.javac.comp.Check;
 import com.sun.tools.javac.comp.Enter;
+import com.sun.tools.javac.comp.Env;
 import com.sun.tools.javac.comp.Modules;
 import com.sun.tools.javac.file.JavacFileManager;
 import com.sun.tools.javac.main.JavaCompiler;
@@ -37,7 +39,10 @@
 import org.openrewrite.SourceFile;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaParsingException;
+import org.openrewrite.java.internal.ConcurrentJavaTypeCache;
 import org.openrewrite.java.internal.JavaTypeCache;
+import org.openrewrite.java.internal.ParsePipeline;
+import org.openrewrite.java.internal.parser.TypeTableClasspath;
 import org.openrewrite.java.lombok.LombokSupport;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Space;
@@ -54,12 +59,14 @@
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
+import static org.openrewrite.java.internal.ConcurrentJavaTypeCache.publishMappedTypes;
 
 /**
  * This parser is NOT thread-safe, as the OpenJDK parser maintains in-memory caches in static state.
@@ -81,22 +88,28 @@ public class ReloadableJava17Parser implements JavaParser {
     private final Collection<NamedStyles> styles;
     private final List<Processor> annotationProcessors;
 
+    @Nullable
+    private final ExecutorService pipelineExecutor;
+
     private ReloadableJava17Parser(
             boolean logCompilationWarningsAndErrors,
             @Nullable Collection<Path> classpath,
             Collection<byte[]> classBytesClasspath,
+            Collection<TypeTableClasspath> typeTableClasspath,
             @Nullable Collection<Input> dependsOn,
             Charset charset,
             Collection<NamedStyles> styles,
-            JavaTypeCache typeCache) {
+            JavaTypeCache typeCache,
+            @Nullable ExecutorService pipelineExecutor) {
         this.classpath = classpath;
         this.dependsOn = dependsOn;
         this.styles = styles;
         this.typeCache = typeCache;
+        this.pipelineExecutor = pipelineExecutor;
 
         this.context = new Context();
         this.compilerLog = new ResettableLog(context);
-        this.pfm = new ByteArrayCapableJavacFileManager(context, true, charset, classBytesClasspath);
+        this.pfm = new ByteArrayCapableJavacFileManager(context, true, charset, classBytesClasspath, typeTableClasspath);
 
         // otherwise, consecutive string literals in binary expressions are concatenated by the parser, losing the original
         // structure of the expression!
@@ -170,8 +183,12 @@ public static Builder builder() {
 
     @Override
     public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
+        if (pipelineExecutor != null) {
+            return parseInputsPipelined(sourceFiles, relativeTo, ctx, pipelineExecutor);
+        }
         ParsingEventListener parsingListener = ParsingExecutionContextView.view(ctx).getParsingListener();
         LinkedHashMap<Input, JCTree.JCCompilationUnit> cus = parseInputsToCompilerAst(sourceFiles, ctx);
+        JavaTypeCache parseTypeCache = typeCacheForParse(cus.values());
         return cus.entrySet().stream().map(cuByPath -> {
             Input input = cuByPath.getKey();
             parsingListener.startedParsing(input);
@@ -181,24 +198,105 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
                         input.getFileAttributes(),
                         input.getSource(ctx),
                         styles,
-                        typeCache,
+                        parseTypeCache,
                         ctx,
                         context
                 );
 
                 J.CompilationUnit cu = (J.CompilationUnit) parser.scan(cuByPath.getValue(), Space.EMPTY);
+                publishMappedTypes(parseTypeCache, true);
                 //noinspection DataFlowIssue
                 cuByPath.setValue(null); // allow memory used by this JCCompilationUnit to be released
                 parsingListener.parsed(input, cu);
                 return requirePrintEqualsInput(cu, input, relativeTo, ctx);
             } catch (Throwable t) {
+                publishMappedTypes(parseTypeCache, false);
                 ctx.getOnError().accept(t);
                 return ParseError.build(this, input, relativeTo, ctx, t);
             }
         });
     }
 
+    /**
+     * Attribute and map one compilation unit at a time, so that each compilation unit can be released as soon as it
+     * is mapped. The javac context is not thread-safe, so attribution and mapping stay on the calling thread, while
+     * the check that each mapped source file prints back to its input runs on the executor, overlapping with the
+     * attribution of the source files that follow it.
+     */
+    private Stream<SourceFile> parseInputsPipelined(Iterable<Input> sourceFiles, @Nullable Path relativeTo,
+                                                    ExecutionContext ctx, ExecutorService executor) {
+        LinkedHashMap<Input, JCTree.JCCompilationUnit> cus = parseAndEnter(sourceFiles, ctx);
+        JavaTypeCache parseTypeCache = typeCacheForParse(cus.values());
+
+        Map<JCTree.JCCompilationUnit, Queue<Env<AttrContext>>> envsByCompilationUnit = new IdentityHashMap<>();
+        Set<JCTree.JCCompilationUnit> inputCompilationUnits = Collections.newSetFromMap(new IdentityHashMap<>());
+        inputCompilationUnits.addAll(cus.values());
+        for (Queue<Env<AttrContext>> envs : compiler.todo.groupByFile()) {
+            Env<AttrContext> first = envs.peek();
+            if (first != null && inputCompilationUnits.contains(first.toplevel)) {
+                envsByCompilationUnit.put(first.toplevel, envs);
+            }
+        }
+        // anything else on the todo list, like compilation units added by annotation processors, is attributed up front
+        for (Queue<Env<AttrContext>> envs : new ArrayList<>(compiler.todo.groupByFile())) {
+            if (!envs.isEmpty() && !envsByCompilationUnit.containsKey(envs.peek().toplevel)) {
+                attribute(envs, ctx);
+            }
+        }
+
+        return ParsePipeline.parse(this, cus.entrySet().iterator(), parseTypeCache, relativeTo, ctx, executor, cuByPath -> {
+            Queue<Env<AttrContext>> envs = envsByCompilationUnit.remove(cuByPath.getValue());
+            if (envs != null) {
+                attribute(envs, ctx);
+            }
+
+            Input input = cuByPath.getKey();
+            ReloadableJava17ParserVisitor parser = new ReloadableJava17ParserVisitor(
+                    input.getRelativePath(relativeTo),
+                    input.getFileAttributes(),
+                    input.getSource(ctx),
+                    styles,
+                    parseTypeCache,
+                    ctx,
+                    context
+            );
+
+            J.CompilationUnit cu = (J.CompilationUnit) parser.scan(cuByPath.getValue(), Space.EMPTY);
+            //noinspection DataFlowIssue
+            cuByPath.setValue(null); // allow memory used by this JCCompilationUnit to be released
+            return cu;
+        }, () -> attribute(compiler.todo, ctx));
+    }
+
+    /**
+     * A shared type cache is given a view for this parse, which publishes the types of each compilation unit once
+     * it is completely mapped, except for types that refer to the types declared by the parsed sources.
+     */
+    private JavaTypeCache typeCacheForParse(Collection<JCTree.JCCompilationUnit> cus) {
+        if (!(typeCache instanceof ConcurrentJavaTypeCache)) {
+            return typeCache;
+        }
+        Set<String> declaredTypes = new HashSet<>();
+        for (JCTree.JCCompilationUnit cu : cus) {
+            for (JCTree typeDecl : cu.getTypeDecls()) {
+                if (typeDecl instanceof JCTree.JCClassDecl && ((JCTree.JCClassDecl) typeDecl).sym != null) {
+                    declaredTypes.add(((JCTree.JCClassDecl) typeDecl).sym.flatname.toString());
+                }
+            }
+        }
+        return ((ConcurrentJavaTypeCache) typeCache).forParse(classpath, declaredTypes);
+    }
+
     LinkedHashMap<Input, JCTree.JCCompilationUnit> parseInputsToCompilerAst(Iterable<Input> sourceFiles, ExecutionContext ctx) {
+        LinkedHashMap<Input, JCTree.JCCompilationUnit> cus = parseAndEnter(sourceFiles, ctx);
+        attribute(compiler.todo, ctx);
+        return cus;
+    }
+
+    /**
+     * Parse source files and enter their symbols, leaving their classes on the compiler's todo list for attribution.
+     */
+    private LinkedHashMap<Input, JCTree.JCCompilationUnit> parseAndEnter(Iterable<Input> sourceFiles, ExecutionContext ctx) {
         if (classpath != null) { // override classpath
             // Lombok is expected to replace the file manager with its own, so we need to check for that
             if (context.get(JavaFileManager.class) != pfm && (annotationProcessors.isEmpty() || !(context.get(JavaFileManager.class) instanceof ForwardingJavaFileManager))) {
@@ -241,14 +339,6 @@ LinkedHashMap<Input, JCTree.JCCompilationUnit> parseInputsToCompilerAst(Iterable
             } catch (Throwable t) {
                 handleParsingException(ctx, t);
             }
-
-            while (!compiler.todo.isEmpty()) {
-                try {
-                    compiler.attribute(compiler.todo);
-                } catch (Throwable t) {
-                    handleParsingException(ctx, t);
-                }
-            }
         } catch (IllegalStateException e) {
             if ("endPosTable already set".equals(e.getMessage())) {
                 throw new IllegalStateException(
@@ -261,6 +351,16 @@ LinkedHashMap<Input, JCTree.JCCompilationUnit> parseInputsToCompilerAst(Iterable
         return cus;
     }
 
+    private void attribute(Queue<Env<AttrContext>> envs, ExecutionContext ctx) {
+        while (!envs.isEmpty()) {
+            try {
+                compiler.attribute(envs);
+            } catch (Throwable t) {
+                handleParsingException(ctx, t);
+            }
+        }
+    }
+
     private void handleParsingException(ExecutionContext ctx, Throwable t) {
         // when symbol entering fails on problems like missing types, attribution can often times proceed
         // unhindered, but it sometimes cannot (so attribution is always best-effort in the presence of errors)
@@ -345,21 +445,24 @@ public void reset(Collection<URI> uris) {
     public static class Builder extends JavaParser.Builder<ReloadableJava17Parser, Builder> {
         @Override
         public ReloadableJava17Parser build() {
-            return new ReloadableJava17Parser(logCompilationWarningsAndErrors, resolvedClasspath(), classBytesClasspath, dependsOn, charset, styles, javaTypeCache);
+            return new ReloadableJava17Parser(logCompilationWarningsAndErrors, resolvedClasspath(), classBytesClasspath, typeTableClasspath, dependsOn, charset, styles, javaTypeCache, pipelineExecutor);
         }
     }
 
     private static class ByteArrayCapableJavacFileManager extends JavacFileManager {
         private final List<PackageAwareJavaFileObject> classByteClasspath;
+        private final Collection<TypeTableClasspath> typeTableClasspath;
 
         public ByteArrayCapableJavacFileManager(Context context,
                                                 boolean register,
                                                 Charset charset,
-                                                Collection<byte[]> classByteClasspath) {
+                                                Collection<byte[]> classByteClasspath,
+                                                Collection<TypeTableClasspath> typeTableClasspath) {
             super(context, register, charset);
             this.classByteClasspath = classByteClasspath.stream()
                     .map(PackageAwareJavaFileObject::new)
                     .collect(toList());
+            this.typeTableClasspath = typeTableClasspath;
         }
 
         @Override
@@ -367,6 +470,10 @@ public String inferBinaryName(Location location, JavaFileObject file) {
             if (file instanceof PackageAwareJavaFileObject) {
                 return ((PackageAwareJavaFileObject) file).getClassName();
             }
+            String typeTableBinaryName = TypeTableClasspath.inferBinaryName(file);
+            if (typeTableBinaryName != null) {
+                return typeTableBinaryName;
+            }
             return super.inferBinaryName(location, file);
         }
 
@@ -374,6 +481,15 @@ public String inferBinaryName(Location location, JavaFileObject file) {
         public Iterable<JavaFileObject> list(Location location, String packageName, Set<JavaFileObject.Kind> kinds, boolean recurse) throws IOException {
             if (StandardLocation.CLASS_PATH.equals(location)) {
                 Iterable<JavaFileObject> listed = super.list(location, packageName, kinds, recurse);
+                if (!typeTableClasspath.isEmpty()) {
+                    // resource artifacts come first, as they do on the classpath
+                    List<JavaFileObject> withTypeTables = new ArrayList<>();
+                    for (TypeTableClasspath classes : typeTableClasspath) {
+                        withTypeTables.addAll(classes.list(packageName, kinds, recurse));
+                    }
+                    listed.forEach(withTypeTables::add);
+                    listed = withTypeTables;
+                }
                 return classByteClasspath.isEmpty() ? listed :
                         Stream.concat(classByteClasspath.stream()
                                         .filter(jfo -> jfo.getPackage().equals(packageName)),
@@ -17,10 +17,19 @@
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.tree.J;
 import org.openrewrite.test.RewriteTest;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
 
 class Java21ParserTest implements RewriteTest {
 
@@ -29,4 +38,33 @@ void shouldLoadResourceFromClasspath() throws Exception {
         Files.deleteIfExists(Path.of(System.getProperty("user.home"), ".rewrite", "classpath", "jackson-annotations-2.17.1.jar"));
         rewriteRun(spec -> spec.parser(JavaParser.fromJavaVersion().classpathFromResources(new InMemoryExecutionContext(), "jackson-annotations")));
     }
+
+    @Test
+    void pipelinedParsingMatchesBatchParsing() {
+        String[] sources = IntStream.range(0, 20)
+          .mapToObj(i -> "package p; import java.util.*; class C" + i + " { List<String> l; " +
+                         (i == 0 ? "int f() { return 0; }" : "C" + (i - 1) + " prev; int f() { return prev.f() + 1; }") + " }")
+          .toArray(String[]::new);
+
+        List<SourceFile> batch = Java21Parser.builder().build()
+          .parse(new InMemoryExecutionContext(), sources).collect(toList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<SourceFile> pipelined = Java21Parser.builder().pipelined(executor).build()
+              .parse(new InMemoryExecutionContext(), sources).collect(toList());
+
+            assertThat(pipelined).hasSameSizeAs(batch).allMatch(J.CompilationUnit.class::isInstance);
+            for (int i = 0; i < batch.size(); i++) {
+                J.CompilationUnit expected = (J.CompilationUnit) batch.get(i);
+                J.CompilationUnit actual = (J.CompilationUnit) pipelined.get(i);
+                assertThat(actual.getSourcePath()).isEqualTo(expected.getSourcePath());
+                assertThat(actual.printAll()).isEqualTo(expected.printAll());
+                assertThat(actual.getTypesInUse().getTypesInUse()).map(Object::toString)
+                  .containsExactlyInAnyOrderElementsOf(expected.getTypesInUse().getTypesInUse().stream().map(Object::toString).collect(toList()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
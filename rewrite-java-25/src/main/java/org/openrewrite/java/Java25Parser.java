@@ -25,6 +25,7 @@
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Stream;
 
 public class Java25Parser implements JavaParser {
@@ -83,13 +84,13 @@ public Java25Parser build() {
                 Class<?> parserImplementation = Class.forName("org.openrewrite.java.isolated.ReloadableJava25Parser", true, moduleClassLoader);
 
                 Constructor<?> parserConstructor = parserImplementation
-                        .getDeclaredConstructor(Boolean.TYPE, Collection.class, Collection.class, Collection.class, Charset.class,
-                                Collection.class, JavaTypeCache.class);
+                        .getDeclaredConstructor(Boolean.TYPE, Collection.class, Collection.class, Collection.class, Collection.class,
+                                Charset.class, Collection.class, JavaTypeCache.class, ExecutorService.class);
 
                 parserConstructor.setAccessible(true);
 
                 JavaParser delegate = (JavaParser) parserConstructor
-                        .newInstance(logCompilationWarningsAndErrors, resolvedClasspath(), classBytesClasspath, dependsOn, charset, styles, javaTypeCache);
+                        .newInstance(logCompilationWarningsAndErrors, resolvedClasspath(), classBytesClasspath, typeTableClasspath, dependsOn, charset, styles, javaTypeCache, pipelineExecutor);
 
                 return new Java25Parser(delegate);
             } catch (Exception e) {
@@ -129,13 +129,13 @@ public Java8Parser build() {
                         toolsAwareClassLoader);
 
                 Constructor<?> delegateParserConstructor = reloadableParser
-                        .getDeclaredConstructor(Collection.class, Collection.class, Collection.class, Charset.class,
+                        .getDeclaredConstructor(Collection.class, Collection.class, Collection.class, Collection.class, Charset.class,
                                 Boolean.TYPE, Collection.class, JavaTypeCache.class);
 
                 delegateParserConstructor.setAccessible(true);
 
                 JavaParser delegate = (JavaParser) delegateParserConstructor
-                        .newInstance(resolvedClasspath(), classBytesClasspath, dependsOn, charset, logCompilationWarningsAndErrors, styles, javaTypeCache);
+                        .newInstance(resolvedClasspath(), classBytesClasspath, typeTableClasspath, dependsOn, charset, logCompilationWarningsAndErrors, styles, javaTypeCache);
 
                 return new Java8Parser(delegate);
             } catch (Exception e) {
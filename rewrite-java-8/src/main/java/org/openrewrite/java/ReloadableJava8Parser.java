@@ -33,7 +33,9 @@
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.SourceFile;
 import org.openrewrite.internal.StringUtils;
+import org.openrewrite.java.internal.ConcurrentJavaTypeCache;
 import org.openrewrite.java.internal.JavaTypeCache;
+import org.openrewrite.java.internal.parser.TypeTableClasspath;
 import org.openrewrite.java.lombok.LombokSupport;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Space;
@@ -56,6 +58,7 @@
 
 import static com.sun.tools.javac.util.List.nil;
 import static java.util.stream.Collectors.toList;
+import static org.openrewrite.java.internal.ConcurrentJavaTypeCache.publishMappedTypes;
 
 class ReloadableJava8Parser implements JavaParser {
     private final JavaTypeCache typeCache;
@@ -76,6 +79,7 @@ class ReloadableJava8Parser implements JavaParser {
 
     ReloadableJava8Parser(@Nullable Collection<Path> classpath,
                           Collection<byte[]> classBytesClasspath,
+                          Collection<TypeTableClasspath> typeTableClasspath,
                           @Nullable Collection<Input> dependsOn,
                           Charset charset,
                           boolean logCompilationWarningsAndErrors,
@@ -88,7 +92,7 @@ class ReloadableJava8Parser implements JavaParser {
 
         this.context = new Context();
         this.compilerLog = new ResettableLog(context);
-        this.pfm = new ByteArrayCapableJavacFileManager(context, true, charset, classBytesClasspath);
+        this.pfm = new ByteArrayCapableJavacFileManager(context, true, charset, classBytesClasspath, typeTableClasspath);
         context.put(JavaFileManager.class, this.pfm);
 
         // otherwise, consecutive string literals in binary expressions are concatenated by the parser, losing the original
@@ -162,6 +166,7 @@ public void close() {
     public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
         ParsingEventListener parsingListener = ParsingExecutionContextView.view(ctx).getParsingListener();
         LinkedHashMap<Input, JCTree.JCCompilationUnit> cus = parseInputsToCompilerAst(sourceFiles, ctx);
+        JavaTypeCache parseTypeCache = typeCacheForParse(cus.values());
         return cus.entrySet().stream().map(cuByPath -> {
             Input input = cuByPath.getKey();
             parsingListener.startedParsing(input);
@@ -171,21 +176,42 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
                         input.getFileAttributes(),
                         input.getSource(ctx),
                         styles,
-                        typeCache,
+                        parseTypeCache,
                         ctx,
                         context);
                 J.CompilationUnit cu = (J.CompilationUnit) parser.scan(cuByPath.getValue(), Space.EMPTY);
+                publishMappedTypes(parseTypeCache, true);
                 //noinspection DataFlowIssue
                 cuByPath.setValue(null); // allow memory used by this JCCompilationUnit to be released
                 parsingListener.parsed(input, cu);
                 return requirePrintEqualsInput(cu, input, relativeTo, ctx);
             } catch (Throwable t) {
+                publishMappedTypes(parseTypeCache, false);
                 ctx.getOnError().accept(t);
                 return ParseError.build(this, input, relativeTo, ctx, t);
             }
         });
     }
 
+    /**
+     * A shared type cache is given a view for this parse, which publishes the types of each compilation unit once
+     * it is completely mapped, except for types that refer to the types declared by the parsed sources.
+     */
+    private JavaTypeCache typeCacheForParse(Collection<JCTree.JCCompilationUnit> cus) {
+        if (!(typeCache instanceof ConcurrentJavaTypeCache)) {
+            return typeCache;
+        }
+        Set<String> declaredTypes = new HashSet<>();
+        for (JCTree.JCCompilationUnit cu : cus) {
+            for (JCTree typeDecl : cu.getTypeDecls()) {
+                if (typeDecl instanceof JCTree.JCClassDecl && ((JCTree.JCClassDecl) typeDecl).sym != null) {
+                    declaredTypes.add(((JCTree.JCClassDecl) typeDecl).sym.flatname.toString());
+                }
+            }
+        }
+        return ((ConcurrentJavaTypeCache) typeCache).forParse(classpath, declaredTypes);
+    }
+
     LinkedHashMap<Input, JCTree.JCCompilationUnit> parseInputsToCompilerAst(Iterable<Input> sourceFiles, ExecutionContext ctx) {
         if (classpath != null) { // override classpath
             // Lombok is expected to replace the file manager with its own, so we need to check for that
@@ -310,15 +336,18 @@ public void reset(Collection<URI> uris) {
 
     private static class ByteArrayCapableJavacFileManager extends JavacFileManager {
         private final List<PackageAwareJavaFileObject> classByteClasspath;
+        private final Collection<TypeTableClasspath> typeTableClasspath;
 
         public ByteArrayCapableJavacFileManager(Context context,
                                                 boolean register,
                                                 Charset charset,
-                                                Collection<byte[]> classByteClasspath) {
+                                                Collection<byte[]> classByteClasspath,
+                                                Collection<TypeTableClasspath> typeTableClasspath) {
             super(context, register, charset);
             this.classByteClasspath = classByteClasspath.stream()
                     .map(PackageAwareJavaFileObject::new)
                     .collect(toList());
+            this.typeTableClasspath = typeTableClasspath;
         }
 
         @Override
@@ -331,6 +360,10 @@ public String inferBinaryName(Location location, JavaFileObject file) {
             if (file instanceof PackageAwareJavaFileObject) {
                 return ((PackageAwareJavaFileObject) file).getClassName();
             }
+            String typeTableBinaryName = TypeTableClasspath.inferBinaryName(file);
+            if (typeTableBinaryName != null) {
+                return typeTableBinaryName;
+            }
             return super.inferBinaryName(location, file);
         }
 
@@ -338,6 +371,15 @@ public String inferBinaryName(Location location, JavaFileObject file) {
         public Iterable<JavaFileObject> list(Location location, String packageName, Set<JavaFileObject.Kind> kinds, boolean recurse) throws IOException {
             if (StandardLocation.CLASS_PATH == location) {
                 Iterable<JavaFileObject> listed = super.list(location, packageName, kinds, recurse);
+                if (!typeTableClasspath.isEmpty()) {
+                    // resource artifacts come first, as they do on the classpath
+                    List<JavaFileObject> withTypeTables = new ArrayList<>();
+                    for (TypeTableClasspath classes : typeTableClasspath) {
+                        withTypeTables.addAll(classes.list(packageName, kinds, recurse));
+                    }
+                    listed.forEach(withTypeTables::add);
+                    listed = withTypeTables;
+                }
                 return Stream.concat(
                         classByteClasspath.stream()
                                 .filter(jfo -> jfo.getPackage().equals(packageName)),
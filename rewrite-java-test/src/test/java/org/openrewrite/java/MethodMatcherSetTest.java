@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.tree.JavaType.ShallowClass.build;
+
+class MethodMatcherSetTest {
+    MethodMatcherSet matchers = MethodMatcherSet.of(
+      "java.util.List add(java.lang.Object)",
+      "java.util.List add(int, java.lang.Object)",
+      "java.util.* add(..)",
+      "java.util.List *(..)",
+      "a.A$B foo()",
+      "a.A <constructor>()"
+    );
+
+    @Test
+    void matchesInTheOrderGiven() {
+        assertThat(patterns(matchers.matching(method("java.util.List", "add", "java.lang.Object"))))
+          .containsExactly("java.util.List add(java.lang.Object)", "java.util.* add(..)", "java.util.List *(..)");
+        assertThat(patterns(matchers.matching(method("java.util.List", "add", "int", "java.lang.Object"))))
+          .containsExactly("java.util.List add(int, java.lang.Object)", "java.util.* add(..)", "java.util.List *(..)");
+        assertThat(patterns(matchers.matching(method("java.util.Set", "add", "java.lang.Object"))))
+          .containsExactly("java.util.* add(..)");
+    }
+
+    @Test
+    void agreesWithEachMatcher() {
+        for (JavaType.Method method : List.of(
+          method("java.util.List", "add", "java.lang.Object"),
+          method("java.util.List", "remove", "int"),
+          method("java.util.Map", "put", "java.lang.Object", "java.lang.Object"),
+          method("a.A.B", "foo"),
+          method("a.A", "<constructor>"),
+          method("a.A", "<constructor>", "int"))) {
+            List<MethodMatcher> expected = matchers.getMatchers().stream()
+              .filter(m -> m.matches(method))
+              .toList();
+            assertThat(matchers.matching(method)).containsExactlyElementsOf(expected);
+            assertThat(matchers.matchesAny(method)).isEqualTo(!expected.isEmpty());
+        }
+    }
+
+    @Test
+    void noMatch() {
+        assertThat(matchers.matching(method("java.lang.String", "format", "java.lang.String"))).isEmpty();
+        assertThat(matchers.matchesAny(method("java.lang.String", "format", "java.lang.String"))).isFalse();
+        assertThat(matchers.matching((JavaType.Method) null)).isEmpty();
+    }
+
+    private static List<String> patterns(List<MethodMatcher> matchers) {
+        return matchers.stream().map(MethodMatcher::toString).toList();
+    }
+
+    private static JavaType.Method method(String type, String name, String... parameterTypes) {
+        List<JavaType> parameters = Stream.of(parameterTypes)
+          .map(p -> {
+              JavaType.Primitive primitive = JavaType.Primitive.fromKeyword(p);
+              return primitive == null ? build(p) : primitive;
+          })
+          .map(JavaType.class::cast)
+          .toList();
+        return new JavaType.Method(null, 1L, build(type), name, null, null,
+          parameters, emptyList(), emptyList(), emptyList(), null);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeUsageIndexTest {
+    TypeUsageIndex index = new TypeUsageIndex();
+
+    @Test
+    void typesAndTheirSupertypes() {
+        J.CompilationUnit cu = parse(
+          """
+            import java.util.ArrayList;
+
+            class Test {
+                ArrayList<String> list = new ArrayList<>();
+            }
+            """
+        );
+
+        assertThat(index.mayUseType(cu, "java.util.ArrayList", false)).isTrue();
+        assertThat(index.mayUseType(cu, "java.util.Collection", false)).isTrue();
+        assertThat(index.mayUseType(cu, "java.util.Map", false)).isFalse();
+        assertThat(index.mayUseType(cu, (String name) -> name.startsWith("java.util."), false)).isTrue();
+        assertThat(index.mayUseType(cu, (String name) -> name.startsWith("java.time."), false)).isFalse();
+    }
+
+    @Test
+    void implicitTypesOfCalledMethods() {
+        J.CompilationUnit cu = parse(
+          """
+            class Test {
+                void test() {
+                    System.getProperties();
+                }
+            }
+            """
+        );
+
+        assertThat(index.mayUseMethod(cu, "getProperties"::equals)).isTrue();
+        assertThat(index.mayUseMethod(cu, "getenv"::equals)).isFalse();
+        assertThat(index.mayUseType(cu, "java.util.Properties", false)).isFalse();
+        assertThat(index.mayUseType(cu, "java.util.Properties", true)).isTrue();
+    }
+
+    @Test
+    void reindexesEditedSourceFiles() {
+        J.CompilationUnit cu = parse(
+          """
+            import java.util.ArrayList;
+
+            class Test {
+                ArrayList<String> list = new ArrayList<>();
+            }
+            """
+        );
+        assertThat(index.mayUseType(cu, "java.util.List", false)).isTrue();
+
+        J.CompilationUnit edited = parse(
+          """
+            class Test {
+            }
+            """
+        ).withId(cu.getId());
+        assertThat(index.mayUseType(edited, "java.util.List", false)).isFalse();
+    }
+
+    private static J.CompilationUnit parse(String source) {
+        return (J.CompilationUnit) JavaParser.fromJavaVersion().build()
+          .parse(new InMemoryExecutionContext(), source)
+          .findFirst()
+          .orElseThrow();
+    }
+}
@@ -16,11 +16,15 @@
 package org.openrewrite.java.marker;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.openrewrite.Issue;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.JavaType;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
@@ -60,6 +64,29 @@ void runtimeClasspath() {
         assertThat(jss).allSatisfy(c -> assertThat(c.getFullyQualifiedName()).startsWith("org.openrewrite"));
     }
 
+    @Test
+    void reuseJarListingsFromIndexDirectory(@TempDir Path indexDirectory) throws Exception {
+        List<Path> classpath = JavaParser.dependenciesFromClasspath("assertj-core");
+        JavaSourceSet.build("main", classpath, new ClasspathTypeIndex(indexDirectory, null));
+        List<Path> indexFiles;
+        try (var files = Files.list(indexDirectory)) {
+            indexFiles = files.filter(f -> f.toString().endsWith(".types")).toList();
+        }
+        assertThat(indexFiles).hasSize(1);
+
+        // replace the listing on disk, keeping the key of the jar it is for
+        Path indexFile = indexFiles.get(0);
+        String key = Files.readAllLines(indexFile).get(0);
+        Files.write(indexFile, List.of(key, "com.example.FromIndex"));
+
+        // a new index, as in a later process, reads the listing from disk rather than the jar
+        JavaSourceSet second = JavaSourceSet.build("test", classpath, new ClasspathTypeIndex(indexDirectory, null));
+        assertThat(second.getClasspath())
+          .extracting(JavaType.FullyQualified::getFullyQualifiedName)
+          .contains("com.example.FromIndex")
+          .doesNotContain("org.assertj.core.api.Assertions");
+    }
+
     @Test
     void gavCoordinateFromGradle() {
         assertThat(gavFromPath(Paths.get("C:/Users/Sam/.gradle/caches/modules-2/files-2.1/org.openrewrite/rewrite-core/8.32.0/64ddcc371f1bf29593b4b27e907757d5554d1a83/rewrite-core-8.32.0.jar")))
@@ -24,6 +24,7 @@
 import org.openrewrite.java.internal.JavaTypeCache;
 import org.openrewrite.java.internal.parser.RewriteClasspathJarClasspathLoader;
 import org.openrewrite.java.internal.parser.TypeTable;
+import org.openrewrite.java.internal.parser.TypeTableClasspath;
 import org.openrewrite.java.marker.JavaSourceSet;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.style.NamedStyles;
@@ -35,6 +36,7 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
@@ -227,12 +229,16 @@ default boolean accept(Path path) {
     abstract class Builder<P extends JavaParser, B extends Builder<P, B>> extends Parser.Builder {
         protected Collection<Path> classpath = emptyList();
         protected Collection<String> artifactNames = emptyList();
+        protected Collection<TypeTableClasspath> typeTableClasspath = emptyList();
         protected Collection<byte[]> classBytesClasspath = emptyList();
         protected JavaTypeCache javaTypeCache = new JavaTypeCache();
 
         @Nullable
         protected Collection<Input> dependsOn;
 
+        @Nullable
+        protected ExecutorService pipelineExecutor;
+
         protected Charset charset = Charset.defaultCharset();
         protected boolean logCompilationWarningsAndErrors = false;
         protected final List<NamedStyles> styles = new ArrayList<>();
@@ -246,11 +252,28 @@ public B logCompilationWarningsAndErrors(boolean logCompilationWarningsAndErrors
             return (B) this;
         }
 
+        /**
+         * @param javaTypeCache The cache of mapped types. Pass the same {@link org.openrewrite.java.internal.ConcurrentJavaTypeCache}
+         *                      to parsers on different threads to map types they have in common only once. Only parsers
+         *                      with the same classpath share types.
+         */
         public B typeCache(JavaTypeCache javaTypeCache) {
             this.javaTypeCache = javaTypeCache;
             return (B) this;
         }
 
+        /**
+         * Attribute and map source files one at a time rather than attributing all of them before mapping any,
+         * checking that each mapped source file prints back to its input on the given executor while the
+         * compiler moves on to the next source file. Supported by the Java 17 and later parsers; others ignore it.
+         *
+         * @param pipelineExecutor The executor that checks mapped source files. It is not shut down by the parser.
+         */
+        public B pipelined(ExecutorService pipelineExecutor) {
+            this.pipelineExecutor = pipelineExecutor;
+            return (B) this;
+        }
+
         public B charset(Charset charset) {
             this.charset = charset;
             return (B) this;
@@ -271,6 +294,7 @@ public B dependsOn(@Language("java") String... inputsAsStrings) {
 
         public B classpath(Collection<Path> classpath) {
             this.artifactNames = emptyList();
+            this.typeTableClasspath = emptyList();
             this.classpath = classpath;
             return (B) this;
         }
@@ -299,6 +323,7 @@ public B addClasspathEntry(Path entry) {
          */
         public B classpath(String... artifactNames) {
             this.artifactNames = Arrays.asList(artifactNames);
+            this.typeTableClasspath = emptyList();
             this.classpath = emptyList();
             return (B) this;
         }
@@ -307,15 +332,21 @@ public B classpath(String... artifactNames) {
          * Load artifacts from packaged resources. This is useful for loading dependencies which are not on the recipe
          * execution classpath, or where you need to load multiple different versions of the same artifact.
          * Supports both {@link TypeTable} `classpath.tsv.gz` and packaged resource jars in `META-INF/rewrite/classpath/`.
+         * <p>
+         * Artifacts found in a {@link org.openrewrite.java.internal.parser.BinaryTypeTable} are not written to disk.
+         * The parser reads each of their classes from the table when the compiler first needs it.
          *
          * @param ctx       The execution context to use for loading resources.
          * @param classpath artifact prefix to match, e.g. "guava" or "guava-31" for a specific version.
-         * @return A list of paths to the located artifacts.
+         * @return This builder.
+         * @throws IllegalArgumentException if any of the artifacts can't be found.
          */
         @SuppressWarnings({"UnusedReturnValue", "unused"})
         public B classpathFromResources(ExecutionContext ctx, String... classpath) {
             this.artifactNames = emptyList();
-            this.classpath = dependenciesFromResources(ctx, classpath);
+            Set<String> missingArtifactNames = new LinkedHashSet<>(Arrays.asList(classpath));
+            this.typeTableClasspath = TypeTable.fromBinaryTypeTables(ctx, missingArtifactNames);
+            this.classpath = dependenciesFromResources(ctx, missingArtifactNames.toArray(new String[0]));
             return (B) this;
         }
 
@@ -195,8 +195,13 @@ boolean matchesTargetType(JavaType type) {
         return false;
     }
 
+    /**
+     * @param name The simple name of a method.
+     * @return {@code true} if a method with this name could match, regardless of its declaring
+     * and parameter types.
+     */
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
-    private boolean matchesMethodName(String name) {
+    public boolean matchesMethodName(String name) {
         return methodNameMatcher.matches(name);
     }
 
@@ -280,6 +285,40 @@ private boolean matchesParameterCount(int actualArgCount) {
         return varArgsPosition == -1 ? actualArgCount == argumentMatchers.size() : actualArgCount >= argumentMatchers.size() - 1;
     }
 
+    /**
+     * @return The only declaring type this matcher can match, or {@code null} if it can match more than one.
+     */
+    @Nullable
+    String exactTypeName() {
+        if (!matchOverrides && typeMatcher instanceof StandardTypeMatcher) {
+            StandardTypeMatcher standardTypeMatcher = (StandardTypeMatcher) typeMatcher;
+            if (standardTypeMatcher.arrayDimensions == 0 && standardTypeMatcher.nameMatcher instanceof ExactTypeNameMatcher) {
+                return standardTypeMatcher.nameMatcher.toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The only method name this matcher can match, or {@code null} if it can match more than one.
+     */
+    @Nullable
+    String exactMethodName() {
+        if (methodNameMatcher instanceof ExactMethodNameMatcher) {
+            return ((ExactMethodNameMatcher) methodNameMatcher).methodName;
+        } else if (methodNameMatcher instanceof ConstructorMethodNameMatcher) {
+            return "<constructor>";
+        }
+        return null;
+    }
+
+    /**
+     * @return The only number of arguments this matcher can match, or -1 if it can match more than one.
+     */
+    int exactArity() {
+        return varArgsPosition == -1 ? argumentMatchers.size() : -1;
+    }
+
     public boolean matches(@Nullable MethodCall methodCall) {
         if (methodCall == null) {
             return false;
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.MethodCall;
+
+import java.util.*;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Matches a method against many {@link MethodMatcher} at once.
+ * <p>
+ * Testing each of hundreds of matchers against every method invocation in a source file
+ * costs as many pattern evaluations per invocation. This set instead files each matcher
+ * under the method name, declaring type and number of arguments it requires, where it
+ * requires a single one, so that a method is only tested against the few matchers that
+ * share its name, declaring type and number of arguments, and against those matchers whose
+ * patterns have wildcards in them.
+ * <pre>
+ * MethodMatcherSet matchers = MethodMatcherSet.of(
+ *         "java.util.List add(..)",
+ *         "java.util.Collections emptyList()");
+ * </pre>
+ */
+public class MethodMatcherSet {
+    /**
+     * The matchers in the order they were given, which is the order in which they are returned when they match.
+     */
+    @Getter
+    private final List<MethodMatcher> matchers;
+
+    private final Map<String, ByDeclaringType> byMethodName = new HashMap<>();
+    private final ByDeclaringType anyMethodName = new ByDeclaringType();
+
+    public MethodMatcherSet(Collection<MethodMatcher> matchers) {
+        this.matchers = unmodifiableList(new ArrayList<>(matchers));
+        for (int i = 0; i < this.matchers.size(); i++) {
+            MethodMatcher matcher = this.matchers.get(i);
+            String methodName = matcher.exactMethodName();
+            ByDeclaringType byDeclaringType = methodName == null ?
+                    anyMethodName :
+                    byMethodName.computeIfAbsent(methodName, n -> new ByDeclaringType());
+            byDeclaringType.add(i, matcher);
+        }
+    }
+
+    public static MethodMatcherSet of(String... methodPatterns) {
+        List<MethodMatcher> matchers = new ArrayList<>(methodPatterns.length);
+        for (String methodPattern : methodPatterns) {
+            matchers.add(new MethodMatcher(methodPattern));
+        }
+        return new MethodMatcherSet(matchers);
+    }
+
+    /**
+     * @param type A method type.
+     * @return Every matcher in this set that matches the method, in the order they were given.
+     */
+    public List<MethodMatcher> matching(JavaType.@Nullable Method type) {
+        if (type == null) {
+            return emptyList();
+        }
+        List<Integer> matching = null;
+        ByDeclaringType byDeclaringType = byMethodName.get(type.getName());
+        if (byDeclaringType != null) {
+            matching = byDeclaringType.collect(type, null);
+        }
+        matching = anyMethodName.collect(type, matching);
+
+        if (matching == null) {
+            return emptyList();
+        } else if (matching.size() > 1) {
+            Collections.sort(matching);
+        }
+        List<MethodMatcher> result = new ArrayList<>(matching.size());
+        for (Integer position : matching) {
+            result.add(matchers.get(position));
+        }
+        return result;
+    }
+
+    public List<MethodMatcher> matching(@Nullable Expression maybeMethod) {
+        return maybeMethod instanceof MethodCall ? matching(((MethodCall) maybeMethod).getMethodType()) : emptyList();
+    }
+
+    /**
+     * @param type A method type.
+     * @return {@code true} if any matcher in this set matches the method.
+     */
+    public boolean matchesAny(JavaType.@Nullable Method type) {
+        if (type == null) {
+            return false;
+        }
+        ByDeclaringType byDeclaringType = byMethodName.get(type.getName());
+        return byDeclaringType != null && byDeclaringType.anyMatch(type) || anyMethodName.anyMatch(type);
+    }
+
+    public boolean matchesAny(@Nullable Expression maybeMethod) {
+        return maybeMethod instanceof MethodCall && matchesAny(((MethodCall) maybeMethod).getMethodType());
+    }
+
+    private static String normalize(String fullyQualifiedName) {
+        // inner classes may be spelled with a '$' or a '.', which MethodMatcher treats as the same
+        return fullyQualifiedName.replace('$', '.');
+    }
+
+    private static class ByDeclaringType {
+        final Map<String, ByArity> exact = new HashMap<>();
+        final ByArity any = new ByArity();
+
+        void add(int position, MethodMatcher matcher) {
+            String typeName = matcher.exactTypeName();
+            (typeName == null ? any : exact.computeIfAbsent(normalize(typeName), n -> new ByArity()))
+                    .add(position, matcher);
+        }
+
+        @Nullable
+        List<Integer> collect(JavaType.Method type, @Nullable List<Integer> matching) {
+            ByArity byArity = exact(type);
+            return any.collect(type, byArity == null ? matching : byArity.collect(type, matching));
+        }
+
+        boolean anyMatch(JavaType.Method type) {
+            ByArity byArity = exact(type);
+            return byArity != null && byArity.anyMatch(type) || any.anyMatch(type);
+        }
+
+        private @Nullable ByArity exact(JavaType.Method type) {
+            return exact.isEmpty() ? null : exact.get(normalize(type.getDeclaringType().getFullyQualifiedName()));
+        }
+    }
+
+    private static class ByArity {
+        final Map<Integer, Candidates> exact = new HashMap<>();
+        final Candidates any = new Candidates();
+
+        void add(int position, MethodMatcher matcher) {
+            int arity = matcher.exactArity();
+            (arity == -1 ? any : exact.computeIfAbsent(arity, n -> new Candidates()))
+                    .add(position, matcher);
+        }
+
+        @Nullable
+        List<Integer> collect(JavaType.Method type, @Nullable List<Integer> matching) {
+            Candidates candidates = exact(type);
+            return any.collect(type, candidates == null ? matching : candidates.collect(type, matching));
+        }
+
+        boolean anyMatch(JavaType.Method type) {
+            Candidates candidates = exact(type);
+            return candidates != null && candidates.anyMatch(type) || any.anyMatch(type);
+        }
+
+        private @Nullable Candidates exact(JavaType.Method type) {
+            return exact.isEmpty() ? null : exact.get(type.getParameterTypes().size());
+        }
+    }
+
+    private static class Candidates {
+        final List<Integer> positions = new ArrayList<>(1);
+        final List<MethodMatcher> matchers = new ArrayList<>(1);
+
+        void add(int position, MethodMatcher matcher) {
+            positions.add(position);
+            matchers.add(matcher);
+        }
+
+        /**
+         * @return The positions that had already matched followed by those of the matchers here that match,
+         * or {@code null} if there are none.
+         */
+        @Nullable
+        List<Integer> collect(JavaType.Method type, @Nullable List<Integer> matching) {
+            for (int i = 0; i < matchers.size(); i++) {
+                if (matchers.get(i).matches(type)) {
+                    if (matching == null) {
+                        matching = new ArrayList<>(2);
+                    }
+                    matching.add(positions.get(i));
+                }
+            }
+            return matching;
+        }
+
+        boolean anyMatch(JavaType.Method type) {
+            for (MethodMatcher matcher : matchers) {
+                if (matcher.matches(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.internal.AdaptiveRadixTree;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * A {@link JavaTypeCache} that can be shared by several parsers running on different threads, so that
+ * types from the JDK and from dependencies common to those parsers are only mapped once.
+ * <p>
+ * The same signature names different types on different classpaths, so types are only shared by parses
+ * with the same classpath. Each classpath has its own scope of published types.
+ * <p>
+ * Type mappings put a type into the cache before they initialize it, so that recursive references resolve
+ * to the same instance. A parser that supports sharing therefore maps each parse through
+ * {@link #forParse(Collection, Set)}, whose types are confined to the parse until it calls
+ * {@link Parse#publish()} once a compilation unit is completely mapped. That makes the types the parse
+ * mapped visible to other parses with the same classpath, except for those that refer to types declared
+ * by the parsed sources. A parse's unpublished types are discarded along with the parse.
+ * <p>
+ * Types put into this cache directly are published right away to the scope of parses without a classpath,
+ * so they must already be fully initialized.
+ * <p>
+ * Published signatures are partitioned across a fixed number of stripes, each an {@link AdaptiveRadixTree}
+ * guarded by its own read-write lock, which also gives other threads a happens-before edge with the
+ * initialization of every type they read. {@link #clone()} returns this same instance, so parser builders
+ * that are cloned from one another continue to share the cache.
+ * <p>
+ * Calling {@code reset()} on any parser that shares this cache clears it for all of them, so reset
+ * the parsers only once none of them is parsing.
+ */
+public class ConcurrentJavaTypeCache extends JavaTypeCache {
+    private static final int DEFAULT_STRIPES = 32;
+
+    private final int stripes;
+    private final Map<List<Path>, Scope> scopes = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ConcurrentJavaTypeCache() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes The number of independently locked partitions of each classpath's scope, rounded up to a
+     *                power of two.
+     */
+    public ConcurrentJavaTypeCache(int stripes) {
+        int n = 1;
+        while (n < stripes) {
+            n <<= 1;
+        }
+        this.stripes = n;
+    }
+
+    /**
+     * Looks up a type published to the scope of parses without a classpath.
+     */
+    @Override
+    public <T> @Nullable T get(String signature) {
+        return scope(null).get(signature);
+    }
+
+    /**
+     * Publishes a fully initialized type to the scope of parses without a classpath, unless one was published first.
+     */
+    @Override
+    public void put(String signature, Object o) {
+        scope(null).publish(signature, o);
+    }
+
+    /**
+     * Begin a parse whose types are published to this cache as each of its compilation units is mapped.
+     * The returned cache is confined to the thread mapping the parse's compilation units.
+     *
+     * @param classpath     The classpath of the parse, which selects the types it shares.
+     * @param declaredTypes The fully qualified names of the top-level types declared by the parsed sources.
+     *                      Types that refer to them stay private to the parse, so that they neither leak into
+     *                      other projects nor go stale when those sources change. If {@code null}, the parser
+     *                      can't tell which types its sources declare, and the parse publishes none of its types.
+     * @return A type cache to map the parse's compilation units with.
+     */
+    public Parse forParse(@Nullable Collection<Path> classpath, @Nullable Set<String> declaredTypes) {
+        return new Parse(scope(classpath), declaredTypes);
+    }
+
+    /**
+     * @param typeCache     The type cache of a parser.
+     * @param classpath     The classpath of the parse.
+     * @param declaredTypes The top-level types declared by the parsed sources, if the parser can tell.
+     * @return The cache to map one parse with, which for a shared cache is a {@link Parse} of it.
+     */
+    public static JavaTypeCache forParse(JavaTypeCache typeCache, @Nullable Collection<Path> classpath,
+                                         @Nullable Set<String> declaredTypes) {
+        return typeCache instanceof ConcurrentJavaTypeCache ?
+                ((ConcurrentJavaTypeCache) typeCache).forParse(classpath, declaredTypes) :
+                typeCache;
+    }
+
+    /**
+     * Publish the types that a compilation unit put into the cache returned by
+     * {@link #forParse(JavaTypeCache, Collection, Set)}, if it is a {@link Parse}.
+     *
+     * @param mapped Whether the compilation unit was completely mapped. Otherwise, the types it put into the cache
+     *               may be partially initialized and are never published.
+     */
+    public static void publishMappedTypes(JavaTypeCache parseTypeCache, boolean mapped) {
+        if (parseTypeCache instanceof Parse) {
+            if (mapped) {
+                ((Parse) parseTypeCache).publish();
+            } else {
+                ((Parse) parseTypeCache).discardUnpublished();
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        scopes.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Visits the published types of every classpath's scope, so a signature repeats for each scope it was
+     * published to.
+     */
+    @Override
+    public void forEach(BiConsumer<String, Object> action) {
+        for (Scope scope : scopes.values()) {
+            scope.forEach(action);
+        }
+    }
+
+    /**
+     * @return This same instance, so that copies of a parser builder share the cache.
+     */
+    @Override
+    public ConcurrentJavaTypeCache clone() {
+        return this;
+    }
+
+    /**
+     * @return The number of lookups that found a published type since the cache was created or last cleared.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups that found no published type since the cache was created or last cleared.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of types published to the cache, counting each classpath's scope separately.
+     */
+    public long size() {
+        long size = 0;
+        for (Scope scope : scopes.values()) {
+            size += scope.size();
+        }
+        return size;
+    }
+
+    private Scope scope(@Nullable Collection<Path> classpath) {
+        List<Path> key = classpath == null ? emptyList() : new ArrayList<>(classpath);
+        return scopes.computeIfAbsent(key, k -> new Scope());
+    }
+
+    /**
+     * @return {@code true} if the signature names one of the given top-level types, or a type nested in one.
+     * Signatures spell out every type they refer to, including type arguments, bounds, declaring types,
+     * parameter and return types.
+     */
+    static boolean refersTo(String signature, Set<String> topLevelTypes) {
+        if (topLevelTypes.isEmpty()) {
+            return false;
+        }
+        int start = -1;
+        for (int i = 0; i <= signature.length(); i++) {
+            char c = i < signature.length() ? signature.charAt(i) : ' ';
+            boolean namePart = c == '.' || c != '$' && Character.isJavaIdentifierPart(c);
+            if (namePart) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                if (topLevelTypes.contains(signature.substring(start, i))) {
+                    return true;
+                }
+                start = -1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The types of one parse. Lookups fall back to the types published by every parse with the same classpath.
+     */
+    public class Parse extends JavaTypeCache {
+        private final Scope scope;
+
+        @Nullable
+        private final Set<String> declaredTypes;
+
+        private List<String> unpublished = new ArrayList<>();
+
+        private Parse(Scope scope, @Nullable Set<String> declaredTypes) {
+            this.scope = scope;
+            this.declaredTypes = declaredTypes;
+        }
+
+        @Override
+        public <T> @Nullable T get(String signature) {
+            T t = super.get(signature);
+            return t != null ? t : scope.get(signature);
+        }
+
+        @Override
+        public void put(String signature, Object o) {
+            super.put(signature, o);
+            if (declaredTypes != null) {
+                unpublished.add(signature);
+            }
+        }
+
+        /**
+         * Publish the types put since the last call. Call this only once every one of them is initialized,
+         * which is the case once a compilation unit has been completely mapped.
+         */
+        public void publish() {
+            if (declaredTypes == null) {
+                return;
+            }
+            for (String signature : unpublished) {
+                if (!refersTo(signature, declaredTypes)) {
+                    Object o = super.get(signature);
+                    if (o != null) {
+                        scope.publish(signature, o);
+                    }
+                }
+            }
+            unpublished.clear();
+        }
+
+        /**
+         * Never publish the types put since the last call to {@link #publish()}, for example because mapping a
+         * compilation unit failed and left some of them partially initialized. They remain visible to this parse.
+         */
+        public void discardUnpublished() {
+            unpublished.clear();
+        }
+
+        /**
+         * @return A parse with the same classpath and declared types, starting with a copy of this parse's types.
+         */
+        @Override
+        public Parse clone() {
+            Parse clone = (Parse) super.clone();
+            clone.unpublished = new ArrayList<>(unpublished);
+            return clone;
+        }
+    }
+
+    /**
+     * The types published by the parses with one classpath.
+     */
+    private class Scope {
+        private final Stripe[] stripes = new Stripe[ConcurrentJavaTypeCache.this.stripes];
+
+        Scope() {
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new Stripe();
+            }
+        }
+
+        <T> @Nullable T get(String signature) {
+            Stripe stripe = stripe(signature);
+            Object o;
+            stripe.lock.readLock().lock();
+            try {
+                o = stripe.types.search(getKeyBytes(signature));
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+            if (o == null) {
+                misses.increment();
+            } else {
+                hits.increment();
+            }
+            //noinspection unchecked
+            return (T) o;
+        }
+
+        /**
+         * Makes a fully initialized type visible to every thread, unless another thread published one first.
+         */
+        void publish(String signature, Object o) {
+            Stripe stripe = stripe(signature);
+            byte[] key = getKeyBytes(signature);
+            stripe.lock.writeLock().lock();
+            try {
+                if (stripe.types.search(key) == null) {
+                    stripe.size++;
+                    stripe.types.insert(key, o);
+                }
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+
+        void forEach(BiConsumer<String, Object> action) {
+            for (Stripe stripe : stripes) {
+                stripe.lock.readLock().lock();
+                try {
+                    stripe.types.forEach((key, o) -> action.accept(fromKeyBytes(key), o));
+                } finally {
+                    stripe.lock.readLock().unlock();
+                }
+            }
+        }
+
+        long size() {
+            long size = 0;
+            for (Stripe stripe : stripes) {
+                stripe.lock.readLock().lock();
+                try {
+                    size += stripe.size;
+                } finally {
+                    stripe.lock.readLock().unlock();
+                }
+            }
+            return size;
+        }
+
+        private Stripe stripe(String signature) {
+            int h = signature.hashCode();
+            // fold the high bits into the few low bits that select a stripe
+            h ^= h >>> 16;
+            return stripes[h & (stripes.length - 1)];
+        }
+    }
+
+    private static class Stripe {
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        final AdaptiveRadixTree<Object> types = new AdaptiveRadixTree<>();
+        int size;
+    }
+}
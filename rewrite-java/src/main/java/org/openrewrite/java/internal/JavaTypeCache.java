@@ -19,7 +19,9 @@
 import org.openrewrite.internal.AdaptiveRadixTree;
 
 import java.lang.reflect.Field;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
 
 public class JavaTypeCache implements Cloneable {
 
@@ -38,6 +40,15 @@ public void clear() {
         typeCache.clear();
     }
 
+    /**
+     * Visit every signature and the object cached for it.
+     *
+     * @param action Receives each signature and its cached object.
+     */
+    public void forEach(BiConsumer<String, Object> action) {
+        typeCache.forEach((key, o) -> action.accept(fromKeyBytes(key), o));
+    }
+
     @Override
     public JavaTypeCache clone() {
         try {
@@ -110,4 +121,19 @@ static byte[] getKeyBytes(String s) {
 
         return s.getBytes(StandardCharsets.UTF_8);
     }
+
+    /**
+     * The inverse of {@link #getKeyBytes(String)}.
+     */
+    static String fromKeyBytes(byte[] bytes) {
+        if (USE_REFLECTION) {
+            // signatures never contain NUL, so a trailing one marks the UTF-16 representation
+            if (bytes.length % 2 == 1 && bytes[bytes.length - 1] == 0) {
+                return new String(bytes, 0, bytes.length - 1, ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ?
+                        StandardCharsets.UTF_16BE : StandardCharsets.UTF_16LE);
+            }
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.internal.ObjectMappers;
+import org.openrewrite.java.internal.rpc.JavaTypeReceiver;
+import org.openrewrite.java.internal.rpc.JavaTypeSender;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.rpc.RpcObjectData;
+import org.openrewrite.rpc.RpcReceiveQueue;
+import org.openrewrite.rpc.RpcSendQueue;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static org.openrewrite.rpc.Reference.asRef;
+
+/**
+ * Persists the types in a {@link JavaTypeCache} to a compact binary file, so that a later parser working
+ * against the same classpath can start with those types already mapped rather than mapping them again.
+ * <p>
+ * A snapshot is written with a key, typically from {@link #classpathKey(Collection)}, and is only
+ * loaded again for the same key. Types are encoded with the same codecs that send them over Rewrite RPC,
+ * so types shared by several cache entries remain shared after loading.
+ * <p>
+ * Types declared by the sources that were parsed change from one run to the next, so they must be named
+ * when writing a snapshot. Those types, and any other type that refers to them (e.g. {@code List<MyType>}),
+ * are left out of the snapshot. So are methods with a parameter whose name is unknown, such as the synthetic
+ * parameters of constructors mapped by reflection, which the RPC codecs can't encode, and the types that refer
+ * to them.
+ */
+public class JavaTypeCacheSnapshot {
+    private static final int MAGIC = 0x52575443; // "RWTC"
+    private static final int VERSION = 1;
+
+    private static final ObjectMapper MAPPER = ObjectMappers.rpcSmileMapper();
+
+    private static final TypeReference<List<RpcObjectData>> RPC_OBJECT_DATA_LIST = new TypeReference<List<RpcObjectData>>() {
+    };
+
+    private JavaTypeCacheSnapshot() {
+    }
+
+    /**
+     * @param classpath The classpath that types were mapped from.
+     * @return A key that changes whenever the path, size or modification time of any classpath entry, or the
+     * running JDK, changes. Entries are not read, so computing a key is cheap even for a large classpath.
+     */
+    public static String classpathKey(Collection<Path> classpath) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(System.getProperty("java.version", "").getBytes(UTF_8));
+            for (Path entry : classpath) {
+                StringBuilder entryKey = new StringBuilder().append('|').append(entry);
+                if (Files.exists(entry)) {
+                    BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    entryKey.append(':').append(attributes.size())
+                            .append(':').append(attributes.lastModifiedTime().toMillis());
+                }
+                digest.update(entryKey.toString().getBytes(UTF_8));
+            }
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param typeCache     The cache to persist.
+     * @param key           The key that {@link #read(Path, String, JavaTypeCache)} must be called with to load the snapshot.
+     * @param declaredTypes The fully qualified names of types declared by the parsed sources, which are excluded
+     *                      from the snapshot along with every type that refers to them.
+     * @param file          The file to write, which is replaced atomically where the file system allows.
+     * @return The number of cache entries written.
+     */
+    public static int write(JavaTypeCache typeCache, String key, Set<String> declaredTypes, Path file) {
+        List<String> signatures = new ArrayList<>();
+        List<JavaType> types = new ArrayList<>();
+        typeCache.forEach((signature, o) -> {
+            if (o instanceof JavaType && !(o instanceof JavaType.Unknown)) {
+                signatures.add(signature);
+                types.add((JavaType) o);
+            }
+        });
+
+        Set<JavaType> excluded = referringTo(types, declaredTypes);
+
+        List<RpcObjectData> data = new ArrayList<>();
+        RpcSendQueue q = new RpcSendQueue(1000, data::addAll, new IdentityHashMap<>(),
+                J.CompilationUnit.class.getName(), false);
+        JavaTypeSender sender = new JavaTypeSender();
+        List<String> written = new ArrayList<>(signatures.size());
+        for (int i = 0; i < types.size(); i++) {
+            JavaType type = types.get(i);
+            if (!excluded.contains(type)) {
+                written.add(signatures.get(i));
+                q.send(asRef(type), null, () -> sender.visit(type, q));
+            }
+        }
+        q.flush();
+
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(key);
+                out.writeInt(written.size());
+                for (String signature : written) {
+                    byte[] bytes = signature.getBytes(UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+                out.write(MAPPER.writeValueAsBytes(data));
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written.size();
+    }
+
+    /**
+     * Load a snapshot into a type cache, overwriting any types it already has for the same signatures. A
+     * {@link ConcurrentJavaTypeCache} keeps the types it has already published instead.
+     *
+     * @param file      The snapshot file.
+     * @param key       The key the snapshot must have been written with.
+     * @param typeCache The cache to load the types into.
+     * @return {@code true} if the snapshot exists, was written with this key and was loaded.
+     */
+    public static boolean read(Path file, String key, JavaTypeCache typeCache) {
+        return read(file, key, typeCache, null);
+    }
+
+    /**
+     * @param classpath The classpath of the parsers that the types are for, which a {@link ConcurrentJavaTypeCache}
+     *                  shares the types with.
+     * @see #read(Path, String, JavaTypeCache)
+     */
+    public static boolean read(Path file, String key, JavaTypeCache typeCache, @Nullable Collection<Path> classpath) {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        // every type is received onto the heap, so the snapshot is streamed once rather than memory-mapped
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !key.equals(in.readUTF())) {
+                return false;
+            }
+            int count = in.readInt();
+            List<String> signatures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                signatures.add(new String(bytes, UTF_8));
+            }
+            List<RpcObjectData> data = MAPPER.readValue((InputStream) in, RPC_OBJECT_DATA_LIST);
+
+            List<List<RpcObjectData>> batches = new ArrayList<>(1);
+            batches.add(data);
+            RpcReceiveQueue q = new RpcReceiveQueue(new HashMap<>(),
+                    () -> batches.isEmpty() ? emptyList() : batches.remove(0),
+                    J.CompilationUnit.class.getName(), null);
+            JavaTypeReceiver receiver = new JavaTypeReceiver();
+            // a shared cache only makes types visible to other threads once all of them are received
+            JavaTypeCache target = typeCache instanceof ConcurrentJavaTypeCache ?
+                    ((ConcurrentJavaTypeCache) typeCache).forParse(classpath, emptySet()) : typeCache;
+            for (String signature : signatures) {
+                JavaType type = q.receive(null, t -> receiver.visit(t, q));
+                target.put(signature, type);
+            }
+            if (target instanceof ConcurrentJavaTypeCache.Parse) {
+                ((ConcurrentJavaTypeCache.Parse) target).publish();
+            }
+            return true;
+        } catch (EOFException e) {
+            // a truncated snapshot is as good as none
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return Every type among {@code types} and the types they reach that is declared in
+     * {@code declaredTypes} or that can't be encoded, or that refers to such a type, directly or transitively.
+     */
+    private static Set<JavaType> referringTo(List<JavaType> types, Set<String> declaredTypes) {
+        Set<JavaType> tainted = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        Map<JavaType, List<JavaType>> referrers = new IdentityHashMap<>();
+        Deque<JavaType> toVisit = new ArrayDeque<>(types);
+        Set<JavaType> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<JavaType> taint = new ArrayDeque<>();
+        while (!toVisit.isEmpty()) {
+            JavaType type = toVisit.pop();
+            if (!visited.add(type)) {
+                continue;
+            }
+            if (type instanceof JavaType.Class && declaredTypes.contains(((JavaType.Class) type).getFullyQualifiedName()) ||
+                type instanceof JavaType.Method && ((JavaType.Method) type).getParameterNames().contains(null)) {
+                taint.add(type);
+            }
+            for (JavaType referenced : references(type)) {
+                referrers.computeIfAbsent(referenced, k -> new ArrayList<>()).add(type);
+                toVisit.push(referenced);
+            }
+        }
+
+        while (!taint.isEmpty()) {
+            JavaType type = taint.pop();
+            if (tainted.add(type)) {
+                taint.addAll(referrers.getOrDefault(type, emptyList()));
+            }
+        }
+        return tainted;
+    }
+
+    private static List<JavaType> references(JavaType type) {
+        List<JavaType> references = new ArrayList<>();
+        if (type instanceof JavaType.Class) {
+            JavaType.Class c = (JavaType.Class) type;
+            references.addAll(c.getTypeParameters());
+            addIfNotNull(references, c.getSupertype());
+            addIfNotNull(references, c.getOwningClass());
+            references.addAll(c.getAnnotations());
+            references.addAll(c.getInterfaces());
+            references.addAll(c.getMembers());
+            references.addAll(c.getMethods());
+        } else if (type instanceof JavaType.Parameterized) {
+            JavaType.Parameterized p = (JavaType.Parameterized) type;
+            addIfNotNull(references, p.getType());
+            references.addAll(p.getTypeParameters());
+        } else if (type instanceof JavaType.GenericTypeVariable) {
+            references.addAll(((JavaType.GenericTypeVariable) type).getBounds());
+        } else if (type instanceof JavaType.Array) {
+            addIfNotNull(references, ((JavaType.Array) type).getElemType());
+        } else if (type instanceof JavaType.Method) {
+            JavaType.Method m = (JavaType.Method) type;
+            addIfNotNull(references, m.getDeclaringType());
+            addIfNotNull(references, m.getReturnType());
+            references.addAll(m.getParameterTypes());
+            references.addAll(m.getThrownExceptions());
+            references.addAll(m.getAnnotations());
+        } else if (type instanceof JavaType.Variable) {
+            JavaType.Variable v = (JavaType.Variable) type;
+            addIfNotNull(references, v.getOwner());
+            addIfNotNull(references, v.getType());
+            references.addAll(v.getAnnotations());
+        } else if (type instanceof JavaType.Annotation) {
+            addIfNotNull(references, ((JavaType.Annotation) type).getType());
+        } else if (type instanceof JavaType.MultiCatch) {
+            references.addAll(((JavaType.MultiCatch) type).getThrowableTypes());
+        } else if (type instanceof JavaType.Intersection) {
+            references.addAll(((JavaType.Intersection) type).getBounds());
+        }
+        return references;
+    }
+
+    private static void addIfNotNull(List<JavaType> references, @Nullable JavaType type) {
+        if (type != null) {
+            references.add(type);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.tree.ParseError;
+import org.openrewrite.tree.ParsingEventListener;
+import org.openrewrite.tree.ParsingExecutionContextView;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.openrewrite.java.internal.ConcurrentJavaTypeCache.publishMappedTypes;
+
+/**
+ * Attributes and maps compilation units one at a time on the calling thread, while the check that each mapped
+ * source file prints back to its input runs on an executor, overlapping with the attribution and mapping of the
+ * compilation units that follow it. Parsed source files are returned lazily and in input order.
+ * <p>
+ * Shared by the Java 17 and later parsers. A javac context is not thread-safe, so only the print check leaves
+ * the calling thread.
+ */
+public class ParsePipeline {
+    private ParsePipeline() {
+    }
+
+    /**
+     * @param parser           The parser that the source files are parsed by.
+     * @param compilationUnits Each input with its compiler tree, in input order.
+     * @param parseTypeCache   The type cache of the parse, whose types are published once each compilation unit
+     *                         is completely mapped.
+     * @param map              Attributes and maps one compilation unit.
+     * @param onComplete       Called once every compilation unit is mapped, for example to attribute whatever
+     *                         remains on the compiler's todo list.
+     * @param <T>              The type of compiler tree.
+     * @return The parsed source files.
+     */
+    public static <T> Stream<SourceFile> parse(Parser parser,
+                                               Iterator<Map.Entry<Parser.Input, T>> compilationUnits,
+                                               JavaTypeCache parseTypeCache,
+                                               @Nullable Path relativeTo,
+                                               ExecutionContext ctx,
+                                               ExecutorService executor,
+                                               Function<Map.Entry<Parser.Input, T>, SourceFile> map,
+                                               Runnable onComplete) {
+        ParsingEventListener parsingListener = ParsingExecutionContextView.view(ctx).getParsingListener();
+        Deque<CompletableFuture<SourceFile>> inFlight = new ArrayDeque<>();
+        int maxInFlight = Math.max(1, Runtime.getRuntime().availableProcessors());
+        Iterator<SourceFile> parsed = new Iterator<SourceFile>() {
+            boolean completed;
+
+            @Override
+            public boolean hasNext() {
+                if (inFlight.isEmpty() && !compilationUnits.hasNext()) {
+                    if (!completed) {
+                        completed = true;
+                        onComplete.run();
+                    }
+                    return false;
+                }
+                return true;
+            }
+
+            @Override
+            public SourceFile next() {
+                while (inFlight.size() < maxInFlight && compilationUnits.hasNext()) {
+                    inFlight.add(mapAndCheck(compilationUnits.next()));
+                }
+                if (inFlight.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                return inFlight.remove().join();
+            }
+
+            private CompletableFuture<SourceFile> mapAndCheck(Map.Entry<Parser.Input, T> compilationUnit) {
+                Parser.Input input = compilationUnit.getKey();
+                parsingListener.startedParsing(input);
+                try {
+                    SourceFile sourceFile = map.apply(compilationUnit);
+                    publishMappedTypes(parseTypeCache, true);
+                    parsingListener.parsed(input, sourceFile);
+                    return CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return parser.requirePrintEqualsInput(sourceFile, input, relativeTo, ctx);
+                        } catch (Throwable t) {
+                            ctx.getOnError().accept(t);
+                            return ParseError.build(parser, input, relativeTo, ctx, t);
+                        }
+                    }, executor);
+                } catch (Throwable t) {
+                    publishMappedTypes(parseTypeCache, false);
+                    ctx.getOnError().accept(t);
+                    return CompletableFuture.completedFuture(ParseError.build(parser, input, relativeTo, ctx, t));
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(parsed, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static java.util.Collections.newSetFromMap;
+
+/**
+ * An index of the names of the types and methods that each source file uses, shared by every
+ * recipe that runs with the same {@link ExecutionContext}.
+ * <p>
+ * {@link org.openrewrite.java.search.UsesType} and {@link org.openrewrite.java.search.UsesMethod}
+ * are often used as preconditions by hundreds of recipes in the same run, and each of them
+ * would otherwise walk {@link JavaSourceFile#getTypesInUse()} and the type hierarchy of every
+ * type in it. This index does that once for each version of a source file, and answers
+ * whether a source file could possibly use a type or method from the names it collected.
+ * A source file is indexed the first time it is asked about, and indexed again when it is
+ * asked about after an edit has replaced it with a new tree.
+ * <p>
+ * Answers err on the side of "maybe", so that a {@code false} is always safe to act on,
+ * while a {@code true} still has to be confirmed against the types themselves.
+ */
+public class TypeUsageIndex {
+    private static final String KEY = TypeUsageIndex.class.getName();
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public static TypeUsageIndex getInstance(ExecutionContext ctx) {
+        return ctx.computeMessageIfAbsent(KEY, k -> new TypeUsageIndex());
+    }
+
+    /**
+     * @param cu                A source file.
+     * @param fullyQualifiedType A fully qualified type name, without wildcards.
+     * @param includeImplicit   Whether to consider types that only appear in the signatures of methods
+     *                          that the source file calls.
+     * @return {@code false} if no type that the source file uses, imports or (optionally) implicitly
+     * refers to is, or is a subtype of, the given type.
+     */
+    public boolean mayUseType(JavaSourceFile cu, String fullyQualifiedType, boolean includeImplicit) {
+        if (fullyQualifiedType.indexOf('<') >= 0 ||
+            "java.lang.Object".equals(fullyQualifiedType) ||
+            "java.lang.String".equals(fullyQualifiedType) ||
+            JavaType.Primitive.fromKeyword(fullyQualifiedType) != null) {
+            // assignability to these is not decided by names alone
+            return true;
+        }
+        Entry entry = entry(cu);
+        String name = normalize(fullyQualifiedType);
+        return entry.types.contains(name) || includeImplicit && entry.implicitTypes.contains(name);
+    }
+
+    /**
+     * @param cu              A source file.
+     * @param typeNamePattern A test on the fully qualified name of a type or the keyword of a primitive.
+     * @param includeImplicit Whether to consider types that only appear in the signatures of methods
+     *                        that the source file calls.
+     * @return {@code false} if the name of no type that the source file uses, imports or (optionally)
+     * implicitly refers to, nor of any of their supertypes, passes the test.
+     */
+    public boolean mayUseType(JavaSourceFile cu, Predicate<String> typeNamePattern, boolean includeImplicit) {
+        Entry entry = entry(cu);
+        for (String name : entry.typeNames) {
+            if (typeNamePattern.test(name)) {
+                return true;
+            }
+        }
+        if (includeImplicit) {
+            for (String name : entry.implicitTypeNames) {
+                if (typeNamePattern.test(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param cu                A source file.
+     * @param methodNamePattern A test on the name of a method.
+     * @return {@code false} if the source file calls no method whose name passes the test.
+     */
+    public boolean mayUseMethod(JavaSourceFile cu, Predicate<String> methodNamePattern) {
+        for (String name : entry(cu).methodNames) {
+            if (methodNamePattern.test(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Entry entry(JavaSourceFile cu) {
+        Entry entry = entries.get(cu.getId());
+        if (entry != null && entry.tree.get() == cu) {
+            return entry;
+        }
+        return entries.compute(cu.getId(), (id, existing) ->
+                existing != null && existing.tree.get() == cu ? existing : new Entry(cu));
+    }
+
+    /**
+     * Inner classes are spelled with either a {@code $} or a {@code .}, and
+     * {@link TypeUtils#fullyQualifiedNamesAreEqual(String, String)} treats them the same.
+     */
+    private static String normalize(String fullyQualifiedType) {
+        return fullyQualifiedType.replace('$', '.');
+    }
+
+    private static class Entry {
+        /**
+         * Held weakly, so that the index never keeps a tree alive that has since been edited.
+         */
+        final WeakReference<JavaSourceFile> tree;
+
+        /**
+         * The names of the types the source file uses or imports, and of their supertypes, as spelled by
+         * {@link JavaType.FullyQualified#getFullyQualifiedName()} or {@link JavaType.Primitive#getKeyword()}.
+         */
+        final Set<String> typeNames = new HashSet<>();
+
+        /**
+         * The names of the types in the signatures of the methods the source file calls, and of their
+         * supertypes, that are not already in {@link #typeNames}.
+         */
+        final Set<String> implicitTypeNames = new HashSet<>();
+
+        final Set<String> types = new HashSet<>();
+        final Set<String> implicitTypes = new HashSet<>();
+        final Set<String> methodNames = new HashSet<>();
+
+        Entry(JavaSourceFile cu) {
+            this.tree = new WeakReference<>(cu);
+
+            TypesInUse typesInUse = cu.getTypesInUse();
+            Set<JavaType> visited = newSetFromMap(new IdentityHashMap<>());
+            for (JavaType type : typesInUse.getTypesInUse()) {
+                collect(type instanceof JavaType.Primitive ? type : TypeUtils.asFullyQualified(type), typeNames, visited);
+            }
+            for (J.Import anImport : cu.getImports()) {
+                collect(TypeUtils.asFullyQualified(anImport.isStatic() ?
+                        anImport.getQualid().getTarget().getType() :
+                        anImport.getQualid().getType()), typeNames, visited);
+            }
+            for (JavaType.Method method : typesInUse.getUsedMethods()) {
+                methodNames.add(method.getName());
+                collect(method.getDeclaringType(), implicitTypeNames, visited);
+                collect(method.getReturnType(), implicitTypeNames, visited);
+                for (JavaType parameterType : method.getParameterTypes()) {
+                    collect(parameterType, implicitTypeNames, visited);
+                }
+            }
+
+            for (String name : typeNames) {
+                types.add(normalize(name));
+            }
+            for (String name : implicitTypeNames) {
+                implicitTypes.add(normalize(name));
+            }
+        }
+
+        /**
+         * Follows the same edges as {@link TypeUtils#isAssignableTo(String, JavaType)}.
+         */
+        private static void collect(@Nullable JavaType type, Set<String> names, Set<JavaType> visited) {
+            if (type == null || !visited.add(type)) {
+                return;
+            }
+            if (type instanceof JavaType.FullyQualified) {
+                JavaType.FullyQualified fq = (JavaType.FullyQualified) type;
+                names.add(fq.getFullyQualifiedName());
+                collect(fq.getSupertype(), names, visited);
+                for (JavaType.FullyQualified anInterface : fq.getInterfaces()) {
+                    collect(anInterface, names, visited);
+                }
+            } else if (type instanceof JavaType.Primitive) {
+                names.add(((JavaType.Primitive) type).getKeyword());
+            } else if (type instanceof JavaType.GenericTypeVariable) {
+                for (JavaType bound : ((JavaType.GenericTypeVariable) type).getBounds()) {
+                    collect(bound, names, visited);
+                }
+            } else if (type instanceof JavaType.Intersection) {
+                for (JavaType bound : ((JavaType.Intersection) type).getBounds()) {
+                    collect(bound, names, visited);
+                }
+            } else if (type instanceof JavaType.Variable) {
+                collect(((JavaType.Variable) type).getType(), names, visited);
+            } else if (type instanceof JavaType.Method) {
+                collect(((JavaType.Method) type).getReturnType(), names, visited);
+            }
+        }
+    }
+}
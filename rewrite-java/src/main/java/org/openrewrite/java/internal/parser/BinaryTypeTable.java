@@ -0,0 +1,432 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal.parser;
+
+import org.jspecify.annotations.Nullable;
+import org.objectweb.asm.ClassWriter;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static org.objectweb.asm.ClassWriter.COMPUTE_MAXS;
+
+/**
+ * A {@link TypeTable} in an indexed binary format, read through a memory mapped file so that the
+ * stub classes of one artifact, or one class, can be produced without inflating and parsing the
+ * whole TSV. Use {@link #convert(InputStream, OutputStream)} to produce one from a TSV type table.
+ * <p>
+ * The file consists of:
+ * <ul>
+ *     <li>A header: magic number, format version, and the number of strings, artifacts, classes and members.</li>
+ *     <li>The string pool offsets, one per string plus the end of the last string.</li>
+ *     <li>The artifacts: groupId, artifactId and version, followed by the index and number of their classes.</li>
+ *     <li>The classes, sorted by name within each artifact: the class columns of the TSV,
+ *     followed by the index and number of their members.</li>
+ *     <li>The members: the member columns of the TSV.</li>
+ *     <li>The UTF-8 encoded strings.</li>
+ * </ul>
+ * Columns are stored as indices into the string pool and every record has a fixed size, so any artifact,
+ * class or member is located by offset arithmetic alone.
+ */
+public class BinaryTypeTable {
+    public static final String DEFAULT_RESOURCE_PATH = "META-INF/rewrite/classpath.tt";
+
+    private static final int MAGIC = 0x52575454; // "RWTT"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 6 * 4;
+
+    private static final int TSV_COLUMNS = 18;
+
+    /**
+     * classAccess, className, classSignature, classSuperclassSignature, classSuperinterfaceSignatures,
+     * elementAnnotations and constantValue of the first row of each class.
+     */
+    private static final int[] CLASS_COLUMNS = {3, 4, 5, 6, 7, 14, 17};
+
+    /**
+     * access through constantValue.
+     */
+    private static final int[] MEMBER_COLUMNS = {8, 9, 10, 11, 12, 13, 14, 15, 16, 17};
+
+    private static final int ARTIFACT_RECORD_SIZE = 5 * 4;
+    private static final int CLASS_RECORD_SIZE = (CLASS_COLUMNS.length + 2) * 4;
+    private static final int MEMBER_RECORD_SIZE = MEMBER_COLUMNS.length * 4;
+
+    private final ByteBuffer buffer;
+    private final int artifactCount;
+    private final int stringOffsetsStart;
+    private final int artifactsStart;
+    private final int classesStart;
+    private final int membersStart;
+    private final int stringsStart;
+
+    BinaryTypeTable(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a binary type table");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported binary type table version " + buffer.getInt(4));
+        }
+        int stringCount = buffer.getInt(8);
+        this.artifactCount = buffer.getInt(12);
+        int classCount = buffer.getInt(16);
+        int memberCount = buffer.getInt(20);
+
+        this.stringOffsetsStart = HEADER_SIZE;
+        this.artifactsStart = stringOffsetsStart + (stringCount + 1) * 4;
+        this.classesStart = artifactsStart + artifactCount * ARTIFACT_RECORD_SIZE;
+        this.membersStart = classesStart + classCount * CLASS_RECORD_SIZE;
+        this.stringsStart = membersStart + memberCount * MEMBER_RECORD_SIZE;
+    }
+
+    /**
+     * Map a binary type table file into memory. The file must not be modified while the table is in use.
+     */
+    public static BinaryTypeTable open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new BinaryTypeTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @return The artifacts in this table as {@code artifactId-version}, which is what the artifact
+     * names passed to {@link org.openrewrite.java.JavaParser.Builder#classpathFromResources} are matched against.
+     */
+    public List<String> availableArtifacts() {
+        List<String> available = new ArrayList<>(artifactCount);
+        for (int artifact = 0; artifact < artifactCount; artifact++) {
+            available.add(artifactVersion(artifact));
+        }
+        return available;
+    }
+
+    /**
+     * @param artifactMatcher A predicate on {@code artifactId-version}.
+     * @return The indices of the matching artifacts.
+     */
+    public List<Integer> artifacts(Predicate<String> artifactMatcher) {
+        List<Integer> matching = new ArrayList<>();
+        for (int artifact = 0; artifact < artifactCount; artifact++) {
+            if (artifactMatcher.test(artifactVersion(artifact))) {
+                matching.add(artifact);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * @return The internal names of the classes of an artifact, in sorted order.
+     */
+    public List<String> classNames(int artifact) {
+        int first = firstClass(artifact);
+        int count = classCount(artifact);
+        List<String> classNames = new ArrayList<>(count);
+        for (int cls = first; cls < first + count; cls++) {
+            classNames.add(className(cls));
+        }
+        return classNames;
+    }
+
+    /**
+     * Produce the stub class file for one class of an artifact, as {@link TypeTable} would write it to disk.
+     *
+     * @param artifact  The index of the artifact.
+     * @param className The internal name of the class, for example {@code java/util/Map$Entry}.
+     * @return The class file bytes, or {@code null} if the artifact has no such class.
+     */
+    public byte @Nullable [] classBytes(int artifact, String className) {
+        int first = firstClass(artifact);
+        int end = first + classCount(artifact);
+        int cls = findClass(first, end, className);
+        if (cls < 0) {
+            return null;
+        }
+
+        Map<String, TypeTable.ClassDefinition> classes = new HashMap<>();
+        Map<String, List<TypeTable.ClassDefinition>> nestedTypesByOwner = new HashMap<>();
+        String[] fields = newRow();
+        addRows(cls, true, fields, classes, nestedTypesByOwner);
+
+        // Classes are sorted by name, so the nested types of a class immediately follow it
+        String nestedPrefix = className + '$';
+        for (int nested = cls + 1; nested < end; nested++) {
+            String nestedName = className(nested);
+            if (!nestedName.startsWith(nestedPrefix)) {
+                break;
+            }
+            if (nestedName.lastIndexOf('$') == className.length()) {
+                addRows(nested, false, fields, classes, nestedTypesByOwner);
+            }
+        }
+
+        ClassWriter cw = new ClassWriter(COMPUTE_MAXS);
+        TypeTable.Reader.processClass(classes.get(className),
+                nestedTypesByOwner.getOrDefault(className, emptyList()), cw);
+        return cw.toByteArray();
+    }
+
+    /**
+     * Feed every class of each matching artifact to the processor, as
+     * {@link TypeTable.Reader#parseTsvAndProcess(InputStream, TypeTable.Reader.Options, TypeTable.Reader.ClassesProcessor)}
+     * does for a TSV type table.
+     */
+    void process(TypeTable.Reader.Options options, TypeTable.Reader.ClassesProcessor processor) {
+        String[] fields = newRow();
+        for (int artifact : artifacts(options.getArtifactMatcher())) {
+            Map<String, TypeTable.ClassDefinition> classes = new HashMap<>();
+            Map<String, List<TypeTable.ClassDefinition>> nestedTypesByOwner = new HashMap<>();
+            int first = firstClass(artifact);
+            for (int cls = first; cls < first + classCount(artifact); cls++) {
+                addRows(cls, true, fields, classes, nestedTypesByOwner);
+            }
+            int record = artifactsStart + artifact * ARTIFACT_RECORD_SIZE;
+            processor.accept(new TypeTable.GroupArtifactVersion(
+                    string(buffer.getInt(record)),
+                    string(buffer.getInt(record + 4)),
+                    string(buffer.getInt(record + 8))
+            ), classes, nestedTypesByOwner);
+        }
+    }
+
+    /**
+     * Replay the TSV rows of a class through {@link TypeTable.Reader#addRow}, so that the
+     * class definitions are identical to those read from the TSV type table.
+     */
+    private void addRows(int cls, boolean withMembers, String[] fields,
+                         Map<String, TypeTable.ClassDefinition> classes,
+                         Map<String, List<TypeTable.ClassDefinition>> nestedTypesByOwner) {
+        int record = classesStart + cls * CLASS_RECORD_SIZE;
+        for (int i = 0; i < CLASS_COLUMNS.length; i++) {
+            fields[CLASS_COLUMNS[i]] = string(buffer.getInt(record + i * 4));
+        }
+        for (int column : MEMBER_COLUMNS) {
+            if (column != 14 && column != 17) {
+                fields[column] = "";
+            }
+        }
+        fields[8] = "-1";
+        TypeTable.Reader.addRow(fields, classes, nestedTypesByOwner);
+
+        if (withMembers) {
+            int firstMember = buffer.getInt(record + CLASS_COLUMNS.length * 4);
+            int memberCount = buffer.getInt(record + (CLASS_COLUMNS.length + 1) * 4);
+            for (int member = firstMember; member < firstMember + memberCount; member++) {
+                int memberRecord = membersStart + member * MEMBER_RECORD_SIZE;
+                for (int i = 0; i < MEMBER_COLUMNS.length; i++) {
+                    fields[MEMBER_COLUMNS[i]] = string(buffer.getInt(memberRecord + i * 4));
+                }
+                TypeTable.Reader.addRow(fields, classes, nestedTypesByOwner);
+            }
+        }
+    }
+
+    private int findClass(int first, int end, String className) {
+        int low = first;
+        int high = end - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = className(mid).compareTo(className);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private String artifactVersion(int artifact) {
+        int record = artifactsStart + artifact * ARTIFACT_RECORD_SIZE;
+        return string(buffer.getInt(record + 4)) + "-" + string(buffer.getInt(record + 8));
+    }
+
+    private int firstClass(int artifact) {
+        return buffer.getInt(artifactsStart + artifact * ARTIFACT_RECORD_SIZE + 12);
+    }
+
+    private int classCount(int artifact) {
+        return buffer.getInt(artifactsStart + artifact * ARTIFACT_RECORD_SIZE + 16);
+    }
+
+    private String className(int cls) {
+        return string(buffer.getInt(classesStart + cls * CLASS_RECORD_SIZE + 4));
+    }
+
+    private String string(int index) {
+        int start = buffer.getInt(stringOffsetsStart + index * 4);
+        int end = buffer.getInt(stringOffsetsStart + (index + 1) * 4);
+        byte[] bytes = new byte[end - start];
+        // a duplicate has its own position, so concurrent reads don't interfere with one another
+        ByteBuffer view = buffer.duplicate();
+        view.position(stringsStart + start);
+        view.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static String[] newRow() {
+        String[] fields = new String[TSV_COLUMNS];
+        Arrays.fill(fields, "");
+        return fields;
+    }
+
+    /**
+     * Convert a gzipped TSV type table file to a binary type table file.
+     */
+    public static void convert(Path typeTableTsvGz, Path binaryTypeTable) throws IOException {
+        try (InputStream is = Files.newInputStream(typeTableTsvGz);
+             InputStream inflate = new GZIPInputStream(is);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(binaryTypeTable))) {
+            convert(inflate, out);
+        }
+    }
+
+    /**
+     * Convert a TSV type table to the binary format.
+     *
+     * @param tsv The uncompressed TSV, including its header row.
+     * @param out Where the binary type table is written. It is not closed.
+     */
+    public static void convert(InputStream tsv, OutputStream out) throws IOException {
+        StringPool strings = new StringPool();
+        Map<List<String>, Map<String, ClassRows>> classesByArtifact = new LinkedHashMap<>();
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(tsv, UTF_8));
+        in.readLine(); // header
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            String[] fields = Arrays.copyOf(line.split("\t", -1), TSV_COLUMNS);
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] == null) {
+                    fields[i] = "";
+                }
+            }
+
+            Map<String, ClassRows> classes = classesByArtifact.computeIfAbsent(
+                    Arrays.asList(fields[0], fields[1], fields[2]), gav -> {
+                        // every string must be pooled before the string offsets are written
+                        gav.forEach(strings::index);
+                        return new HashMap<>();
+                    });
+            ClassRows classRows = classes.computeIfAbsent(fields[4], name -> new ClassRows(strings.indices(fields, CLASS_COLUMNS)));
+            if (Integer.parseInt(fields[8]) != -1) {
+                classRows.members.add(strings.indices(fields, MEMBER_COLUMNS));
+            }
+        }
+
+        int classCount = 0;
+        int memberCount = 0;
+        for (Map<String, ClassRows> classes : classesByArtifact.values()) {
+            classCount += classes.size();
+            for (ClassRows classRows : classes.values()) {
+                memberCount += classRows.members.size();
+            }
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeInt(strings.size());
+        data.writeInt(classesByArtifact.size());
+        data.writeInt(classCount);
+        data.writeInt(memberCount);
+
+        int offset = 0;
+        for (byte[] string : strings.encoded) {
+            data.writeInt(offset);
+            offset += string.length;
+        }
+        data.writeInt(offset);
+
+        List<ClassRows> sortedClasses = new ArrayList<>(classCount);
+        int firstClass = 0;
+        for (Map.Entry<List<String>, Map<String, ClassRows>> artifact : classesByArtifact.entrySet()) {
+            for (String field : artifact.getKey()) {
+                data.writeInt(strings.index(field));
+            }
+            data.writeInt(firstClass);
+            data.writeInt(artifact.getValue().size());
+            firstClass += artifact.getValue().size();
+            new TreeMap<>(artifact.getValue()).values().forEach(sortedClasses::add);
+        }
+
+        int firstMember = 0;
+        for (ClassRows classRows : sortedClasses) {
+            for (int index : classRows.columns) {
+                data.writeInt(index);
+            }
+            data.writeInt(firstMember);
+            data.writeInt(classRows.members.size());
+            firstMember += classRows.members.size();
+        }
+
+        for (ClassRows classRows : sortedClasses) {
+            for (int[] member : classRows.members) {
+                for (int index : member) {
+                    data.writeInt(index);
+                }
+            }
+        }
+
+        for (byte[] string : strings.encoded) {
+            data.write(string);
+        }
+        data.flush();
+    }
+
+    private static class ClassRows {
+        final int[] columns;
+        final List<int[]> members = new ArrayList<>();
+
+        ClassRows(int[] columns) {
+            this.columns = columns;
+        }
+    }
+
+    private static class StringPool {
+        final Map<String, Integer> indices = new HashMap<>();
+        final List<byte[]> encoded = new ArrayList<>();
+
+        int index(String s) {
+            return indices.computeIfAbsent(s, k -> {
+                encoded.add(k.getBytes(UTF_8));
+                return encoded.size() - 1;
+            });
+        }
+
+        int[] indices(String[] fields, int[] columns) {
+            int[] indices = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                indices[i] = index(fields[columns[i]]);
+            }
+            return indices;
+        }
+
+        int size() {
+            return encoded.size();
+        }
+    }
+}
@@ -20,14 +20,16 @@
 import org.jspecify.annotations.Nullable;
 import org.objectweb.asm.*;
 import org.objectweb.asm.util.CheckClassAdapter;
+import org.openrewrite.Checksum;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Incubating;
 import org.openrewrite.java.JavaParserExecutionContextView;
 
 import java.io.*;
+import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.net.URLConnection;
+import java.nio.file.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -42,6 +44,7 @@
 import java.util.zip.InflaterInputStream;
 import java.util.zip.ZipException;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.sort;
 import static java.util.Objects.requireNonNull;
@@ -84,6 +87,9 @@
  * <p>
  * To read a compressed type table file (which is compressed with gzip), the following command can be used:
  * <code>gzcat types.tsv.gz</code>.
+ * <p>
+ * A type table may also be published in the indexed {@link BinaryTypeTable} format at {@link BinaryTypeTable#DEFAULT_RESOURCE_PATH},
+ * in which case only the rows of the requested artifacts are read. Binary type tables are preferred when both are present.
  */
 @Incubating(since = "8.44.0")
 @Value
@@ -100,28 +106,66 @@ public class TypeTable implements JavaParserClasspathLoader {
     private static final Map<GroupArtifactVersion, CompletableFuture<Path>> classesDirByArtifact = new ConcurrentHashMap<>();
 
     public static @Nullable TypeTable fromClasspath(ExecutionContext ctx, Collection<String> artifactNames) {
+        Set<URL> resources = callerResources(BinaryTypeTable.DEFAULT_RESOURCE_PATH, DEFAULT_RESOURCE_PATH);
+        if (!resources.isEmpty()) {
+            return new TypeTable(ctx, new Vector<>(resources).elements(), artifactNames);
+        }
+        return null;
+    }
+
+    /**
+     * Find artifacts in the binary type tables on the classpath. Unlike {@link #fromClasspath(ExecutionContext, Collection)},
+     * no classes directories are written, as parsers read the classes of these artifacts from the tables directly.
+     *
+     * @param artifactNames Artifact name prefixes to find. Those that are found are removed.
+     * @return The classes of the found artifacts, one entry for each binary type table they were found in.
+     */
+    public static List<TypeTableClasspath> fromBinaryTypeTables(ExecutionContext ctx, Collection<String> artifactNames) {
+        List<TypeTableClasspath> classpath = new ArrayList<>();
+        for (URL url : callerResources(BinaryTypeTable.DEFAULT_RESOURCE_PATH)) {
+            if (artifactNames.isEmpty()) {
+                break;
+            }
+            BinaryTypeTable table = binaryTypeTable(url, ctx);
+            List<String> found = new ArrayList<>();
+            for (String artifactName : artifactNames) {
+                Pattern artifactPattern = Pattern.compile(artifactName + ".*");
+                if (!table.artifacts(artifactVersion -> artifactPattern.matcher(artifactVersion).matches()).isEmpty()) {
+                    found.add(artifactName);
+                }
+            }
+            if (!found.isEmpty()) {
+                classpath.add(new TypeTableClasspath(table, found));
+                artifactNames.removeAll(found);
+            }
+        }
+        return classpath;
+    }
+
+    /**
+     * Resources visible to the caller of the parser, or to the thread context class loader when that differs.
+     */
+    private static Set<URL> callerResources(String... resourcePaths) {
         try {
             ClassLoader callerClassLoader = findCaller().getClassLoader();
             ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
 
             Set<URL> seen = new LinkedHashSet<>();
-            collectResources(callerClassLoader, DEFAULT_RESOURCE_PATH, seen);
+            collectResources(callerClassLoader, resourcePaths, seen);
             if (contextClassLoader != null && contextClassLoader != callerClassLoader) {
-                collectResources(contextClassLoader, DEFAULT_RESOURCE_PATH, seen);
+                collectResources(contextClassLoader, resourcePaths, seen);
             }
-
-            if (!seen.isEmpty()) {
-                return new TypeTable(ctx, new Vector<>(seen).elements(), artifactNames);
-            }
-            return null;
+            return seen;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
-    private static void collectResources(ClassLoader classLoader, String resourcePath, Set<URL> target) throws IOException {
-        for (Enumeration<URL> e = classLoader.getResources(resourcePath); e.hasMoreElements(); ) {
-            target.add(e.nextElement());
+    private static void collectResources(ClassLoader classLoader, String[] resourcePaths, Set<URL> target) throws IOException {
+        for (String resourcePath : resourcePaths) {
+            for (Enumeration<URL> e = classLoader.getResources(resourcePath); e.hasMoreElements(); ) {
+                target.add(e.nextElement());
+            }
         }
     }
 
@@ -143,6 +187,10 @@ private static void read(URL url, Collection<String> artifactNames, ExecutionCon
         }
 
         Reader.Options options = Reader.Options.builder().artifactPrefixes(artifactNames).build();
+        if (url.getPath().endsWith(".tt")) {
+            new Reader(ctx).read(binaryTypeTable(url, ctx), options);
+            return;
+        }
         try (InputStream is = url.openStream(); InputStream inflate = new GZIPInputStream(is)) {
             new Reader(ctx).read(inflate, options);
         } catch (ZipException e) {
@@ -157,6 +205,38 @@ private static void read(URL url, Collection<String> artifactNames, ExecutionCon
         }
     }
 
+    /**
+     * Binary type tables are memory mapped, so one packaged in a jar is first copied to the
+     * parser classpath download target, once for each version of the jar. The copy on disk is
+     * what is reused, rather than the mapping, which is released once no parser refers to it.
+     */
+    private static BinaryTypeTable binaryTypeTable(URL url, ExecutionContext ctx) {
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return BinaryTypeTable.open(Paths.get(url.toURI()));
+            }
+
+            URLConnection connection = url.openConnection();
+            String version = url + ":" + connection.getContentLengthLong() + ":" + connection.getLastModified();
+            Path binary = getTypeTablesDir(ctx).resolve(Checksum.sha256(version.getBytes(UTF_8)).getHexValue() + ".tt");
+            if (!Files.exists(binary)) {
+                Path temp = Files.createTempFile(binary.getParent(), "classpath", ".tt");
+                try (InputStream is = connection.getInputStream()) {
+                    Files.copy(is, temp, StandardCopyOption.REPLACE_EXISTING);
+                    Files.move(temp, binary, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // copied by a concurrent process in the meantime
+                    Files.deleteIfExists(temp);
+                }
+            }
+            return BinaryTypeTable.open(binary);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     private static Collection<String> artifactsNotYetWritten(Collection<String> artifactNames) {
         Collection<String> notWritten = new ArrayList<>(artifactNames);
         for (String artifactName : artifactNames) {
@@ -280,39 +360,7 @@ public void parseTsvAndProcess(InputStream is, Options options,
                     lastGav.set(rowGav);
 
                     if (matchedGav.get() != null) {
-                        String className = fields[4];
-                        ClassDefinition classDefinition = classesByName.computeIfAbsent(className, name ->
-                                new ClassDefinition(
-                                        Integer.parseInt(fields[3]),
-                                        name,
-                                        fields[5].isEmpty() ? null : fields[5],
-                                        fields[6].isEmpty() ? null : fields[6],
-                                        fields[7].isEmpty() ? null : fields[7].split("\\|"),
-                                        fields.length > 14 && !fields[14].isEmpty() ? fields[14] : null,  // elementAnnotations - raw string (may have | delimiters)
-                                        fields.length > 17 && !fields[17].isEmpty() ? fields[17] : null  // constantValue moved to column 17
-                                ));
-                        int lastIndexOf$ = className.lastIndexOf('$');
-                        if (lastIndexOf$ != -1) {
-                            String ownerName = className.substring(0, lastIndexOf$);
-                            nestedTypesByOwner.computeIfAbsent(ownerName, k -> new ArrayList<>(4))
-                                    .add(classDefinition);
-                        }
-                        int memberAccess = Integer.parseInt(fields[8]);
-                        if (memberAccess != -1) {
-                            classDefinition.addMember(new Member(
-                                    classDefinition,
-                                    memberAccess,
-                                    fields[9],
-                                    fields[10],
-                                    fields[11].isEmpty() ? null : fields[11],
-                                    fields[12].isEmpty() ? null : fields[12].split("\\|"),
-                                    fields[13].isEmpty() ? null : fields[13].split("\\|"),
-                                    fields.length > 14 && !fields[14].isEmpty() ? fields[14] : null,  // elementAnnotations - raw string
-                                    fields.length > 15 && !fields[15].isEmpty() ? fields[15] : null,
-                                    fields.length > 16 && !fields[16].isEmpty() ? TsvEscapeUtils.splitAnnotationList(fields[16], '|') : null,  // typeAnnotations - keep `|` delimiter between different type contexts
-                                    fields.length > 17 && !fields[17].isEmpty() ? fields[17] : null
-                            ));
-                        }
+                        addRow(fields, classesByName, nestedTypesByOwner);
                     }
                 });
             }
@@ -323,6 +371,57 @@ public void parseTsvAndProcess(InputStream is, Options options,
             }
         }
 
+        /**
+         * Read a binary type table, writing classes directories to disk for matching artifacts.
+         * Only the rows of matching artifacts are visited.
+         *
+         * @param table   The binary type table
+         * @param options Options controlling how the type table is read
+         */
+        public void read(BinaryTypeTable table, Options options) {
+            table.process(options, this::writeClassesDir);
+        }
+
+        /**
+         * Add one type table row, split into its columns, to the classes of the artifact being read.
+         */
+        static void addRow(String[] fields, Map<String, ClassDefinition> classesByName,
+                           Map<String, List<ClassDefinition>> nestedTypesByOwner) {
+            String className = fields[4];
+            ClassDefinition classDefinition = classesByName.computeIfAbsent(className, name ->
+                    new ClassDefinition(
+                            Integer.parseInt(fields[3]),
+                            name,
+                            fields[5].isEmpty() ? null : fields[5],
+                            fields[6].isEmpty() ? null : fields[6],
+                            fields[7].isEmpty() ? null : fields[7].split("\\|"),
+                            fields.length > 14 && !fields[14].isEmpty() ? fields[14] : null,  // elementAnnotations - raw string (may have | delimiters)
+                            fields.length > 17 && !fields[17].isEmpty() ? fields[17] : null  // constantValue moved to column 17
+                    ));
+            int lastIndexOf$ = className.lastIndexOf('$');
+            if (lastIndexOf$ != -1) {
+                String ownerName = className.substring(0, lastIndexOf$);
+                nestedTypesByOwner.computeIfAbsent(ownerName, k -> new ArrayList<>(4))
+                        .add(classDefinition);
+            }
+            int memberAccess = Integer.parseInt(fields[8]);
+            if (memberAccess != -1) {
+                classDefinition.addMember(new Member(
+                        classDefinition,
+                        memberAccess,
+                        fields[9],
+                        fields[10],
+                        fields[11].isEmpty() ? null : fields[11],
+                        fields[12].isEmpty() ? null : fields[12].split("\\|"),
+                        fields[13].isEmpty() ? null : fields[13].split("\\|"),
+                        fields.length > 14 && !fields[14].isEmpty() ? fields[14] : null,  // elementAnnotations - raw string
+                        fields.length > 15 && !fields[15].isEmpty() ? fields[15] : null,
+                        fields.length > 16 && !fields[16].isEmpty() ? TsvEscapeUtils.splitAnnotationList(fields[16], '|') : null,  // typeAnnotations - keep `|` delimiter between different type contexts
+                        fields.length > 17 && !fields[17].isEmpty() ? fields[17] : null
+                ));
+            }
+        }
+
         @FunctionalInterface
         interface ClassesProcessor {
             void accept(@Nullable GroupArtifactVersion gav, Map<String, ClassDefinition> classes,
@@ -370,7 +469,7 @@ private void writeClassesDir(@Nullable GroupArtifactVersion gav, Map<String, Cla
          * Process a single class definition by feeding it to a ClassVisitor.
          * This contains the core logic for converting TypeTable data to ASM visitor calls.
          */
-        private void processClass(ClassDefinition classDef, List<ClassDefinition> nestedTypes, ClassVisitor classVisitor) {
+        static void processClass(ClassDefinition classDef, List<ClassDefinition> nestedTypes, ClassVisitor classVisitor) {
             classVisitor.visit(
                     V1_8,
                     classDef.getAccess(),
@@ -504,7 +603,7 @@ private void processClass(ClassDefinition classDef, List<ClassDefinition> nested
             classVisitor.visitEnd();
         }
 
-        private void writeMethodBody(Member member, MethodVisitor mv) {
+        private static void writeMethodBody(Member member, MethodVisitor mv) {
             if ((member.getAccess() & Opcodes.ACC_ABSTRACT) == 0) {
                 mv.visitCode();
 
@@ -571,14 +670,17 @@ private static boolean isValidConstantValueType(@Nullable Object value) {
     }
 
 
-    private static Path getClassesDir(ExecutionContext ctx, GroupArtifactVersion gav) {
+    private static Path getTypeTablesDir(ExecutionContext ctx) {
         Path jarsFolder = JavaParserExecutionContextView.view(ctx)
                 .getParserClasspathDownloadTarget().toPath().resolve(".tt");
         if (!jarsFolder.toFile().mkdirs() && !Files.exists(jarsFolder)) {
             throw new UncheckedIOException(new IOException("Failed to create directory " + jarsFolder));
         }
+        return jarsFolder;
+    }
 
-        Path classesDir = jarsFolder;
+    private static Path getClassesDir(ExecutionContext ctx, GroupArtifactVersion gav) {
+        Path classesDir = getTypeTablesDir(ctx);
         for (String g : gav.getGroupId().split("\\.")) {
             classesDir = classesDir.resolve(g);
         }
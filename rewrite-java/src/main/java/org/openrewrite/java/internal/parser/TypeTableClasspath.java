@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal.parser;
+
+import org.jspecify.annotations.Nullable;
+
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.*;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The classes of matching artifacts in a {@link BinaryTypeTable}, which a parser's file manager lists on the
+ * class path alongside the classpath entries. Each class file is produced from the mapped table only when the
+ * compiler opens it, rather than the classes of every artifact being written to disk up front.
+ */
+public class TypeTableClasspath {
+    private final Map<String, List<JavaFileObject>> classFilesByPackage = new HashMap<>();
+
+    /**
+     * @param table         The binary type table.
+     * @param artifactNames Artifact name prefixes to match, as with
+     *                      {@link org.openrewrite.java.JavaParser.Builder#classpathFromResources}.
+     */
+    public TypeTableClasspath(BinaryTypeTable table, Collection<String> artifactNames) {
+        TypeTable.Reader.Options options = TypeTable.Reader.Options.builder().artifactPrefixes(artifactNames).build();
+        for (int artifact : table.artifacts(options.getArtifactMatcher())) {
+            for (String className : table.classNames(artifact)) {
+                int lastSlash = className.lastIndexOf('/');
+                String packageName = lastSlash == -1 ? "" : className.substring(0, lastSlash).replace('/', '.');
+                classFilesByPackage.computeIfAbsent(packageName, p -> new ArrayList<>())
+                        .add(new TypeTableClassFile(table, artifact, className));
+            }
+        }
+    }
+
+    /**
+     * @param packageName The package to list, as passed to {@link javax.tools.JavaFileManager#list}.
+     * @param kinds       The kinds of file to list. Only class files are in a type table.
+     * @param recurse     Whether to list subpackages too.
+     * @return The class files of the package.
+     */
+    public List<JavaFileObject> list(String packageName, Set<JavaFileObject.Kind> kinds, boolean recurse) {
+        if (!kinds.contains(JavaFileObject.Kind.CLASS)) {
+            return emptyList();
+        }
+        if (!recurse) {
+            return classFilesByPackage.getOrDefault(packageName, emptyList());
+        }
+        List<JavaFileObject> classFiles = new ArrayList<>();
+        String subpackagePrefix = packageName.isEmpty() ? "" : packageName + ".";
+        for (Map.Entry<String, List<JavaFileObject>> pkg : classFilesByPackage.entrySet()) {
+            if (pkg.getKey().equals(packageName) || pkg.getKey().startsWith(subpackagePrefix)) {
+                classFiles.addAll(pkg.getValue());
+            }
+        }
+        return classFiles;
+    }
+
+    /**
+     * @return The binary name of a class file listed by a type table classpath, or {@code null} for any other file.
+     */
+    public static @Nullable String inferBinaryName(JavaFileObject file) {
+        if (file instanceof TypeTableClassFile) {
+            return ((TypeTableClassFile) file).className.replace('/', '.');
+        }
+        return null;
+    }
+
+    private static class TypeTableClassFile extends SimpleJavaFileObject {
+        private final BinaryTypeTable table;
+        private final int artifact;
+        private final String className;
+
+        TypeTableClassFile(BinaryTypeTable table, int artifact, String className) {
+            super(uri(artifact, className), Kind.CLASS);
+            this.table = table;
+            this.artifact = artifact;
+            this.className = className;
+        }
+
+        @Override
+        public InputStream openInputStream() {
+            return new ByteArrayInputStream(requireNonNull(table.classBytes(artifact, className)));
+        }
+
+        private static URI uri(int artifact, String className) {
+            try {
+                return new URI("typetable", null, "/" + artifact + "/" + className + Kind.CLASS.extension, null);
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+}
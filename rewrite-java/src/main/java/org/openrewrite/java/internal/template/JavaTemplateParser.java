@@ -30,6 +30,7 @@
 import org.openrewrite.java.tree.*;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -321,21 +322,18 @@ private <J2 extends J> List<J2> cacheIfContextFree(Cursor cursor, ContextFreeCac
 
     @SuppressWarnings("unchecked")
     private <J2 extends J> List<J2> cache(Cursor cursor, Object key, Supplier<List<? extends J>> ifAbsent) {
-        List<J2> js = null;
-
         Timer.Sample sample = Timer.start();
+        // the root cursor may be shared by source files visited concurrently
         Cursor root = cursor.getRoot();
-        Map<Object, List<J2>> cache = root.getMessage(TEMPLATE_CACHE_MESSAGE_KEY);
-        if (cache == null) {
-            cache = new HashMap<>();
-            root.putMessage(TEMPLATE_CACHE_MESSAGE_KEY, cache);
-        } else {
-            js = cache.get(key);
-        }
+        Map<Object, List<J2>> cache = root.computeMessageIfAbsent(TEMPLATE_CACHE_MESSAGE_KEY, k -> new ConcurrentHashMap<>());
+        List<J2> js = cache.get(key);
 
         if (js == null) {
             js = (List<J2>) ifAbsent.get();
-            cache.put(key, js);
+            List<J2> existing = cache.putIfAbsent(key, js);
+            if (existing != null) {
+                js = existing;
+            }
             sample.stop(Timer.builder("rewrite.template.cache").tag("result", "miss")
                     .register(Metrics.globalRegistry));
         } else {
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.marker;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.JavaType;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The types in each jar of a classpath, as listed by {@link JavaSourceSet#build(String, Collection, ClasspathTypeIndex)},
+ * so that the source sets of many modules sharing the same dependencies list each jar only once.
+ * Listings are kept for as long as the index is, so a tool that shares one should scope it to a
+ * repository or call {@link #clear()} when it moves on.
+ * <p>
+ * A jar's listing is keyed by its path, size, last modified time and a checksum of the end of the jar,
+ * where the zip central directory is, so a jar that is rebuilt in place is listed again. Listings are kept
+ * in memory and, when the index has a directory, on disk so that later processes reuse them as well.
+ * Directories of class files are listed every time, as their contents change without notice.
+ */
+public class ClasspathTypeIndex {
+    private static final int CHECKSUM_BYTES = 64 * 1024;
+
+    private final @Nullable Path indexDirectory;
+    private final @Nullable ExecutorService executor;
+    private final Map<String, CompletableFuture<List<JavaType.FullyQualified>>> listingsByKey = new ConcurrentHashMap<>();
+
+    /**
+     * @param indexDirectory Where listings are kept between processes, or {@code null} to only keep them in memory.
+     * @param executor       The executor to list jars that aren't indexed yet on, or {@code null} to use the
+     *                       common fork join pool. It is not shut down by the index.
+     */
+    public ClasspathTypeIndex(@Nullable Path indexDirectory, @Nullable ExecutorService executor) {
+        this.indexDirectory = indexDirectory;
+        this.executor = executor;
+    }
+
+    /**
+     * List the types of each classpath entry, listing entries that aren't indexed yet in parallel.
+     *
+     * @return The types of each classpath entry, in classpath order.
+     */
+    public List<List<JavaType.FullyQualified>> types(List<Path> classpath) {
+        List<CompletableFuture<List<JavaType.FullyQualified>>> listings = new ArrayList<>(classpath.size());
+        for (Path entry : classpath) {
+            listings.add(listing(entry));
+        }
+        List<List<JavaType.FullyQualified>> types = new ArrayList<>(listings.size());
+        for (CompletableFuture<List<JavaType.FullyQualified>> listing : listings) {
+            types.add(listing.join());
+        }
+        return types;
+    }
+
+    /**
+     * Forget the listings kept in memory. Listings on disk are kept.
+     */
+    public void clear() {
+        listingsByKey.clear();
+    }
+
+    private CompletableFuture<List<JavaType.FullyQualified>> listing(Path entry) {
+        if (!Files.isRegularFile(entry)) {
+            return CompletableFuture.completedFuture(JavaSourceSet.typesFromPath(entry, null));
+        }
+
+        String key;
+        try {
+            key = key(entry);
+        } catch (IOException e) {
+            return CompletableFuture.completedFuture(JavaSourceSet.typesFromPath(entry, null));
+        }
+
+        CompletableFuture<List<JavaType.FullyQualified>> listing = new CompletableFuture<>();
+        CompletableFuture<List<JavaType.FullyQualified>> existing = listingsByKey.putIfAbsent(key, listing);
+        if (existing != null) {
+            // listed before, or being listed by a concurrent source set
+            return existing;
+        }
+
+        Runnable list = () -> {
+            try {
+                listing.complete(unmodifiableList(list(entry, key)));
+            } catch (IOException e) {
+                // Partial results better than no results, but don't keep them
+                listingsByKey.remove(key, listing);
+                listing.complete(JavaSourceSet.typesFromPath(entry, null));
+            } catch (Throwable t) {
+                listingsByKey.remove(key, listing);
+                listing.completeExceptionally(t);
+            }
+        };
+        if (executor == null) {
+            ForkJoinPool.commonPool().execute(list);
+        } else {
+            executor.execute(list);
+        }
+        return listing;
+    }
+
+    private List<JavaType.FullyQualified> list(Path jar, String key) throws IOException {
+        List<String> typeNames = null;
+        Path indexFile = indexDirectory == null ? null :
+                indexDirectory.resolve(UUID.nameUUIDFromBytes(key.getBytes(UTF_8)) + ".types");
+        if (indexFile != null && Files.exists(indexFile)) {
+            typeNames = readIndexFile(indexFile, key);
+        }
+        if (typeNames == null) {
+            typeNames = new ArrayList<>();
+            JavaSourceSet.typeNamesInJar(jar, typeNames);
+            if (indexFile != null) {
+                writeIndexFile(indexFile, key, typeNames);
+            }
+        }
+
+        List<JavaType.FullyQualified> types = new ArrayList<>(typeNames.size());
+        for (String typeName : typeNames) {
+            types.add(JavaType.ShallowClass.build(typeName));
+        }
+        return types;
+    }
+
+    private static @Nullable List<String> readIndexFile(Path indexFile, String key) {
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, UTF_8)) {
+            if (!key.equals(reader.readLine())) {
+                return null;
+            }
+            List<String> typeNames = new ArrayList<>();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                typeNames.add(line);
+            }
+            return typeNames;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeIndexFile(Path indexFile, String key, List<String> typeNames) {
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Path temp = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, UTF_8)) {
+                writer.write(key);
+                writer.newLine();
+                for (String typeName : typeNames) {
+                    writer.write(typeName);
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ignored) {
+            // the listing is still used by this process, only not by later ones
+        }
+    }
+
+    private static String key(Path jar) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+        CRC32 checksum = new CRC32();
+        try (FileChannel channel = FileChannel.open(jar, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer tail = ByteBuffer.allocate((int) Math.min(size, CHECKSUM_BYTES));
+            long position = size - tail.capacity();
+            while (tail.hasRemaining()) {
+                int read = channel.read(tail, position + tail.position());
+                if (read < 0) {
+                    break;
+                }
+            }
+            checksum.update(tail.array(), 0, tail.position());
+        }
+        return jar.toAbsolutePath().normalize() + "|" + attributes.size() + "|" +
+               attributes.lastModifiedTime().toMillis() + "|" + Long.toHexString(checksum.getValue());
+    }
+}
@@ -196,7 +196,8 @@ private static List<JavaType.FullyQualified> typesFrom(List<String> typeNames) {
 
     /**
      * Extract type information from the provided classpath.
-     * Uses file I/O to compute the classpath.
+     * Uses file I/O to compute the classpath. To reuse the listings of jars across source sets,
+     * use {@link #build(String, Collection, ClasspathTypeIndex)}.
      */
     public static JavaSourceSet build(String sourceSetName, Collection<Path> classpath) {
         List<JavaType.FullyQualified> types = getJavaStandardLibraryTypes();
@@ -213,6 +214,30 @@ public static JavaSourceSet build(String sourceSetName, Collection<Path> classpa
         return new JavaSourceSet(randomId(), sourceSetName, types, gavToTypes);
     }
 
+    /**
+     * Extract type information from the provided classpath.
+     * Uses file I/O to compute the classpath, reusing the listings of jars that are in the index.
+     *
+     * @param typeIndex The index of jar listings to use, for example one which is kept on disk.
+     */
+    public static JavaSourceSet build(String sourceSetName, Collection<Path> classpath, ClasspathTypeIndex typeIndex) {
+        List<JavaType.FullyQualified> types = getJavaStandardLibraryTypes();
+        Map<String, List<JavaType.FullyQualified>> gavToTypes = new LinkedHashMap<>();
+        List<Path> paths = new ArrayList<>(classpath);
+        List<List<JavaType.FullyQualified>> typesByPath = typeIndex.types(paths);
+        for (int i = 0; i < paths.size(); i++) {
+            Path path = paths.get(i);
+            List<JavaType.FullyQualified> typesFromPath = typesByPath.get(i);
+
+            types.addAll(typesFromPath);
+            String gav = gavFromPath(path);
+            if (gav != null) {
+                gavToTypes.put(gav, typesFromPath);
+            }
+        }
+        return new JavaSourceSet(randomId(), sourceSetName, types, gavToTypes);
+    }
+
     /**
      * Assuming the provided path is to a jar file in a local maven repository or Gradle cache, derive the GAV coordinate from it.
      * If no GAV can be determined returns null.
@@ -267,23 +292,19 @@ public static JavaSourceSet build(String sourceSetName, Collection<Path> classpa
     }
 
 
-    // Worth caching as there is typically substantial overlap in dependencies in use within the same repository
+    // Worth sharing a ClasspathTypeIndex, as there is typically substantial overlap in dependencies in use within the same repository
     // Even a single module project will typically have at least two source sets, main and test
-    private static List<JavaType.FullyQualified> typesFromPath(Path path, @Nullable String acceptPackage) {
+    static List<JavaType.FullyQualified> typesFromPath(Path path, @Nullable String acceptPackage) {
         List<JavaType.FullyQualified> types = new ArrayList<>();
         try {
             // Paths will be to either directories of class files or jar files
             if (Files.isRegularFile(path)) {
-                try (JarFile jarFile = new JarFile(path.toFile())) {
-                    Enumeration<JarEntry> entries = jarFile.entries();
-                    while (entries.hasMoreElements()) {
-                        String entryName = entries.nextElement().getName();
-                        if (entryName.endsWith(".class")) {
-                            String s = entryNameToClassName(entryName);
-                            if (isDeclarable(s)) {
-                                types.add(JavaType.ShallowClass.build(s));
-                            }
-                        }
+                List<String> typeNames = new ArrayList<>();
+                try {
+                    typeNamesInJar(path, typeNames);
+                } finally {
+                    for (String typeName : typeNames) {
+                        types.add(JavaType.ShallowClass.build(typeName));
                     }
                 }
             } else {
@@ -307,7 +328,33 @@ public java.nio.file.FileVisitResult visitFile(Path file, java.nio.file.attribut
         return types;
     }
 
+    static void typeNamesInJar(Path jar, List<String> typeNames) throws IOException {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String entryName = entries.nextElement().getName();
+                if (entryName.endsWith(".class")) {
+                    String s = entryNameToClassName(entryName);
+                    if (isDeclarable(s)) {
+                        typeNames.add(s);
+                    }
+                }
+            }
+        }
+    }
+
     private static List<JavaType.FullyQualified> getJavaStandardLibraryTypes() {
+        return new ArrayList<>(JavaStandardLibraryTypes.TYPES);
+    }
+
+    /**
+     * Listed once, on first use, as the JDK doesn't change while the process is running.
+     */
+    private static class JavaStandardLibraryTypes {
+        static final List<JavaType.FullyQualified> TYPES = listJavaStandardLibraryTypes();
+    }
+
+    private static List<JavaType.FullyQualified> listJavaStandardLibraryTypes() {
         List<JavaType.FullyQualified> javaStandardLibraryTypes = new ArrayList<>();
         Path toolsJar = Paths.get(System.getProperty("java.home")).resolve("../lib/tools.jar");
         if (Files.exists(toolsJar)) {
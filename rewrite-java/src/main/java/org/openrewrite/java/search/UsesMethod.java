@@ -21,8 +21,10 @@
 import lombok.With;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.internal.TypeUsageIndex;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
@@ -65,6 +67,10 @@ public J preVisit(@NonNull J tree, P p) {
         stopAfterPreVisit();
         if (tree instanceof JavaSourceFile) {
             JavaSourceFile cu = (JavaSourceFile) tree;
+            if (p instanceof ExecutionContext &&
+                !TypeUsageIndex.getInstance((ExecutionContext) p).mayUseMethod(cu, methodMatcher::matchesMethodName)) {
+                return tree;
+            }
             for (JavaType.Method type : cu.getTypesInUse().getUsedMethods()) {
                 if (methodMatcher.matches(type)) {
                     return found(cu);
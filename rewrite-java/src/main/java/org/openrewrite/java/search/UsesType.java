@@ -18,11 +18,13 @@
 import lombok.Getter;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
 import org.openrewrite.SourceFile;
 import org.openrewrite.SourceFileWithReferences;
 import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.TypeNameMatcher;
+import org.openrewrite.java.internal.TypeUsageIndex;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
@@ -46,6 +48,12 @@
 
     private final Reference.Matcher referenceMatcher;
 
+    /**
+     * The same test as {@link #typePattern} on the name of a type rather than the type itself.
+     */
+    @Nullable
+    private final Predicate<String> typeNamePattern;
+
     @Nullable
     private final Boolean includeImplicit;
 
@@ -59,24 +67,29 @@ public UsesType(String fullyQualifiedType, @Nullable Boolean includeImplicit) {
                     PackagePattern packagePattern = new PackagePattern(fullyQualifiedType.substring(0, fullyQualifiedType.length() - 2));
                     this.typePattern = packagePattern;
                     this.referenceMatcher = packagePattern;
+                    this.typeNamePattern = packagePattern::testName;
                 } else if (dotdot == length - 3) {
                     PackagePrefixPattern packagePrefixPattern = new PackagePrefixPattern(fullyQualifiedType.substring(0, dotdot));
                     this.typePattern = packagePrefixPattern;
                     this.referenceMatcher = packagePrefixPattern;
+                    this.typeNamePattern = packagePrefixPattern::testName;
                 } else {
                     GenericPattern genericPattern = new GenericPattern(TypeNameMatcher.fromPattern(fullyQualifiedType));
                     this.typePattern = genericPattern;
                     this.referenceMatcher = genericPattern;
+                    this.typeNamePattern = genericPattern.getMatcher()::matches;
                 }
             } else {
                 GenericPattern genericPattern = new GenericPattern(TypeNameMatcher.fromPattern(fullyQualifiedType));
                 this.typePattern = genericPattern;
                 this.referenceMatcher = genericPattern;
+                this.typeNamePattern = genericPattern.getMatcher()::matches;
             }
         } else {
             this.fullyQualifiedType = fullyQualifiedType;
             this.typePattern = null;
             this.referenceMatcher = new ExactMatch(fullyQualifiedType);
+            this.typeNamePattern = null;
         }
         this.includeImplicit = includeImplicit;
     }
@@ -90,6 +103,9 @@ public boolean isAcceptable(SourceFile sourceFile, P p) {
     public @Nullable Tree visit(@Nullable Tree tree, P p) {
         if (tree instanceof JavaSourceFile) {
             JavaSourceFile cu = (JavaSourceFile) requireNonNull(tree);
+            if (p instanceof ExecutionContext && !mayUseType(TypeUsageIndex.getInstance((ExecutionContext) p), cu)) {
+                return cu;
+            }
             JavaSourceFile c = cu;
 
             for (JavaType type : c.getTypesInUse().getTypesInUse()) {
@@ -135,6 +151,14 @@ public boolean isAcceptable(SourceFile sourceFile, P p) {
         return tree;
     }
 
+    private boolean mayUseType(TypeUsageIndex index, JavaSourceFile cu) {
+        boolean implicit = Boolean.TRUE.equals(includeImplicit);
+        if (fullyQualifiedType != null) {
+            return index.mayUseType(cu, fullyQualifiedType, implicit);
+        }
+        return typeNamePattern == null || index.mayUseType(cu, typeNamePattern, implicit);
+    }
+
     private JavaSourceFile maybeMark(JavaSourceFile c, @Nullable JavaType type) {
         if (type == null) {
             return c;
@@ -160,19 +184,20 @@ public PackagePrefixPattern(String prefix) {
 
         @Override
         public boolean test(JavaType type) {
-            if (type instanceof JavaType.FullyQualified) {
-                String fqn = ((JavaType.FullyQualified) type).getFullyQualifiedName();
-                if (!fqn.startsWith(prefix)) {
-                    return false;
-                }
-                int lastDot = fqn.lastIndexOf('.');
-                // packageName.equals(prefix): true when lastDot is exactly at prefix.length()
-                // packageName.startsWith(subPackagePrefix): true when lastDot > prefix.length()
-                //   and the char at prefix.length() is '.' (completing the subPackagePrefix match)
-                return lastDot == prefix.length() ||
-                       (lastDot > prefix.length() && fqn.charAt(prefix.length()) == '.');
+            return type instanceof JavaType.FullyQualified &&
+                   testName(((JavaType.FullyQualified) type).getFullyQualifiedName());
+        }
+
+        boolean testName(String fqn) {
+            if (!fqn.startsWith(prefix)) {
+                return false;
             }
-            return false;
+            int lastDot = fqn.lastIndexOf('.');
+            // packageName.equals(prefix): true when lastDot is exactly at prefix.length()
+            // packageName.startsWith(subPackagePrefix): true when lastDot > prefix.length()
+            //   and the char at prefix.length() is '.' (completing the subPackagePrefix match)
+            return lastDot == prefix.length() ||
+                   (lastDot > prefix.length() && fqn.charAt(prefix.length()) == '.');
         }
 
         @Override
@@ -198,6 +223,14 @@ public boolean test(JavaType type) {
                    ((JavaType.FullyQualified) type).getPackageName().equals(name);
         }
 
+        boolean testName(String fqn) {
+            if (!fqn.startsWith(name)) {
+                return false;
+            }
+            int endPackage = fqn.lastIndexOf('.');
+            return (endPackage < 0 ? "" : fqn.substring(0, endPackage)).equals(name);
+        }
+
         @Override
         public boolean matchesReference(Reference reference) {
             return reference.getKind() == Reference.Kind.TYPE && reference.getValue().startsWith(name + '.');
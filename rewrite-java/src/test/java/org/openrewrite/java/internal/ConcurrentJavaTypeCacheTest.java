@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentJavaTypeCacheTest {
+
+    @Test
+    void sharedAcrossThreads() throws Exception {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache(4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    ConcurrentJavaTypeCache.Parse parse = cache.forParse(null, emptySet());
+                    for (int i = 0; i < 10_000; i++) {
+                        String signature = "java.lang.Type" + i;
+                        if (parse.get(signature) == null) {
+                            parse.put(signature, signature);
+                        }
+                        if (i % 100 == 99) {
+                            parse.publish();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(cache.size()).isEqualTo(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(cache.<String>get("java.lang.Type" + i)).isEqualTo("java.lang.Type" + i);
+        }
+        assertThat(cache.getHitCount()).isGreaterThanOrEqualTo(10_000);
+    }
+
+    @Test
+    void unpublishedTypesStayInTheirParse() throws Exception {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache();
+        ConcurrentJavaTypeCache.Parse parse = cache.forParse(null, emptySet());
+        parse.put("java.lang.String", "String");
+        assertThat(parse.<String>get("java.lang.String")).isEqualTo("String");
+        assertThat(cache.<String>get("java.lang.String")).isNull();
+        assertThat(cache.forParse(null, emptySet()).<String>get("java.lang.String")).isNull();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(executor.submit(() -> cache.get("java.lang.String")).get()).isNull();
+
+            parse.publish();
+            assertThat(executor.submit(() -> cache.get("java.lang.String")).get()).isEqualTo("String");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void directPutsArePublished() {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache();
+        cache.put("java.lang.Integer", "Integer");
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.forParse(null, emptySet()).<String>get("java.lang.Integer")).isEqualTo("Integer");
+    }
+
+    @Test
+    void sharedOnlyWithTheSameClasspath() {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache();
+        List<Path> v1 = List.of(Path.of("lib-1.0.jar"));
+        List<Path> v2 = List.of(Path.of("lib-2.0.jar"));
+
+        ConcurrentJavaTypeCache.Parse parse = cache.forParse(v1, emptySet());
+        parse.put("com.example.Lib", "Lib 1.0");
+        parse.publish();
+
+        assertThat(cache.forParse(new ArrayList<>(v1), emptySet()).<String>get("com.example.Lib")).isEqualTo("Lib 1.0");
+        assertThat(cache.forParse(v2, emptySet()).<String>get("com.example.Lib")).isNull();
+        assertThat(cache.<String>get("com.example.Lib")).isNull();
+    }
+
+    @Test
+    void parseWithoutDeclaredTypesPublishesNothing() {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache();
+        ConcurrentJavaTypeCache.Parse parse = cache.forParse(null, null);
+        parse.put("java.lang.String", "String");
+        parse.publish();
+        assertThat(cache.size()).isZero();
+        assertThat(parse.<String>get("java.lang.String")).isEqualTo("String");
+    }
+
+    @Test
+    void cloneOfParse() {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache();
+        ConcurrentJavaTypeCache.Parse parse = cache.forParse(null, emptySet());
+        parse.put("java.lang.String", "String");
+
+        ConcurrentJavaTypeCache.Parse clone = parse.clone();
+        clone.put("java.lang.Integer", "Integer");
+        assertThat(clone.<String>get("java.lang.String")).isEqualTo("String");
+        assertThat(parse.<String>get("java.lang.Integer")).isNull();
+
+        parse.discardUnpublished();
+        clone.publish();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void declaredTypesAreNotPublished() {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache();
+        ConcurrentJavaTypeCache.Parse parse = cache.forParse(null, singleton("com.example.Foo"));
+        parse.put("com.example.Foo", "Foo");
+        parse.put("com.example.Foo$Bar", "Bar");
+        parse.put("java.util.List<com.example.Foo>", "List<Foo>");
+        parse.put("java.util.List{name=add,return=boolean,parameters=[com.example.Foo]}", "add");
+        parse.put("com.example.FooBar", "FooBar");
+        parse.put("java.util.List<java.lang.String>", "List<String>");
+        parse.publish();
+
+        List<String> published = new ArrayList<>();
+        cache.forEach((signature, type) -> published.add(signature));
+        assertThat(published).containsExactlyInAnyOrder("com.example.FooBar", "java.util.List<java.lang.String>");
+        assertThat(parse.<String>get("com.example.Foo")).isEqualTo("Foo");
+    }
+
+    @Test
+    void discardedTypesAreNotPublished() {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache();
+        ConcurrentJavaTypeCache.Parse parse = cache.forParse(null, emptySet());
+        parse.put("java.lang.String", "String");
+        parse.discardUnpublished();
+        parse.publish();
+        assertThat(cache.size()).isZero();
+        assertThat(parse.<String>get("java.lang.String")).isEqualTo("String");
+    }
+
+    @Test
+    void cloneIsShared() {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache();
+        JavaTypeCache clone = cache.clone();
+        assertThat(clone).isSameAs(cache);
+
+        ConcurrentJavaTypeCache.Parse parse = cache.forParse(null, emptySet());
+        parse.put("java.lang.String", "String");
+        parse.publish();
+        assertThat(clone.<String>get("java.lang.String")).isEqualTo("String");
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+        assertThat(clone.<String>get("java.lang.String")).isNull();
+    }
+}
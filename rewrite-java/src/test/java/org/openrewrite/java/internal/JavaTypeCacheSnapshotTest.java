@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaTypeCacheSnapshotTest {
+
+    @Test
+    void roundTrip(@TempDir Path dir) {
+        JavaTypeCache typeCache = new JavaTypeCache();
+        new JavaReflectionTypeMapping(typeCache).type(ArrayList.class);
+        Path snapshot = dir.resolve("types.bin");
+
+        int written = JavaTypeCacheSnapshot.write(typeCache, "key", emptySet(), snapshot);
+        assertThat(written).isPositive().isLessThanOrEqualTo(count(typeCache));
+
+        JavaTypeCache loaded = new ConcurrentJavaTypeCache();
+        assertThat(JavaTypeCacheSnapshot.read(snapshot, "other", loaded)).isFalse();
+        assertThat(JavaTypeCacheSnapshot.read(snapshot, "key", loaded)).isTrue();
+        assertThat(count(loaded)).isEqualTo(written);
+
+        JavaType.Class arrayList = loaded.get("java.util.ArrayList");
+        assertThat(arrayList).isNotNull();
+        assertThat(arrayList.getMethods()).extracting(JavaType.Method::getName).contains("add", "get", "size");
+        assertThat(TypeUtils.isAssignableTo("java.util.List", arrayList)).isTrue();
+        // types shared between entries remain shared
+        assertThat(arrayList.getMethods()).allSatisfy(m -> assertThat(m.getDeclaringType()).isSameAs(arrayList));
+    }
+
+    @Test
+    void excludesDeclaredTypes(@TempDir Path dir) {
+        JavaTypeCache typeCache = new JavaTypeCache();
+        new JavaReflectionTypeMapping(typeCache).type(Declared.class);
+        assertThat(typeCache.<Object>get(Declared.class.getName())).isNotNull();
+        Path snapshot = dir.resolve("types.bin");
+
+        JavaTypeCacheSnapshot.write(typeCache, "key", singleton(Declared.class.getName()), snapshot);
+
+        JavaTypeCache loaded = new JavaTypeCache();
+        assertThat(JavaTypeCacheSnapshot.read(snapshot, "key", loaded)).isTrue();
+        assertThat(loaded.<Object>get(Declared.class.getName())).isNull();
+        loaded.forEach((signature, type) -> assertThat(signature).doesNotContain(Declared.class.getName()));
+        assertThat(loaded.<Object>get("java.lang.String")).isNotNull();
+    }
+
+    @Test
+    void excludesMethodsWithUnknownParameterNames(@TempDir Path dir) {
+        JavaTypeCache typeCache = new JavaTypeCache();
+        JavaType.Method method = new JavaType.Method(null, 0, JavaType.ShallowClass.build("com.example.Outer$Inner"),
+          "<constructor>", JavaType.Primitive.Void, new String[]{null}, null, null, null, null, null);
+        typeCache.put("com.example.Outer$Inner{name=<constructor>}", method);
+        typeCache.put("java.lang.String", JavaType.ShallowClass.build("java.lang.String"));
+        Path snapshot = dir.resolve("types.bin");
+
+        assertThat(JavaTypeCacheSnapshot.write(typeCache, "key", emptySet(), snapshot)).isEqualTo(1);
+
+        JavaTypeCache loaded = new JavaTypeCache();
+        assertThat(JavaTypeCacheSnapshot.read(snapshot, "key", loaded)).isTrue();
+        assertThat(loaded.<Object>get("com.example.Outer$Inner{name=<constructor>}")).isNull();
+        assertThat(loaded.<Object>get("java.lang.String")).isNotNull();
+    }
+
+    @Test
+    void classpathKeyChangesWithSizeAndModificationTime(@TempDir Path dir) throws Exception {
+        Path jar = Files.write(dir.resolve("a.jar"), new byte[]{1});
+        String key = JavaTypeCacheSnapshot.classpathKey(List.of(jar));
+        assertThat(JavaTypeCacheSnapshot.classpathKey(List.of(jar))).isEqualTo(key);
+
+        Files.write(jar, new byte[]{2, 3});
+        String resized = JavaTypeCacheSnapshot.classpathKey(List.of(jar));
+        assertThat(resized).isNotEqualTo(key);
+
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 10_000));
+        assertThat(JavaTypeCacheSnapshot.classpathKey(List.of(jar))).isNotEqualTo(resized);
+    }
+
+    private static int count(JavaTypeCache typeCache) {
+        int[] count = {0};
+        typeCache.forEach((signature, type) -> {
+            if (!(type instanceof JavaType.Unknown)) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    @SuppressWarnings("unused")
+    static class Declared {
+        Set<Declared> children;
+
+        String name() {
+            return "";
+        }
+    }
+}
@@ -55,6 +55,7 @@
 import static io.micrometer.core.instrument.util.DoubleFormat.decimalOrNan;
 import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.openrewrite.java.Assertions.java;
 import static org.openrewrite.java.internal.parser.TypeTable.VERIFY_CLASS_WRITING;
 
@@ -835,6 +836,102 @@ public void transactionalMethod(@NotNull String param) {}
 
     }
 
+    @Nested
+    class BinaryTypeTableTests {
+
+        Path binaryTypeTable(String artifactId) throws Exception {
+            //language=java
+            String librarySource = """
+              package com.example.binary;
+
+              public class Library {
+                  public static final String NAME = "library";
+
+                  public String greet(String name) {
+                      return "Hello " + name;
+                  }
+
+                  public static class Nested {
+                  }
+              }
+              """;
+            Path[] classFiles = compileToClassFiles(librarySource, "com.example.binary.Library");
+            Path jar = createJarFromClasses(artifactId + ".jar",
+              classFiles[0], tempDir.resolve("com/example/binary/Library$Nested.class"));
+            try (TypeTable.Writer writer = TypeTable.newWriter(Files.newOutputStream(tsv))) {
+                writer.jar("com.example", artifactId, "1.0").write(jar);
+            }
+
+            Path binary = tempDir.resolve(artifactId + ".tt");
+            BinaryTypeTable.convert(tsv, binary);
+            return binary;
+        }
+
+        @Test
+        void findsClassesInBinaryTypeTable() throws Exception {
+            BinaryTypeTable table = BinaryTypeTable.open(binaryTypeTable("binary-library"));
+            assertThat(table.availableArtifacts()).containsExactly("binary-library-1.0");
+            assertThat(table.classBytes(0, "com/example/binary/Library")).isNotNull();
+            assertThat(table.classBytes(0, "com/example/binary/Library$Nested")).isNotNull();
+            assertThat(table.classBytes(0, "com/example/binary/Missing")).isNull();
+        }
+
+        @Test
+        void writeClassesDirFromBinaryTypeTable() throws Exception {
+            Path binary = binaryTypeTable("binary-classes-dir");
+
+            TypeTable table = new TypeTable(ctx, binary.toUri().toURL(), List.of("binary-classes-dir"));
+            Path classesDir = table.load("binary-classes-dir");
+
+            assertThat(classesDir).isNotNull();
+            assertThat(classesDir)
+              .isDirectoryRecursivelyContaining("glob:**/Library.class")
+              .isDirectoryRecursivelyContaining("glob:**/Library$Nested.class");
+        }
+
+        @Test
+        void parseAgainstClassesReadFromBinaryTypeTable() throws Exception {
+            Path binary = binaryTypeTable("binary-parse");
+            Path recipeJarDir = tempDir.resolve("recipe-jar");
+            Files.createDirectories(recipeJarDir.resolve("META-INF/rewrite"));
+            Files.copy(binary, recipeJarDir.resolve(BinaryTypeTable.DEFAULT_RESOURCE_PATH));
+
+            JavaParser.Builder<?, ?> builder;
+            ClassLoader originalTccl = Thread.currentThread().getContextClassLoader();
+            try (URLClassLoader isolatedLoader = new URLClassLoader(
+              new URL[]{recipeJarDir.toUri().toURL()}, ClassLoader.getPlatformClassLoader())) {
+                Thread.currentThread().setContextClassLoader(isolatedLoader);
+                builder = JavaParser.fromJavaVersion().classpathFromResources(ctx, "binary-parse");
+            } finally {
+                Thread.currentThread().setContextClassLoader(originalTccl);
+            }
+
+            //language=java
+            J.CompilationUnit cu = (J.CompilationUnit) builder.build().parse(ctx, """
+              import com.example.binary.Library;
+
+              class UseLibrary {
+                  Library.Nested nested = new Library.Nested();
+              }
+              """).findFirst().orElseThrow();
+
+            J.VariableDeclarations nested = (J.VariableDeclarations) cu.getClasses().get(0).getBody().getStatements().get(0);
+            assertThat(nested.getTypeAsFullyQualified())
+              .isNotNull()
+              .extracting(JavaType.FullyQualified::getFullyQualifiedName)
+              .isEqualTo("com.example.binary.Library$Nested");
+            // the classes were read from the table rather than written to a classes directory
+            assertThat(tempDir.resolve(".tt/com")).doesNotExist();
+        }
+
+        @Test
+        void classpathFromResourcesFailsForMissingArtifacts() {
+            assertThatThrownBy(() -> JavaParser.fromJavaVersion().classpathFromResources(ctx, "binary-missing"))
+              .isInstanceOf(IllegalArgumentException.class)
+              .hasMessageContaining("binary-missing");
+        }
+    }
+
     @Nested
     class ClassloaderResolutionTests {
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal.rpc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.MappedSegmentStore;
+import org.openrewrite.internal.SourceFileSerializer;
+import org.openrewrite.internal.SpillingLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaSourceFileSerializerTest {
+
+    private final MappedSegmentStore store = MappedSegmentStore.temporary();
+
+    @AfterEach
+    void close() {
+        store.close();
+    }
+
+    @Test
+    void roundTripCompilationUnit() {
+        List<J.CompilationUnit> cus = parse();
+        J.CompilationUnit a = cus.get(0);
+
+        SourceFileSerializer serializer = new SourceFileSerializer();
+        J.CompilationUnit deserialized = (J.CompilationUnit) serializer.deserialize(serializer.serialize(a), J.CompilationUnit.class.getName());
+
+        assertThat(deserialized).isNotSameAs(a);
+        assertThat(deserialized.getId()).isEqualTo(a.getId());
+        assertThat(deserialized.getSourcePath()).isEqualTo(a.getSourcePath());
+        assertThat(deserialized.printAll()).isEqualTo(a.printAll());
+        assertThat(fieldType(deserialized)).isSameAs(fieldType(a));
+    }
+
+    @Test
+    void treesReadBackFromStoreShareTypes() {
+        List<J.CompilationUnit> cus = parse();
+        SpillingLargeSourceSet spilling = new SpillingLargeSourceSet(cus.stream(), store, null, 0);
+
+        J.CompilationUnit a = (J.CompilationUnit) requireNonNull(spilling.getBefore(Path.of("A.java")));
+        J.CompilationUnit b = (J.CompilationUnit) requireNonNull(spilling.getBefore(Path.of("B.java")));
+
+        assertThat(a).isNotSameAs(cus.get(0));
+        assertThat(a.printAll()).isEqualTo(cus.get(0).printAll());
+        assertThat(b.printAll()).isEqualTo(cus.get(1).printAll());
+        assertThat(fieldType(a))
+          .isSameAs(fieldType(b))
+          .isSameAs(fieldType(cus.get(0)));
+    }
+
+    private static List<J.CompilationUnit> parse() {
+        return JavaParser.fromJavaVersion().build()
+          .parse(new InMemoryExecutionContext(),
+            "class A { String s = \"a\"; }",
+            "class B { String s = \"b\"; }")
+          .map(J.CompilationUnit.class::cast)
+          .collect(toList());
+    }
+
+    private static JavaType.FullyQualified fieldType(SourceFile cu) {
+        J.VariableDeclarations field = (J.VariableDeclarations) ((J.CompilationUnit) cu).getClasses().get(0)
+          .getBody().getStatements().get(0);
+        return requireNonNull(field.getTypeAsFullyQualified());
+    }
+}
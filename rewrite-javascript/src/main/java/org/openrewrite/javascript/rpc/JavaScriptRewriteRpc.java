@@ -68,6 +68,7 @@ public class JavaScriptRewriteRpc extends RewriteRpc {
         this.command = command;
         this.commandEnv = commandEnv;
         this.process = process;
+        messageFormatter(process.getMessageFormatter());
     }
 
     public static @Nullable JavaScriptRewriteRpc get() {
@@ -394,11 +395,13 @@ public JavaScriptRewriteRpc get() {
             process.start();
 
             try {
-                return (JavaScriptRewriteRpc) new JavaScriptRewriteRpc(process, marketplace, resolvers,
+                JavaScriptRewriteRpc rpc = (JavaScriptRewriteRpc) new JavaScriptRewriteRpc(process, marketplace, resolvers,
                         String.join(" ", cmdArr), process.environment())
                         .livenessCheck(process::getLivenessCheck)
                         .timeout(timeout)
                         .log(log == null ? null : new PrintStream(Files.newOutputStream(log, StandardOpenOption.APPEND, StandardOpenOption.CREATE)));
+                rpc.negotiateMessageFormat();
+                return rpc;
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             }
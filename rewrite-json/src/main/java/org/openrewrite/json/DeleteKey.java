@@ -37,6 +37,11 @@ public class DeleteKey extends Recipe {
 
     String description = "Delete a JSON mapping entry key.";
 
+    @Override
+    public boolean isEditLocal() {
+        return true;
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JsonPathMatcher matcher = new JsonPathMatcher(keyPath);
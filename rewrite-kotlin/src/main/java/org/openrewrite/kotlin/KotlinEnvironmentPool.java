@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.kotlin;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Keeps initialized Kotlin compiler environments alive between calls to
+ * {@link KotlinParser#parseInputs(Iterable, java.nio.file.Path, org.openrewrite.ExecutionContext)}.
+ * <p>
+ * Creating a compiler environment registers the JDK and every classpath root with the
+ * compiler and indexes them, which dominates the cost of parsing a handful of sources
+ * at a time (for example one Gradle Kotlin DSL script per call). A pooled environment is
+ * reused by any parser whose classpath, language level and script settings produce the same
+ * fingerprint; only the per-input state (source files, FIR session and resolution) is
+ * created anew on each call.
+ * <p>
+ * An environment is used by one parse at a time. When more than {@code maxEnvironments}
+ * environments are idle, the least recently used ones are disposed. The pool is owned by the
+ * caller, who should {@link #close()} it once parsing is done to release the environments.
+ */
+public class KotlinEnvironmentPool implements AutoCloseable {
+    private final int maxEnvironments;
+
+    /**
+     * Idle environments, most recently released first.
+     */
+    private final Deque<KotlinParser.CompilerEnvironment> idle = new ArrayDeque<>();
+
+    private boolean closed;
+
+    public KotlinEnvironmentPool() {
+        this(4);
+    }
+
+    public KotlinEnvironmentPool(int maxEnvironments) {
+        if (maxEnvironments < 1) {
+            throw new IllegalArgumentException("maxEnvironments must be at least 1");
+        }
+        this.maxEnvironments = maxEnvironments;
+    }
+
+    /**
+     * @return The number of environments currently idle in the pool.
+     */
+    public synchronized int size() {
+        return idle.size();
+    }
+
+    synchronized KotlinParser.@Nullable CompilerEnvironment borrow(String fingerprint) {
+        for (Iterator<KotlinParser.CompilerEnvironment> it = idle.iterator(); it.hasNext(); ) {
+            KotlinParser.CompilerEnvironment environment = it.next();
+            if (environment.getFingerprint().equals(fingerprint)) {
+                it.remove();
+                return environment;
+            }
+        }
+        return null;
+    }
+
+    void release(KotlinParser.CompilerEnvironment environment) {
+        List<KotlinParser.CompilerEnvironment> evicted = new ArrayList<>(1);
+        synchronized (this) {
+            if (closed) {
+                evicted.add(environment);
+            } else {
+                idle.addFirst(environment);
+                while (idle.size() > maxEnvironments) {
+                    evicted.add(idle.removeLast());
+                }
+            }
+        }
+        for (KotlinParser.CompilerEnvironment e : evicted) {
+            e.dispose();
+        }
+    }
+
+    /**
+     * Dispose of all idle environments. Environments that are in use when the pool is
+     * closed are disposed as soon as the parse using them completes.
+     */
+    @Override
+    public void close() {
+        List<KotlinParser.CompilerEnvironment> evicted;
+        synchronized (this) {
+            closed = true;
+            evicted = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (KotlinParser.CompilerEnvironment environment : evicted) {
+            environment.dispose();
+        }
+    }
+}
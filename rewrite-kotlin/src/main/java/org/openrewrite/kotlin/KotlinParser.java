@@ -19,6 +19,7 @@
 import kotlin.annotation.AnnotationTarget;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import org.intellij.lang.annotations.Language;
 import org.jetbrains.kotlin.KtPsiSourceFile;
 import org.jetbrains.kotlin.KtRealPsiSourceElement;
@@ -71,6 +72,7 @@
 import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.internal.ConcurrentJavaTypeCache;
 import org.openrewrite.java.internal.JavaTypeCache;
 import org.openrewrite.java.marker.JavaSourceSet;
 import org.openrewrite.kotlin.internal.*;
@@ -128,6 +130,9 @@ public class KotlinParser implements Parser {
     private final List<String> scriptImplicitReceivers;
     private final List<String> scriptDefaultImports;
 
+    @Nullable
+    private final KotlinEnvironmentPool environmentPool;
+
     @Override
     public Stream<SourceFile> parse(@Language("kotlin") String... sources) {
         Pattern packagePattern = Pattern.compile("\\bpackage\\s+([`.\\w]+)");
@@ -184,17 +189,24 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                 resolvedDependsOn.stream().map(i -> i.getRelativePath(relativeTo)).collect(toSet());
 
         // TODO: FIR and disposable may not be necessary using the IR.
-        Disposable disposable = Disposer.newDisposable();
         CompiledSource compilerCus;
         List<Input> acceptedInputs = ListUtils.concatAll(resolvedDependsOn, acceptedInputs(sources).collect(toList()));
+        CompilerEnvironment environment = null;
         try {
-            compilerCus = parse(acceptedInputs, disposable, pctx);
+            environment = acquireEnvironment();
+            compilerCus = parse(acceptedInputs, environment, pctx);
         } catch (Throwable t) {
-            disposable.dispose();
+            if (environment != null) {
+                // Don't return an environment to the pool that failed part way through a parse
+                environment.dispose();
+            }
             return acceptedInputs.stream().map(input -> ParseError.build(this, input, relativeTo, ctx, t));
         }
+        CompilerEnvironment usedEnvironment = environment;
 
         FirSession firSession = compilerCus.getFirSession();
+        // the types of a Kotlin parse aren't published to a shared cache, since it can't tell which ones its sources declare
+        JavaTypeCache parseTypeCache = ConcurrentJavaTypeCache.forParse(typeCache, classpath, null);
         return Stream.concat(
                         compilerCus.getSources().stream()
                                 .map(kotlinSource -> {
@@ -208,7 +220,7 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                                             return ParseError.build(KotlinParser.this, kotlinSource.getInput(), relativeTo, ctx, new RuntimeException());
                                         }
 
-                                        KotlinTypeMapping typeMapping = new KotlinTypeMapping(typeCache, firSession, kotlinSource.getFirFile());
+                                        KotlinTypeMapping typeMapping = new KotlinTypeMapping(parseTypeCache, firSession, kotlinSource.getFirFile());
                                         PsiElementAssociations associations = new PsiElementAssociations(typeMapping, kotlinSource.getFirFile());
                                         associations.initialize();
                                         KotlinTreeParserVisitor psiParser = new KotlinTreeParserVisitor(kotlinSource, associations, styles, relativeTo, ctx);
@@ -222,8 +234,8 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                                     }
                                 }),
                         Stream.generate(() -> {
-                                    // The disposable should be disposed of exactly once after all sources have been parsed
-                                    Disposer.dispose(disposable);
+                                    // The environment should be released exactly once after all sources have been parsed
+                                    releaseEnvironment(usedEnvironment);
                                     return (SourceFile) null;
                                 })
                                 .limit(1))
@@ -293,6 +305,9 @@ public static class Builder extends Parser.Builder {
         private List<String> scriptImplicitReceivers = emptyList();
         private List<String> scriptDefaultImports = emptyList();
 
+        @Nullable
+        private KotlinEnvironmentPool environmentPool;
+
         public Builder() {
             super(K.CompilationUnit.class);
         }
@@ -306,6 +321,7 @@ public Builder(Builder base) {
             this.styles.addAll(base.styles);
             this.scriptImplicitReceivers = base.scriptImplicitReceivers;
             this.scriptDefaultImports = base.scriptDefaultImports;
+            this.environmentPool = base.environmentPool;
         }
 
         public Builder logCompilationWarningsAndErrors(boolean logCompilationWarningsAndErrors) {
@@ -391,6 +407,16 @@ public Builder languageLevel(KotlinLanguageLevel languageLevel) {
             return this;
         }
 
+        /**
+         * Reuse initialized compiler environments from the pool rather than creating and
+         * disposing of one on every call to {@link KotlinParser#parseInputs}. The pool is
+         * owned by the caller and may be shared by several parsers.
+         */
+        public Builder environmentPool(@Nullable KotlinEnvironmentPool environmentPool) {
+            this.environmentPool = environmentPool;
+            return this;
+        }
+
         private @Nullable Collection<Path> resolvedClasspath() {
             if (artifactNames != null && !artifactNames.isEmpty()) {
                 classpath = JavaParser.dependenciesFromClasspath(artifactNames.toArray(new String[0]));
@@ -401,7 +427,7 @@ public Builder languageLevel(KotlinLanguageLevel languageLevel) {
 
         @Override
         public KotlinParser build() {
-            return new KotlinParser(resolvedClasspath(), dependsOn, styles, logCompilationWarningsAndErrors, typeCache, moduleName, languageLevel, isKotlinScript, scriptImplicitReceivers, scriptDefaultImports);
+            return new KotlinParser(resolvedClasspath(), dependsOn, styles, logCompilationWarningsAndErrors, typeCache, moduleName, languageLevel, isKotlinScript, scriptImplicitReceivers, scriptDefaultImports, environmentPool);
         }
 
         @Override
@@ -418,13 +444,14 @@ public KotlinParser.Builder clone() {
     }
 
     public CompiledSource parse(List<Parser.Input> sources, Disposable disposable, ExecutionContext ctx) {
-        CompilerConfiguration compilerConfiguration = compilerConfiguration();
-        Module module = buildModule(compilerConfiguration);
+        return parse(sources, createEnvironment(disposable, ""), ctx);
+    }
 
-        KotlinCoreEnvironment environment = KotlinCoreEnvironment.createForProduction(
-                disposable,
-                compilerConfiguration,
-                EnvironmentConfigFiles.JVM_CONFIG_FILES);
+    private CompiledSource parse(List<Parser.Input> sources, CompilerEnvironment compilerEnvironment, ExecutionContext ctx) {
+        CompilerConfiguration compilerConfiguration = compilerEnvironment.getCompilerConfiguration();
+        Module module = compilerEnvironment.getModule();
+        KotlinCoreEnvironment environment = compilerEnvironment.getEnvironment();
+        VfsBasedProjectEnvironment projectEnvironment = compilerEnvironment.getProjectEnvironment();
 
         List<KtFile> ktFiles = new ArrayList<>(sources.size());
         List<KotlinSource> kotlinSources = new ArrayList<>(sources.size());
@@ -447,22 +474,13 @@ public CompiledSource parse(List<Parser.Input> sources, Disposable disposable, E
             kotlinSources.add(new KotlinSource(source, file, cRLFLocations));
         }
 
-        VfsBasedProjectEnvironment projectEnvironment = new VfsBasedProjectEnvironment(
-                environment.getProject(),
-                VirtualFileManager.getInstance().getFileSystem(StandardFileSystems.FILE_PROTOCOL),
-                environment::createPackagePartProvider);
-
         AbstractProjectFileSearchScope sourceScope = projectEnvironment.getSearchScopeByPsiFiles(ktFiles);
         sourceScope.plus(projectEnvironment.getSearchScopeForProjectJavaSources());
 
-        AbstractProjectFileSearchScope libraryScope = projectEnvironment.getSearchScopeForProjectLibraries();
+        AbstractProjectFileSearchScope libraryScope = compilerEnvironment.getLibraryScope();
 
         Name name = Name.identifier(module.getModuleName());
-        DependencyListForCliModule libraryList = CliCompilerUtilsKt.createLibraryListForJvm(
-                module.getModuleName(),
-                compilerConfiguration,
-                compilerConfiguration.get(JVMConfigurationKeys.FRIEND_PATHS, emptyList())
-        );
+        DependencyListForCliModule libraryList = compilerEnvironment.getLibraryList();
 
         FirSession firSession = JvmFrontendPipelinePhase.INSTANCE
                 .prepareJvmSessions(
@@ -524,6 +542,92 @@ public CompiledSource parse(List<Parser.Input> sources, Disposable disposable, E
 
     }
 
+    private CompilerEnvironment acquireEnvironment() {
+        if (environmentPool == null) {
+            return createEnvironment(Disposer.newDisposable(), "");
+        }
+        String fingerprint = environmentFingerprint();
+        CompilerEnvironment environment = environmentPool.borrow(fingerprint);
+        return environment == null ? createEnvironment(Disposer.newDisposable(), fingerprint) : environment;
+    }
+
+    private void releaseEnvironment(CompilerEnvironment environment) {
+        if (environmentPool == null) {
+            environment.dispose();
+        } else {
+            environmentPool.release(environment);
+        }
+    }
+
+    private CompilerEnvironment createEnvironment(Disposable disposable, String fingerprint) {
+        CompilerConfiguration compilerConfiguration = compilerConfiguration();
+        Module module = buildModule(compilerConfiguration);
+
+        KotlinCoreEnvironment environment = KotlinCoreEnvironment.createForProduction(
+                disposable,
+                compilerConfiguration,
+                EnvironmentConfigFiles.JVM_CONFIG_FILES);
+
+        VfsBasedProjectEnvironment projectEnvironment = new VfsBasedProjectEnvironment(
+                environment.getProject(),
+                VirtualFileManager.getInstance().getFileSystem(StandardFileSystems.FILE_PROTOCOL),
+                environment::createPackagePartProvider);
+
+        DependencyListForCliModule libraryList = CliCompilerUtilsKt.createLibraryListForJvm(
+                module.getModuleName(),
+                compilerConfiguration,
+                compilerConfiguration.get(JVMConfigurationKeys.FRIEND_PATHS, emptyList())
+        );
+
+        return new CompilerEnvironment(fingerprint, disposable, compilerConfiguration, module, environment,
+                projectEnvironment, projectEnvironment.getSearchScopeForProjectLibraries(), libraryList);
+    }
+
+    /**
+     * Everything that goes into {@link #compilerConfiguration()} and {@link #buildModule(CompilerConfiguration)}.
+     * Classpath entries include their size and modification time so that a jar rebuilt in place is re-indexed.
+     */
+    private String environmentFingerprint() {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(moduleName).append('|')
+                .append(languageLevel).append('|')
+                .append(logCompilationWarningsAndErrors).append('|')
+                .append(scriptImplicitReceivers).append('|')
+                .append(scriptDefaultImports);
+        if (classpath != null) {
+            for (Path path : classpath) {
+                fingerprint.append('|').append(path);
+                try {
+                    File file = path.toFile();
+                    fingerprint.append(':').append(file.length()).append(':').append(file.lastModified());
+                } catch (UnsupportedOperationException ignored) {
+                    // not on the default file system, and so not added to the classpath roots either
+                }
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * The part of a parse that depends only on the parser's configuration and classpath, and so
+     * can be kept alive across parses by a {@link KotlinEnvironmentPool}.
+     */
+    @Value
+    static class CompilerEnvironment {
+        String fingerprint;
+        Disposable disposable;
+        CompilerConfiguration compilerConfiguration;
+        Module module;
+        KotlinCoreEnvironment environment;
+        VfsBasedProjectEnvironment projectEnvironment;
+        AbstractProjectFileSearchScope libraryScope;
+        DependencyListForCliModule libraryList;
+
+        void dispose() {
+            Disposer.dispose(disposable);
+        }
+    }
+
     private Module buildModule(CompilerConfiguration compilerConfiguration) {
         if (classpath != null) {
             for (Path path : classpath) {
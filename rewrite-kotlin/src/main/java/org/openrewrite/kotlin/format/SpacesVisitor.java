@@ -1180,7 +1180,7 @@ public J.EnumValue visitEnumValue(J.EnumValue _enum, P p) {
     @Override
     public @Nullable J postVisit(J tree, P p) {
         if (stopAfter != null && stopAfter.isScope(tree)) {
-            getCursor().getRoot().putMessage("stop", true);
+            getCursor().putMessageOnFirstEnclosing(JavaSourceFile.class, "stop", true);
         }
         return super.postVisit(tree, p);
     }
@@ -17,10 +17,20 @@
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.kotlin.tree.K;
 import org.openrewrite.test.RewriteTest;
 
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.kotlin.Assertions.kotlin;
 
 class KotlinParserTest implements RewriteTest {
@@ -63,4 +73,45 @@ void dependsOnWithAbsoluteRelativeTo(@TempDir Path tempDir) {
         );
     }
 
+    @Test
+    void reusePooledEnvironment() {
+        try (KotlinEnvironmentPool pool = new KotlinEnvironmentPool()) {
+            KotlinParser parser = KotlinParser.builder().environmentPool(pool).build();
+
+            List<SourceFile> first = parser.parse("class A").collect(toList());
+            assertThat(pool.size()).isEqualTo(1);
+
+            List<SourceFile> second = parser.parse(
+              """
+                class B {
+                    val list: java.util.ArrayList<String>? = null
+                    val a: A? = null
+                }
+                """
+            ).collect(toList());
+            assertThat(pool.size()).isEqualTo(1);
+
+            assertThat(first).singleElement().isInstanceOf(K.CompilationUnit.class);
+            assertThat(second).singleElement().isInstanceOf(K.CompilationUnit.class);
+
+            // the reused environment still attributes types from the classpath, but not from the sources it parsed before
+            Map<String, JavaType> types = variableTypes(second.get(0));
+            assertThat(TypeUtils.isOfClassType(types.get("list"), "java.util.ArrayList")).isTrue();
+            assertThat(TypeUtils.isOfClassType(types.get("a"), "A")).isFalse();
+        }
+    }
+
+    private static Map<String, JavaType> variableTypes(SourceFile sourceFile) {
+        Map<String, JavaType> types = new HashMap<>();
+        new KotlinIsoVisitor<Map<String, JavaType>>() {
+            @Override
+            public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, Map<String, JavaType> types) {
+                if (variable.getType() != null) {
+                    types.put(variable.getSimpleName(), variable.getType());
+                }
+                return super.visitVariable(variable, types);
+            }
+        }.visit(sourceFile, types);
+        return types;
+    }
 }
@@ -75,7 +75,7 @@ public boolean isAcceptable(SourceFile sourceFile, Integer integer) {
             public Xml.Tag visitTag(Xml.Tag tag, Integer integer) {
                 Xml.Tag t = tag;
                 for (GroupArtifact ga : byGav.keySet()) {
-                    boolean hasException = (DEPENDENCY_MATCHER.matches(getCursor()) || MANAGED_DEPENDENCY_MATCHER.matches(getCursor()) || PARENT_MATCHER.matches(getCursor())) &&
+                    boolean hasException = (TAG_MATCHERS.matches(getCursor(), DEPENDENCY_MATCHER) || TAG_MATCHERS.matches(getCursor(), MANAGED_DEPENDENCY_MATCHER) || TAG_MATCHERS.matches(getCursor(), PARENT_MATCHER)) &&
                                            tag.getChildValue("groupId").map(a -> ga.getGroupId().equals(a)).orElse(false) &&
                                            tag.getChildValue("artifactId").map(a -> ga.getArtifactId().equals(a)).orElse(false);
                     if (hasException) {
@@ -25,6 +25,7 @@
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
@@ -46,6 +47,8 @@ public class MavenExecutionContextView extends DelegatingExecutionContext {
     private static final String MAVEN_POM_CACHE = "org.openrewrite.maven.pomCache";
     private static final String MAVEN_RESOLUTION_LISTENER = "org.openrewrite.maven.resolutionListener";
     private static final String MAVEN_RESOLUTION_TIME = "org.openrewrite.maven.resolutionTime";
+    private static final String MAVEN_DOWNLOAD_EXECUTOR = "org.openrewrite.maven.downloadExecutor";
+    private static final String MAVEN_MAX_CONCURRENT_DOWNLOADS_PER_REPOSITORY = "org.openrewrite.maven.maxConcurrentDownloadsPerRepository";
 
     public MavenExecutionContextView(ExecutionContext delegate) {
         super(delegate);
@@ -135,6 +138,33 @@ public MavenPomCache getPomCache() {
         return (MavenPomCache) getMessages().computeIfAbsent(MAVEN_POM_CACHE, k -> new InMemoryMavenPomCache());
     }
 
+    /**
+     * @param downloadExecutor When set, dependency resolution requests the POMs of each level of the dependency
+     *                         graph concurrently on this executor, rather than one at a time as it reaches them.
+     *                         The executor is not shut down by the resolver.
+     */
+    public MavenExecutionContextView setDownloadExecutor(@Nullable ExecutorService downloadExecutor) {
+        putMessage(MAVEN_DOWNLOAD_EXECUTOR, downloadExecutor);
+        return this;
+    }
+
+    public @Nullable ExecutorService getDownloadExecutor() {
+        return getMessage(MAVEN_DOWNLOAD_EXECUTOR);
+    }
+
+    /**
+     * @param maxConcurrentDownloads The most requests made to any one repository at the same time
+     *                               on the {@link #getDownloadExecutor() download executor}.
+     */
+    public MavenExecutionContextView setMaxConcurrentDownloadsPerRepository(int maxConcurrentDownloads) {
+        putMessage(MAVEN_MAX_CONCURRENT_DOWNLOADS_PER_REPOSITORY, maxConcurrentDownloads);
+        return this;
+    }
+
+    public int getMaxConcurrentDownloadsPerRepository() {
+        return getMessage(MAVEN_MAX_CONCURRENT_DOWNLOADS_PER_REPOSITORY, 8);
+    }
+
     public MavenExecutionContextView setLocalRepository(MavenRepository localRepository) {
         putMessage(MAVEN_LOCAL_REPOSITORY, localRepository);
         return this;
@@ -23,6 +23,7 @@
 import org.openrewrite.maven.internal.MavenPomDownloader;
 import org.openrewrite.maven.tree.*;
 import org.openrewrite.xml.ChangeTagValueVisitor;
+import org.openrewrite.xml.MultiXPathMatcher;
 import org.openrewrite.xml.XPathMatcher;
 import org.openrewrite.xml.XmlVisitor;
 import org.openrewrite.xml.tree.Xml;
@@ -49,6 +50,24 @@
     static final XPathMatcher PARENT_MATCHER = new XPathMatcher("/project/parent");
     static final XPathMatcher PROJECT_MATCHER = new XPathMatcher("/project");
 
+    /**
+     * Evaluates all of the above in one pass over each tag's ancestors, shared by every Maven visitor.
+     */
+    static final MultiXPathMatcher TAG_MATCHERS = new MultiXPathMatcher(
+            DEPENDENCY_MATCHER,
+            PROFILE_DEPENDENCY_MATCHER,
+            PLUGIN_DEPENDENCY_MATCHER,
+            PROFILE_PLUGIN_DEPENDENCY_MATCHER,
+            MANAGED_DEPENDENCY_MATCHER,
+            PROFILE_MANAGED_DEPENDENCY_MATCHER,
+            PROPERTY_MATCHER,
+            PLUGIN_MATCHER,
+            ANNOTATION_PROCESSORS_PATH_MATCHER,
+            MANAGED_PLUGIN_MATCHER,
+            PARENT_MATCHER,
+            PROJECT_MATCHER
+    );
+
     // there are several implicitly defined version properties that we should never attempt to update
     private static final Set<String> IMPLICITLY_DEFINED_VERSION_PROPERTIES = new HashSet<>(Arrays.asList(
             "${version}",
@@ -98,11 +117,11 @@ protected MavenResolutionResult getResolutionResult() {
     }
 
     public boolean isPropertyTag() {
-        return PROPERTY_MATCHER.matches(getCursor());
+        return TAG_MATCHERS.matches(getCursor(), PROPERTY_MATCHER);
     }
 
     public boolean isDependencyTag() {
-        return isTag("dependency") && DEPENDENCY_MATCHER.matches(getCursor());
+        return isTag("dependency") && TAG_MATCHERS.matches(getCursor(), DEPENDENCY_MATCHER);
     }
 
     /**
@@ -114,7 +133,7 @@ public boolean isDependencyTag() {
      */
     public boolean isDependencyTag(String groupId, String artifactId) {
         if (!isDependencyTag()) {
-            if (isTag("dependency") && PROFILE_DEPENDENCY_MATCHER.matches(getCursor())) {
+            if (isTag("dependency") && TAG_MATCHERS.matches(getCursor(), PROFILE_DEPENDENCY_MATCHER)) {
                 Xml.Tag tag = getCursor().getValue();
                 return matchesGlob(tag.getChildValue("groupId").orElse(null), groupId) &&
                         matchesGlob(tag.getChildValue("artifactId").orElse(null), artifactId);
@@ -156,8 +175,8 @@ public boolean isDependencyTag(String groupId, String artifactId) {
 
     public boolean isPluginDependencyTag(String groupId, String artifactId) {
         if (!isTag("dependency") ||
-                !PLUGIN_DEPENDENCY_MATCHER.matches(getCursor()) &&
-                        !PROFILE_PLUGIN_DEPENDENCY_MATCHER.matches(getCursor())) {
+                !TAG_MATCHERS.matches(getCursor(), PLUGIN_DEPENDENCY_MATCHER) &&
+                        !TAG_MATCHERS.matches(getCursor(), PROFILE_PLUGIN_DEPENDENCY_MATCHER)) {
             return false;
         }
         Xml.Tag tag = getCursor().getValue();
@@ -166,7 +185,7 @@ public boolean isPluginDependencyTag(String groupId, String artifactId) {
     }
 
     public boolean isManagedDependencyTag() {
-        return isTag("dependency") && MANAGED_DEPENDENCY_MATCHER.matches(getCursor());
+        return isTag("dependency") && TAG_MATCHERS.matches(getCursor(), MANAGED_DEPENDENCY_MATCHER);
     }
 
     /**
@@ -178,7 +197,7 @@ public boolean isManagedDependencyTag() {
      */
     public boolean isManagedDependencyTag(String groupId, String artifactId) {
         if (!isManagedDependencyTag()) {
-            if (isTag("dependency") && PROFILE_MANAGED_DEPENDENCY_MATCHER.matches(getCursor())) {
+            if (isTag("dependency") && TAG_MATCHERS.matches(getCursor(), PROFILE_MANAGED_DEPENDENCY_MATCHER)) {
                 Xml.Tag tag = getCursor().getValue();
                 return matchesGlob(tag.getChildValue("groupId").orElse(null), groupId) &&
                         matchesGlob(tag.getChildValue("artifactId").orElse(null), artifactId);
@@ -220,7 +239,7 @@ public boolean isManagedDependencyImportTag(String groupId, String artifactId) {
     }
 
     public boolean isAnnotationProcessorPathTag(String groupId, String artifactId) {
-        if (!isTag("path") || !ANNOTATION_PROCESSORS_PATH_MATCHER.matches(getCursor())) {
+        if (!isTag("path") || !TAG_MATCHERS.matches(getCursor(), ANNOTATION_PROCESSORS_PATH_MATCHER)) {
             return false;
         }
         Xml.Tag tag = getCursor().getValue();
@@ -238,7 +257,7 @@ public void maybeUpdateModel() {
     }
 
     public boolean isPluginTag() {
-        return isTag("plugin") && PLUGIN_MATCHER.matches(getCursor());
+        return isTag("plugin") && TAG_MATCHERS.matches(getCursor(), PLUGIN_MATCHER);
     }
 
     public boolean isPluginTag(String groupId, @Nullable String artifactId) {
@@ -246,7 +265,7 @@ public boolean isPluginTag(String groupId, @Nullable String artifactId) {
     }
 
     public boolean isManagedPluginTag() {
-        return isTag("plugin") && MANAGED_PLUGIN_MATCHER.matches(getCursor());
+        return isTag("plugin") && TAG_MATCHERS.matches(getCursor(), MANAGED_PLUGIN_MATCHER);
     }
 
     private boolean hasPluginGroupId(String groupId) {
@@ -279,11 +298,11 @@ private boolean hasPluginArtifactId(@Nullable String artifactId) {
 
 
     public boolean isParentTag() {
-        return isTag("parent") && PARENT_MATCHER.matches(getCursor());
+        return isTag("parent") && TAG_MATCHERS.matches(getCursor(), PARENT_MATCHER);
     }
 
     public boolean isProjectTag() {
-        return isTag("project") && PROJECT_MATCHER.matches(getCursor());
+        return isTag("project") && TAG_MATCHERS.matches(getCursor(), PROJECT_MATCHER);
     }
 
     protected boolean isTag(String name) {
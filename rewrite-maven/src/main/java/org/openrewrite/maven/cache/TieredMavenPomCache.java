@@ -0,0 +1,304 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+import lombok.With;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.internal.JfrEventType;
+import org.openrewrite.maven.MavenDownloadingException;
+import org.openrewrite.maven.tree.*;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * A chain of caches, from the fastest to the most durable, such as an {@link InMemoryMavenPomCache} in front
+ * of a {@link RocksdbMavenPomCache}. Lookups try each tier in turn, copying what they find into the tiers in
+ * front of the one it was found in, and updates are written to every tier.
+ * <p>
+ * Unlike {@link CompositeMavenPomCache}, entries expire according to an {@link Expiration}, so that a long-running
+ * process picks up new snapshots and releases, and retries lookups that failed. An expired entry is reported as
+ * missing from every tier until it is written again.
+ * <p>
+ * Hits, misses and the time taken by each tier are published to Micrometer as {@code rewrite.maven.cache.gets}
+ * and {@code rewrite.maven.cache.load}, tagged with the cache nickname, the tier and the kind of entry.
+ */
+@SuppressWarnings("OptionalAssignedToNull")
+public class TieredMavenPomCache implements MavenPomCache {
+    private static final JfrEventType LOOKUP = JfrEventType.builder("org.openrewrite.maven.PomCacheLookup", "Maven POM cache lookup")
+            .category("Maven")
+            .description("A lookup in a single tier of a tiered Maven POM cache.")
+            .field("cache", String.class, "Cache")
+            .field("tier", String.class, "Tier")
+            .field("kind", String.class, "Kind of entry")
+            .field("hit", boolean.class, "Hit")
+            .build();
+
+    private static final String POM = "pom";
+    private static final String METADATA = "metadata";
+    private static final String REPOSITORY = "repository";
+    private static final String RESOLVED_POM = "resolvedPom";
+
+    private final String cacheNickname;
+    private final Expiration expiration;
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final Tier[] tiers;
+
+    /**
+     * When each entry that can expire does so, in milliseconds since the epoch. Entries read from a durable
+     * tier that were written by an earlier process are given a full time to live from when they are first read.
+     */
+    private final Cache<ExpiryKey, Long> expiresAt = Caffeine.newBuilder()
+            .maximumSize(500_000)
+            .build();
+
+    /**
+     * @param cacheNickname A name for this cache in the metrics it publishes.
+     * @param expiration    How long each kind of entry remains usable.
+     * @param tiers         The caches to chain, from the first to consult to the last.
+     */
+    public TieredMavenPomCache(String cacheNickname, Expiration expiration, Tier... tiers) {
+        this(cacheNickname, expiration, Metrics.globalRegistry, Clock.systemUTC(), tiers);
+    }
+
+    TieredMavenPomCache(String cacheNickname, Expiration expiration, MeterRegistry registry, Clock clock, Tier... tiers) {
+        if (tiers.length == 0) {
+            throw new IllegalArgumentException("At least one tier is required");
+        }
+        this.cacheNickname = cacheNickname;
+        this.expiration = expiration;
+        this.registry = registry;
+        this.clock = clock;
+        this.tiers = tiers;
+    }
+
+    @Override
+    public @Nullable ResolvedPom getResolvedDependencyPom(ResolvedGroupArtifactVersion dependency) {
+        return get(RESOLVED_POM, dependency, expiration.getPom(),
+                cache -> cache.getResolvedDependencyPom(dependency),
+                (cache, resolved) -> cache.putResolvedDependencyPom(dependency, resolved));
+    }
+
+    @Override
+    public void putResolvedDependencyPom(ResolvedGroupArtifactVersion dependency, ResolvedPom resolved) {
+        for (Tier tier : tiers) {
+            tier.getCache().putResolvedDependencyPom(dependency, resolved);
+        }
+        written(RESOLVED_POM, dependency, expiration.getPom());
+    }
+
+    @Override
+    public @Nullable Optional<MavenMetadata> getMavenMetadata(URI repo, GroupArtifactVersion gav) {
+        return get(METADATA, new InMemoryMavenPomCache.MetadataKey(repo, gav), metadataTimeToLive(gav),
+                cache -> cache.getMavenMetadata(repo, gav),
+                (cache, metadata) -> cache.putMavenMetadata(repo, gav, metadata.orElse(null)));
+    }
+
+    @Override
+    public void putMavenMetadata(URI repo, GroupArtifactVersion gav, @Nullable MavenMetadata metadata) {
+        for (Tier tier : tiers) {
+            tier.getCache().putMavenMetadata(repo, gav, metadata);
+        }
+        written(METADATA, new InMemoryMavenPomCache.MetadataKey(repo, gav),
+                metadata == null ? expiration.getNegative() : metadataTimeToLive(gav));
+    }
+
+    @Override
+    public @Nullable Optional<Pom> getPom(ResolvedGroupArtifactVersion gav) throws MavenDownloadingException {
+        return get(POM, gav, expiration.getPom(),
+                cache -> cache.getPom(gav),
+                (cache, pom) -> cache.putPom(gav, pom.orElse(null)));
+    }
+
+    @Override
+    public void putPom(ResolvedGroupArtifactVersion gav, @Nullable Pom pom) {
+        for (Tier tier : tiers) {
+            tier.getCache().putPom(gav, pom);
+        }
+        written(POM, gav, pom == null ? expiration.getNegative() : expiration.getPom());
+    }
+
+    @Override
+    public @Nullable Optional<MavenRepository> getNormalizedRepository(MavenRepository repository) {
+        return get(REPOSITORY, repository, expiration.getNormalizedRepository(),
+                cache -> cache.getNormalizedRepository(repository),
+                (cache, normalized) -> cache.putNormalizedRepository(repository, normalized.orElse(null)));
+    }
+
+    @Override
+    public void putNormalizedRepository(MavenRepository repository, @Nullable MavenRepository normalized) {
+        for (Tier tier : tiers) {
+            tier.getCache().putNormalizedRepository(repository, normalized);
+        }
+        written(REPOSITORY, repository, normalized == null ? expiration.getNegative() : expiration.getNormalizedRepository());
+    }
+
+    private @Nullable Duration metadataTimeToLive(GroupArtifactVersion gav) {
+        return gav.getVersion() != null && gav.getVersion().endsWith("-SNAPSHOT") ?
+                expiration.getSnapshotMetadata() :
+                expiration.getMetadata();
+    }
+
+    /**
+     * @param timeToLive How long a value found in a tier remains usable when this process has not seen it before.
+     */
+    private <T, E extends Exception> @Nullable T get(String kind, Object key, @Nullable Duration timeToLive,
+                                                     Lookup<T, E> lookup, BiConsumer<MavenPomCache, T> promote) throws E {
+        ExpiryKey expiryKey = new ExpiryKey(kind, key);
+        Long deadline = expiresAt.getIfPresent(expiryKey);
+        if (deadline != null && clock.millis() >= deadline) {
+            // stays expired until it is written again
+            gets(kind, "all", "expired").increment();
+            return null;
+        }
+
+        for (int i = 0; i < tiers.length; i++) {
+            Tier tier = tiers[i];
+            Timer.Sample sample = Timer.start(registry);
+            JfrEventType.Event event = LOOKUP.begin();
+            T value = lookup.get(tier.getCache());
+            if (event != null) {
+                event.set(0, cacheNickname)
+                        .set(1, tier.getName())
+                        .set(2, kind)
+                        .set(3, value != null)
+                        .commit();
+            }
+            sample.stop(Timer.builder("rewrite.maven.cache.load")
+                    .tag("cache", cacheNickname)
+                    .tag("tier", tier.getName())
+                    .tag("kind", kind)
+                    .register(registry));
+
+            if (value == null) {
+                gets(kind, tier.getName(), "miss").increment();
+                continue;
+            }
+            gets(kind, tier.getName(), "hit").increment();
+
+            boolean negative = value instanceof Optional && !((Optional<?>) value).isPresent();
+            if (!negative) {
+                for (int j = 0; j < i; j++) {
+                    promote.accept(tiers[j].getCache(), value);
+                }
+            }
+            if (deadline == null) {
+                written(kind, key, negative ? expiration.getNegative() : timeToLive);
+            }
+            return value;
+        }
+        return null;
+    }
+
+    private void written(String kind, Object key, @Nullable Duration timeToLive) {
+        ExpiryKey expiryKey = new ExpiryKey(kind, key);
+        if (timeToLive == null) {
+            expiresAt.invalidate(expiryKey);
+        } else {
+            expiresAt.put(expiryKey, clock.millis() + timeToLive.toMillis());
+        }
+    }
+
+    private Counter gets(String kind, String tier, String result) {
+        return Counter.builder("rewrite.maven.cache.gets")
+                .tag("cache", cacheNickname)
+                .tag("tier", tier)
+                .tag("kind", kind)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @FunctionalInterface
+    private interface Lookup<T, E extends Exception> {
+        @Nullable
+        T get(MavenPomCache cache) throws E;
+    }
+
+    @Value
+    private static class ExpiryKey {
+        String kind;
+        Object key;
+    }
+
+    @Value
+    public static class Tier {
+        /**
+         * The name of this tier in the metrics the cache publishes.
+         */
+        String name;
+
+        MavenPomCache cache;
+    }
+
+    /**
+     * How long each kind of entry remains usable after it is written. A {@code null} time to live means that
+     * the entry never expires.
+     */
+    @Value
+    @With
+    public static class Expiration {
+        /**
+         * Released POMs never change, and snapshot POMs are cached by their timestamped version.
+         */
+        public static final Expiration DEFAULT = new Expiration(
+                null,
+                Duration.ofHours(24),
+                Duration.ofMinutes(30),
+                Duration.ofHours(24),
+                Duration.ofHours(1));
+
+        /**
+         * POMs, and the resolved POMs of dependencies.
+         */
+        @Nullable
+        Duration pom;
+
+        /**
+         * {@code maven-metadata.xml} of anything but a snapshot version, e.g. the list of released versions.
+         */
+        @Nullable
+        Duration metadata;
+
+        /**
+         * {@code maven-metadata.xml} of a snapshot version, which changes with every snapshot published.
+         */
+        @Nullable
+        Duration snapshotMetadata;
+
+        /**
+         * The outcome of checking which URL a repository is reachable at.
+         */
+        @Nullable
+        Duration normalizedRepository;
+
+        /**
+         * Lookups that found nothing, which are retried once they expire.
+         */
+        @Nullable
+        Duration negative;
+    }
+}
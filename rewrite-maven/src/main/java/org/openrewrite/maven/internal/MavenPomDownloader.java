@@ -26,6 +26,7 @@
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.HttpSenderExecutionContextView;
+import org.openrewrite.internal.JfrEventType;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.ipc.http.HttpSender;
@@ -46,7 +47,7 @@
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.*;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -64,6 +65,15 @@ public class MavenPomDownloader {
             .withMaxRetries(5)
             .build();
 
+    private static final JfrEventType HTTP_REQUEST = JfrEventType.builder("org.openrewrite.maven.HttpRequest", "Maven HTTP request")
+            .category("Maven")
+            .description("A request to a Maven repository, including any retries.")
+            .field("method", String.class, "Method")
+            .field("url", String.class, "URL")
+            .field("status", int.class, "Status code, or -1 if no response was received")
+            .field("bytes", long.class, "Response body size")
+            .build();
+
     private static final Pattern SNAPSHOT_TIMESTAMP = Pattern.compile("^(.*-)?([0-9]{8}\\.[0-9]{6}-[0-9]+)$");
 
     private static final String SNAPSHOT = "SNAPSHOT";
@@ -78,6 +88,13 @@ public class MavenPomDownloader {
     private final MavenExecutionContextView ctx;
     private final HttpSender httpSender;
 
+    /**
+     * POM responses requested ahead of {@link #download(GroupArtifactVersion, String, ResolvedPom, List)}, by URI.
+     */
+    private final Map<String, CompletableFuture<byte[]>> prefetched = new ConcurrentHashMap<>();
+
+    private final Map<String, Semaphore> repositoryPermits = new ConcurrentHashMap<>();
+
     @Nullable
     private MavenSettings mavenSettings;
 
@@ -149,9 +166,18 @@ private MavenPomDownloader(Map<Path, Pom> projectPoms, HttpSender httpSender, Ex
 
     byte[] sendRequest(HttpSender.Request request) throws IOException, HttpSenderResponseException {
         long start = System.nanoTime();
+        JfrEventType.Event event = HTTP_REQUEST.begin();
+        if (event != null) {
+            event.set(0, request.getMethod().name())
+                    .set(1, request.getUrl().toString())
+                    .set(2, -1);
+        }
         try {
-            return Failsafe.with(retryPolicy).get(() -> {
+            byte[] body = Failsafe.with(retryPolicy).get(() -> {
                 try (HttpSender.Response response = httpSender.send(request)) {
+                    if (event != null) {
+                        event.set(2, response.getCode());
+                    }
                     if (!response.isSuccessful()) {
                         throw new HttpSenderResponseException(null, response.getCode(),
                                 new String(response.getBodyAsBytes()));
@@ -159,6 +185,10 @@ byte[] sendRequest(HttpSender.Request request) throws IOException, HttpSenderRes
                     return response.getBodyAsBytes();
                 }
             });
+            if (event != null) {
+                event.set(3, (long) body.length);
+            }
+            return body;
         } catch (FailsafeException failsafeException) {
             if (failsafeException.getCause() instanceof HttpSenderResponseException) {
                 throw (HttpSenderResponseException) failsafeException.getCause();
@@ -168,6 +198,9 @@ byte[] sendRequest(HttpSender.Request request) throws IOException, HttpSenderRes
             throw e.getCause();
         } finally {
             this.ctx.recordResolutionTime(Duration.ofNanos(System.nanoTime() - start));
+            if (event != null) {
+                event.commit();
+            }
         }
     }
 
@@ -574,11 +607,7 @@ public Pom download(GroupArtifactVersion gav,
             Optional<Pom> result = mavenCache.getPom(resolvedGav);
 
             if (result == null) {
-                URI uri = URI.create(repo.getUri() + (repo.getUri().endsWith("/") ? "" : "/") +
-                                     requireNonNull(gav.getGroupId()).replace('.', '/') + '/' +
-                                     gav.getArtifactId() + '/' +
-                                     gav.getVersion() + '/' +
-                                     gav.getArtifactId() + '-' + versionMaybeDatedSnapshot + ".pom");
+                URI uri = pomUri(repo, gav, versionMaybeDatedSnapshot);
                 uris.add(uri.toString());
                 if ("file".equals(uri.getScheme())) {
                     Path inputPath = Paths.get(gav.getGroupId(), gav.getArtifactId(), gav.getVersion());
@@ -737,6 +766,141 @@ public Pom download(GroupArtifactVersion gav,
         }
     }
 
+    /**
+     * Start requesting a POM on the {@link MavenExecutionContextView#getDownloadExecutor() download executor}, so that
+     * a later call to {@link #download(GroupArtifactVersion, String, ResolvedPom, List)} for the same GAV and repositories
+     * finds the response already in flight. Prefetching never changes what {@code download} returns or the events it
+     * reports, as {@code download} still makes every decision itself and only takes the response body from here.
+     * <p>
+     * The request is only made from the first repository that {@code download} would request the POM from. Nothing is
+     * requested when there is no download executor, or when the POM comes from the project, is already cached, is in a
+     * file repository, has a version that must first be resolved from metadata, or when the repository that would serve
+     * it has not been normalized yet.
+     *
+     * @param gav           The coordinates of the POM.
+     * @param containingPom The POM that refers to it, as will be passed to {@code download}.
+     * @param repositories  The repositories, as will be passed to {@code download}.
+     */
+    public void prefetch(GroupArtifactVersion gav, @Nullable ResolvedPom containingPom, List<MavenRepository> repositories) {
+        ExecutorService executor = ctx.getDownloadExecutor();
+        String version = gav.getVersion();
+        if (executor == null || gav.getGroupId() == null || version == null || !isFixedReleaseVersion(version) ||
+            projectPomsByGav.containsKey(gav)) {
+            return;
+        }
+        for (Pom projectPom : projectPoms.values()) {
+            if (projectPom.getGroupId().equals(gav.getGroupId()) && projectPom.getArtifactId().equals(gav.getArtifactId())) {
+                return;
+            }
+        }
+
+        Set<@Nullable String> seen = new HashSet<>();
+        for (MavenRepository repository : repositoriesById(repositories).values()) {
+            Optional<MavenRepository> normalized = knownNormalizedRepository(repository, containingPom);
+            if (normalized == null) {
+                return;
+            }
+            if (!normalized.isPresent() || !repositoryAcceptsVersion(normalized.get(), version, containingPom) ||
+                !seen.add(normalized.get().getId())) {
+                continue;
+            }
+
+            MavenRepository repo = normalized.get();
+            Optional<Pom> cached;
+            try {
+                cached = mavenCache.getPom(new ResolvedGroupArtifactVersion(
+                        repo.getUri(), gav.getGroupId(), gav.getArtifactId(), version, version));
+            } catch (MavenDownloadingException e) {
+                // leave it to download() to report
+                return;
+            }
+            if (cached != null) {
+                if (cached.isPresent()) {
+                    return;
+                }
+                continue;
+            }
+
+            URI uri = pomUri(repo, gav, version);
+            if ("file".equals(uri.getScheme())) {
+                File pomFile = new File(uri);
+                if (pomFile.exists() || pomFile.toPath().resolveSibling(gav.getArtifactId() + '-' + version + ".jar").toFile().exists()) {
+                    return;
+                }
+                continue;
+            }
+
+            int maxConcurrentDownloads = ctx.getMaxConcurrentDownloadsPerRepository();
+            Semaphore permits = repositoryPermits.computeIfAbsent(repo.getUri(), k -> new Semaphore(maxConcurrentDownloads));
+            prefetched.computeIfAbsent(uri.toString(), u -> CompletableFuture.supplyAsync(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    return sendAsAuthenticatedOrAnonymous(repo, u);
+                } catch (HttpSenderResponseException | IOException e) {
+                    throw new CompletionException(e);
+                } finally {
+                    permits.release();
+                }
+            }, executor));
+            return;
+        }
+    }
+
+    /**
+     * Forget any prefetched POM responses that no download has asked for yet.
+     */
+    public void discardPrefetched() {
+        for (CompletableFuture<byte[]> response : prefetched.values()) {
+            response.cancel(false);
+        }
+        prefetched.clear();
+    }
+
+    private static boolean isFixedReleaseVersion(String version) {
+        return !version.endsWith("-" + SNAPSHOT) && !NAMED_VERSIONS.contains(version.toUpperCase()) &&
+               !version.contains("${") && !version.contains("[") && !version.contains("(") && !version.contains(",") &&
+               !SNAPSHOT_TIMESTAMP.matcher(version).matches();
+    }
+
+    /**
+     * The same normalization as {@link #normalizeRepository(MavenRepository, MavenExecutionContextView, ResolvedPom)},
+     * but only where it is already known, so that it neither makes requests nor reports events.
+     *
+     * @return {@code null} when normalizing the repository would require a request, or an empty result for a
+     * repository that will be skipped.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private @Nullable Optional<MavenRepository> knownNormalizedRepository(MavenRepository originalRepository, @Nullable ResolvedPom containingPom) {
+        MavenRepository repository = originalRepository;
+        if (containingPom != null) {
+            repository = repository.withUri(containingPom.getValue(repository.getUri()));
+        }
+        repository = applyAuthenticationToRepository(applyMirrors(repository));
+        if (repository.isKnownToExist()) {
+            return Optional.of(repository);
+        }
+        if (repository.getUri().contains("${") || repository.getUri().contains("0.0.0.0")) {
+            return Optional.empty();
+        }
+        try {
+            if ("file".equals(URI.create(repository.getUri()).getScheme())) {
+                return Optional.of(repository);
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        Optional<MavenRepository> normalized = mavenCache.getNormalizedRepository(repository);
+        return normalized == null ? null : normalized.map(this::applyAuthenticationToRepository);
+    }
+
+    private static URI pomUri(MavenRepository repo, GroupArtifactVersion gav, @Nullable String versionMaybeDatedSnapshot) {
+        return URI.create(repo.getUri() + (repo.getUri().endsWith("/") ? "" : "/") +
+                          requireNonNull(gav.getGroupId()).replace('.', '/') + '/' +
+                          gav.getArtifactId() + '/' +
+                          gav.getVersion() + '/' +
+                          gav.getArtifactId() + '-' + versionMaybeDatedSnapshot + ".pom");
+    }
+
     private RawPom rawPomFromGav(GroupArtifactVersion gav) {
         return new RawPom(null, null, gav.getGroupId(), gav.getArtifactId(), gav.getVersion(), null,
                 null, null, null, "jar", null, null, null,
@@ -838,28 +1002,7 @@ Iterable<MavenRepository> distinctNormalizedRepositories(
             repositories = emptyList();
         }
 
-        // Create a list of raw repository suppliers in the correct order
-        Map<@Nullable String, MavenRepository> repositoriesById = new LinkedHashMap<>();
-
-        // Add local repository if needed
-        if (addLocalRepository) {
-            repositoriesById.put("local", ctx.getLocalRepository());
-        }
-
-        // Add repositories from maven settings
-        for (MavenRepository repo : ctx.getRepositories(mavenSettings, activeProfiles)) {
-            repositoriesById.put(repo.getId(), repo);
-        }
-
-        // Add repositories passed as parameter
-        for (MavenRepository repo : repositories) {
-            repositoriesById.put(repo.getId(), repo);
-        }
-
-        // Add Maven Central if needed
-        if (addCentralRepository && !repositoriesById.containsKey("central")) {
-            repositoriesById.put("central", MavenRepository.MAVEN_CENTRAL);
-        }
+        Map<@Nullable String, MavenRepository> repositoriesById = repositoriesById(repositories);
 
         // Return lazy iterable
         return () -> new Iterator<MavenRepository>() {
@@ -901,6 +1044,35 @@ public MavenRepository next() {
         };
     }
 
+    /**
+     * @return The repositories to look in, in the order to look in them, before they are normalized.
+     */
+    private Map<@Nullable String, MavenRepository> repositoriesById(List<MavenRepository> repositories) {
+        Map<@Nullable String, MavenRepository> repositoriesById = new LinkedHashMap<>();
+
+        // Add local repository if needed
+        if (addLocalRepository) {
+            repositoriesById.put("local", ctx.getLocalRepository());
+        }
+
+        // Add repositories from maven settings
+        for (MavenRepository repo : ctx.getRepositories(mavenSettings, activeProfiles)) {
+            repositoriesById.put(repo.getId(), repo);
+        }
+
+        // Add repositories passed as parameter
+        for (MavenRepository repo : repositories) {
+            repositoriesById.put(repo.getId(), repo);
+        }
+
+        // Add Maven Central if needed
+        if (addCentralRepository && !repositoriesById.containsKey("central")) {
+            repositoriesById.put("central", MavenRepository.MAVEN_CENTRAL);
+        }
+
+        return repositoriesById;
+    }
+
     public @Nullable MavenRepository normalizeRepository(MavenRepository originalRepository, MavenExecutionContextView ctx, @Nullable ResolvedPom containingPom) {
         Optional<MavenRepository> result = null;
         MavenRepository repository = originalRepository;
@@ -1070,9 +1242,35 @@ private boolean jarExistsForPomUri(MavenRepository repo, String pomUrl) {
 
 
     /**
-     * Replicates Apache Maven's behavior to attempt anonymous download if repository credentials prove invalid
+     * Takes the response from a matching {@link #prefetch(GroupArtifactVersion, ResolvedPom, List)} if there is one,
+     * and otherwise sends the request.
      */
     private byte[] requestAsAuthenticatedOrAnonymous(MavenRepository repo, String uriString) throws HttpSenderResponseException, IOException {
+        CompletableFuture<byte[]> prefetchedResponse = prefetched.remove(uriString);
+        if (prefetchedResponse != null) {
+            try {
+                return prefetchedResponse.join();
+            } catch (CancellationException ignored) {
+                // discarded before it completed, so request it again
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof HttpSenderResponseException) {
+                    throw (HttpSenderResponseException) cause;
+                } else if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw e;
+            }
+        }
+        return sendAsAuthenticatedOrAnonymous(repo, uriString);
+    }
+
+    /**
+     * Replicates Apache Maven's behavior to attempt anonymous download if repository credentials prove invalid
+     */
+    private byte[] sendAsAuthenticatedOrAnonymous(MavenRepository repo, String uriString) throws HttpSenderResponseException, IOException {
         try {
             HttpSender.Request.Builder request = httpSender.get(uriString);
             return sendRequest(applyAuthenticationAndTimeoutToRequest(repo, request).build());
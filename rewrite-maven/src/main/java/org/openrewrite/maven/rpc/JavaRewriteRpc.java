@@ -24,7 +24,6 @@
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import io.moderne.jsonrpc.JsonRpc;
-import io.moderne.jsonrpc.formatter.JsonMessageFormatter;
 import io.moderne.jsonrpc.handler.HeaderDelimitedMessageHandler;
 import io.moderne.jsonrpc.handler.MessageHandler;
 import io.moderne.jsonrpc.handler.TraceMessageHandler;
@@ -41,6 +40,7 @@
 import org.openrewrite.maven.marketplace.MavenRecipeBundleResolver;
 import org.openrewrite.maven.utilities.MavenArtifactDownloader;
 import org.openrewrite.rpc.RewriteRpc;
+import org.openrewrite.rpc.RpcMessageFormatter;
 
 import java.io.IOException;
 import java.io.PrintStream;
@@ -187,7 +187,7 @@ private static void run(@Nullable Path marketplaceCsv, boolean trace, @Nullable
         module.addSerializer(Path.class, new PathSerializer());
         module.addDeserializer(Path.class, new PathDeserializer());
 
-        JsonMessageFormatter formatter = new JsonMessageFormatter(module, new ParameterNamesModule());
+        RpcMessageFormatter formatter = new RpcMessageFormatter(module, new ParameterNamesModule());
         MessageHandler handler = new HeaderDelimitedMessageHandler(formatter, System.in, System.out);
 
         if (trace) {
@@ -197,7 +197,8 @@ private static void run(@Nullable Path marketplaceCsv, boolean trace, @Nullable
         JsonRpc jsonRpc = new JsonRpc(handler);
 
         // Create the RPC server with the marketplace and resolvers
-        RewriteRpc server = new RewriteRpc(jsonRpc, marketplace, resolvers);
+        RewriteRpc server = new RewriteRpc(jsonRpc, marketplace, resolvers)
+                .messageFormatter(formatter);
 
         if (logStream != null) {
             server.log(logStream);
@@ -1020,6 +1020,16 @@ public List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifa
         while (!dependenciesAtDepth.isEmpty()) {
             Map<GroupArtifactClassifierType, DependencyAndDependent> dependenciesAtNextDepthMap = new LinkedHashMap<>();
 
+            // Request the POMs of this whole level concurrently when there is a download executor. The
+            // loop below still downloads each of them in turn, taking the responses as they arrive.
+            downloader.discardPrefetched();
+            if (MavenExecutionContextView.view(ctx).getDownloadExecutor() != null) {
+                for (DependencyAndDependent dd : dependenciesAtDepth) {
+                    Dependency d = getValues(dd.getDefinedIn().getValues(dd.getDependency(), 0), depth);
+                    downloader.prefetch(d.getGav(), dd.getDefinedIn(), getRepositories());
+                }
+            }
+
             for (DependencyAndDependent dd : dependenciesAtDepth) {
                 // First get the dependency (relative to the pom it was defined in)
                 // Depth 0 prevents its dependency management from overriding versions of its own direct dependencies
@@ -1189,6 +1199,7 @@ public List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifa
             dependenciesAtDepth = dependenciesAtNextDepthMap.values();
             depth++;
         }
+        downloader.discardPrefetched();
 
         if (exceptions != null) {
             throw exceptions;
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.maven.internal.RawPom;
+import org.openrewrite.maven.tree.GroupArtifactVersion;
+import org.openrewrite.maven.tree.MavenMetadata;
+import org.openrewrite.maven.tree.Pom;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TieredMavenPomCacheTest {
+    private static final URI REPO = URI.create("https://repo.maven.apache.org/maven2");
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MutableClock clock = new MutableClock();
+    InMemoryMavenPomCache l1 = new InMemoryMavenPomCache();
+    InMemoryMavenPomCache l2 = new InMemoryMavenPomCache();
+    TieredMavenPomCache cache = new TieredMavenPomCache("test", TieredMavenPomCache.Expiration.DEFAULT, registry, clock,
+      new TieredMavenPomCache.Tier("memory", l1),
+      new TieredMavenPomCache.Tier("disk", l2));
+
+    @Test
+    void promotesFromLowerTier() throws Exception {
+        Pom pom = parsePomXml(
+          """
+            <project>
+                <modelVersion>4.0.0</modelVersion>
+                <groupId>com.foo</groupId>
+                <artifactId>test</artifactId>
+                <version>1.0.0</version>
+            </project>
+            """);
+        l2.putPom(pom.getGav(), pom);
+
+        assertThat(cache.getPom(pom.getGav())).isPresent();
+        assertThat(l1.getPom(pom.getGav())).isPresent();
+        assertThat(cache.getPom(pom.getGav())).isPresent();
+
+        assertThat(gets("memory", "pom", "miss")).isEqualTo(1);
+        assertThat(gets("disk", "pom", "hit")).isEqualTo(1);
+        assertThat(gets("memory", "pom", "hit")).isEqualTo(1);
+        assertThat(registry.get("rewrite.maven.cache.load").tag("tier", "disk").timer().count()).isEqualTo(1);
+
+        // released POMs do not expire by default
+        clock.advance(Duration.ofDays(365));
+        assertThat(cache.getPom(pom.getGav())).isPresent();
+    }
+
+    @Test
+    void snapshotMetadataExpiresBeforeReleaseMetadata() {
+        GroupArtifactVersion release = new GroupArtifactVersion("com.foo", "test", null);
+        GroupArtifactVersion snapshot = new GroupArtifactVersion("com.foo", "test", "1.0.0-SNAPSHOT");
+        MavenMetadata metadata = new MavenMetadata(new MavenMetadata.Versioning(
+          singletonList("1.0.0"), null, null, null, null, null));
+        cache.putMavenMetadata(REPO, release, metadata);
+        cache.putMavenMetadata(REPO, snapshot, metadata);
+
+        clock.advance(Duration.ofHours(1));
+        assertThat(cache.getMavenMetadata(REPO, release)).isPresent();
+        assertThat(cache.getMavenMetadata(REPO, snapshot)).isNull();
+        assertThat(gets("all", "metadata", "expired")).isEqualTo(1);
+
+        // writing the entry again makes it usable again
+        cache.putMavenMetadata(REPO, snapshot, metadata);
+        assertThat(cache.getMavenMetadata(REPO, snapshot)).isPresent();
+
+        clock.advance(Duration.ofDays(1));
+        assertThat(cache.getMavenMetadata(REPO, release)).isNull();
+    }
+
+    @Test
+    void negativeLookupsExpire() throws Exception {
+        Pom pom = parsePomXml(
+          """
+            <project>
+                <modelVersion>4.0.0</modelVersion>
+                <groupId>com.foo</groupId>
+                <artifactId>missing</artifactId>
+                <version>1.0.0</version>
+            </project>
+            """);
+        cache.putPom(pom.getGav(), null);
+        assertThat(cache.getPom(pom.getGav())).isEqualTo(Optional.empty());
+
+        clock.advance(Duration.ofHours(2));
+        assertThat(cache.getPom(pom.getGav())).isNull();
+
+        cache.putPom(pom.getGav(), pom);
+        clock.advance(Duration.ofDays(365));
+        assertThat(cache.getPom(pom.getGav())).isPresent();
+    }
+
+    private double gets(String tier, String kind, String result) {
+        return registry.get("rewrite.maven.cache.gets")
+          .tag("tier", tier)
+          .tag("kind", kind)
+          .tag("result", result)
+          .counter()
+          .count();
+    }
+
+    private Pom parsePomXml(String pom) {
+        return RawPom.parse(new ByteArrayInputStream(pom.getBytes()), null).toPom(null, null);
+    }
+
+    static class MutableClock extends Clock {
+        Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -46,11 +46,15 @@
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.StreamSupport;
 
 import static java.util.Collections.*;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -1542,6 +1546,82 @@ public MockResponse dispatch(RecordedRequest recordedRequest) {
                   .hasMessageContaining("Illegal processing instruction target (\"xml\")");
             }
         }
+
+        @Test
+        void prefetchingResolvesTheSameDependencies() throws Exception {
+            Map<String, AtomicInteger> pomRequests = new ConcurrentHashMap<>();
+            try (MockWebServer repo = getMockServer()) {
+                repo.setDispatcher(new Dispatcher() {
+                    @Override
+                    public MockResponse dispatch(RecordedRequest request) {
+                        String path = request.getPath();
+                        if (path == null || !path.endsWith(".pom")) {
+                            return new MockResponse().setResponseCode(200);
+                        }
+                        pomRequests.computeIfAbsent(path, k -> new AtomicInteger()).incrementAndGet();
+                        // lib-n depends on lib-(2n+1) and lib-(2n+2), making a binary tree four levels deep
+                        int n = Integer.parseInt(path.replaceAll(".*/lib-(\\d+)-1\\.0\\.pom$", "$1"));
+                        StringBuilder dependencies = new StringBuilder();
+                        for (int child = 2 * n + 1; n < 7 && child <= 2 * n + 2; child++) {
+                            dependencies.append("<dependency><groupId>com.example</groupId><artifactId>lib-")
+                              .append(child).append("</artifactId><version>1.0</version></dependency>");
+                        }
+                        return new MockResponse().setResponseCode(200).setBody(
+                          "<project><groupId>com.example</groupId><artifactId>lib-" + n + "</artifactId>" +
+                          "<version>1.0</version><dependencies>" + dependencies + "</dependencies></project>");
+                    }
+                });
+                repo.start();
+
+                //language=xml
+                String pom = """
+                  <project>
+                      <groupId>org.openrewrite.test</groupId>
+                      <artifactId>foo</artifactId>
+                      <version>0.1.0</version>
+                      <repositories>
+                          <repository>
+                              <id>repo</id>
+                              <url>https://%s:%d</url>
+                          </repository>
+                      </repositories>
+                      <dependencies>
+                          <dependency>
+                              <groupId>com.example</groupId>
+                              <artifactId>lib-0</artifactId>
+                              <version>1.0</version>
+                          </dependency>
+                      </dependencies>
+                  </project>
+                  """.formatted(repo.getHostName(), repo.getPort());
+
+                List<String> sequential = resolveCompileDependencies(pom, null);
+                pomRequests.clear();
+
+                ExecutorService executor = Executors.newFixedThreadPool(4);
+                try {
+                    assertThat(resolveCompileDependencies(pom, executor)).containsExactlyElementsOf(sequential);
+                } finally {
+                    executor.shutdown();
+                }
+                assertThat(sequential).hasSize(15);
+                assertThat(pomRequests).hasSize(15).allSatisfy((path, count) -> assertThat(count).hasValue(1));
+            }
+        }
+
+        private List<String> resolveCompileDependencies(String pom, @Nullable ExecutorService executor) {
+            // a fresh context each time, so that nothing is cached from a previous resolution
+            MavenExecutionContextView ctx = MavenExecutionContextView.view(HttpSenderExecutionContextView.view(new InMemoryExecutionContext())
+              .setHttpSender(HttpSenderExecutionContextView.view(this.ctx).getHttpSender()));
+            ctx.setAddLocalRepository(false);
+            ctx.setAddCentralRepository(false);
+            ctx.setDownloadExecutor(executor);
+            Xml.Document doc = (Xml.Document) MavenParser.builder().build().parse(ctx, pom).findFirst().orElseThrow();
+            return doc.getMarkers().findFirst(MavenResolutionResult.class).orElseThrow()
+              .getDependencies().get(Scope.Compile).stream()
+              .map(d -> d.getGav() + "@" + d.getDepth())
+              .collect(toList());
+        }
     }
 
     @Test
@@ -53,6 +53,11 @@ public class DeleteProperty extends Recipe {
     @Nullable
     Boolean relaxedBinding;
 
+    @Override
+    public boolean isEditLocal() {
+        return true;
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return new PropertiesVisitor<ExecutionContext>() {
@@ -73,6 +73,7 @@ public class PythonRewriteRpc extends RewriteRpc {
         this.command = command;
         this.commandEnv = commandEnv;
         this.process = process;
+        messageFormatter(process.getMessageFormatter());
     }
 
     public static @Nullable PythonRewriteRpc get() {
@@ -636,11 +637,13 @@ public PythonRewriteRpc get() {
             process.start();
 
             try {
-                return (PythonRewriteRpc) new PythonRewriteRpc(process, marketplace, resolvers,
+                PythonRewriteRpc rpc = (PythonRewriteRpc) new PythonRewriteRpc(process, marketplace, resolvers,
                         String.join(" ", cmdArr), process.environment())
                         .livenessCheck(process::getLivenessCheck)
                         .timeout(timeout)
                         .log(log == null ? null : new PrintStream(Files.newOutputStream(log, StandardOpenOption.APPEND, StandardOpenOption.CREATE)));
+                rpc.negotiateMessageFormat();
+                return rpc;
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             }
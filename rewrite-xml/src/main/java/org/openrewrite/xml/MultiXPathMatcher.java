@@ -0,0 +1,308 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.xml;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.xml.XPathCompiler.CompiledStep;
+import org.openrewrite.xml.XPathCompiler.CompiledXPath;
+import org.openrewrite.xml.XPathCompiler.StepType;
+import org.openrewrite.xml.tree.Xml;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Evaluates several {@link XPathMatcher} expressions at once while an {@link XmlVisitor} walks a document.
+ * <p>
+ * Plain element paths such as {@code /project/dependencies/dependency}, {@code //plugins/plugin} or
+ * {@code /project/properties/*} (name or wildcard steps joined by {@code /} or {@code //}, without predicates)
+ * are compiled together into a single lazily determinized state machine over element names. The state of
+ * each visited tag is derived from the state of its parent tag and memoized as a message on the tag's
+ * {@link Cursor}, so the cursor stack of the visitor acts as an incremental path stack: every tag is
+ * examined once no matter how many expressions are tested against it, instead of once per expression.
+ * <p>
+ * Expressions outside of that subset (attributes, predicates, axes, functions, ...) are delegated to
+ * {@link XPathMatcher#matches(Cursor)} and report exactly what the individual matcher would.
+ * <p>
+ * Instances are thread-safe and are meant to be shared, typically as a constant next to the matchers they
+ * combine.
+ */
+public class MultiXPathMatcher {
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final List<XPathMatcher> matchers;
+    private final Map<XPathMatcher, Integer> indices = new IdentityHashMap<>();
+
+    /**
+     * Key under which the automaton state of a tag is memoized on its cursor. Unique per instance
+     * since the states of different automata are unrelated.
+     */
+    private final String stateKey;
+
+    /**
+     * Compiled steps per expression, or {@code null} for expressions evaluated by their {@link XPathMatcher}.
+     */
+    private final CompiledStep[] @Nullable [] steps;
+    private final boolean[] anchored;
+    private final BitSet delegated = new BitSet();
+
+    /**
+     * An automaton position encodes an expression together with the number of its steps matched so far
+     * as {@code offsets[expression] + matchedSteps}.
+     */
+    private final int[] offsets;
+    private final int[] positionExpression;
+
+    /**
+     * Every element name appearing in a step. Names outside of this set can only be matched by wildcard
+     * steps, so they share a single transition per state.
+     */
+    private final Set<String> alphabet = new HashSet<>();
+
+    private final Map<State, State> states = new ConcurrentHashMap<>();
+    private final State start;
+
+    public MultiXPathMatcher(XPathMatcher... matchers) {
+        this(Arrays.asList(matchers));
+    }
+
+    public MultiXPathMatcher(List<XPathMatcher> matchers) {
+        this.matchers = unmodifiableList(new ArrayList<>(matchers));
+        this.stateKey = MultiXPathMatcher.class.getName() + ".state." + INSTANCES.incrementAndGet();
+        this.steps = new CompiledStep[matchers.size()][];
+        this.anchored = new boolean[matchers.size()];
+        this.offsets = new int[matchers.size()];
+
+        int positions = 0;
+        for (int i = 0; i < matchers.size(); i++) {
+            XPathMatcher matcher = matchers.get(i);
+            indices.putIfAbsent(matcher, i);
+            CompiledXPath xpath = matcher.compile();
+            CompiledStep[] elementSteps = elementSteps(xpath);
+            offsets[i] = positions;
+            if (elementSteps == null) {
+                delegated.set(i);
+                continue;
+            }
+            steps[i] = elementSteps;
+            anchored[i] = xpath.hasAbsolutePath();
+            for (CompiledStep step : elementSteps) {
+                if (step.strategy == CompiledStep.STRATEGY_NAME_ONLY) {
+                    alphabet.add(step.name);
+                }
+            }
+            positions += elementSteps.length + 1;
+        }
+
+        this.positionExpression = new int[positions];
+        int[] initial = new int[matchers.size()];
+        int initialCount = 0;
+        for (int i = 0; i < matchers.size(); i++) {
+            CompiledStep[] elementSteps = steps[i];
+            if (elementSteps != null) {
+                Arrays.fill(positionExpression, offsets[i], offsets[i] + elementSteps.length + 1, i);
+                initial[initialCount++] = offsets[i];
+            }
+        }
+        this.start = intern(Arrays.copyOf(initial, initialCount));
+    }
+
+    /**
+     * @return The matchers combined by this instance, in the order their indices are reported.
+     */
+    public List<XPathMatcher> getMatchers() {
+        return matchers;
+    }
+
+    /**
+     * Finds all expressions matching the given cursor.
+     *
+     * @param cursor the cursor of the visitor, usually positioned on an {@link Xml.Tag}
+     * @return the indices in {@link #getMatchers()} of every expression that matches the cursor
+     */
+    public BitSet matches(Cursor cursor) {
+        BitSet matching = cursor.getValue() instanceof Xml.Tag ?
+                (BitSet) state(cursor).accepts.clone() :
+                new BitSet();
+        for (int i = delegated.nextSetBit(0); i >= 0; i = delegated.nextSetBit(i + 1)) {
+            if (matchers.get(i).matches(cursor)) {
+                matching.set(i);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Checks a single expression against the given cursor, sharing the automaton state with every other
+     * expression of this instance.
+     *
+     * @param cursor the cursor of the visitor
+     * @param index  the index of the expression in {@link #getMatchers()}
+     * @return true if the expression matches the cursor, false otherwise
+     */
+    public boolean matches(Cursor cursor, int index) {
+        if (delegated.get(index)) {
+            return matchers.get(index).matches(cursor);
+        }
+        return cursor.getValue() instanceof Xml.Tag && state(cursor).accepts.get(index);
+    }
+
+    /**
+     * Checks a single expression against the given cursor, sharing the automaton state with every other
+     * expression of this instance.
+     *
+     * @param cursor  the cursor of the visitor
+     * @param matcher one of the matchers this instance was created with
+     * @return true if the expression matches the cursor, false otherwise
+     */
+    public boolean matches(Cursor cursor, XPathMatcher matcher) {
+        Integer index = indices.get(matcher);
+        if (index == null) {
+            throw new IllegalArgumentException("Matcher is not part of this MultiXPathMatcher");
+        }
+        return matches(cursor, index);
+    }
+
+    /**
+     * Returns the steps of path expressions made only of element name or wildcard steps without predicates,
+     * which is what the automaton can evaluate on element names alone.
+     */
+    private static CompiledStep @Nullable [] elementSteps(CompiledXPath xpath) {
+        if (!xpath.isPathExpression() || xpath.steps.length == 0) {
+            return null;
+        }
+        for (CompiledStep step : xpath.steps) {
+            if (step.type != StepType.NODE_TEST ||
+                (step.strategy != CompiledStep.STRATEGY_NAME_ONLY && step.strategy != CompiledStep.STRATEGY_WILDCARD)) {
+                return null;
+            }
+        }
+        return xpath.steps;
+    }
+
+    private State state(Cursor tagCursor) {
+        State state = tagCursor.getMessage(stateKey);
+        if (state == null) {
+            Cursor parent = getParentTagCursor(tagCursor);
+            state = transition(parent == null ? start : state(parent), tagCursor.<Xml.Tag>getValue().getName());
+            tagCursor.putMessage(stateKey, state);
+        }
+        return state;
+    }
+
+    /**
+     * Same notion of parent as {@link XPathMatcher}: the nearest enclosing tag, stopping at the document.
+     */
+    private static @Nullable Cursor getParentTagCursor(Cursor cursor) {
+        Cursor parent = cursor.getParent();
+        while (parent != null && !(parent.getValue() instanceof Xml.Tag)) {
+            if (parent.getValue() instanceof Xml.Document) {
+                return null;
+            }
+            parent = parent.getParent();
+        }
+        return parent;
+    }
+
+    private State transition(State from, String name) {
+        if (from.positions.length == 0) {
+            return from;
+        }
+        if (!alphabet.contains(name)) {
+            State to = from.other;
+            if (to == null) {
+                from.other = to = intern(advance(from, name));
+            }
+            return to;
+        }
+        State to = from.transitions.get(name);
+        if (to == null) {
+            to = intern(advance(from, name));
+            from.transitions.put(name, to);
+        }
+        return to;
+    }
+
+    /**
+     * Computes the positions reachable from {@code from} by entering a tag named {@code name}. Since every
+     * position yields itself and/or its successor, the result is produced in ascending order.
+     */
+    private int[] advance(State from, String name) {
+        int[] next = new int[from.positions.length * 2];
+        int count = 0;
+        for (int position : from.positions) {
+            int expression = positionExpression[position];
+            CompiledStep[] expressionSteps = steps[expression];
+            assert expressionSteps != null;
+            int matched = position - offsets[expression];
+            if (matched == expressionSteps.length) {
+                // the expression matched the parent tag, it can't match any of its children
+                continue;
+            }
+            CompiledStep step = expressionSteps[matched];
+            // a relative or "//" expression may start below any tag, and a step preceded by "//" may
+            // skip any number of tags
+            boolean skippable = matched == 0 ? !anchored[expression] : step.isDescendant;
+            if (skippable && (count == 0 || next[count - 1] != position)) {
+                next[count++] = position;
+            }
+            if (step.strategy == CompiledStep.STRATEGY_WILDCARD || name.equals(step.name)) {
+                next[count++] = position + 1;
+            }
+        }
+        return Arrays.copyOf(next, count);
+    }
+
+    private State intern(int[] positions) {
+        State state = new State(positions);
+        for (int position : positions) {
+            int expression = positionExpression[position];
+            //noinspection DataFlowIssue
+            if (position - offsets[expression] == steps[expression].length) {
+                state.accepts.set(expression);
+            }
+        }
+        State existing = states.putIfAbsent(state, state);
+        return existing == null ? state : existing;
+    }
+
+    private static final class State {
+        final int[] positions;
+        final int hash;
+        final BitSet accepts = new BitSet();
+        final Map<String, State> transitions = new ConcurrentHashMap<>();
+        volatile @Nullable State other;
+
+        State(int[] positions) {
+            this.positions = positions;
+            this.hash = Arrays.hashCode(positions);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof State && Arrays.equals(positions, ((State) o).positions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
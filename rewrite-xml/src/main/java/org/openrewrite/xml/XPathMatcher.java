@@ -68,7 +68,7 @@ public boolean matches(Cursor cursor) {
         return matchTopDown(cursor);
     }
 
-    private CompiledXPath compile() {
+    CompiledXPath compile() {
         CompiledXPath result = compiled;
         //noinspection ConstantValue
         if (result == null) {
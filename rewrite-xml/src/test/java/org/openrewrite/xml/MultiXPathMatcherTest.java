@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.xml;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.SourceFile;
+import org.openrewrite.xml.tree.Xml;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultiXPathMatcherTest {
+
+    private final SourceFile pomXml = new XmlParser().parse(
+      """
+        <project>
+          <parent>
+            <groupId>org.example</groupId>
+            <artifactId>parent</artifactId>
+          </parent>
+          <properties>
+            <java.version>17</java.version>
+          </properties>
+          <dependencies>
+            <dependency scope="compile">
+              <groupId>org.openrewrite</groupId>
+              <artifactId>rewrite-xml</artifactId>
+            </dependency>
+          </dependencies>
+          <build>
+            <plugins>
+              <plugin>
+                <artifactId>maven-compiler-plugin</artifactId>
+                <dependencies>
+                  <dependency>
+                    <artifactId>plexus</artifactId>
+                  </dependency>
+                </dependencies>
+              </plugin>
+            </plugins>
+            <pluginManagement>
+              <plugins>
+                <plugin>
+                  <artifactId>maven-surefire-plugin</artifactId>
+                </plugin>
+              </plugins>
+            </pluginManagement>
+          </build>
+          <profiles>
+            <profile>
+              <dependencies>
+                <dependency>
+                  <artifactId>junit</artifactId>
+                </dependency>
+              </dependencies>
+            </profile>
+          </profiles>
+        </project>
+        """
+    ).toList().getFirst();
+
+    @Test
+    void sameResultsAsIndividualMatchers() {
+        List<XPathMatcher> matchers = new ArrayList<>();
+        for (String expression : new String[]{
+          "/project/dependencies/dependency",
+          "/project/profiles/profile/dependencies/dependency",
+          "//plugins/plugin/dependencies/dependency",
+          "/project/properties/*",
+          "//plugins/plugin",
+          "//pluginManagement/plugins/plugin",
+          "/project/parent",
+          "/project",
+          "dependencies/dependency",
+          "artifactId",
+          "/project//dependency//artifactId",
+          "//*",
+          "/*/*",
+          "/dependencies",
+          // not plain element paths, evaluated by the matcher itself
+          "/project/dependencies/dependency/@scope",
+          "//dependency[artifactId='junit']",
+          "//plugin/artifactId/text()"
+        }) {
+            matchers.add(new XPathMatcher(expression));
+        }
+        MultiXPathMatcher multi = new MultiXPathMatcher(matchers);
+
+        List<BitSet> expected = new ArrayList<>();
+        List<BitSet> actual = new ArrayList<>();
+        new XmlVisitor<Integer>() {
+            @Override
+            public Xml visitTag(Xml.Tag tag, Integer p) {
+                record();
+                return super.visitTag(tag, p);
+            }
+
+            @Override
+            public Xml visitAttribute(Xml.Attribute attribute, Integer p) {
+                record();
+                return super.visitAttribute(attribute, p);
+            }
+
+            private void record() {
+                BitSet individually = new BitSet();
+                for (int i = 0; i < matchers.size(); i++) {
+                    if (matchers.get(i).matches(getCursor())) {
+                        individually.set(i);
+                    }
+                    assertThat(multi.matches(getCursor(), i)).isEqualTo(individually.get(i));
+                }
+                expected.add(individually);
+                actual.add(multi.matches(getCursor()));
+            }
+        }.visit(pomXml, 0);
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(expected).anyMatch(matching -> matching.cardinality() > 2);
+    }
+
+    @Test
+    void matchByMatcher() {
+        XPathMatcher plugin = new XPathMatcher("//plugins/plugin");
+        XPathMatcher managedPlugin = new XPathMatcher("//pluginManagement/plugins/plugin");
+        MultiXPathMatcher multi = new MultiXPathMatcher(plugin, managedPlugin);
+
+        List<String> plugins = new ArrayList<>();
+        List<String> managedPlugins = new ArrayList<>();
+        new XmlVisitor<Integer>() {
+            @Override
+            public Xml visitTag(Xml.Tag tag, Integer p) {
+                if (multi.matches(getCursor(), plugin)) {
+                    plugins.add(tag.getChildValue("artifactId").orElseThrow());
+                }
+                if (multi.matches(getCursor(), managedPlugin)) {
+                    managedPlugins.add(tag.getChildValue("artifactId").orElseThrow());
+                }
+                return super.visitTag(tag, p);
+            }
+        }.visit(pomXml, 0);
+
+        assertThat(plugins).containsExactly("maven-compiler-plugin", "maven-surefire-plugin");
+        assertThat(managedPlugins).containsExactly("maven-surefire-plugin");
+    }
+}
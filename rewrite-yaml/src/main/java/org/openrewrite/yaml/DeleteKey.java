@@ -49,6 +49,11 @@ public Validated<Object> validate() {
         return super.validate().and(JsonPathMatcher.validate("keyPath", keyPath));
     }
 
+    @Override
+    public boolean isEditLocal() {
+        return true;
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JsonPathMatcher matcher = new JsonPathMatcher(keyPath);